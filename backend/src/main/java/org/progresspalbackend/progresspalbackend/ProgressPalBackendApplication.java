@@ -1,5 +1,6 @@
 package org.progresspalbackend.progresspalbackend;
 
+import org.progresspalbackend.progresspalbackend.config.QueryBudgetProperties;
 import org.progresspalbackend.progresspalbackend.config.SessionFreshnessProperties;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.boot.SpringApplication;
@@ -8,7 +9,7 @@ import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
 @EnableScheduling
-@EnableConfigurationProperties(SessionFreshnessProperties.class)
+@EnableConfigurationProperties({SessionFreshnessProperties.class, QueryBudgetProperties.class})
 public class ProgressPalBackendApplication {
 
     public static void main(String[] args) {
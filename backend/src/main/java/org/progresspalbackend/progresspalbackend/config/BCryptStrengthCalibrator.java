@@ -0,0 +1,48 @@
+package org.progresspalbackend.progresspalbackend.config;
+
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.time.Duration;
+
+/**
+ * Picks the highest BCrypt cost whose hash time on this host stays within a target.
+ * Each extra cost round doubles the work, so the search stops at the first strength
+ * that overshoots.
+ */
+final class BCryptStrengthCalibrator {
+
+    static final int MIN_STRENGTH = 4;
+    static final int MAX_STRENGTH = 16;
+
+    private static final String SAMPLE_PASSWORD = "calibration-sample-password";
+
+    private BCryptStrengthCalibrator() {
+    }
+
+    static int calibrate(Duration targetHashTime, int minStrength, int maxStrength) {
+        if (minStrength < MIN_STRENGTH || maxStrength > MAX_STRENGTH || minStrength > maxStrength) {
+            throw new IllegalArgumentException("BCrypt strength bounds must satisfy "
+                    + MIN_STRENGTH + " <= min <= max <= " + MAX_STRENGTH);
+        }
+
+        long targetNanos = targetHashTime.toNanos();
+        int chosen = minStrength;
+        for (int strength = minStrength; strength <= maxStrength; strength++) {
+            long elapsed = measure(strength);
+            if (elapsed > targetNanos) {
+                break;
+            }
+            chosen = strength;
+        }
+        return chosen;
+    }
+
+    private static long measure(int strength) {
+        BCryptPasswordEncoder encoder = new BCryptPasswordEncoder(strength);
+        // One warm-up run so class loading and JIT do not skew the low strengths.
+        encoder.encode(SAMPLE_PASSWORD);
+        long start = System.nanoTime();
+        encoder.encode(SAMPLE_PASSWORD);
+        return System.nanoTime() - start;
+    }
+}
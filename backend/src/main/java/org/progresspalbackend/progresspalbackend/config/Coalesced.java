@@ -0,0 +1,19 @@
+package org.progresspalbackend.progresspalbackend.config;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Lets concurrent calls of a read-only service method with equal arguments share one computation.
+ * The arguments must identify everything the result depends on, including the caller, and the result
+ * must not be mutated by callers since they all receive the same instance. Results can additionally be
+ * reused for {@code app.coalescing.result-reuse-window} after they are computed.
+ */
+@Documented
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface Coalesced {
+}
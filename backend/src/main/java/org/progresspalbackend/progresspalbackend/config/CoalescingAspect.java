@@ -0,0 +1,102 @@
+package org.progresspalbackend.progresspalbackend.config;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Single-flight for {@link Coalesced} methods: the first call for a key computes the result and calls
+ * that arrive while it runs wait for it instead of repeating the work. Each call is counted under
+ * {@code progresspal.coalescing.calls} with outcome {@code computed}, {@code coalesced} or {@code reused}.
+ */
+@Aspect
+@Component
+@Order(-1) // outside ReplicaReadAspect and the transaction advice: a waiting call needs neither
+public class CoalescingAspect {
+
+    static final String CALLS_COUNTER = "progresspal.coalescing.calls";
+
+    private final MeterRegistry meterRegistry;
+    private final Map<Key, CompletableFuture<Object>> inFlight = new ConcurrentHashMap<>();
+    private final Cache<Key, Object> recentResults;
+
+    public CoalescingAspect(MeterRegistry meterRegistry,
+                            @Value("${app.coalescing.result-reuse-window:PT0S}") Duration resultReuseWindow,
+                            @Value("${app.coalescing.max-reused-results:10000}") long maxReusedResults) {
+        this.meterRegistry = meterRegistry;
+        this.recentResults = resultReuseWindow.isZero() || resultReuseWindow.isNegative()
+                ? null
+                : Caffeine.newBuilder()
+                        .maximumSize(maxReusedResults)
+                        .expireAfterWrite(resultReuseWindow)
+                        .build();
+    }
+
+    @Around("@annotation(org.progresspalbackend.progresspalbackend.config.Coalesced)")
+    public Object coalesce(ProceedingJoinPoint joinPoint) throws Throwable {
+        String className = joinPoint.getSignature().getDeclaringType().getSimpleName();
+        String methodName = joinPoint.getSignature().getName();
+        Key key = new Key(className + "." + methodName, Arrays.asList(joinPoint.getArgs()));
+
+        if (recentResults != null) {
+            Object recent = recentResults.getIfPresent(key);
+            if (recent != null) {
+                count(className, methodName, "reused");
+                return recent;
+            }
+        }
+
+        CompletableFuture<Object> mine = new CompletableFuture<>();
+        CompletableFuture<Object> running = inFlight.putIfAbsent(key, mine);
+        if (running != null) {
+            count(className, methodName, "coalesced");
+            try {
+                return running.join();
+            } catch (CompletionException e) {
+                throw e.getCause();
+            }
+        }
+
+        count(className, methodName, "computed");
+        try {
+            Object result = joinPoint.proceed();
+            if (recentResults != null && result != null) {
+                recentResults.put(key, result);
+            }
+            mine.complete(result);
+            return result;
+        } catch (Throwable ex) {
+            mine.completeExceptionally(ex);
+            throw ex;
+        } finally {
+            inFlight.remove(key, mine);
+        }
+    }
+
+    private void count(String className, String methodName, String outcome) {
+        Counter.builder(CALLS_COUNTER)
+                .tag("class", className)
+                .tag("method", methodName)
+                .tag("outcome", outcome)
+                .register(meterRegistry)
+                .increment();
+    }
+
+    private record Key(String method, List<Object> args) {
+    }
+}
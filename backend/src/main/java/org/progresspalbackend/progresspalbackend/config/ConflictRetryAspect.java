@@ -0,0 +1,73 @@
+package org.progresspalbackend.progresspalbackend.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.annotation.Order;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Retries {@link RetryOnConflict} methods after an {@link OptimisticLockingFailureException}, waiting a
+ * short, jittered, growing backoff between attempts. Conflicts are counted under
+ * {@code progresspal.optimistic.conflicts} with outcome {@code retried} or {@code exhausted}; the last
+ * failure is rethrown and answered with 409.
+ */
+@Aspect
+@Component
+@Order(1) // outside the transaction advice, so every attempt reads in a fresh transaction
+public class ConflictRetryAspect {
+
+    static final String CONFLICTS_COUNTER = "progresspal.optimistic.conflicts";
+
+    private final MeterRegistry meterRegistry;
+    private final Duration backoff;
+
+    public ConflictRetryAspect(MeterRegistry meterRegistry,
+                               @Value("${app.conflict-retry.backoff:PT0.02S}") Duration backoff) {
+        this.meterRegistry = meterRegistry;
+        this.backoff = backoff;
+    }
+
+    @Around("@annotation(retryOnConflict)")
+    public Object retry(ProceedingJoinPoint joinPoint, RetryOnConflict retryOnConflict) throws Throwable {
+        String className = joinPoint.getSignature().getDeclaringType().getSimpleName();
+        String methodName = joinPoint.getSignature().getName();
+        int maxAttempts = Math.max(1, retryOnConflict.maxAttempts());
+
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return joinPoint.proceed();
+            } catch (OptimisticLockingFailureException ex) {
+                if (attempt >= maxAttempts) {
+                    count(className, methodName, "exhausted");
+                    throw ex;
+                }
+                count(className, methodName, "retried");
+                pause(attempt);
+            }
+        }
+    }
+
+    private void pause(int attempt) throws InterruptedException {
+        long maxMillis = backoff.toMillis() * attempt;
+        if (maxMillis > 0) {
+            Thread.sleep(maxMillis / 2 + ThreadLocalRandom.current().nextLong(maxMillis / 2 + 1));
+        }
+    }
+
+    private void count(String className, String methodName, String outcome) {
+        Counter.builder(CONFLICTS_COUNTER)
+                .tag("class", className)
+                .tag("method", methodName)
+                .tag("outcome", outcome)
+                .register(meterRegistry)
+                .increment();
+    }
+}
@@ -0,0 +1,72 @@
+package org.progresspalbackend.progresspalbackend.config;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.Base64;
+
+/**
+ * Authenticates the Prometheus scraper on {@value #SCRAPE_PATH} with HTTP Basic credentials from
+ * configuration and grants it {@value #SCRAPER_ROLE}, the only role that may read the endpoint.
+ * User tokens carry no roles, so signed-in users are refused. Without a configured password no
+ * scraper is accepted.
+ */
+@Component
+public class MetricsScrapeAuthenticationFilter extends OncePerRequestFilter {
+
+    static final String SCRAPE_PATH = "/actuator/prometheus";
+    static final String SCRAPER_ROLE = "METRICS_SCRAPER";
+
+    private static final String BASIC_PREFIX = "Basic ";
+
+    private final byte[] expectedCredentials;
+
+    public MetricsScrapeAuthenticationFilter(
+            @Value("${app.metrics.scrape.username:prometheus}") String username,
+            @Value("${app.metrics.scrape.password:}") String password) {
+        this.expectedCredentials = StringUtils.hasText(password)
+                ? (username + ":" + password).getBytes(StandardCharsets.UTF_8)
+                : null;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !SCRAPE_PATH.equals(request.getRequestURI());
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        String authHeader = request.getHeader(HttpHeaders.AUTHORIZATION);
+        if (expectedCredentials != null
+                && authHeader != null
+                && authHeader.startsWith(BASIC_PREFIX)
+                && MessageDigest.isEqual(expectedCredentials, decode(authHeader.substring(BASIC_PREFIX.length())))) {
+            SecurityContextHolder.getContext().setAuthentication(UsernamePasswordAuthenticationToken.authenticated(
+                    "metrics-scraper", null, AuthorityUtils.createAuthorityList("ROLE_" + SCRAPER_ROLE)));
+        }
+        filterChain.doFilter(request, response);
+    }
+
+    private static byte[] decode(String encoded) {
+        try {
+            return Base64.getDecoder().decode(encoded.trim());
+        } catch (IllegalArgumentException ex) {
+            return new byte[0];
+        }
+    }
+}
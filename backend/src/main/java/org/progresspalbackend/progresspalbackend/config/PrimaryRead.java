@@ -0,0 +1,19 @@
+package org.progresspalbackend.progresspalbackend.config;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Keeps a read-only service method on the primary even when replicas are enabled, including when it is
+ * called from inside a {@link ReplicaRead} scope that has not bound a connection yet. Use it for methods
+ * that fill an in-memory cache: a row read from a lagging replica would otherwise stay cached after the
+ * write that changed it, because that write's after-commit update ran before the entry existed.
+ */
+@Documented
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface PrimaryRead {
+}
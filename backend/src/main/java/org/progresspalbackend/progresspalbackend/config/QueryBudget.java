@@ -0,0 +1,20 @@
+package org.progresspalbackend.progresspalbackend.config;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Declares how many SQL statements a handler method may issue. The budget should not depend on
+ * the page size; an endpoint that needs more statements for more rows has an N+1 to fix.
+ * Exceeding it is logged or rejected depending on {@code app.sql.query-budget.mode}.
+ */
+@Documented
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface QueryBudget {
+
+    int value();
+}
@@ -0,0 +1,58 @@
+package org.progresspalbackend.progresspalbackend.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.stereotype.Component;
+
+/**
+ * Enforces {@link QueryBudget} on handler methods. In {@code FAIL} mode (used by the test suite)
+ * an endpoint that goes over its budget answers 500 so the regression is caught before release;
+ * in {@code LOG} mode the response is returned and the overrun is logged.
+ */
+@Slf4j
+@Aspect
+@Component
+public class QueryBudgetAspect {
+
+    private final SqlStatementCounter sqlStatementCounter;
+    private final QueryBudgetProperties properties;
+
+    public QueryBudgetAspect(SqlStatementCounter sqlStatementCounter, QueryBudgetProperties properties) {
+        this.sqlStatementCounter = sqlStatementCounter;
+        this.properties = properties;
+    }
+
+    @Around("@annotation(queryBudget)")
+    public Object enforce(ProceedingJoinPoint joinPoint, QueryBudget queryBudget) throws Throwable {
+        if (properties.getMode() == QueryBudgetProperties.Mode.OFF) {
+            return joinPoint.proceed();
+        }
+
+        Object result;
+        long statements;
+        SqlStatementCounter.RepeatedStatement repeated;
+        try (SqlStatementCounter.Scope scope = sqlStatementCounter.open()) {
+            result = joinPoint.proceed();
+            statements = scope.statements();
+            repeated = scope.mostRepeated().orElse(null);
+        }
+
+        if (statements > queryBudget.value()) {
+            String message = "%s.%s issued %d SQL statements, budget is %d%s".formatted(
+                    joinPoint.getSignature().getDeclaringType().getSimpleName(),
+                    joinPoint.getSignature().getName(),
+                    statements,
+                    queryBudget.value(),
+                    repeated != null && repeated.executions() > 1
+                            ? "; most repeated (" + repeated.executions() + "x): " + repeated.sql()
+                            : "");
+            if (properties.getMode() == QueryBudgetProperties.Mode.FAIL) {
+                throw new QueryBudgetExceededException(message);
+            }
+            log.warn(message);
+        }
+        return result;
+    }
+}
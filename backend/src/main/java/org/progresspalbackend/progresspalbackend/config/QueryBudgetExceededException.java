@@ -0,0 +1,8 @@
+package org.progresspalbackend.progresspalbackend.config;
+
+public class QueryBudgetExceededException extends IllegalStateException {
+
+    public QueryBudgetExceededException(String message) {
+        super(message);
+    }
+}
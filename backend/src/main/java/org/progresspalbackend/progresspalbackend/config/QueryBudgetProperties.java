@@ -0,0 +1,20 @@
+package org.progresspalbackend.progresspalbackend.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "app.sql.query-budget")
+public class QueryBudgetProperties {
+
+    private Mode mode = Mode.LOG;
+    private int repeatedStatementThreshold = 5;
+
+    public enum Mode {
+        OFF,
+        LOG,
+        FAIL
+    }
+}
@@ -0,0 +1,121 @@
+package org.progresspalbackend.progresspalbackend.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.http.HttpMethod;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import javax.sql.DataSource;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Replaces the auto-configured {@link DataSource} with a router over the primary pool and one read-only
+ * pool per replica when {@code app.datasource.read-replica.enabled} is set. With the flag off (the
+ * default) Spring Boot's single pool is used and nothing here is created.
+ */
+@Configuration
+@ConditionalOnProperty(name = "app.datasource.read-replica.enabled", havingValue = "true")
+@EnableConfigurationProperties(ReadReplicaProperties.class)
+public class ReadReplicaDataSourceConfig {
+
+    static final String LAG_GAUGE = "progresspal.datasource.replica.lag";
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    HikariDataSource primaryDataSource(DataSourceProperties dataSourceProperties) {
+        return dataSourceProperties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+    }
+
+    @Bean
+    ReadReplicaRoutingDataSource readReplicaRoutingDataSource(HikariDataSource primaryDataSource,
+                                                              DataSourceProperties dataSourceProperties,
+                                                              ReadReplicaProperties properties) {
+        if (properties.getUrls().isEmpty()) {
+            throw new IllegalStateException("app.datasource.read-replica.urls must list at least one replica");
+        }
+        Map<String, HikariDataSource> replicas = new LinkedHashMap<>();
+        for (int i = 0; i < properties.getUrls().size(); i++) {
+            HikariDataSource replica = new HikariDataSource();
+            replica.setPoolName("replica-" + i);
+            replica.setJdbcUrl(properties.getUrls().get(i));
+            replica.setUsername(properties.getUsername() != null
+                    ? properties.getUsername() : dataSourceProperties.determineUsername());
+            replica.setPassword(properties.getPassword() != null
+                    ? properties.getPassword() : dataSourceProperties.determinePassword());
+            replica.setMaximumPoolSize(properties.getMaximumPoolSize());
+            replica.setConnectionTimeout(primaryDataSource.getConnectionTimeout());
+            replica.setReadOnly(true);
+            // A replica that is down at startup is skipped by the lag check instead of failing the boot.
+            replica.setInitializationFailTimeout(-1);
+            replicas.put(replica.getPoolName(), replica);
+        }
+        return new ReadReplicaRoutingDataSource(primaryDataSource, replicas, properties);
+    }
+
+    @Bean
+    @Primary
+    DataSource dataSource(ReadReplicaRoutingDataSource readReplicaRoutingDataSource) {
+        // Defers the routing decision from transaction begin to the first statement.
+        return new LazyConnectionDataSourceProxy(readReplicaRoutingDataSource);
+    }
+
+    @Bean
+    WebMvcConfigurer readYourWrites(ReadReplicaRoutingDataSource readReplicaRoutingDataSource) {
+        HandlerInterceptor interceptor = new HandlerInterceptor() {
+            @Override
+            public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+                if (isWrite(request)) {
+                    readReplicaRoutingDataSource.recordWrite();
+                }
+                return true;
+            }
+
+            // Restarts the window once the write has committed, so it is measured from the commit.
+            @Override
+            public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+                if (isWrite(request)) {
+                    readReplicaRoutingDataSource.recordWrite();
+                }
+            }
+        };
+        return new WebMvcConfigurer() {
+            @Override
+            public void addInterceptors(InterceptorRegistry registry) {
+                registry.addInterceptor(interceptor);
+            }
+        };
+    }
+
+    @Bean
+    MeterBinder readReplicaLag(ReadReplicaRoutingDataSource readReplicaRoutingDataSource) {
+        return registry -> {
+            for (String replica : readReplicaRoutingDataSource.replicaNames()) {
+                Gauge.builder(LAG_GAUGE, readReplicaRoutingDataSource, router -> router.lagSeconds(replica))
+                        .tag("replica", replica)
+                        .baseUnit("seconds")
+                        .description("Replay lag of the read replica at the last check; NaN while it is unavailable")
+                        .register(registry);
+            }
+        };
+    }
+
+    private static boolean isWrite(HttpServletRequest request) {
+        return !HttpMethod.GET.matches(request.getMethod())
+                && !HttpMethod.HEAD.matches(request.getMethod())
+                && !HttpMethod.OPTIONS.matches(request.getMethod());
+    }
+}
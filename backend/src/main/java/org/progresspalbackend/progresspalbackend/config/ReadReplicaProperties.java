@@ -0,0 +1,28 @@
+package org.progresspalbackend.progresspalbackend.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "app.datasource.read-replica")
+public class ReadReplicaProperties {
+
+    private boolean enabled = false;
+    /** JDBC URLs of the replicas; credentials default to the primary's. */
+    private List<String> urls = new ArrayList<>();
+    private String username;
+    private String password;
+    private int maximumPoolSize = 10;
+    /** Replicas further behind than this are skipped until they catch up. */
+    private Duration maxLag = Duration.ofSeconds(5);
+    private Duration lagCheckInterval = Duration.ofSeconds(5);
+    /** How long a user's reads stay on the primary after that user wrote. */
+    private Duration stickyWindow = Duration.ofSeconds(5);
+    private long stickyUsersMaxSize = 100_000;
+}
@@ -0,0 +1,177 @@
+package org.progresspalbackend.progresspalbackend.config;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.zaxxer.hikari.HikariDataSource;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Sends connections opened inside a {@link ReplicaRead} scope to a read replica and everything else to
+ * the primary. A replica is only used while its replay lag is within {@code max-lag}; when none qualifies
+ * the read falls back to the primary. After a user writes, that user's reads stay on the primary for
+ * {@code sticky-window} so they see their own change even if the replicas have not replayed it yet.
+ *
+ * <p>The key is looked up when a statement first needs the physical connection (the bean is wrapped in a
+ * {@code LazyConnectionDataSourceProxy}), by which point the surrounding service method has set the scope.
+ */
+@Slf4j
+public class ReadReplicaRoutingDataSource extends AbstractRoutingDataSource implements DisposableBean {
+
+    static final String PRIMARY = "primary";
+
+    private static final String LAG_QUERY = """
+            select case
+                     when not pg_is_in_recovery() then 0
+                     when pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() then 0
+                     else coalesce(extract(epoch from now() - pg_last_xact_replay_timestamp()), 0)
+                   end""";
+
+    private static final ThreadLocal<Integer> REPLICA_READ_DEPTH = ThreadLocal.withInitial(() -> 0);
+    private static final ThreadLocal<Integer> PRIMARY_READ_DEPTH = ThreadLocal.withInitial(() -> 0);
+
+    private final Map<String, HikariDataSource> replicas;
+    private final List<String> replicaNames;
+    private final Duration maxLag;
+    private final Cache<String, Boolean> recentWriters;
+    private final Map<String, Double> lagSeconds = new ConcurrentHashMap<>();
+    private final AtomicInteger next = new AtomicInteger();
+
+    public ReadReplicaRoutingDataSource(DataSource primary,
+                                        Map<String, HikariDataSource> replicas,
+                                        ReadReplicaProperties properties) {
+        this.replicas = replicas;
+        this.replicaNames = List.copyOf(replicas.keySet());
+        this.maxLag = properties.getMaxLag();
+        this.recentWriters = Caffeine.newBuilder()
+                .maximumSize(properties.getStickyUsersMaxSize())
+                .expireAfterWrite(properties.getStickyWindow())
+                .build();
+
+        Map<Object, Object> targets = new HashMap<>(replicas);
+        targets.put(PRIMARY, primary);
+        setTargetDataSources(targets);
+        setDefaultTargetDataSource(primary);
+    }
+
+    static void enterReplicaRead() {
+        REPLICA_READ_DEPTH.set(REPLICA_READ_DEPTH.get() + 1);
+    }
+
+    static void exitReplicaRead() {
+        int depth = REPLICA_READ_DEPTH.get() - 1;
+        if (depth <= 0) {
+            REPLICA_READ_DEPTH.remove();
+        } else {
+            REPLICA_READ_DEPTH.set(depth);
+        }
+    }
+
+    static void enterPrimaryRead() {
+        PRIMARY_READ_DEPTH.set(PRIMARY_READ_DEPTH.get() + 1);
+    }
+
+    static void exitPrimaryRead() {
+        int depth = PRIMARY_READ_DEPTH.get() - 1;
+        if (depth <= 0) {
+            PRIMARY_READ_DEPTH.remove();
+        } else {
+            PRIMARY_READ_DEPTH.set(depth);
+        }
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        super.afterPropertiesSet();
+        refreshLag();
+    }
+
+    /**
+     * Keeps the current user's replica reads on the primary for the sticky window. Called around every
+     * mutating request rather than from the connection lookup, because a request may run its writes on a
+     * connection it already obtained for an earlier read.
+     */
+    void recordWrite() {
+        String principal = currentPrincipal();
+        if (principal != null) {
+            recentWriters.put(principal, Boolean.TRUE);
+        }
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (REPLICA_READ_DEPTH.get() == 0 || PRIMARY_READ_DEPTH.get() > 0) {
+            return PRIMARY;
+        }
+        String principal = currentPrincipal();
+        if (principal != null && recentWriters.getIfPresent(principal) != null) {
+            return PRIMARY;
+        }
+
+        int start = Math.floorMod(next.getAndIncrement(), replicaNames.size());
+        for (int i = 0; i < replicaNames.size(); i++) {
+            String name = replicaNames.get((start + i) % replicaNames.size());
+            Double lag = lagSeconds.get(name);
+            if (lag != null && lag <= maxLag.toMillis() / 1000.0) {
+                return name;
+            }
+        }
+        return PRIMARY;
+    }
+
+    /** Measures each replica's replay lag; a replica that cannot be reached is skipped until the next check. */
+    @Scheduled(fixedDelayString = "${app.datasource.read-replica.lag-check-interval:5s}")
+    public void refreshLag() {
+        for (Map.Entry<String, HikariDataSource> replica : replicas.entrySet()) {
+            try (Connection connection = replica.getValue().getConnection();
+                 Statement statement = connection.createStatement();
+                 ResultSet rs = statement.executeQuery(LAG_QUERY)) {
+                rs.next();
+                lagSeconds.put(replica.getKey(), rs.getDouble(1));
+            } catch (Exception e) {
+                if (lagSeconds.remove(replica.getKey()) != null) {
+                    log.warn("Read replica {} is unavailable, reads fall back to the primary: {}",
+                            replica.getKey(), e.getMessage());
+                }
+            }
+        }
+    }
+
+    /** Last measured lag in seconds, or NaN while the replica is unavailable. */
+    double lagSeconds(String replica) {
+        return lagSeconds.getOrDefault(replica, Double.NaN);
+    }
+
+    List<String> replicaNames() {
+        return replicaNames;
+    }
+
+    @Override
+    public void destroy() {
+        replicas.values().forEach(HikariDataSource::close);
+    }
+
+    private static String currentPrincipal() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || authentication instanceof AnonymousAuthenticationToken) {
+            return null;
+        }
+        return authentication.getName();
+    }
+}
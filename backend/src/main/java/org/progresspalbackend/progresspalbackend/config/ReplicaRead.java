@@ -0,0 +1,20 @@
+package org.progresspalbackend.progresspalbackend.config;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks a service method (or every method of a service) that only reads, so its connection may come
+ * from a read replica when {@code app.datasource.read-replica.enabled} is set. Methods annotated with
+ * {@code @Transactional(readOnly = true)} in the service layer are treated the same way unless they are
+ * also marked {@link PrimaryRead}. A write inside such a method fails on the replica rather than silently
+ * going elsewhere.
+ */
+@Documented
+@Target({ElementType.METHOD, ElementType.TYPE})
+@Retention(RetentionPolicy.RUNTIME)
+public @interface ReplicaRead {
+}
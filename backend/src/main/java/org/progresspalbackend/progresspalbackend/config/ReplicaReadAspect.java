@@ -0,0 +1,61 @@
+package org.progresspalbackend.progresspalbackend.config;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Opens a replica-read scope around {@link ReplicaRead} methods and read-only service transactions, and a
+ * primary-read scope around {@link PrimaryRead} methods, which wins over any replica scope around it.
+ * It runs outside the transaction advice so the scope is in place before a connection is bound, and is
+ * skipped when the caller already holds a read-write transaction, whose connection is the primary's.
+ */
+@Aspect
+@Component
+@Order(0)
+@ConditionalOnProperty(name = "app.datasource.read-replica.enabled", havingValue = "true")
+public class ReplicaReadAspect {
+
+    @Around("@annotation(org.progresspalbackend.progresspalbackend.config.ReplicaRead)"
+            + " || @within(org.progresspalbackend.progresspalbackend.config.ReplicaRead)")
+    public Object replicaRead(ProceedingJoinPoint joinPoint) throws Throwable {
+        return proceedOnReplica(joinPoint);
+    }
+
+    @Around("within(org.progresspalbackend.progresspalbackend.service..*) && @annotation(transactional)"
+            + " && !@annotation(org.progresspalbackend.progresspalbackend.config.PrimaryRead)")
+    public Object readOnlyTransaction(ProceedingJoinPoint joinPoint, Transactional transactional) throws Throwable {
+        if (!transactional.readOnly()) {
+            return joinPoint.proceed();
+        }
+        return proceedOnReplica(joinPoint);
+    }
+
+    @Around("@annotation(org.progresspalbackend.progresspalbackend.config.PrimaryRead)")
+    public Object primaryRead(ProceedingJoinPoint joinPoint) throws Throwable {
+        ReadReplicaRoutingDataSource.enterPrimaryRead();
+        try {
+            return joinPoint.proceed();
+        } finally {
+            ReadReplicaRoutingDataSource.exitPrimaryRead();
+        }
+    }
+
+    private Object proceedOnReplica(ProceedingJoinPoint joinPoint) throws Throwable {
+        if (TransactionSynchronizationManager.isActualTransactionActive()
+                && !TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            return joinPoint.proceed();
+        }
+        ReadReplicaRoutingDataSource.enterReplicaRead();
+        try {
+            return joinPoint.proceed();
+        } finally {
+            ReadReplicaRoutingDataSource.exitReplicaRead();
+        }
+    }
+}
@@ -0,0 +1,21 @@
+package org.progresspalbackend.progresspalbackend.config;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Re-runs a service method whose write lost an optimistic version check. Only for methods that are
+ * safe to repeat: each attempt must re-read what it changes and apply the same request to it, and must
+ * not have side effects outside its own transaction before the write.
+ */
+@Documented
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface RetryOnConflict {
+
+    /** Total attempts, including the first one. */
+    int maxAttempts() default 3;
+}
@@ -0,0 +1,87 @@
+package org.progresspalbackend.progresspalbackend.config;
+
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import java.net.URI;
+import java.time.Duration;
+import java.util.List;
+import java.util.OptionalLong;
+import java.util.UUID;
+
+/**
+ * Hibernate second-level cache for read-mostly reference entities ({@code ActivityType}, {@code User}),
+ * held in a local Caffeine-backed JCache. Entries are updated by Hibernate when those entities are
+ * saved; the TTL bounds how long another instance's edit can stay invisible here.
+ */
+@Configuration
+public class SecondLevelCacheConfig {
+
+    static final String ACTIVITY_TYPE_REGION = "activity-type";
+    static final String USER_REGION = "user";
+
+    static final String HIT_RATIO_GAUGE = "progresspal.hibernate.cache.hit.ratio";
+
+    @Bean(destroyMethod = "close")
+    CacheManager hibernateCacheManager(
+            @Value("${app.hibernate-cache.activity-type.max-size:10000}") long activityTypeMaxSize,
+            @Value("${app.hibernate-cache.activity-type.ttl:PT1H}") Duration activityTypeTtl,
+            @Value("${app.hibernate-cache.user.max-size:50000}") long userMaxSize,
+            @Value("${app.hibernate-cache.user.ttl:PT10M}") Duration userTtl) {
+        // One manager per application context: the provider hands out shared managers by URI, and
+        // test runs keep several contexts alive in the same JVM.
+        CacheManager cacheManager = Caching.getCachingProvider(CaffeineCachingProvider.class.getName())
+                .getCacheManager(URI.create("progresspal-hibernate-" + UUID.randomUUID()), getClass().getClassLoader());
+        cacheManager.createCache(ACTIVITY_TYPE_REGION, region(activityTypeMaxSize, activityTypeTtl));
+        cacheManager.createCache(USER_REGION, region(userMaxSize, userTtl));
+        return cacheManager;
+    }
+
+    @Bean
+    HibernatePropertiesCustomizer secondLevelCacheManagerCustomizer(CacheManager hibernateCacheManager) {
+        return properties -> properties.put(ConfigSettings.CACHE_MANAGER, hibernateCacheManager);
+    }
+
+    /** Hits over lookups per region, from Hibernate statistics; NaN until the region has been read. */
+    @Bean
+    MeterBinder secondLevelCacheHitRatio(EntityManagerFactory entityManagerFactory) {
+        return registry -> {
+            Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+            for (String region : List.of(ACTIVITY_TYPE_REGION, USER_REGION)) {
+                Gauge.builder(HIT_RATIO_GAUGE, statistics, stats -> hitRatio(stats.getDomainDataRegionStatistics(region)))
+                        .tag("region", region)
+                        .description("Second-level cache hits divided by lookups")
+                        .register(registry);
+            }
+        };
+    }
+
+    private static double hitRatio(CacheRegionStatistics region) {
+        if (region == null) {
+            return Double.NaN;
+        }
+        long lookups = region.getHitCount() + region.getMissCount();
+        return lookups == 0 ? Double.NaN : (double) region.getHitCount() / lookups;
+    }
+
+    private static CaffeineConfiguration<Object, Object> region(long maxSize, Duration ttl) {
+        CaffeineConfiguration<Object, Object> configuration = new CaffeineConfiguration<>();
+        configuration.setMaximumSize(OptionalLong.of(maxSize));
+        configuration.setExpireAfterWrite(OptionalLong.of(ttl.toNanos()));
+        configuration.setStatisticsEnabled(true);
+        return configuration;
+    }
+}
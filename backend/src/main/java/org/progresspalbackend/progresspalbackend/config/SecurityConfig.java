@@ -3,10 +3,11 @@ package org.progresspalbackend.progresspalbackend.config;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.nimbusds.jose.jwk.source.ImmutableSecret;
 import com.nimbusds.jose.proc.SecurityContext;
+import jakarta.servlet.DispatcherType;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import org.progresspalbackend.progresspalbackend.dto.error.ErrorResponse;
-import org.progresspalbackend.progresspalbackend.service.KeycloakUserLinkService;
+import org.progresspalbackend.progresspalbackend.service.KeycloakUserIdCache;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -40,6 +41,7 @@ import org.springframework.web.server.ResponseStatusException;
 import javax.crypto.SecretKey;
 import javax.crypto.spec.SecretKeySpec;
 import java.nio.charset.StandardCharsets;
+import java.time.Duration;
 import java.time.Instant;
 import java.util.LinkedHashMap;
 import java.util.Map;
@@ -50,16 +52,19 @@ public class SecurityConfig {
 
     private final ObjectMapper objectMapper;
     private final HeaderUserIdAuthenticationFilter headerUserIdAuthenticationFilter;
-    private final KeycloakUserLinkService keycloakUserLinkService;
+    private final MetricsScrapeAuthenticationFilter metricsScrapeAuthenticationFilter;
+    private final KeycloakUserIdCache keycloakUserIdCache;
     private final String keycloakIssuerUri;
 
     public SecurityConfig(ObjectMapper objectMapper,
                           HeaderUserIdAuthenticationFilter headerUserIdAuthenticationFilter,
-                          KeycloakUserLinkService keycloakUserLinkService,
+                          MetricsScrapeAuthenticationFilter metricsScrapeAuthenticationFilter,
+                          KeycloakUserIdCache keycloakUserIdCache,
                           @Value("${app.security.keycloak.issuer-uri:}") String keycloakIssuerUri) {
         this.objectMapper = objectMapper;
         this.headerUserIdAuthenticationFilter = headerUserIdAuthenticationFilter;
-        this.keycloakUserLinkService = keycloakUserLinkService;
+        this.metricsScrapeAuthenticationFilter = metricsScrapeAuthenticationFilter;
+        this.keycloakUserIdCache = keycloakUserIdCache;
         this.keycloakIssuerUri = keycloakIssuerUri;
     }
 
@@ -70,15 +75,21 @@ public class SecurityConfig {
                 .cors(Customizer.withDefaults())
                 .sessionManagement(sm -> sm.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
                 .authorizeHttpRequests(auth -> auth
+                        // Streamed responses finish on an async dispatch; the original request was already authorized.
+                        .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
                         .requestMatchers("/api/ping").permitAll()
                         .requestMatchers(HttpMethod.POST, "/api/auth/login").permitAll()
                         .requestMatchers(HttpMethod.POST, "/api/users").permitAll()
                         .requestMatchers(HttpMethod.GET, "/api/users", "/api/users/search", "/api/users/*").permitAll()
                         .requestMatchers(HttpMethod.GET, "/api/users/*/profile").authenticated()
+                        .requestMatchers(HttpMethod.GET, "/api/users/*/heatmap").authenticated()
                         .requestMatchers(HttpMethod.GET, "/api/sessions").permitAll()
                         .requestMatchers(HttpMethod.GET, "/api/activity-types/*").permitAll()
                         .requestMatchers(HttpMethod.PUT, "/api/activity-types/*").permitAll()
                         .requestMatchers("/v3/api-docs/**", "/swagger-ui/**", "/swagger-ui.html").permitAll()
+                        // Per-route SQL counts, exception tags and domain gauges are for the scraper only, not for users.
+                        .requestMatchers(MetricsScrapeAuthenticationFilter.SCRAPE_PATH)
+                                .hasRole(MetricsScrapeAuthenticationFilter.SCRAPER_ROLE)
 
                         .requestMatchers(HttpMethod.POST, "/api/sessions").authenticated()
                         .requestMatchers(HttpMethod.PATCH, "/api/sessions/**").authenticated()
@@ -110,6 +121,7 @@ public class SecurityConfig {
                         .accessDeniedHandler((request, response, deniedEx) ->
                                 writeError(response, request, HttpStatus.FORBIDDEN, "Forbidden")));
 
+        http.addFilterBefore(metricsScrapeAuthenticationFilter, BearerTokenAuthenticationFilter.class);
         http.addFilterBefore(headerUserIdAuthenticationFilter, BearerTokenAuthenticationFilter.class);
 
         return http.build();
@@ -134,8 +146,16 @@ public class SecurityConfig {
     }
 
     @Bean
-    PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    PasswordEncoder passwordEncoder(
+            @Value("${app.security.password-hashing.strength:10}") int strength,
+            @Value("${app.security.password-hashing.target-hash-time:}") String targetHashTime,
+            @Value("${app.security.password-hashing.max-strength:14}") int maxStrength) {
+        if (!StringUtils.hasText(targetHashTime)) {
+            return new BCryptPasswordEncoder(strength);
+        }
+        // Adaptive mode: treat the configured strength as a floor and raise it while hashing stays under target.
+        Duration target = Duration.parse(targetHashTime.trim());
+        return new BCryptPasswordEncoder(BCryptStrengthCalibrator.calibrate(target, strength, maxStrength));
     }
 
     private JwtAuthenticationToken convertJwtAuthentication(Jwt jwt) {
@@ -143,7 +163,7 @@ public class SecurityConfig {
         if (isKeycloakJwt(jwt)) {
             try {
                 Map<String, Object> claims = new LinkedHashMap<>(jwt.getClaims());
-                claims.put("user_id", keycloakUserLinkService.resolveLocalUserId(jwt).toString());
+                claims.put("user_id", keycloakUserIdCache.resolveLocalUserId(jwt).toString());
                 effectiveJwt = new Jwt(
                         jwt.getTokenValue(),
                         jwt.getIssuedAt(),
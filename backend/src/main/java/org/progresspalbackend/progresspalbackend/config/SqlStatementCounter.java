@@ -0,0 +1,101 @@
+package org.progresspalbackend.progresspalbackend.config;
+
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Counts the SQL statements Hibernate prepares on the current thread. Callers read the counter
+ * before and after a unit of work and use the difference; the count itself never resets.
+ * Code that also needs to know which statements ran (query budgets, N+1 detection) opens a
+ * {@link Scope} instead.
+ */
+@Component
+public class SqlStatementCounter implements StatementInspector, HibernatePropertiesCustomizer {
+
+    private static final ThreadLocal<long[]> COUNT = ThreadLocal.withInitial(() -> new long[1]);
+    private static final ThreadLocal<Deque<Scope>> SCOPES = new ThreadLocal<>();
+
+    @Override
+    public String inspect(String sql) {
+        COUNT.get()[0]++;
+        Deque<Scope> scopes = SCOPES.get();
+        if (scopes != null) {
+            for (Scope scope : scopes) {
+                scope.record(sql);
+            }
+        }
+        return sql;
+    }
+
+    @Override
+    public void customize(Map<String, Object> hibernateProperties) {
+        hibernateProperties.put(AvailableSettings.STATEMENT_INSPECTOR, this);
+    }
+
+    public long current() {
+        return COUNT.get()[0];
+    }
+
+    /**
+     * Starts recording the statements issued on this thread until the returned scope is closed.
+     * Scopes nest; every open scope sees every statement.
+     */
+    public Scope open() {
+        Deque<Scope> scopes = SCOPES.get();
+        if (scopes == null) {
+            scopes = new ArrayDeque<>();
+            SCOPES.set(scopes);
+        }
+        Scope scope = new Scope();
+        scopes.push(scope);
+        return scope;
+    }
+
+    public static final class Scope implements AutoCloseable {
+
+        private final Map<String, Integer> executions = new HashMap<>();
+        private long statements;
+
+        private void record(String sql) {
+            statements++;
+            executions.merge(sql, 1, Integer::sum);
+        }
+
+        public long statements() {
+            return statements;
+        }
+
+        /**
+         * The statement text executed most often in this scope. Hibernate binds parameters, so
+         * loading the same lazy association for N rows shows up as one statement repeated N times.
+         */
+        public Optional<RepeatedStatement> mostRepeated() {
+            return executions.entrySet().stream()
+                    .max(Map.Entry.comparingByValue())
+                    .map(entry -> new RepeatedStatement(entry.getKey(), entry.getValue()));
+        }
+
+        @Override
+        public void close() {
+            Deque<Scope> scopes = SCOPES.get();
+            if (scopes == null) {
+                return;
+            }
+            scopes.remove(this);
+            if (scopes.isEmpty()) {
+                SCOPES.remove();
+            }
+        }
+    }
+
+    public record RepeatedStatement(String sql, int executions) {
+    }
+}
@@ -0,0 +1,87 @@
+package org.progresspalbackend.progresspalbackend.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+
+/**
+ * Records the number of SQL statements issued while handling each request, tagged with the
+ * matched route so it lines up with {@code http.server.requests}. Requests that run the same
+ * statement {@code app.sql.query-budget.repeated-statement-threshold} times or more are logged
+ * and counted as likely N+1 loads.
+ */
+@Slf4j
+@Component
+public class SqlStatementMetricsFilter extends OncePerRequestFilter {
+
+    static final String SUMMARY_NAME = "progresspal.http.sql.statements";
+    static final String REPEATED_COUNTER_NAME = "progresspal.http.sql.repeated";
+
+    /** Request attribute holding the statement count of the finished request, read by tests. */
+    public static final String STATEMENTS_ATTRIBUTE = SqlStatementMetricsFilter.class.getName() + ".statements";
+    /** Request attribute holding the most repeated {@link SqlStatementCounter.RepeatedStatement}. */
+    public static final String MOST_REPEATED_ATTRIBUTE = SqlStatementMetricsFilter.class.getName() + ".mostRepeated";
+
+    private final MeterRegistry meterRegistry;
+    private final SqlStatementCounter sqlStatementCounter;
+    private final QueryBudgetProperties queryBudgetProperties;
+
+    public SqlStatementMetricsFilter(MeterRegistry meterRegistry,
+                                     SqlStatementCounter sqlStatementCounter,
+                                     QueryBudgetProperties queryBudgetProperties) {
+        this.meterRegistry = meterRegistry;
+        this.sqlStatementCounter = sqlStatementCounter;
+        this.queryBudgetProperties = queryBudgetProperties;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        SqlStatementCounter.Scope scope = sqlStatementCounter.open();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            scope.close();
+            Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+            String uri = pattern == null ? "UNKNOWN" : pattern.toString();
+            DistributionSummary.builder(SUMMARY_NAME)
+                    .tag("method", request.getMethod())
+                    .tag("uri", uri)
+                    .register(meterRegistry)
+                    .record(scope.statements());
+
+            request.setAttribute(STATEMENTS_ATTRIBUTE, scope.statements());
+            scope.mostRepeated().ifPresent(repeated -> {
+                request.setAttribute(MOST_REPEATED_ATTRIBUTE, repeated);
+                reportRepeated(request.getMethod(), uri, repeated);
+            });
+        }
+    }
+
+    private void reportRepeated(String method, String uri, SqlStatementCounter.RepeatedStatement repeated) {
+        int threshold = queryBudgetProperties.getRepeatedStatementThreshold();
+        if (queryBudgetProperties.getMode() == QueryBudgetProperties.Mode.OFF
+                || threshold < 2
+                || repeated.executions() < threshold) {
+            return;
+        }
+        Counter.builder(REPEATED_COUNTER_NAME)
+                .tag("method", method)
+                .tag("uri", uri)
+                .register(meterRegistry)
+                .increment();
+        log.warn("Possible N+1 on {} {}: statement executed {} times: {}",
+                method, uri, repeated.executions(), repeated.sql());
+    }
+}
@@ -0,0 +1,63 @@
+package org.progresspalbackend.progresspalbackend.domain;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.FetchType;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.JoinColumn;
+import jakarta.persistence.ManyToOne;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+/**
+ * Best completed session per activity type, kept per audience the same way as {@link UserStreak}.
+ */
+@Entity
+@Table(
+        name = "personal_record",
+        uniqueConstraints = {
+                @UniqueConstraint(
+                        name = "ux_personal_record_user_type_audience",
+                        columnNames = {"user_id", "activity_type_id", "audience"})
+        }
+)
+@Getter
+@Setter
+@NoArgsConstructor
+public class PersonalRecord {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.UUID)
+    private UUID id;
+
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name = "user_id", nullable = false)
+    private User user;
+
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name = "activity_type_id", nullable = false)
+    private ActivityType activityType;
+
+    @Enumerated(EnumType.STRING)
+    @JdbcTypeCode(SqlTypes.NAMED_ENUM)
+    @Column(name = "audience", nullable = false)
+    private Visibility audience;
+
+    @Column(name = "longest_duration_seconds", nullable = false)
+    private long longestDurationSeconds;
+
+    @Column(name = "best_metric_value")
+    private BigDecimal bestMetricValue;
+}
@@ -80,6 +80,10 @@ public class Session {
     @Column(name = "last_sent_heartbeat")
     private Instant lastSentHeartBeat;
 
+    @Version
+    @Column(name = "version", nullable = false)
+    private Long version;
+
     @Transient
     public boolean isLive() {
         return endedAt == null;
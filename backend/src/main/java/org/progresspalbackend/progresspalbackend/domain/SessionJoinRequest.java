@@ -28,6 +28,7 @@ import java.util.UUID;
         },
         indexes = {
                 @Index(name = "ix_session_join_request_requester_created", columnList = "requester_id, created_at DESC"),
+                @Index(name = "ix_session_join_request_requester_status_created", columnList = "requester_id, status, created_at DESC"),
                 @Index(name = "ix_session_join_request_session_status_created", columnList = "session_id, status, created_at DESC")
         }
 )
@@ -0,0 +1,62 @@
+package org.progresspalbackend.progresspalbackend.domain;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.FetchType;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.JoinColumn;
+import jakarta.persistence.ManyToOne;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
+
+import java.time.LocalDate;
+import java.util.UUID;
+
+/**
+ * Daily streak of one user as seen by one audience: {@code audience} PUBLIC counts only public
+ * sessions, FRIENDS also friends-only ones and PRIVATE every session. Days are UTC days on which a
+ * session was completed.
+ */
+@Entity
+@Table(
+        name = "user_streak",
+        uniqueConstraints = {
+                @UniqueConstraint(name = "ux_user_streak_user_audience", columnNames = {"user_id", "audience"})
+        }
+)
+@Getter
+@Setter
+@NoArgsConstructor
+public class UserStreak {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.UUID)
+    private UUID id;
+
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name = "user_id", nullable = false)
+    private User user;
+
+    @Enumerated(EnumType.STRING)
+    @JdbcTypeCode(SqlTypes.NAMED_ENUM)
+    @Column(name = "audience", nullable = false)
+    private Visibility audience;
+
+    @Column(name = "current_streak_days", nullable = false)
+    private int currentStreakDays;
+
+    @Column(name = "longest_streak_days", nullable = false)
+    private int longestStreakDays;
+
+    @Column(name = "last_active_day", nullable = false)
+    private LocalDate lastActiveDay;
+}
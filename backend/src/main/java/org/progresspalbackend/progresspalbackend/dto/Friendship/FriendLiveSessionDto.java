@@ -0,0 +1,17 @@
+package org.progresspalbackend.progresspalbackend.dto.Friendship;
+
+import java.time.Instant;
+import java.util.UUID;
+
+public record FriendLiveSessionDto(
+        UUID userId,
+        String username,
+        String profileImage,
+        UUID sessionId,
+        UUID activityTypeId,
+        String activityTypeName,
+        String title,
+        Instant startedAt,
+        boolean paused
+) {
+}
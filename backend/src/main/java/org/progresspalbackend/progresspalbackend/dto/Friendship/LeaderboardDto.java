@@ -0,0 +1,16 @@
+package org.progresspalbackend.progresspalbackend.dto.Friendship;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+public record LeaderboardDto(
+        UUID activityTypeId,
+        String activityTypeName,
+        String period,
+        LocalDate periodStart,
+        String rankBy,
+        String metricLabel,
+        List<LeaderboardEntryDto> entries
+) {
+}
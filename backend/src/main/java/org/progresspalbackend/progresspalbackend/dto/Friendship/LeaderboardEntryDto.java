@@ -0,0 +1,12 @@
+package org.progresspalbackend.progresspalbackend.dto.Friendship;
+
+import java.util.UUID;
+
+public record LeaderboardEntryDto(
+        int rank,
+        UUID userId,
+        String username,
+        String profileImage,
+        double score
+) {
+}
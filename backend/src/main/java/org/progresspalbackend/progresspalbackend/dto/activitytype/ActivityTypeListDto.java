@@ -0,0 +1,8 @@
+package org.progresspalbackend.progresspalbackend.dto.activitytype;
+
+import java.util.List;
+
+public record ActivityTypeListDto(
+        List<ActivityTypeDto> types,
+        String etag
+) {}
@@ -0,0 +1,15 @@
+package org.progresspalbackend.progresspalbackend.dto.dashboard;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+/** Days without completed sessions are omitted; {@code from} and {@code to} bound the grid. */
+public record ActivityHeatmapDto(
+        UUID userId,
+        String scope,
+        LocalDate from,
+        LocalDate to,
+        List<HeatmapDayDto> days
+) {
+}
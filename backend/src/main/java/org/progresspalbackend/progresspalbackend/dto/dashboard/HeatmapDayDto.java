@@ -0,0 +1,9 @@
+package org.progresspalbackend.progresspalbackend.dto.dashboard;
+
+import java.time.LocalDate;
+
+public record HeatmapDayDto(
+        LocalDate date,
+        long totalDurationSeconds
+) {
+}
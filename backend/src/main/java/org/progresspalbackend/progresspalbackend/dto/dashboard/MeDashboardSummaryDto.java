@@ -6,6 +6,8 @@ public record MeDashboardSummaryDto(
         long totalSessions,
         long totalDurationSeconds,
         long activeDays,
-        List<TopActivityTypeByTimeDto> topActivityTypesByTime
+        List<TopActivityTypeByTimeDto> topActivityTypesByTime,
+        StreakDto streak,
+        List<PersonalRecordDto> personalRecords
 ) {
 }
@@ -5,6 +5,7 @@ import java.util.UUID;
 
 public record MeDashboardTrendsDto(
         String bucket,
+        String timeZone,
         List<DurationTrendPointDto> durationSeries,
         UUID metricActivityTypeId,
         String metricLabel,
@@ -0,0 +1,13 @@
+package org.progresspalbackend.progresspalbackend.dto.dashboard;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+public record PersonalRecordDto(
+        UUID activityTypeId,
+        String activityTypeName,
+        String metricLabel,
+        long longestDurationSeconds,
+        BigDecimal bestMetricValue
+) {
+}
@@ -0,0 +1,10 @@
+package org.progresspalbackend.progresspalbackend.dto.dashboard;
+
+import java.time.LocalDate;
+
+public record StreakDto(
+        int currentStreakDays,
+        int longestStreakDays,
+        LocalDate lastActiveDay
+) {
+}
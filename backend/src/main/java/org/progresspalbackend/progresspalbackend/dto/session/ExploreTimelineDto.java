@@ -0,0 +1,10 @@
+package org.progresspalbackend.progresspalbackend.dto.session;
+
+import java.util.List;
+
+/** One page of the public timeline; pass {@code nextCursor} back to continue, null when exhausted. */
+public record ExploreTimelineDto(
+        List<SessionDto> items,
+        String nextCursor
+) {
+}
@@ -0,0 +1,26 @@
+package org.progresspalbackend.progresspalbackend.dto.session;
+
+import org.progresspalbackend.progresspalbackend.domain.GoalType;
+import org.progresspalbackend.progresspalbackend.domain.Visibility;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.UUID;
+
+public record SessionExportRowDto(
+        UUID id,
+        UUID activityTypeId,
+        String activityTypeName,
+        String title,
+        String description,
+        Instant startedAt,
+        Instant endedAt,
+        long durationSeconds,
+        Long pausedDurationSeconds,
+        BigDecimal metricValue,
+        GoalType goalType,
+        BigDecimal goalTarget,
+        String goalNote,
+        Visibility visibility
+) {
+}
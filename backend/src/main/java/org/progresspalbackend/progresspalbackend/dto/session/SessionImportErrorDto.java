@@ -0,0 +1,7 @@
+package org.progresspalbackend.progresspalbackend.dto.session;
+
+public record SessionImportErrorDto(
+        long line,
+        String message
+) {
+}
@@ -0,0 +1,10 @@
+package org.progresspalbackend.progresspalbackend.dto.session;
+
+import java.util.List;
+
+public record SessionImportResultDto(
+        long imported,
+        long rejected,
+        List<SessionImportErrorDto> errors
+) {
+}
@@ -0,0 +1,28 @@
+package org.progresspalbackend.progresspalbackend.dto.session;
+
+import org.progresspalbackend.progresspalbackend.domain.GoalType;
+import org.progresspalbackend.progresspalbackend.domain.Visibility;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * One completed session to import. The activity type is matched by id, or by name when no id is
+ * given; other export columns such as {@code id} and {@code durationSeconds} are ignored.
+ */
+public record SessionImportRowDto(
+        UUID activityTypeId,
+        String activityTypeName,
+        String title,
+        String description,
+        Instant startedAt,
+        Instant endedAt,
+        Long pausedDurationSeconds,
+        BigDecimal metricValue,
+        GoalType goalType,
+        BigDecimal goalTarget,
+        String goalNote,
+        Visibility visibility
+) {
+}
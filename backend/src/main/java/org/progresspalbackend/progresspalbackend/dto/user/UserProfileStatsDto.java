@@ -1,5 +1,7 @@
 package org.progresspalbackend.progresspalbackend.dto.user;
 
+import org.progresspalbackend.progresspalbackend.dto.dashboard.PersonalRecordDto;
+import org.progresspalbackend.progresspalbackend.dto.dashboard.StreakDto;
 import org.progresspalbackend.progresspalbackend.dto.dashboard.TopActivityTypeByTimeDto;
 
 import java.util.List;
@@ -8,6 +10,8 @@ public record UserProfileStatsDto(
         long totalSessions,
         long totalVisibleDurationSeconds,
         List<TopActivityTypeByTimeDto> topActivityTypesByVisibleDuration,
-        List<UserProfileRecentSessionDto> recentSessions
+        List<UserProfileRecentSessionDto> recentSessions,
+        StreakDto streak,
+        List<PersonalRecordDto> personalRecords
 ) {
 }
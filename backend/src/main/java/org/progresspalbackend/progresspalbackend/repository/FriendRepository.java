@@ -3,6 +3,8 @@ package org.progresspalbackend.progresspalbackend.repository;
 
 import org.progresspalbackend.progresspalbackend.domain.Friendship;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -17,4 +19,10 @@ public interface FriendRepository extends JpaRepository<Friendship, UUID> {
     boolean existsByUser_IdAndFriend_Id(UUID userId, UUID friendId);
 
     Friendship findByUser_IdAndFriend_Id(UUID userId, UUID friendId);
+
+    @Query("select f.friend.id from Friendship f where f.user.id = :userId")
+    List<UUID> findFriendIdsOfUser(@Param("userId") UUID userId);
+
+    @Query("select f.user.id from Friendship f where f.friend.id = :userId")
+    List<UUID> findUserIdsOfFriend(@Param("userId") UUID userId);
 }
@@ -1,5 +1,7 @@
 package org.progresspalbackend.progresspalbackend.repository;
 
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.progresspalbackend.progresspalbackend.domain.Notification;
 import org.progresspalbackend.progresspalbackend.domain.NotificationResourceType;
 import org.progresspalbackend.progresspalbackend.domain.NotificationType;
@@ -8,6 +10,7 @@ import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 
 import java.time.Instant;
@@ -27,6 +30,7 @@ public interface NotificationRepository extends JpaRepository<Notification, UUID
                                                                              Pageable pageable);
 
     long countByRecipient_IdAndReadAtIsNull(UUID recipientId);
+    long countByReadAtIsNull();
     long countByRecipient_IdAndReadAtIsNullAndTypeIn(UUID recipientId, Collection<NotificationType> types);
     long countByRecipient_IdAndReadAtIsNullAndTypeNotIn(UUID recipientId, Collection<NotificationType> types);
 
@@ -44,6 +48,7 @@ public interface NotificationRepository extends JpaRepository<Notification, UUID
     List<Notification> findAllByRecipient_IdAndReadAtIsNullAndResourceId(UUID recipientId, UUID resourceId);
 
     @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "notification"))
     @Query(value = """
             insert into notification (
                 id,
@@ -0,0 +1,76 @@
+package org.progresspalbackend.progresspalbackend.repository;
+
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.progresspalbackend.progresspalbackend.domain.PersonalRecord;
+import org.progresspalbackend.progresspalbackend.domain.Visibility;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+public interface PersonalRecordRepository extends JpaRepository<PersonalRecord, UUID> {
+
+    @Query("""
+            select r
+            from PersonalRecord r
+            join fetch r.activityType
+            where r.user.id = :userId
+              and r.audience = :audience
+            order by r.activityType.name asc, r.activityType.id asc
+            """)
+    List<PersonalRecord> findByUserIdAndAudience(@Param("userId") UUID userId,
+                                                 @Param("audience") Visibility audience);
+
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "personal_record"))
+    @Query(value = """
+            insert into personal_record (id, user_id, activity_type_id, audience, longest_duration_seconds, best_metric_value)
+            values (gen_random_uuid(), :userId, :activityTypeId, cast(:audience as visibility),
+                    :durationSeconds, cast(:metricValue as numeric))
+            on conflict (user_id, activity_type_id, audience) do update
+               set longest_duration_seconds = greatest(personal_record.longest_duration_seconds, excluded.longest_duration_seconds),
+                   best_metric_value = greatest(personal_record.best_metric_value, excluded.best_metric_value)
+            """, nativeQuery = true)
+    int recordSession(@Param("userId") UUID userId,
+                      @Param("activityTypeId") UUID activityTypeId,
+                      @Param("audience") String audience,
+                      @Param("durationSeconds") long durationSeconds,
+                      @Param("metricValue") BigDecimal metricValue);
+
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "personal_record"))
+    @Query(value = "delete from personal_record where user_id = :userId", nativeQuery = true)
+    int deleteByUserId(@Param("userId") UUID userId);
+
+    /** Recomputes every audience's records for one user from their completed sessions. */
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "personal_record"))
+    @Query(value = """
+            with audience(audience) as (
+                values (cast('PUBLIC' as visibility)), (cast('FRIENDS' as visibility)), (cast('PRIVATE' as visibility))
+            )
+            insert into personal_record (id, user_id, activity_type_id, audience, longest_duration_seconds, best_metric_value)
+            select gen_random_uuid(), s.user_id, s.activity_type_id, a.audience,
+                   max(greatest(0,
+                           greatest(0, floor(extract(epoch from s.ended_at - s.started_at)))
+                           - s.paused_duration_seconds
+                           - case when s.paused_at is null then 0
+                                  else greatest(0, floor(extract(epoch from s.ended_at - s.paused_at)))
+                             end)),
+                   max(s.metric_value)
+            from session s
+            join audience a on a.audience = 'PRIVATE' or s.visibility = 'PUBLIC' or s.visibility = a.audience
+            where s.user_id = :userId
+              and s.ended_at is not null
+            group by s.user_id, s.activity_type_id, a.audience
+            """, nativeQuery = true)
+    int insertFromSessions(@Param("userId") UUID userId);
+}
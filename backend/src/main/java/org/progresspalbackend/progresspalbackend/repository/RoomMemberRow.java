@@ -0,0 +1,25 @@
+package org.progresspalbackend.progresspalbackend.repository;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * One row of {@link SessionJoinRequestRepository#findRoomMembers}: the host, and one accepted participant
+ * when there is any.
+ */
+public interface RoomMemberRow {
+
+    UUID getHostId();
+
+    String getHostUsername();
+
+    String getHostProfileImage();
+
+    Instant getEndedAt();
+
+    UUID getParticipantId();
+
+    String getParticipantUsername();
+
+    String getParticipantProfileImage();
+}
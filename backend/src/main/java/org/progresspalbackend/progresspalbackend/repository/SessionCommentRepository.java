@@ -1,6 +1,7 @@
 package org.progresspalbackend.progresspalbackend.repository;
 
 import org.progresspalbackend.progresspalbackend.domain.SessionComment;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -13,6 +14,7 @@ import java.util.UUID;
 
 public interface SessionCommentRepository extends JpaRepository<SessionComment, UUID> {
 
+    @EntityGraph(attributePaths = {"author", "replyToComment", "replyToComment.author"})
     List<SessionComment> findAllBySession_IdOrderByCreatedAtDesc(UUID sessionId);
 
     Optional<SessionComment> findByIdAndSession_Id(UUID id, UUID sessionId);
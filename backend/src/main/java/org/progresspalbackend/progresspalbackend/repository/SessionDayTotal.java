@@ -0,0 +1,14 @@
+package org.progresspalbackend.progresspalbackend.repository;
+
+import org.progresspalbackend.progresspalbackend.domain.Visibility;
+
+import java.time.LocalDate;
+
+public interface SessionDayTotal {
+
+    LocalDate getDay();
+
+    Visibility getVisibility();
+
+    long getDurationSeconds();
+}
@@ -2,7 +2,11 @@ package org.progresspalbackend.progresspalbackend.repository;
 
 import org.progresspalbackend.progresspalbackend.domain.SessionJoinRequest;
 import org.progresspalbackend.progresspalbackend.domain.SessionJoinRequestStatus;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import java.util.List;
 import java.util.Optional;
@@ -16,9 +20,68 @@ public interface SessionJoinRequestRepository extends JpaRepository<SessionJoinR
 
     Optional<SessionJoinRequest> findByIdAndSession_Id(UUID id, UUID sessionId);
 
-    List<SessionJoinRequest> findAllByRequester_IdOrderByCreatedAtDesc(UUID requesterId);
+    /**
+     * One page of a requester's join requests, newest first, with the session fetched for its host id
+     * and state. {@code liveOnly} keeps requests on sessions that have not ended.
+     */
+    @Query("""
+            select request
+              from SessionJoinRequest request
+              join fetch request.session session
+             where request.requester.id = :requesterId
+               and (:liveOnly = false or session.endedAt is null)
+             order by request.createdAt desc, request.id desc
+            """)
+    Slice<SessionJoinRequest> findOutgoing(@Param("requesterId") UUID requesterId,
+                                           @Param("liveOnly") boolean liveOnly,
+                                           Pageable pageable);
+
+    /** {@link #findOutgoing} narrowed to one status, served by ix_session_join_request_requester_status_created. */
+    @Query("""
+            select request
+              from SessionJoinRequest request
+              join fetch request.session session
+             where request.requester.id = :requesterId
+               and request.status = :status
+               and (:liveOnly = false or session.endedAt is null)
+             order by request.createdAt desc, request.id desc
+            """)
+    Slice<SessionJoinRequest> findOutgoingWithStatus(@Param("requesterId") UUID requesterId,
+                                                     @Param("status") SessionJoinRequestStatus status,
+                                                     @Param("liveOnly") boolean liveOnly,
+                                                     Pageable pageable);
 
     List<SessionJoinRequest> findAllBySession_IdAndStatusOrderByCreatedAtDesc(UUID sessionId, SessionJoinRequestStatus status);
 
-    List<SessionJoinRequest> findAllBySession_IdAndStatusOrderByCreatedAtAsc(UUID sessionId, SessionJoinRequestStatus status);
+    /**
+     * Host and accepted participants of a session in one round trip, oldest acceptance first. A session
+     * without participants yields a single row with null participant columns; an unknown session yields none.
+     */
+    @Query("""
+            select host.id as hostId,
+                   host.username as hostUsername,
+                   host.profileImage as hostProfileImage,
+                   session.endedAt as endedAt,
+                   participant.id as participantId,
+                   participant.username as participantUsername,
+                   participant.profileImage as participantProfileImage
+              from Session session
+              join session.user host
+              left join SessionJoinRequest request
+                     on request.session = session
+                    and request.status = org.progresspalbackend.progresspalbackend.domain.SessionJoinRequestStatus.ACCEPTED
+                    and request.requester.id <> host.id
+              left join request.requester participant
+             where session.id = :sessionId
+             order by request.createdAt asc, request.id asc
+            """)
+    List<RoomMemberRow> findRoomMembers(@Param("sessionId") UUID sessionId);
+
+    @Query("""
+            select count(distinct request.session.id)
+              from SessionJoinRequest request
+             where request.status = :status
+               and request.session.endedAt is null
+            """)
+    long countLiveSessionsWithRequestStatus(@Param("status") SessionJoinRequestStatus status);
 }
@@ -1,14 +1,22 @@
 package org.progresspalbackend.progresspalbackend.repository;
 
 
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.progresspalbackend.progresspalbackend.domain.Session;
 import org.progresspalbackend.progresspalbackend.domain.Visibility;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
+import java.math.BigDecimal;
 import java.time.Instant;
 import java.util.List;
 import java.util.Optional;
@@ -23,12 +31,28 @@ public interface SessionRepository extends JpaRepository<Session, UUID>, JpaSpec
     List<Session> findByUserId(UUID userId);
     List<Session> findByStartedAtAfter(Instant startedAt);
     List<Session> findByUserIdAndVisibilityIn(UUID userId, List<Visibility> visibilities);
-    List<Session> findByActivityTypeId(UUID activityTypeId);
     boolean existsByActivityType_Id(UUID activityTypeId);
-    boolean existsByUser_IdAndEndedAtIsNull(UUID userId);
 
     @EntityGraph(attributePaths = {"user", "activityType"})
-    Page<Session> findByVisibilityOrderByStartedAtDesc(Visibility visibility, Pageable pageable);
+    Slice<Session> findByVisibilityOrderByStartedAtDesc(Visibility visibility, Pageable pageable);
+
+    /**
+     * Keyset page of one visibility strictly after ({@code startedAt}, {@code id}) in newest-first
+     * order. The separate {@code <=} bound is what lets the planner range-scan the index.
+     */
+    @EntityGraph(attributePaths = {"user", "activityType"})
+    @Query("""
+            select s
+            from Session s
+            where s.visibility = :visibility
+              and s.startedAt <= :startedAt
+              and (s.startedAt < :startedAt or s.id < :id)
+            order by s.startedAt desc, s.id desc
+            """)
+    List<Session> findByVisibilityBefore(@Param("visibility") Visibility visibility,
+                                         @Param("startedAt") Instant startedAt,
+                                         @Param("id") UUID id,
+                                         Pageable pageable);
 
     @EntityGraph(attributePaths = {"user", "activityType"})
     Page<Session> findByUser_IdInAndVisibilityOrderByStartedAtDesc(List<UUID> userIds, Visibility visibility, Pageable pageable);
@@ -36,7 +60,216 @@ public interface SessionRepository extends JpaRepository<Session, UUID>, JpaSpec
     @EntityGraph(attributePaths = {"user", "activityType"})
     Page<Session> findByUser_IdInAndVisibilityInOrderByStartedAtDesc(List<UUID> userIds, List<Visibility> visibilities, Pageable pageable);
 
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
     Optional<Session> findFirstByUser_IdAndEndedAtIsNullOrderByStartedAtDesc(UUID userId);
-    List<Session> findAllByEndedAtIsNullAndPausedAtIsNull();
+
+    /** Loads a session without a dirty-checking snapshot, for explaining a rejected transition. */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
+    Optional<Session> findReadOnlyById(UUID id);
+
+    /*
+     * Lifecycle transitions. Each one changes the session only if it belongs to userId and is in the
+     * expected state, and returns the updated row; an empty result means the transition was rejected.
+     * They bump the optimistic version, so an entity read before one of them can no longer be saved.
+     */
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "session"))
+    @Query(value = """
+            update session
+               set version = version + 1,
+                   paused_at = cast(:now as timestamptz)
+             where id = :id
+               and user_id = :userId
+               and ended_at is null
+               and paused_at is null
+            returning *
+            """, nativeQuery = true)
+    Optional<Session> pause(@Param("id") UUID id, @Param("userId") UUID userId, @Param("now") Instant now);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "session"))
+    @Query(value = """
+            update session
+               set version = version + 1,
+                   paused_duration_seconds = paused_duration_seconds
+                       + cast(greatest(0, floor(extract(epoch from cast(:now as timestamptz) - paused_at))) as bigint),
+                   paused_at = null,
+                   last_sent_heartbeat = cast(:now as timestamptz)
+             where id = :id
+               and user_id = :userId
+               and ended_at is null
+               and paused_at is not null
+            returning *
+            """, nativeQuery = true)
+    Optional<Session> resume(@Param("id") UUID id, @Param("userId") UUID userId, @Param("now") Instant now);
+
+    /** Ends a live session; without an explicit {@code metricValue} the live progress value is kept. */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "session"))
+    @Query(value = """
+            update session
+               set version = version + 1,
+                   paused_duration_seconds = paused_duration_seconds
+                       + case when paused_at is null then 0
+                              else cast(greatest(0, floor(extract(epoch from cast(:now as timestamptz) - paused_at))) as bigint)
+                         end,
+                   paused_at = null,
+                   ended_at = cast(:now as timestamptz),
+                   metric_value = coalesce(cast(:metricValue as numeric), metric_current_value)
+             where id = :id
+               and user_id = :userId
+               and ended_at is null
+            returning *
+            """, nativeQuery = true)
+    Optional<Session> stop(@Param("id") UUID id,
+                           @Param("userId") UUID userId,
+                           @Param("now") Instant now,
+                           @Param("metricValue") BigDecimal metricValue);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "session"))
+    @Query(value = """
+            update session
+               set version = version + 1,
+                   metric_current_value = cast(:metricCurrentValue as numeric)
+             where id = :id
+               and user_id = :userId
+               and ended_at is null
+               and paused_at is null
+            returning *
+            """, nativeQuery = true)
+    Optional<Session> updateMetricProgress(@Param("id") UUID id,
+                                           @Param("userId") UUID userId,
+                                           @Param("metricCurrentValue") BigDecimal metricCurrentValue);
+
+    /** Refreshes the heartbeat of a running session that has not gone stale since {@code staleBefore}. */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "session"))
+    @Query(value = """
+            update session
+               set version = version + 1,
+                   last_sent_heartbeat = cast(:now as timestamptz)
+             where id = :id
+               and user_id = :userId
+               and ended_at is null
+               and paused_at is null
+               and coalesce(last_sent_heartbeat, started_at) > cast(:staleBefore as timestamptz)
+            returning *
+            """, nativeQuery = true)
+    Optional<Session> heartbeat(@Param("id") UUID id,
+                                @Param("userId") UUID userId,
+                                @Param("now") Instant now,
+                                @Param("staleBefore") Instant staleBefore);
+
+    /**
+     * Pauses every running session last seen at or before {@code staleBefore}, at the moment it went
+     * stale. A session resumed or refreshed since it was read no longer matches.
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "session"))
+    @Query(value = """
+            update session
+               set version = version + 1,
+                   paused_at = coalesce(last_sent_heartbeat, started_at) + cast(:staleAfterMillis as bigint) * interval '1 millisecond'
+             where ended_at is null
+               and paused_at is null
+               and coalesce(last_sent_heartbeat, started_at) <= cast(:staleBefore as timestamptz)
+            returning *
+            """, nativeQuery = true)
+    List<Session> pauseStale(@Param("staleBefore") Instant staleBefore, @Param("staleAfterMillis") long staleAfterMillis);
+
+    /** Single-session form of {@link #pauseStale}. */
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "session"))
+    @Query(value = """
+            update session
+               set version = version + 1,
+                   paused_at = coalesce(last_sent_heartbeat, started_at) + cast(:staleAfterMillis as bigint) * interval '1 millisecond'
+             where id = :id
+               and ended_at is null
+               and paused_at is null
+               and coalesce(last_sent_heartbeat, started_at) <= cast(:staleBefore as timestamptz)
+            """, nativeQuery = true)
+    int pauseIfStale(@Param("id") UUID id,
+                     @Param("staleBefore") Instant staleBefore,
+                     @Param("staleAfterMillis") long staleAfterMillis);
+
+    @EntityGraph(attributePaths = {"user", "activityType"})
+    List<Session> findAllByEndedAtIsNull();
+
+    long countByEndedAtIsNullAndPausedAtIsNull();
+    long countByEndedAtIsNullAndPausedAtIsNotNull();
+
+    /**
+     * Per-bucket totals of a user's sessions, bucketed by start time in {@code zone} (an IANA name)
+     * with {@code date_trunc(unit, ...)}. Durations are pause-adjusted like
+     * {@code SessionMapper#computeEffectiveDurationSeconds}, with live sessions measured up to {@code now}.
+     * Null bounds and a null metric type are ignored.
+     */
+    @Query(value = """
+            select cast(date_trunc(cast(:unit as text), s.started_at at time zone cast(:zone as text)) as date) as bucketStart,
+                   cast(sum(greatest(0,
+                           greatest(0, floor(extract(epoch from coalesce(s.ended_at, cast(:now as timestamptz)) - s.started_at)))
+                           - s.paused_duration_seconds
+                           - case when s.paused_at is null then 0
+                                  else greatest(0, floor(extract(epoch from coalesce(s.ended_at, cast(:now as timestamptz)) - s.paused_at)))
+                             end)) as bigint) as durationSeconds,
+                   sum(s.metric_value) filter (where s.activity_type_id = cast(:metricActivityTypeId as uuid)) as metricTotal
+            from session s
+            where s.user_id = :userId
+              and (cast(:fromInclusive as timestamptz) is null or s.started_at >= cast(:fromInclusive as timestamptz))
+              and (cast(:toExclusive as timestamptz) is null or s.started_at < cast(:toExclusive as timestamptz))
+            group by 1
+            order by 1
+            """, nativeQuery = true)
+    List<SessionTrendBucket> sumDurationByBucket(@Param("userId") UUID userId,
+                                                 @Param("unit") String unit,
+                                                 @Param("zone") String zone,
+                                                 @Param("fromInclusive") Instant fromInclusive,
+                                                 @Param("toExclusive") Instant toExclusive,
+                                                 @Param("now") Instant now,
+                                                 @Param("metricActivityTypeId") UUID metricActivityTypeId);
+
+    /**
+     * Effective seconds of a user's completed sessions per UTC day and visibility, for sessions
+     * started on or after {@code fromInclusive}.
+     */
+    @Query(value = """
+            select cast(s.started_at at time zone 'UTC' as date) as day,
+                   cast(s.visibility as text) as visibility,
+                   cast(sum(greatest(0,
+                           greatest(0, floor(extract(epoch from s.ended_at - s.started_at)))
+                           - s.paused_duration_seconds
+                           - case when s.paused_at is null then 0
+                                  else greatest(0, floor(extract(epoch from s.ended_at - s.paused_at)))
+                             end)) as bigint) as durationSeconds
+            from session s
+            where s.user_id = :userId
+              and s.started_at >= :fromInclusive
+              and s.ended_at is not null
+            group by 1, 2
+            """, nativeQuery = true)
+    List<SessionDayTotal> sumCompletedDurationByDay(@Param("userId") UUID userId,
+                                                    @Param("fromInclusive") Instant fromInclusive);
+
+    /**
+     * Effective seconds and summed metric of each user's completed, non-private sessions of one
+     * activity type started in [{@code fromInclusive}, {@code toExclusive}); seeds a leaderboard.
+     */
+    @Query(value = """
+            select s.user_id as userId,
+                   cast(sum(greatest(0,
+                           greatest(0, floor(extract(epoch from s.ended_at - s.started_at)))
+                           - s.paused_duration_seconds
+                           - case when s.paused_at is null then 0
+                                  else greatest(0, floor(extract(epoch from s.ended_at - s.paused_at)))
+                             end)) as bigint) as durationSeconds,
+                   sum(s.metric_value) as metricValue
+            from session s
+            where s.activity_type_id = :activityTypeId
+              and s.started_at >= :fromInclusive
+              and s.started_at < :toExclusive
+              and s.ended_at is not null
+              and s.visibility <> 'PRIVATE'
+            group by 1
+            """, nativeQuery = true)
+    List<SessionUserTotal> sumCompletedByUser(@Param("activityTypeId") UUID activityTypeId,
+                                              @Param("fromInclusive") Instant fromInclusive,
+                                              @Param("toExclusive") Instant toExclusive);
 
 }
@@ -0,0 +1,14 @@
+package org.progresspalbackend.progresspalbackend.repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+public interface SessionTrendBucket {
+
+    LocalDate getBucketStart();
+
+    long getDurationSeconds();
+
+    /** Sum of the metric type's values in the bucket; {@code null} when it has none. */
+    BigDecimal getMetricTotal();
+}
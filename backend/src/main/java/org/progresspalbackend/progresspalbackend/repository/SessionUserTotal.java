@@ -0,0 +1,13 @@
+package org.progresspalbackend.progresspalbackend.repository;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+public interface SessionUserTotal {
+
+    UUID getUserId();
+
+    long getDurationSeconds();
+
+    BigDecimal getMetricValue();
+}
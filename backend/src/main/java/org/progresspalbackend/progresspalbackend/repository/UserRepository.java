@@ -2,13 +2,48 @@ package org.progresspalbackend.progresspalbackend.repository;
 
 import org.progresspalbackend.progresspalbackend.domain.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
 public interface UserRepository extends JpaRepository<User, UUID> {
-    List<User> findTop10ByUsernameContainingIgnoreCaseOrderByUsernameAsc(String username);
+    /**
+     * Ranks exact matches first, then prefix matches, then infix matches. Callers pass a lower-cased,
+     * LIKE-escaped term; the expression matches ix_users_username_trgm.
+     */
+    @Query(value = """
+            select u.*
+              from users u
+             where lower(u.username) like '%' || :term || '%' escape '\\'
+             order by case
+                        when lower(u.username) = :exact then 0
+                        when lower(u.username) like :term || '%' escape '\\' then 1
+                        else 2
+                      end,
+                      length(u.username),
+                      lower(u.username)
+             limit :limit
+            """, nativeQuery = true)
+    List<User> searchByUsernameRanked(@Param("term") String escapedTerm,
+                                      @Param("exact") String exact,
+                                      @Param("limit") int limit);
+
+    @Query(value = """
+            select u.*
+              from users u
+             where lower(u.username) like :term || '%' escape '\\'
+             order by case when lower(u.username) = :exact then 0 else 1 end,
+                      length(u.username),
+                      lower(u.username)
+             limit :limit
+            """, nativeQuery = true)
+    List<User> searchByUsernamePrefix(@Param("term") String escapedTerm,
+                                      @Param("exact") String exact,
+                                      @Param("limit") int limit);
+
     Optional<User> findByEmailIgnoreCase(String email);
     Optional<User> findByAuthIssuerAndAuthSubject(String authIssuer, String authSubject);
     boolean existsByUsernameIgnoreCase(String username);
@@ -0,0 +1,84 @@
+package org.progresspalbackend.progresspalbackend.repository;
+
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.progresspalbackend.progresspalbackend.domain.UserStreak;
+import org.progresspalbackend.progresspalbackend.domain.Visibility;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.Optional;
+import java.util.UUID;
+
+@Repository
+public interface UserStreakRepository extends JpaRepository<UserStreak, UUID> {
+
+    Optional<UserStreak> findByUser_IdAndAudience(UUID userId, Visibility audience);
+
+    /**
+     * Counts {@code day} into the streak: the next day extends it, a later day restarts it and an
+     * earlier or already counted day leaves it alone.
+     */
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "user_streak"))
+    @Query(value = """
+            insert into user_streak (id, user_id, audience, current_streak_days, longest_streak_days, last_active_day)
+            values (gen_random_uuid(), :userId, cast(:audience as visibility), 1, 1, :day)
+            on conflict (user_id, audience) do update
+               set current_streak_days = case
+                       when excluded.last_active_day = user_streak.last_active_day + 1 then user_streak.current_streak_days + 1
+                       when excluded.last_active_day > user_streak.last_active_day then 1
+                       else user_streak.current_streak_days
+                   end,
+                   longest_streak_days = case
+                       when excluded.last_active_day = user_streak.last_active_day + 1
+                           then greatest(user_streak.longest_streak_days, user_streak.current_streak_days + 1)
+                       else user_streak.longest_streak_days
+                   end,
+                   last_active_day = greatest(user_streak.last_active_day, excluded.last_active_day)
+            """, nativeQuery = true)
+    int recordActiveDay(@Param("userId") UUID userId,
+                        @Param("audience") String audience,
+                        @Param("day") LocalDate day);
+
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "user_streak"))
+    @Query(value = "delete from user_streak where user_id = :userId", nativeQuery = true)
+    int deleteByUserId(@Param("userId") UUID userId);
+
+    /** Recomputes every audience's streak for one user from their completed sessions. */
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "user_streak"))
+    @Query(value = """
+            with audience(audience) as (
+                values (cast('PUBLIC' as visibility)), (cast('FRIENDS' as visibility)), (cast('PRIVATE' as visibility))
+            ),
+            days as (
+                select distinct a.audience, cast(s.ended_at at time zone 'UTC' as date) as day
+                from session s
+                join audience a on a.audience = 'PRIVATE' or s.visibility = 'PUBLIC' or s.visibility = a.audience
+                where s.user_id = :userId
+                  and s.ended_at is not null
+            ),
+            runs as (
+                select audience, max(day) as last_day, count(*) as length
+                from (
+                    select audience, day,
+                           day - cast(row_number() over (partition by audience order by day) as int) as grp
+                    from days
+                ) d
+                group by audience, grp
+            )
+            insert into user_streak (id, user_id, audience, current_streak_days, longest_streak_days, last_active_day)
+            select gen_random_uuid(), :userId, audience,
+                   (array_agg(length order by last_day desc))[1], max(length), max(last_day)
+            from runs
+            group by audience
+            """, nativeQuery = true)
+    int insertFromSessions(@Param("userId") UUID userId);
+}
@@ -0,0 +1,158 @@
+package org.progresspalbackend.progresspalbackend.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.progresspalbackend.progresspalbackend.config.AfterCommit;
+import org.progresspalbackend.progresspalbackend.config.PrimaryRead;
+import org.progresspalbackend.progresspalbackend.domain.Session;
+import org.progresspalbackend.progresspalbackend.domain.Visibility;
+import org.progresspalbackend.progresspalbackend.dto.dashboard.ActivityHeatmapDto;
+import org.progresspalbackend.progresspalbackend.dto.dashboard.HeatmapDayDto;
+import org.progresspalbackend.progresspalbackend.mapper.SessionMapper;
+import org.progresspalbackend.progresspalbackend.repository.SessionDayTotal;
+import org.progresspalbackend.progresspalbackend.repository.SessionRepository;
+import org.progresspalbackend.progresspalbackend.repository.UserRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Per-day effective seconds of completed sessions over the last {@value #DAYS} UTC days. Each
+ * user's totals come from one grouped query and are cached split by visibility, so owner, friend
+ * and public views share an entry; stopping a session patches the cached day in place.
+ */
+@Service
+public class ActivityHeatmapService {
+
+    static final int DAYS = 365;
+
+    private final SessionRepository sessionRepository;
+    private final UserRepository userRepository;
+    private final UserProfileService userProfileService;
+    private final SessionMapper mapper;
+    private final Cache<UUID, DailyTotals> totalsByUser;
+
+    public ActivityHeatmapService(
+            SessionRepository sessionRepository,
+            UserRepository userRepository,
+            UserProfileService userProfileService,
+            SessionMapper mapper,
+            @Value("${app.dashboard.heatmap-cache.max-size:50000}") long maxSize,
+            @Value("${app.dashboard.heatmap-cache.ttl:PT6H}") Duration ttl) {
+        this.sessionRepository = sessionRepository;
+        this.userRepository = userRepository;
+        this.userProfileService = userProfileService;
+        this.mapper = mapper;
+        // The TTL only bounds staleness from writes this instance never sees (other nodes, manual SQL).
+        this.totalsByUser = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .build();
+    }
+
+    // Fills the cache, so it reads the primary: recordStopped cannot patch an entry loaded from a lagging replica.
+    @PrimaryRead
+    @Transactional(readOnly = true)
+    public ActivityHeatmapDto getHeatmap(UUID actorUserId, UUID targetUserId) {
+        if (!userRepository.existsById(targetUserId)) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "User not found");
+        }
+        UserProfileService.ProfileScope scope = userProfileService.resolveScope(actorUserId, targetUserId);
+        List<Visibility> visible = userProfileService.visibleVisibilities(scope);
+
+        LocalDate to = LocalDate.now(ZoneOffset.UTC);
+        LocalDate from = to.minusDays(DAYS - 1L);
+        DailyTotals totals = totalsByUser.get(targetUserId, userId -> load(userId, from));
+
+        List<HeatmapDayDto> days = totals.byDay().entrySet().stream()
+                .filter(entry -> !entry.getKey().isBefore(from) && !entry.getKey().isAfter(to))
+                .map(entry -> new HeatmapDayDto(entry.getKey(), entry.getValue().visibleSeconds(visible)))
+                .filter(day -> day.totalDurationSeconds() > 0)
+                .sorted((a, b) -> a.date().compareTo(b.date()))
+                .toList();
+        return new ActivityHeatmapDto(targetUserId, scope.name(), from, to, days);
+    }
+
+    /** Adds a just-stopped session to its owner's cached totals once the stop commits. */
+    public void recordStopped(Session session) {
+        UUID userId = session.getUser().getId();
+        Instant endedAt = session.getEndedAt();
+        LocalDate day = session.getStartedAt().atOffset(ZoneOffset.UTC).toLocalDate();
+        long seconds = mapper.computeEffectiveDurationSeconds(session, endedAt);
+        Visibility visibility = session.getVisibility();
+
+        AfterCommit.runAfterCommit(() -> totalsByUser.asMap().computeIfPresent(userId, (id, totals) ->
+                // Totals loaded after the stop time may already hold the session; drop them rather than count it twice.
+                totals.loadedAt().isBefore(endedAt) ? totals.plus(day, visibility, seconds) : null));
+    }
+
+    public void invalidate(UUID userId) {
+        AfterCommit.runAfterCommit(() -> totalsByUser.invalidate(userId));
+    }
+
+    private DailyTotals load(UUID userId, LocalDate from) {
+        List<SessionDayTotal> rows = sessionRepository.sumCompletedDurationByDay(
+                userId, from.atStartOfDay(ZoneOffset.UTC).toInstant());
+        // Taken after the query, so any stop ending later than this was not visible to it.
+        Instant loadedAt = Instant.now();
+
+        Map<LocalDate, DayTotal> byDay = new HashMap<>();
+        for (SessionDayTotal row : rows) {
+            byDay.merge(row.getDay(), DayTotal.EMPTY.plus(row.getVisibility(), row.getDurationSeconds()), DayTotal::add);
+        }
+        return new DailyTotals(loadedAt, Map.copyOf(byDay));
+    }
+
+    private record DailyTotals(Instant loadedAt, Map<LocalDate, DayTotal> byDay) {
+
+        DailyTotals plus(LocalDate day, Visibility visibility, long seconds) {
+            Map<LocalDate, DayTotal> copy = new HashMap<>(byDay);
+            copy.merge(day, DayTotal.EMPTY.plus(visibility, seconds), DayTotal::add);
+            return new DailyTotals(loadedAt, Map.copyOf(copy));
+        }
+    }
+
+    private record DayTotal(long publicSeconds, long friendsSeconds, long privateSeconds) {
+
+        static final DayTotal EMPTY = new DayTotal(0, 0, 0);
+
+        DayTotal plus(Visibility visibility, long seconds) {
+            return switch (visibility) {
+                case PUBLIC -> new DayTotal(publicSeconds + seconds, friendsSeconds, privateSeconds);
+                case FRIENDS -> new DayTotal(publicSeconds, friendsSeconds + seconds, privateSeconds);
+                case PRIVATE -> new DayTotal(publicSeconds, friendsSeconds, privateSeconds + seconds);
+            };
+        }
+
+        DayTotal add(DayTotal other) {
+            return new DayTotal(
+                    publicSeconds + other.publicSeconds,
+                    friendsSeconds + other.friendsSeconds,
+                    privateSeconds + other.privateSeconds);
+        }
+
+        long visibleSeconds(Collection<Visibility> visible) {
+            long total = 0;
+            for (Visibility visibility : visible) {
+                total += switch (visibility) {
+                    case PUBLIC -> publicSeconds;
+                    case FRIENDS -> friendsSeconds;
+                    case PRIVATE -> privateSeconds;
+                };
+            }
+            return total;
+        }
+    }
+}
@@ -0,0 +1,102 @@
+package org.progresspalbackend.progresspalbackend.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.progresspalbackend.progresspalbackend.config.AfterCommit;
+import org.progresspalbackend.progresspalbackend.dto.activitytype.ActivityTypeDto;
+import org.progresspalbackend.progresspalbackend.mapper.ActivityTypeMapper;
+import org.progresspalbackend.progresspalbackend.repository.ActivityTypeRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.util.DigestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Read-side cache for activity types. Defaults are held as one immutable snapshot; custom types
+ * are cached per owner. Each cached list carries a content hash used to build HTTP ETags. Changes are
+ * evicted on this instance after commit; the TTLs bound how long other instances serve the old lists.
+ */
+@Component
+public class ActivityTypeCatalog {
+
+    private final ActivityTypeRepository repo;
+    private final ActivityTypeMapper mapper;
+    private final Cache<UUID, Entries> customByOwner;
+    private final long defaultsTtlNanos;
+    private final AtomicLong defaultsGeneration = new AtomicLong();
+    // A lock rather than synchronized so a reload does not pin a virtual thread to its carrier.
+    private final ReentrantLock defaultsLock = new ReentrantLock();
+    private volatile Defaults defaults;
+
+    public ActivityTypeCatalog(
+            ActivityTypeRepository repo,
+            ActivityTypeMapper mapper,
+            @Value("${app.activity-types.custom-cache.max-size:50000}") long maxSize,
+            @Value("${app.activity-types.custom-cache.ttl:PT30M}") Duration ttl,
+            @Value("${app.activity-types.defaults-cache.ttl:PT5M}") Duration defaultsTtl) {
+        this.repo = repo;
+        this.mapper = mapper;
+        this.defaultsTtlNanos = defaultsTtl.toNanos();
+        this.customByOwner = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterAccess(ttl)
+                .build();
+    }
+
+    public Entries defaults() {
+        Defaults current = defaults;
+        if (isCurrent(current, defaultsGeneration.get())) {
+            return current.entries();
+        }
+        defaultsLock.lock();
+        try {
+            long loadingGeneration = defaultsGeneration.get();
+            current = defaults;
+            if (isCurrent(current, loadingGeneration)) {
+                return current.entries();
+            }
+            Entries entries = Entries.of(repo.findByCustomFalseOrderByNameAsc().stream().map(mapper::toDto).toList());
+            // Tagged with the generation read before the query, so a change committed during the load forces another one.
+            defaults = new Defaults(loadingGeneration, System.nanoTime() + defaultsTtlNanos, entries);
+            return entries;
+        } finally {
+            defaultsLock.unlock();
+        }
+    }
+
+    public Entries customTypes(UUID ownerId) {
+        return customByOwner.get(ownerId, id -> Entries.of(
+                repo.findByCustomTrueAndCreatedBy_IdOrderByNameAsc(id).stream().map(mapper::toDto).toList()));
+    }
+
+    public void invalidateDefaults() {
+        AfterCommit.runAfterCommit(defaultsGeneration::incrementAndGet);
+    }
+
+    public void invalidateCustomTypes(UUID ownerId) {
+        AfterCommit.runAfterCommit(() -> customByOwner.invalidate(ownerId));
+    }
+
+    private static boolean isCurrent(Defaults snapshot, long generation) {
+        return snapshot != null
+                && snapshot.generation() == generation
+                && System.nanoTime() - snapshot.expiresAtNanos() < 0;
+    }
+
+    private record Defaults(long generation, long expiresAtNanos, Entries entries) {
+    }
+
+    public record Entries(List<ActivityTypeDto> types, String hash) {
+
+        static Entries of(List<ActivityTypeDto> types) {
+            String hash = DigestUtils.md5DigestAsHex(types.toString().getBytes(StandardCharsets.UTF_8));
+            return new Entries(List.copyOf(types), hash);
+        }
+    }
+}
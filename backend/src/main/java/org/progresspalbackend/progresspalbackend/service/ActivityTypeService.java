@@ -8,6 +8,7 @@ import org.progresspalbackend.progresspalbackend.domain.MetricKind;
 import org.progresspalbackend.progresspalbackend.domain.User;
 import org.progresspalbackend.progresspalbackend.dto.activitytype.ActivityTypeCreateDto;
 import org.progresspalbackend.progresspalbackend.dto.activitytype.ActivityTypeDto;
+import org.progresspalbackend.progresspalbackend.dto.activitytype.ActivityTypeListDto;
 import org.progresspalbackend.progresspalbackend.mapper.ActivityTypeMapper;
 import org.progresspalbackend.progresspalbackend.repository.ActivityTypeRepository;
 import org.progresspalbackend.progresspalbackend.repository.SessionRepository;
@@ -16,6 +17,7 @@ import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 import org.springframework.web.server.ResponseStatusException;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Objects;
 import java.util.UUID;
@@ -29,6 +31,7 @@ public class ActivityTypeService {
     private final ActivityTypeMapper mapper;
     private final ActivityTypeRepository activityTypeRepository;
     private final SessionRepository sessionRepository;
+    private final ActivityTypeCatalog catalog;
 
     public ActivityTypeDto create(ActivityTypeCreateDto dto, UUID user_id) {
         User user = userRepo.findById(user_id).orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "User not found"));
@@ -40,27 +43,26 @@ public class ActivityTypeService {
         entity.setCreatedBy(user);
         entity.setCustom(true);
         ActivityType savedEntity = repo.save(entity);
-        System.out.println("saved custom = " + savedEntity.isCustom());
+        catalog.invalidateCustomTypes(user.getId());
         return mapper.toDto(savedEntity);
     }
 
-    public List<ActivityTypeDto> list(String scope, UUID userId) {
-        List<ActivityType> res = switch (scope.toUpperCase()) {
-            case "DEFAULTS" -> repo.findByCustomFalseOrderByNameAsc();
-            case "MINE" -> repo.findByCustomTrueAndCreatedBy_IdOrderByNameAsc(userId);
+    public ActivityTypeListDto list(String scope, UUID userId) {
+        return switch (scope.toUpperCase()) {
+            case "DEFAULTS" -> toListDto("DEFAULTS", catalog.defaults());
+            case "MINE" -> toListDto("MINE", catalog.customTypes(userId));
             case "ALL" -> {
-                List<ActivityType> defaults = repo.findByCustomFalseOrderByNameAsc();
-                List<ActivityType> mine = repo.findByCustomTrueAndCreatedBy_IdOrderByNameAsc(userId);
-                defaults.addAll(mine);
-                yield defaults;
+                ActivityTypeCatalog.Entries defaults = catalog.defaults();
+                ActivityTypeCatalog.Entries mine = catalog.customTypes(userId);
+                List<ActivityTypeDto> types = new ArrayList<>(defaults.types().size() + mine.types().size());
+                types.addAll(defaults.types());
+                types.addAll(mine.types());
+                yield new ActivityTypeListDto(List.copyOf(types), "ALL-" + defaults.hash() + "-" + mine.hash());
             }
             default -> throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid scope");
         };
-
-        return res.stream().map(mapper::toDto).toList();
     }
 
-
     public ActivityTypeDto find(UUID id) {
         return mapper.toDto(repo.findById(id)
                 .orElseThrow(() -> new ResponseStatusException(
@@ -87,7 +89,9 @@ public class ActivityTypeService {
 
         mapper.updateFromDto(dto, existing);
         normalizeMetric(existing);
-        return mapper.toDto(repo.save(existing));
+        ActivityType saved = repo.save(existing);
+        invalidateCatalogFor(saved);
+        return mapper.toDto(saved);
     }
 
     @Transactional
@@ -110,6 +114,19 @@ public class ActivityTypeService {
         }
 
         activityTypeRepository.delete(type);
+        catalog.invalidateCustomTypes(userId);
+    }
+
+    private ActivityTypeListDto toListDto(String scope, ActivityTypeCatalog.Entries entries) {
+        return new ActivityTypeListDto(entries.types(), scope + "-" + entries.hash());
+    }
+
+    private void invalidateCatalogFor(ActivityType type) {
+        if (type.isCustom() && type.getCreatedBy() != null) {
+            catalog.invalidateCustomTypes(type.getCreatedBy().getId());
+        } else {
+            catalog.invalidateDefaults();
+        }
     }
 
     private void normalizeMetric(ActivityType type) {
@@ -7,7 +7,6 @@ import org.progresspalbackend.progresspalbackend.dto.auth.AuthLoginResponseDto;
 import org.progresspalbackend.progresspalbackend.mapper.UserMapper;
 import org.progresspalbackend.progresspalbackend.repository.UserRepository;
 import org.springframework.http.HttpStatus;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.oauth2.jose.jws.MacAlgorithm;
 import org.springframework.security.oauth2.jwt.JwsHeader;
 import org.springframework.security.oauth2.jwt.JwtClaimsSet;
@@ -17,6 +16,7 @@ import org.springframework.stereotype.Service;
 import org.springframework.web.server.ResponseStatusException;
 
 import java.time.Instant;
+import java.util.UUID;
 
 @Service
 @RequiredArgsConstructor
@@ -28,17 +28,17 @@ public class AuthService {
     private final UserRepository userRepository;
     private final UserMapper userMapper;
     private final JwtEncoder jwtEncoder;
-    private final PasswordEncoder passwordEncoder;
+    private final PasswordHashingService passwordHashingService;
     private final LoginAttemptService loginAttemptService;
 
-    public AuthLoginResponseDto login(AuthLoginRequestDto request) {
-        User user = userRepository.findByEmailIgnoreCase(request.email().trim())
-                .orElseThrow(() -> new ResponseStatusException(HttpStatus.UNAUTHORIZED, "Invalid credentials"));
+    public AuthLoginResponseDto login(AuthLoginRequestDto request, String clientIp) {
+        User user = userRepository.findByEmailIgnoreCase(request.email().trim()).orElse(null);
+        UUID userId = user == null ? null : user.getId();
 
-        loginAttemptService.checkNotLocked(user.getId());
+        loginAttemptService.checkNotLocked(userId, clientIp);
 
-        if (!passwordMatches(request.password(), user)) {
-            loginAttemptService.recordFailure(user.getId());
+        if (user == null || !passwordMatches(request.password(), user)) {
+            loginAttemptService.recordFailure(userId, clientIp);
             throw new ResponseStatusException(HttpStatus.UNAUTHORIZED, "Invalid credentials");
         }
 
@@ -65,13 +65,13 @@ public class AuthService {
             return false;
         }
 
-        if (isBcryptHash(storedPassword) && passwordEncoder.matches(rawPassword, storedPassword)) {
+        if (isBcryptHash(storedPassword) && passwordHashingService.matches(rawPassword, storedPassword)) {
             return true;
         }
 
         // Temporary compatibility for legacy plain-text rows: upgrade on successful login.
         if (rawPassword.equals(storedPassword)) {
-            user.setPassword(passwordEncoder.encode(rawPassword));
+            user.setPassword(passwordHashingService.encode(rawPassword));
             userRepository.save(user);
             return true;
         }
@@ -0,0 +1,66 @@
+package org.progresspalbackend.progresspalbackend.service;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.progresspalbackend.progresspalbackend.domain.SessionJoinRequestStatus;
+import org.progresspalbackend.progresspalbackend.repository.NotificationRepository;
+import org.progresspalbackend.progresspalbackend.repository.SessionJoinRequestRepository;
+import org.progresspalbackend.progresspalbackend.repository.SessionRepository;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Publishes domain gauges from counts refreshed on a schedule, so a Prometheus scrape never
+ * triggers database work.
+ */
+@Component
+public class DomainMetricsPublisher {
+
+    private final SessionRepository sessionRepository;
+    private final SessionJoinRequestRepository joinRequestRepository;
+    private final NotificationRepository notificationRepository;
+
+    private final AtomicLong liveSessions = new AtomicLong();
+    private final AtomicLong pausedSessions = new AtomicLong();
+    private final AtomicLong openRooms = new AtomicLong();
+    private final AtomicLong roomsWithPendingRequests = new AtomicLong();
+    private final AtomicLong unreadNotifications = new AtomicLong();
+
+    public DomainMetricsPublisher(SessionRepository sessionRepository,
+                                  SessionJoinRequestRepository joinRequestRepository,
+                                  NotificationRepository notificationRepository,
+                                  MeterRegistry meterRegistry) {
+        this.sessionRepository = sessionRepository;
+        this.joinRequestRepository = joinRequestRepository;
+        this.notificationRepository = notificationRepository;
+
+        Gauge.builder("progresspal.sessions.live", liveSessions, AtomicLong::get)
+                .description("Sessions that are running and not paused")
+                .register(meterRegistry);
+        Gauge.builder("progresspal.sessions.paused", pausedSessions, AtomicLong::get)
+                .description("Sessions that are paused and not yet stopped")
+                .register(meterRegistry);
+        Gauge.builder("progresspal.rooms.open", openRooms, AtomicLong::get)
+                .description("Unfinished sessions with at least one accepted participant")
+                .register(meterRegistry);
+        Gauge.builder("progresspal.rooms.pending", roomsWithPendingRequests, AtomicLong::get)
+                .description("Unfinished sessions with at least one pending join request")
+                .register(meterRegistry);
+        Gauge.builder("progresspal.notifications.unread", unreadNotifications, AtomicLong::get)
+                .description("Unread notifications across all users")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(
+            initialDelayString = "${app.metrics.domain-gauges.refresh-interval:30s}",
+            fixedDelayString = "${app.metrics.domain-gauges.refresh-interval:30s}")
+    public void refresh() {
+        liveSessions.set(sessionRepository.countByEndedAtIsNullAndPausedAtIsNull());
+        pausedSessions.set(sessionRepository.countByEndedAtIsNullAndPausedAtIsNotNull());
+        openRooms.set(joinRequestRepository.countLiveSessionsWithRequestStatus(SessionJoinRequestStatus.ACCEPTED));
+        roomsWithPendingRequests.set(joinRequestRepository.countLiveSessionsWithRequestStatus(SessionJoinRequestStatus.PENDING));
+        unreadNotifications.set(notificationRepository.countByReadAtIsNull());
+    }
+}
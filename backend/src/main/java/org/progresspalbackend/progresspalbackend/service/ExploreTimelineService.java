@@ -0,0 +1,180 @@
+package org.progresspalbackend.progresspalbackend.service;
+
+import org.progresspalbackend.progresspalbackend.config.AfterCommit;
+import org.progresspalbackend.progresspalbackend.domain.Session;
+import org.progresspalbackend.progresspalbackend.domain.Visibility;
+import org.progresspalbackend.progresspalbackend.dto.session.ExploreTimelineDto;
+import org.progresspalbackend.progresspalbackend.dto.session.SessionDto;
+import org.progresspalbackend.progresspalbackend.mapper.SessionMapper;
+import org.progresspalbackend.progresspalbackend.repository.SessionRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpStatus;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Public "explore" timeline, newest first. The most recent {@code window-size} public sessions are
+ * held in memory and reloaded on the next read after a public session is created, stopped or
+ * edited; pages past the window are read with a keyset query on {@code (started_at, id)}.
+ */
+@Service
+public class ExploreTimelineService {
+
+    static final int DEFAULT_PAGE_SIZE = 20;
+    static final int MAX_PAGE_SIZE = 50;
+
+    private final SessionRepository sessionRepository;
+    private final SessionMapper mapper;
+    private final int windowSize;
+    private final Duration windowTtl;
+    private final AtomicLong generation = new AtomicLong();
+    // A lock rather than synchronized so a reload does not pin a virtual thread to its carrier.
+    private final ReentrantLock reloadLock = new ReentrantLock();
+    private volatile Window window;
+
+    public ExploreTimelineService(
+            SessionRepository sessionRepository,
+            SessionMapper mapper,
+            @Value("${app.sessions.explore.window-size:500}") int windowSize,
+            @Value("${app.sessions.explore.window-ttl:PT30S}") Duration windowTtl) {
+        this.sessionRepository = sessionRepository;
+        this.mapper = mapper;
+        this.windowSize = windowSize;
+        // Bounds how stale pause and progress state can get, since those changes do not reload the window.
+        this.windowTtl = windowTtl;
+    }
+
+    public ExploreTimelineDto getPage(@Nullable String cursorRaw, @Nullable Integer sizeRaw) {
+        int size = sizeRaw == null ? DEFAULT_PAGE_SIZE : sizeRaw;
+        if (size < 1 || size > MAX_PAGE_SIZE) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "size must be between 1 and " + MAX_PAGE_SIZE);
+        }
+        Cursor cursor = cursorRaw == null || cursorRaw.isBlank() ? null : Cursor.decode(cursorRaw);
+
+        Window current = currentWindow();
+        int from = cursor == null ? 0 : current.indexAfter(cursor);
+        int available = current.items.size() - from;
+        if (available >= size || current.complete) {
+            List<SessionDto> items = current.items.subList(from, from + Math.min(size, available));
+            boolean more = available > size || !current.complete && available == size;
+            return page(items, more);
+        }
+
+        // Runs past the end of the window: fetch one extra row to know whether another page exists.
+        List<Session> sessions = cursor == null
+                ? sessionRepository.findByVisibilityOrderByStartedAtDesc(Visibility.PUBLIC, newestFirst(size + 1)).getContent()
+                : sessionRepository.findByVisibilityBefore(
+                        Visibility.PUBLIC, cursor.startedAt(), cursor.id(), PageRequest.of(0, size + 1));
+        List<SessionDto> items = sessions.stream().limit(size).map(mapper::toDto).toList();
+        return page(items, sessions.size() > size);
+    }
+
+    /** Reloads the window on its next read once the surrounding transaction commits. */
+    public void invalidate() {
+        AfterCommit.runAfterCommit(generation::incrementAndGet);
+    }
+
+    private Window currentWindow() {
+        Window current = window;
+        if (isFresh(current, generation.get())) {
+            return current;
+        }
+        reloadLock.lock();
+        try {
+            long loadingGeneration = generation.get();
+            current = window;
+            if (isFresh(current, loadingGeneration)) {
+                return current;
+            }
+            List<SessionDto> items = sessionRepository
+                    .findByVisibilityOrderByStartedAtDesc(Visibility.PUBLIC, newestFirst(windowSize))
+                    .map(mapper::toDto)
+                    .getContent();
+            // Tagged with the generation read before the query, so a write during the load forces another reload.
+            current = new Window(loadingGeneration, Instant.now(), items, items.size() < windowSize);
+            window = current;
+            return current;
+        } finally {
+            reloadLock.unlock();
+        }
+    }
+
+    private boolean isFresh(@Nullable Window current, long currentGeneration) {
+        return current != null
+                && current.generation == currentGeneration
+                && current.loadedAt.plus(windowTtl).isAfter(Instant.now());
+    }
+
+    private static PageRequest newestFirst(int size) {
+        // The derived query already orders by startedAt; id breaks ties the same way the keyset query does.
+        return PageRequest.of(0, size, Sort.by(Sort.Direction.DESC, "id"));
+    }
+
+    private static ExploreTimelineDto page(List<SessionDto> items, boolean more) {
+        String nextCursor = more && !items.isEmpty() ? Cursor.of(items.get(items.size() - 1)).encode() : null;
+        return new ExploreTimelineDto(items, nextCursor);
+    }
+
+    private record Window(long generation, Instant loadedAt, List<SessionDto> items, boolean complete) {
+
+        /** Index of the first item that sorts after the cursor in (startedAt desc, id desc) order. */
+        int indexAfter(Cursor cursor) {
+            for (int i = 0; i < items.size(); i++) {
+                if (cursor.isBefore(items.get(i))) {
+                    return i;
+                }
+            }
+            return items.size();
+        }
+    }
+
+    private record Cursor(Instant startedAt, UUID id) {
+
+        static Cursor of(SessionDto session) {
+            return new Cursor(session.startedAt(), session.id());
+        }
+
+        static Cursor decode(String raw) {
+            try {
+                String decoded = new String(Base64.getUrlDecoder().decode(raw), StandardCharsets.UTF_8);
+                int separator = decoded.indexOf('|');
+                return new Cursor(
+                        Instant.parse(decoded.substring(0, separator)),
+                        UUID.fromString(decoded.substring(separator + 1)));
+            } catch (IllegalArgumentException | DateTimeParseException | IndexOutOfBoundsException ex) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid cursor");
+            }
+        }
+
+        String encode() {
+            return Base64.getUrlEncoder().withoutPadding()
+                    .encodeToString((startedAt + "|" + id).getBytes(StandardCharsets.UTF_8));
+        }
+
+        /** True when {@code session} comes after this cursor in newest-first order. */
+        boolean isBefore(SessionDto session) {
+            int byTime = session.startedAt().compareTo(startedAt);
+            if (byTime != 0) {
+                return byTime < 0;
+            }
+            // Postgres orders uuids by their unsigned bytes, unlike UUID#compareTo.
+            int byMsb = Long.compareUnsigned(session.id().getMostSignificantBits(), id.getMostSignificantBits());
+            int byId = byMsb != 0 ? byMsb
+                    : Long.compareUnsigned(session.id().getLeastSignificantBits(), id.getLeastSignificantBits());
+            return byId < 0;
+        }
+    }
+}
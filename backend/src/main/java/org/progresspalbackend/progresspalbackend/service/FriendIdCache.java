@@ -0,0 +1,52 @@
+package org.progresspalbackend.progresspalbackend.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.progresspalbackend.progresspalbackend.config.AfterCommit;
+import org.progresspalbackend.progresspalbackend.repository.FriendRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Per-user cache of friend ids, covering friendships in both directions. Entries are evicted for
+ * both users when a friendship is created or removed; the TTL only bounds staleness across instances.
+ */
+@Component
+public class FriendIdCache {
+
+    private final FriendRepository friendRepository;
+    private final Cache<UUID, Set<UUID>> friendIds;
+
+    public FriendIdCache(
+            FriendRepository friendRepository,
+            @Value("${app.friends.friend-ids-cache.max-size:50000}") long maxSize,
+            @Value("${app.friends.friend-ids-cache.ttl:PT10M}") Duration ttl) {
+        this.friendRepository = friendRepository;
+        this.friendIds = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .build();
+    }
+
+    public Set<UUID> friendIdsOf(UUID userId) {
+        return friendIds.get(userId, this::load);
+    }
+
+    public void invalidate(UUID firstUserId, UUID secondUserId) {
+        AfterCommit.runAfterCommit(() -> {
+            friendIds.invalidate(firstUserId);
+            friendIds.invalidate(secondUserId);
+        });
+    }
+
+    private Set<UUID> load(UUID userId) {
+        Set<UUID> ids = new HashSet<>(friendRepository.findFriendIdsOfUser(userId));
+        ids.addAll(friendRepository.findUserIdsOfFriend(userId));
+        return Set.copyOf(ids);
+    }
+}
@@ -50,6 +50,7 @@ public class FriendShipService {
     private final SessionCommentRepository sessionCommentRepository;
     private final SessionReactionRepository sessionReactionRepository;
     private final NotificationService notificationService;
+    private final FriendIdCache friendIdCache;
 
     public FriendShipService(FriendRepository friendRepository,
                              FriendshipMapper mapper,
@@ -58,7 +59,8 @@ public class FriendShipService {
                              SessionRepository sessionRepository,
                              SessionCommentRepository sessionCommentRepository,
                              SessionReactionRepository sessionReactionRepository,
-                             NotificationService notificationService) {
+                             NotificationService notificationService,
+                             FriendIdCache friendIdCache) {
         this.friendRepository = friendRepository;
         this.mapper = mapper;
         this.userRepo = userRepo;
@@ -67,6 +69,7 @@ public class FriendShipService {
         this.sessionCommentRepository = sessionCommentRepository;
         this.sessionReactionRepository = sessionReactionRepository;
         this.notificationService = notificationService;
+        this.friendIdCache = friendIdCache;
     }
 
     public void sendRequest(UUID requesterId, UUID receiverId){
@@ -144,6 +147,7 @@ public class FriendShipService {
         } catch (DataIntegrityViolationException ex) {
             throw new ResponseStatusException(HttpStatus.CONFLICT, "Users are already friends");
         }
+        friendIdCache.invalidate(requesterId, receiverId);
 
         notificationService.notifyFriendRequestAccepted(requester, receiver, friendRequest.getId());
     }
@@ -312,6 +316,7 @@ public class FriendShipService {
         if (reverse != null && (direct == null || !reverse.getId().equals(direct.getId()))) {
             friendRepository.delete(reverse);
         }
+        friendIdCache.invalidate(actorUserId, friendId);
     }
 
     private Map<UUID, Set<UUID>> buildFriendGraph(List<Friendship> friendships) {
@@ -0,0 +1,56 @@
+package org.progresspalbackend.progresspalbackend.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.stereotype.Service;
+import org.springframework.util.StringUtils;
+
+import java.time.Duration;
+import java.util.UUID;
+
+/**
+ * Caches the (issuer, subject) to local user id mapping so linked Keycloak users
+ * skip the database on every request. Concurrent misses for the same identity share
+ * a single call to {@link KeycloakUserLinkService#resolveLocalUserId(Jwt)}.
+ */
+@Service
+public class KeycloakUserIdCache {
+
+    private final KeycloakUserLinkService keycloakUserLinkService;
+    private final Cache<IdentityKey, UUID> linkedUserIds;
+
+    public KeycloakUserIdCache(
+            KeycloakUserLinkService keycloakUserLinkService,
+            @Value("${app.security.keycloak.link-cache.max-size:100000}") long maxSize,
+            @Value("${app.security.keycloak.link-cache.ttl:PT1H}") Duration ttl) {
+        this.keycloakUserLinkService = keycloakUserLinkService;
+        this.linkedUserIds = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .build();
+    }
+
+    public UUID resolveLocalUserId(Jwt jwt) {
+        IdentityKey key = IdentityKey.of(jwt);
+        if (key == null) {
+            return keycloakUserLinkService.resolveLocalUserId(jwt);
+        }
+
+        // A failed load is not cached, so the next request retries it.
+        return linkedUserIds.get(key, ignored -> keycloakUserLinkService.resolveLocalUserId(jwt));
+    }
+
+    private record IdentityKey(String issuer, String subject) {
+
+        static IdentityKey of(Jwt jwt) {
+            String issuer = jwt.getIssuer() == null ? null : jwt.getIssuer().toString();
+            String subject = jwt.getSubject();
+            if (!StringUtils.hasText(issuer) || !StringUtils.hasText(subject)) {
+                return null;
+            }
+            return new IdentityKey(issuer.trim(), subject.trim());
+        }
+    }
+}
@@ -22,6 +22,7 @@ public class KeycloakUserLinkService {
     private static final int MAX_USERNAME_LENGTH = 50;
 
     private final UserRepository userRepository;
+    private final UsernameSearchCache usernameSearchCache;
     @Value("${app.security.keycloak.require-verified-email:true}")
     private boolean requireVerifiedEmail;
 
@@ -81,7 +82,9 @@ public class KeycloakUserLinkService {
         user.setAuthProvider(KEYCLOAK_PROVIDER);
         user.setAuthIssuer(issuer);
         user.setAuthSubject(subject);
-        return userRepository.save(user);
+        User created = userRepository.save(user);
+        usernameSearchCache.invalidateAll();
+        return created;
     }
 
     private String generateUniqueUsername(Jwt jwt, String email) {
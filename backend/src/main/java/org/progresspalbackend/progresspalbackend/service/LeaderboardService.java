@@ -0,0 +1,333 @@
+package org.progresspalbackend.progresspalbackend.service;
+
+import org.progresspalbackend.progresspalbackend.config.AfterCommit;
+import org.progresspalbackend.progresspalbackend.config.PrimaryRead;
+import org.progresspalbackend.progresspalbackend.domain.ActivityType;
+import org.progresspalbackend.progresspalbackend.domain.Friendship;
+import org.progresspalbackend.progresspalbackend.domain.MetricKind;
+import org.progresspalbackend.progresspalbackend.domain.Session;
+import org.progresspalbackend.progresspalbackend.domain.User;
+import org.progresspalbackend.progresspalbackend.domain.Visibility;
+import org.progresspalbackend.progresspalbackend.dto.Friendship.LeaderboardDto;
+import org.progresspalbackend.progresspalbackend.dto.Friendship.LeaderboardEntryDto;
+import org.progresspalbackend.progresspalbackend.mapper.SessionMapper;
+import org.progresspalbackend.progresspalbackend.repository.ActivityTypeRepository;
+import org.progresspalbackend.progresspalbackend.repository.FriendRepository;
+import org.progresspalbackend.progresspalbackend.repository.SessionRepository;
+import org.progresspalbackend.progresspalbackend.repository.SessionUserTotal;
+import org.progresspalbackend.progresspalbackend.repository.UserRepository;
+import org.springframework.http.HttpStatus;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.math.BigDecimal;
+import java.time.DayOfWeek;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Weekly and monthly friends leaderboards per activity type. Scores are maintained in a
+ * {@link LeaderboardStore} as sessions complete, so a read is one score lookup for the caller's
+ * friends rather than an aggregation over their sessions. A board the store does not hold yet, e.g.
+ * after a restart, is seeded from one aggregate query on its first read, so sessions completed
+ * before the board existed still count. Private sessions are never counted.
+ */
+@Service
+public class LeaderboardService {
+
+    static final int DEFAULT_LIMIT = 10;
+    static final int MAX_LIMIT = 50;
+
+    private final LeaderboardStore store;
+    private final FriendRepository friendRepository;
+    private final UserRepository userRepository;
+    private final ActivityTypeRepository activityTypeRepository;
+    private final SessionRepository sessionRepository;
+    private final SessionMapper mapper;
+
+    public LeaderboardService(LeaderboardStore store,
+                              FriendRepository friendRepository,
+                              UserRepository userRepository,
+                              ActivityTypeRepository activityTypeRepository,
+                              SessionRepository sessionRepository,
+                              SessionMapper mapper) {
+        this.store = store;
+        this.friendRepository = friendRepository;
+        this.userRepository = userRepository;
+        this.activityTypeRepository = activityTypeRepository;
+        this.sessionRepository = sessionRepository;
+        this.mapper = mapper;
+    }
+
+    /** What a completed session adds to the boards, or null when it counts for none. */
+    @Nullable
+    public Contribution contributionOf(UUID userId, Session session) {
+        if (session.getEndedAt() == null || session.getVisibility() == Visibility.PRIVATE) {
+            return null;
+        }
+        return new Contribution(
+                userId,
+                session.getActivityType().getId(),
+                session.getStartedAt().atOffset(ZoneOffset.UTC).toLocalDate(),
+                mapper.computeEffectiveDurationSeconds(session, session.getEndedAt()),
+                session.getMetricValue());
+    }
+
+    public void recordCompleted(Session session) {
+        record(contributionOf(session.getUser().getId(), session));
+    }
+
+    /** Adds the contribution once the surrounding transaction commits. */
+    public void record(@Nullable Contribution contribution) {
+        replace(null, contribution);
+    }
+
+    /** Moves scores from {@code before} to {@code after}, e.g. when an edit changes visibility or type. */
+    public void replace(@Nullable Contribution before, @Nullable Contribution after) {
+        if (before == null && after == null || before != null && before.equals(after)) {
+            return;
+        }
+        LocalDate today = LocalDate.now(ZoneOffset.UTC);
+        AfterCommit.runAfterCommit(() -> {
+            if (before != null) {
+                apply(before, -1, today);
+            }
+            if (after != null) {
+                apply(after, 1, today);
+            }
+        });
+    }
+
+    /** An empty tally for a bulk write; see {@link #record(Tally)}. */
+    public Tally tally() {
+        return new Tally(LocalDate.now(ZoneOffset.UTC));
+    }
+
+    /** Adds the tally's totals once the surrounding transaction commits: one increment per user and board. */
+    public void record(Tally tally) {
+        if (tally.totals.isEmpty()) {
+            return;
+        }
+        Map<Target, Double> totals = Map.copyOf(tally.totals);
+        AfterCommit.runAfterCommit(() -> totals.forEach((target, amount) ->
+                store.increment(target.board(), target.member(), amount, target.expiresAt())));
+    }
+
+    // A board seeded from a lagging replica would miss recent stops until its period ends.
+    @PrimaryRead
+    @Transactional(readOnly = true)
+    public LeaderboardDto getFriendsLeaderboard(UUID userId,
+                                                UUID activityTypeId,
+                                                @Nullable String periodRaw,
+                                                @Nullable String rankByRaw,
+                                                @Nullable Integer limitRaw) {
+        Period period = parse(Period.class, periodRaw, Period.WEEK, "period", "WEEK or MONTH");
+        RankBy rankBy = parse(RankBy.class, rankByRaw, RankBy.DURATION, "rankBy", "DURATION or METRIC");
+        int limit = limitRaw == null ? DEFAULT_LIMIT : limitRaw;
+        if (limit < 1 || limit > MAX_LIMIT) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "limit must be between 1 and " + MAX_LIMIT);
+        }
+
+        ActivityType activityType = activityTypeRepository.findById(activityTypeId)
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Activity type not found"));
+        if (rankBy == RankBy.METRIC && activityType.getMetricKind() == MetricKind.NONE) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Activity type has no metric to rank by");
+        }
+
+        Set<UUID> members = new HashSet<>();
+        members.add(userId);
+        for (Friendship friendship : friendRepository.findAllByUser_Id(userId)) {
+            members.add(friendship.getFriend().getId());
+        }
+        for (Friendship friendship : friendRepository.findAllByFriend_Id(userId)) {
+            members.add(friendship.getUser().getId());
+        }
+
+        LocalDate periodStart = period.startOf(LocalDate.now(ZoneOffset.UTC));
+        String board = board(activityTypeId, period, periodStart, rankBy);
+        if (!store.isSeeded(board)) {
+            seed(activityTypeId, period, periodStart);
+        }
+        List<Map.Entry<UUID, Double>> top = store.scores(board, members)
+                .entrySet().stream()
+                .filter(entry -> entry.getValue() > 0)
+                .sorted(Map.Entry.<UUID, Double>comparingByValue(Comparator.reverseOrder())
+                        .thenComparing(Map.Entry.comparingByKey()))
+                .limit(limit)
+                .toList();
+
+        Map<UUID, User> users = userRepository.findAllById(top.stream().map(Map.Entry::getKey).toList()).stream()
+                .collect(Collectors.toMap(User::getId, Function.identity()));
+        List<LeaderboardEntryDto> entries = new ArrayList<>(top.size());
+        for (Map.Entry<UUID, Double> entry : top) {
+            User user = users.get(entry.getKey());
+            if (user == null) {
+                continue;
+            }
+            entries.add(new LeaderboardEntryDto(
+                    entries.size() + 1,
+                    user.getId(),
+                    user.getUsername(),
+                    user.getProfileImage(),
+                    entry.getValue()));
+        }
+
+        return new LeaderboardDto(
+                activityType.getId(),
+                activityType.getName(),
+                period.name(),
+                periodStart,
+                rankBy.name(),
+                rankBy == RankBy.METRIC ? activityType.getMetricLabel() : null,
+                entries);
+    }
+
+    /**
+     * Replaces both boards of one period with totals from the database. A session whose stop commits
+     * while the query runs may be counted twice or missed until the period rolls over.
+     */
+    private void seed(UUID activityTypeId, Period period, LocalDate start) {
+        LocalDate end = period.next(start);
+        Map<UUID, Double> durations = new HashMap<>();
+        Map<UUID, Double> metrics = new HashMap<>();
+        for (SessionUserTotal total : sessionRepository.sumCompletedByUser(
+                activityTypeId,
+                start.atStartOfDay(ZoneOffset.UTC).toInstant(),
+                end.atStartOfDay(ZoneOffset.UTC).toInstant())) {
+            durations.put(total.getUserId(), (double) total.getDurationSeconds());
+            if (total.getMetricValue() != null) {
+                metrics.put(total.getUserId(), total.getMetricValue().doubleValue());
+            }
+        }
+        Instant expiresAt = expiresAt(end);
+        store.seed(board(activityTypeId, period, start, RankBy.DURATION), durations, expiresAt);
+        store.seed(board(activityTypeId, period, start, RankBy.METRIC), metrics, expiresAt);
+    }
+
+    private void apply(Contribution contribution, int sign, LocalDate today) {
+        forEachIncrement(contribution, sign, today, store::increment);
+    }
+
+    private static void forEachIncrement(Contribution contribution, int sign, LocalDate today, Increment increment) {
+        for (Period period : Period.values()) {
+            LocalDate start = period.startOf(contribution.day());
+            LocalDate end = period.next(start);
+            if (!end.isAfter(today)) {
+                continue; // only current periods are ever read
+            }
+            Instant expiresAt = expiresAt(end);
+            increment.add(board(contribution.activityTypeId(), period, start, RankBy.DURATION),
+                    contribution.userId(), sign * (double) contribution.durationSeconds(), expiresAt);
+            if (contribution.metricValue() != null) {
+                increment.add(board(contribution.activityTypeId(), period, start, RankBy.METRIC),
+                        contribution.userId(), sign * contribution.metricValue().doubleValue(), expiresAt);
+            }
+        }
+    }
+
+    // Keep a finished board for one more day so late stops and reads around midnight agree.
+    private static Instant expiresAt(LocalDate end) {
+        return end.plusDays(1).atStartOfDay(ZoneOffset.UTC).toInstant();
+    }
+
+    private static String board(UUID activityTypeId, Period period, LocalDate start, RankBy rankBy) {
+        return activityTypeId + ":" + period + ":" + start + ":" + rankBy;
+    }
+
+    private static <E extends Enum<E>> E parse(Class<E> type, @Nullable String raw, E fallback, String name, String allowed) {
+        if (raw == null || raw.isBlank()) {
+            return fallback;
+        }
+        try {
+            return Enum.valueOf(type, raw.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException ex) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid " + name + ". Use " + allowed);
+        }
+    }
+
+    public record Contribution(UUID userId,
+                               UUID activityTypeId,
+                               LocalDate day,
+                               long durationSeconds,
+                               @Nullable BigDecimal metricValue) {
+    }
+
+    /**
+     * Contributions summed per user and board, so a bulk write such as an import costs one store
+     * increment and one synchronization per board rather than per session. Not thread-safe.
+     */
+    public static final class Tally {
+
+        private final LocalDate today;
+        private final Map<Target, Double> totals = new HashMap<>();
+
+        private Tally(LocalDate today) {
+            this.today = today;
+        }
+
+        public void add(@Nullable Contribution contribution) {
+            if (contribution != null) {
+                forEachIncrement(contribution, 1, today, (board, member, amount, expiresAt) ->
+                        totals.merge(new Target(board, member, expiresAt), amount, Double::sum));
+            }
+        }
+    }
+
+    private record Target(String board, UUID member, Instant expiresAt) {
+    }
+
+    @FunctionalInterface
+    private interface Increment {
+        void add(String board, UUID member, double amount, Instant expiresAt);
+    }
+
+    // UTC calendar periods; weeks start on Monday like the dashboard trends.
+    private enum Period {
+        WEEK {
+            @Override
+            LocalDate startOf(LocalDate day) {
+                return day.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+            }
+
+            @Override
+            LocalDate next(LocalDate start) {
+                return start.plusWeeks(1);
+            }
+        },
+        MONTH {
+            @Override
+            LocalDate startOf(LocalDate day) {
+                return day.withDayOfMonth(1);
+            }
+
+            @Override
+            LocalDate next(LocalDate start) {
+                return start.plusMonths(1);
+            }
+        };
+
+        abstract LocalDate startOf(LocalDate day);
+
+        abstract LocalDate next(LocalDate start);
+    }
+
+    private enum RankBy {
+        DURATION,
+        METRIC
+    }
+}
@@ -0,0 +1,35 @@
+package org.progresspalbackend.progresspalbackend.service;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Score storage for {@link LeaderboardService}. A board is a sorted set of user ids keyed by an
+ * opaque name such as {@code <activityTypeId>:WEEK:2026-10-19:DURATION}; implementations decide
+ * where the sets live.
+ */
+public interface LeaderboardStore {
+
+    /**
+     * Adds {@code amount} (which may be negative) to the member's score and keeps the board at
+     * least until {@code expiresAt}.
+     */
+    void increment(String board, UUID member, double amount, Instant expiresAt);
+
+    /**
+     * Scores of the given members in one lookup. Members without a score are left out of the
+     * result.
+     */
+    Map<UUID, Double> scores(String board, Collection<UUID> members);
+
+    /** Whether the board has been {@link #seed seeded} since it was created or last evicted. */
+    boolean isSeeded(String board);
+
+    /**
+     * Replaces the board's scores with {@code scores}, marks it seeded and keeps it until
+     * {@code expiresAt}.
+     */
+    void seed(String board, Map<UUID, Double> scores, Instant expiresAt);
+}
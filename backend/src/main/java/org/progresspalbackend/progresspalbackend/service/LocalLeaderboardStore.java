@@ -0,0 +1,99 @@
+package org.progresspalbackend.progresspalbackend.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.DoubleAdder;
+
+/**
+ * Single-node store backed by a size-bounded Caffeine cache of boards. Scores are kept in memory
+ * only, so after a restart or an eviction each board is seeded again from the database on its next
+ * read; use the Redis store to share boards between nodes.
+ */
+@Component
+@ConditionalOnProperty(name = "app.leaderboard.store", havingValue = "local", matchIfMissing = true)
+public class LocalLeaderboardStore implements LeaderboardStore {
+
+    private final Cache<String, Board> boards;
+
+    public LocalLeaderboardStore(@Value("${app.leaderboard.local-store.max-boards:10000}") long maxBoards) {
+        this.boards = Caffeine.newBuilder()
+                .maximumSize(maxBoards)
+                .expireAfter(new Expiry<String, Board>() {
+                    @Override
+                    public long expireAfterCreate(String key, Board board, long currentTime) {
+                        return Math.max(0, Duration.between(Instant.now(), board.expiresAt).toNanos());
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(String key, Board board, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+
+                    @Override
+                    public long expireAfterRead(String key, Board board, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .build();
+    }
+
+    @Override
+    public void increment(String board, UUID member, double amount, Instant expiresAt) {
+        boards.get(board, ignored -> new Board(expiresAt, false))
+                .scores.computeIfAbsent(member, ignored -> new DoubleAdder())
+                .add(amount);
+    }
+
+    @Override
+    public Map<UUID, Double> scores(String board, Collection<UUID> members) {
+        Board current = boards.getIfPresent(board);
+        if (current == null) {
+            return Map.of();
+        }
+        Map<UUID, Double> scores = new HashMap<>();
+        for (UUID member : members) {
+            DoubleAdder score = current.scores.get(member);
+            if (score != null) {
+                scores.put(member, score.sum());
+            }
+        }
+        return scores;
+    }
+
+    @Override
+    public boolean isSeeded(String board) {
+        Board current = boards.getIfPresent(board);
+        return current != null && current.seeded;
+    }
+
+    @Override
+    public void seed(String board, Map<UUID, Double> scores, Instant expiresAt) {
+        Board seeded = new Board(expiresAt, true);
+        scores.forEach((member, score) -> seeded.scores.computeIfAbsent(member, ignored -> new DoubleAdder()).add(score));
+        boards.put(board, seeded);
+    }
+
+    private static final class Board {
+
+        private final Instant expiresAt;
+        private final boolean seeded;
+        private final Map<UUID, DoubleAdder> scores = new ConcurrentHashMap<>();
+
+        private Board(Instant expiresAt, boolean seeded) {
+            this.expiresAt = expiresAt;
+            this.seeded = seeded;
+        }
+    }
+}
@@ -0,0 +1,128 @@
+package org.progresspalbackend.progresspalbackend.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.Collection;
+import java.util.Deque;
+
+/**
+ * Single-node store backed by a size-bounded Caffeine cache. Entries expire once they have been
+ * idle longer than the retention period, so abandoned keys do not accumulate, but never before
+ * their lock or failure window runs out, so a retention shorter than either cannot end them early.
+ */
+@Component
+@ConditionalOnProperty(name = "app.security.login.store", havingValue = "local", matchIfMissing = true)
+public class LocalLoginAttemptStore implements LoginAttemptStore {
+
+    private final Clock clock;
+    private final Cache<String, AttemptWindow> attempts;
+
+    @Autowired
+    public LocalLoginAttemptStore(
+            @Value("${app.security.login.local-store.max-size:100000}") long maxSize,
+            @Value("${app.security.login.local-store.retention:PT1H}") Duration retention) {
+        this(Clock.systemUTC(), maxSize, retention);
+    }
+
+    LocalLoginAttemptStore(Clock clock, long maxSize, Duration retention) {
+        this.clock = clock;
+        this.attempts = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfter(new Expiry<String, AttemptWindow>() {
+                    @Override
+                    public long expireAfterCreate(String key, AttemptWindow window, long currentTime) {
+                        return retain(window, retention);
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(String key, AttemptWindow window, long currentTime, long currentDuration) {
+                        return retain(window, retention);
+                    }
+
+                    @Override
+                    public long expireAfterRead(String key, AttemptWindow window, long currentTime, long currentDuration) {
+                        return retain(window, retention);
+                    }
+                })
+                .build();
+    }
+
+    private long retain(AttemptWindow window, Duration retention) {
+        Duration remaining = Duration.between(clock.instant(), window.retainUntil);
+        return (remaining.compareTo(retention) > 0 ? remaining : retention).toNanos();
+    }
+
+    @Override
+    public boolean isAnyLocked(Collection<String> keys) {
+        Instant now = clock.instant();
+        for (AttemptWindow window : attempts.getAllPresent(keys).values()) {
+            if (window.isLocked(now)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public boolean recordFailure(String key, int maxFailures, Duration window, Duration lockDuration) {
+        Instant now = clock.instant();
+        AttemptWindow state = attempts.asMap().compute(key, (k, previous) -> {
+            AttemptWindow current = previous == null || previous.isLockExpired(now) ? new AttemptWindow() : previous;
+            current.recordFailure(now, maxFailures, window, lockDuration);
+            return current;
+        });
+        return state.isLocked(now);
+    }
+
+    @Override
+    public void clear(String key) {
+        attempts.invalidate(key);
+    }
+
+    // Mutated only inside ConcurrentMap#compute, which serializes access per key.
+    private static final class AttemptWindow {
+
+        private final Deque<Instant> failures = new ArrayDeque<>();
+        private volatile Instant lockedUntil;
+        // Latest lock deadline or failure-window end; the entry is kept at least this long.
+        private volatile Instant retainUntil = Instant.MIN;
+
+        void recordFailure(Instant now, int maxFailures, Duration window, Duration lockDuration) {
+            if (isLocked(now)) {
+                return;
+            }
+            Instant windowStart = now.minus(window);
+            while (!failures.isEmpty() && !failures.peekFirst().isAfter(windowStart)) {
+                failures.pollFirst();
+            }
+            failures.addLast(now);
+            Instant until = now.plus(window);
+            if (failures.size() >= maxFailures) {
+                failures.clear();
+                lockedUntil = now.plus(lockDuration);
+                until = lockedUntil.isAfter(until) ? lockedUntil : until;
+            }
+            retainUntil = until.isAfter(retainUntil) ? until : retainUntil;
+        }
+
+        boolean isLocked(Instant now) {
+            Instant until = lockedUntil;
+            return until != null && now.isBefore(until);
+        }
+
+        boolean isLockExpired(Instant now) {
+            Instant until = lockedUntil;
+            return until != null && !now.isBefore(until);
+        }
+    }
+}
@@ -3,91 +3,88 @@ package org.progresspalbackend.progresspalbackend.service;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
+import org.springframework.util.StringUtils;
 import org.springframework.web.server.ResponseStatusException;
 
 import java.time.Duration;
-import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.UUID;
-import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.ConcurrentMap;
 
 @Service
 public class LoginAttemptService {
 
     private static final String LOCKED_MESSAGE = "Too many failed login attempts. Try again later";
+    private static final String USER_KEY_PREFIX = "user:";
+    private static final String IP_KEY_PREFIX = "ip:";
 
+    private final LoginAttemptStore store;
     private final int maxFailedAttempts;
+    private final int maxFailedAttemptsPerIp;
+    private final Duration failureWindow;
     private final Duration lockDuration;
-    private final ConcurrentMap<UUID, AttemptState> attemptsByUserId = new ConcurrentHashMap<>();
 
     public LoginAttemptService(
+            LoginAttemptStore store,
             @Value("${app.security.login.max-failed-attempts:5}") int maxFailedAttempts,
+            @Value("${app.security.login.max-failed-attempts-per-ip:50}") int maxFailedAttemptsPerIp,
+            @Value("${app.security.login.failure-window:PT15M}") Duration failureWindow,
             @Value("${app.security.login.lock-duration:PT15M}") Duration lockDuration) {
         if (maxFailedAttempts < 1) {
             throw new IllegalArgumentException("app.security.login.max-failed-attempts must be >= 1");
         }
+        if (maxFailedAttemptsPerIp < 1) {
+            throw new IllegalArgumentException("app.security.login.max-failed-attempts-per-ip must be >= 1");
+        }
+        if (failureWindow.isNegative() || failureWindow.isZero()) {
+            throw new IllegalArgumentException("app.security.login.failure-window must be > 0");
+        }
         if (lockDuration.isNegative() || lockDuration.isZero()) {
             throw new IllegalArgumentException("app.security.login.lock-duration must be > 0");
         }
+        this.store = store;
         this.maxFailedAttempts = maxFailedAttempts;
+        this.maxFailedAttemptsPerIp = maxFailedAttemptsPerIp;
+        this.failureWindow = failureWindow;
         this.lockDuration = lockDuration;
     }
 
-    public void checkNotLocked(UUID userId) {
-        AttemptState state = attemptsByUserId.get(userId);
-        if (state == null) {
-            return;
-        }
-
-        Instant now = Instant.now();
-        if (isExpired(state, now)) {
-            attemptsByUserId.remove(userId, state);
-            return;
+    public void checkNotLocked(UUID userId, String clientIp) {
+        List<String> keys = new ArrayList<>(2);
+        if (userId != null) {
+            keys.add(userKey(userId));
         }
-
-        if (isLocked(state, now)) {
-            throw new ResponseStatusException(HttpStatus.TOO_MANY_REQUESTS, LOCKED_MESSAGE);
+        if (StringUtils.hasText(clientIp)) {
+            keys.add(ipKey(clientIp));
         }
-    }
-
-    public void recordFailure(UUID userId) {
-        Instant now = Instant.now();
-        AttemptState state = attemptsByUserId.compute(userId, (id, previous) -> nextStateAfterFailure(previous, now));
-        if (state != null && isLocked(state, now)) {
+        if (!keys.isEmpty() && store.isAnyLocked(keys)) {
             throw new ResponseStatusException(HttpStatus.TOO_MANY_REQUESTS, LOCKED_MESSAGE);
         }
     }
 
-    public void clear(UUID userId) {
-        attemptsByUserId.remove(userId);
-    }
-
-    private AttemptState nextStateAfterFailure(AttemptState previous, Instant now) {
-        if (previous != null && isLocked(previous, now)) {
-            return previous;
+    public void recordFailure(UUID userId, String clientIp) {
+        boolean locked = false;
+        if (userId != null) {
+            locked = store.recordFailure(userKey(userId), maxFailedAttempts, failureWindow, lockDuration);
         }
-
-        int failedAttempts = 0;
-        if (previous != null && !isExpired(previous, now)) {
-            failedAttempts = previous.failedAttempts();
+        if (StringUtils.hasText(clientIp)) {
+            locked |= store.recordFailure(ipKey(clientIp), maxFailedAttemptsPerIp, failureWindow, lockDuration);
         }
-
-        int nextFailedAttempts = failedAttempts + 1;
-        if (nextFailedAttempts >= maxFailedAttempts) {
-            return new AttemptState(0, now.plus(lockDuration));
+        if (locked) {
+            throw new ResponseStatusException(HttpStatus.TOO_MANY_REQUESTS, LOCKED_MESSAGE);
         }
-
-        return new AttemptState(nextFailedAttempts, null);
     }
 
-    private boolean isLocked(AttemptState state, Instant now) {
-        return state.lockedUntil() != null && now.isBefore(state.lockedUntil());
+    // Only the account counter is reset: a valid login must not wipe failures recorded against the address.
+    public void clear(UUID userId) {
+        store.clear(userKey(userId));
     }
 
-    private boolean isExpired(AttemptState state, Instant now) {
-        return state.lockedUntil() != null && !now.isBefore(state.lockedUntil());
+    private String userKey(UUID userId) {
+        return USER_KEY_PREFIX + userId;
     }
 
-    private record AttemptState(int failedAttempts, Instant lockedUntil) {
+    private String ipKey(String clientIp) {
+        return IP_KEY_PREFIX + clientIp.trim();
     }
 }
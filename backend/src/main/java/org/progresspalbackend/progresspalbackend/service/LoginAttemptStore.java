@@ -0,0 +1,25 @@
+package org.progresspalbackend.progresspalbackend.service;
+
+import java.time.Duration;
+import java.util.Collection;
+
+/**
+ * Failed-login bookkeeping used by {@link LoginAttemptService}. Keys are opaque strings such as
+ * {@code user:<id>} or {@code ip:<address>}; implementations decide where the counters live.
+ */
+public interface LoginAttemptStore {
+
+    /**
+     * Returns true when any of the keys is currently locked. Implementations must answer this in
+     * a single lookup because it runs on every login attempt.
+     */
+    boolean isAnyLocked(Collection<String> keys);
+
+    /**
+     * Records a failure for the key in a sliding window and locks the key once {@code maxFailures}
+     * failures fall within {@code window}. Returns true when the key is locked after this call.
+     */
+    boolean recordFailure(String key, int maxFailures, Duration window, Duration lockDuration);
+
+    void clear(String key);
+}
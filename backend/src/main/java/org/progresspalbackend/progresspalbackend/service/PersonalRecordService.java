@@ -0,0 +1,108 @@
+package org.progresspalbackend.progresspalbackend.service;
+
+import lombok.RequiredArgsConstructor;
+import org.progresspalbackend.progresspalbackend.domain.Session;
+import org.progresspalbackend.progresspalbackend.domain.UserStreak;
+import org.progresspalbackend.progresspalbackend.domain.Visibility;
+import org.progresspalbackend.progresspalbackend.dto.dashboard.PersonalRecordDto;
+import org.progresspalbackend.progresspalbackend.dto.dashboard.StreakDto;
+import org.progresspalbackend.progresspalbackend.mapper.SessionMapper;
+import org.progresspalbackend.progresspalbackend.repository.PersonalRecordRepository;
+import org.progresspalbackend.progresspalbackend.repository.UserStreakRepository;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Daily streaks and per-activity-type personal bests. Both are folded forward with single-row
+ * upserts as sessions are stopped, so reading them never scans session history. Rows are kept per
+ * audience (see {@link UserStreak}) so profile viewers only see what their scope allows.
+ */
+@Service
+@RequiredArgsConstructor
+public class PersonalRecordService {
+
+    private final UserStreakRepository userStreakRepository;
+    private final PersonalRecordRepository personalRecordRepository;
+    private final SessionMapper mapper;
+
+    /** Counts a just-completed session, in the caller's transaction. */
+    @Transactional
+    public void recordCompleted(Session session) {
+        UUID userId = session.getUser().getId();
+        Instant endedAt = session.getEndedAt();
+        LocalDate day = endedAt.atOffset(ZoneOffset.UTC).toLocalDate();
+        long durationSeconds = mapper.computeEffectiveDurationSeconds(session, endedAt);
+
+        for (Visibility audience : audiencesSeeing(session.getVisibility())) {
+            userStreakRepository.recordActiveDay(userId, audience.name(), day);
+            personalRecordRepository.recordSession(
+                    userId,
+                    session.getActivityType().getId(),
+                    audience.name(),
+                    durationSeconds,
+                    session.getMetricValue());
+        }
+    }
+
+    /**
+     * Recomputes a user's streaks and records from their whole history. Only for changes that
+     * cannot be folded in, such as imported back-dated sessions or an edited visibility.
+     */
+    @Transactional
+    public void rebuild(UUID userId) {
+        userStreakRepository.deleteByUserId(userId);
+        personalRecordRepository.deleteByUserId(userId);
+        userStreakRepository.insertFromSessions(userId);
+        personalRecordRepository.insertFromSessions(userId);
+    }
+
+    @Transactional(readOnly = true)
+    public StreakDto getStreak(UUID userId, Visibility audience) {
+        return userStreakRepository.findByUser_IdAndAudience(userId, audience)
+                .map(streak -> {
+                    // A streak only stays current while yesterday or today has a completed session.
+                    LocalDate today = LocalDate.now(ZoneOffset.UTC);
+                    boolean current = !streak.getLastActiveDay().isBefore(today.minusDays(1));
+                    return new StreakDto(
+                            current ? streak.getCurrentStreakDays() : 0,
+                            streak.getLongestStreakDays(),
+                            streak.getLastActiveDay());
+                })
+                .orElse(new StreakDto(0, 0, null));
+    }
+
+    @Transactional(readOnly = true)
+    public List<PersonalRecordDto> getPersonalRecords(UUID userId, Visibility audience) {
+        return personalRecordRepository.findByUserIdAndAudience(userId, audience).stream()
+                .map(record -> new PersonalRecordDto(
+                        record.getActivityType().getId(),
+                        record.getActivityType().getName(),
+                        record.getActivityType().getMetricLabel(),
+                        record.getLongestDurationSeconds(),
+                        record.getBestMetricValue()))
+                .toList();
+    }
+
+    /** The audience whose rows hold exactly what a viewer with {@code scope} may see. */
+    static Visibility audienceFor(UserProfileService.ProfileScope scope) {
+        return switch (scope) {
+            case OWNER -> Visibility.PRIVATE;
+            case FRIEND -> Visibility.FRIENDS;
+            case PUBLIC -> Visibility.PUBLIC;
+        };
+    }
+
+    private static List<Visibility> audiencesSeeing(Visibility visibility) {
+        return switch (visibility) {
+            case PUBLIC -> List.of(Visibility.PUBLIC, Visibility.FRIENDS, Visibility.PRIVATE);
+            case FRIENDS -> List.of(Visibility.FRIENDS, Visibility.PRIVATE);
+            case PRIVATE -> List.of(Visibility.PRIVATE);
+        };
+    }
+}
@@ -0,0 +1,234 @@
+package org.progresspalbackend.progresspalbackend.service;
+
+import org.hibernate.Hibernate;
+import org.progresspalbackend.progresspalbackend.config.AfterCommit;
+import org.progresspalbackend.progresspalbackend.config.SessionFreshnessProperties;
+import org.progresspalbackend.progresspalbackend.domain.ActivityType;
+import org.progresspalbackend.progresspalbackend.domain.Session;
+import org.progresspalbackend.progresspalbackend.domain.User;
+import org.progresspalbackend.progresspalbackend.domain.Visibility;
+import org.progresspalbackend.progresspalbackend.dto.Friendship.FriendLiveSessionDto;
+import org.progresspalbackend.progresspalbackend.repository.ActivityTypeRepository;
+import org.progresspalbackend.progresspalbackend.repository.SessionRepository;
+import org.progresspalbackend.progresspalbackend.repository.UserRepository;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-memory view of who is live right now: one snapshot per user with a live session. It is kept
+ * current by {@link SessionService} after each session change commits, so "which friends are live" is
+ * answered without a query. The map is local to this instance, like {@link LocalLeaderboardStore}, so
+ * it is reconciled with the database at startup and every {@code app.sessions.presence.reconcile-interval}
+ * to pick up changes made on other instances.
+ *
+ * <p>Snapshots carry the session's optimistic-lock version and an older version never replaces a newer
+ * one, so transitions that commit close together cannot publish out of order. A stopped session leaves
+ * an ended marker until the next reconcile so a late heartbeat cannot bring it back.
+ */
+@Service
+public class PresenceRegistry {
+
+    private final SessionRepository sessionRepository;
+    private final UserRepository userRepository;
+    private final ActivityTypeRepository activityTypeRepository;
+    private final FriendIdCache friendIdCache;
+    private final SessionFreshnessProperties sessionFreshnessProperties;
+    private final Map<UUID, LiveSnapshot> live = new ConcurrentHashMap<>();
+
+    public PresenceRegistry(SessionRepository sessionRepository,
+                            UserRepository userRepository,
+                            ActivityTypeRepository activityTypeRepository,
+                            FriendIdCache friendIdCache,
+                            SessionFreshnessProperties sessionFreshnessProperties) {
+        this.sessionRepository = sessionRepository;
+        this.userRepository = userRepository;
+        this.activityTypeRepository = activityTypeRepository;
+        this.friendIdCache = friendIdCache;
+        this.sessionFreshnessProperties = sessionFreshnessProperties;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void seed() {
+        reconcile();
+    }
+
+    /**
+     * Brings the map in line with the live sessions in the database. A row never replaces a newer
+     * snapshot of its session, and snapshots of sessions started after the query began are kept.
+     */
+    @Scheduled(
+            fixedDelayString = "${app.sessions.presence.reconcile-interval:60s}",
+            initialDelayString = "${app.sessions.presence.reconcile-interval:60s}")
+    public void reconcile() {
+        Instant loadedAt = Instant.now();
+        Map<UUID, Session> liveByUser = new HashMap<>();
+        for (Session session : sessionRepository.findAllByEndedAtIsNull()) {
+            liveByUser.merge(session.getUser().getId(), session,
+                    (a, b) -> a.getStartedAt().isAfter(b.getStartedAt()) ? a : b);
+        }
+        liveByUser.forEach((userId, session) -> live.compute(userId, (id, current) ->
+                current == null || supersedes(session, current)
+                        ? LiveSnapshot.of(session, session.getUser(), session.getActivityType())
+                        : current));
+        // Ended on another instance, or an ended marker that has served its purpose.
+        live.entrySet().removeIf(entry -> !liveByUser.containsKey(entry.getKey())
+                && entry.getValue().startedAt().isBefore(loadedAt));
+    }
+
+    /**
+     * Records the current state of {@code session} once the surrounding transaction commits: a live
+     * session replaces its owner's snapshot and a stopped one ends it.
+     */
+    public void record(Session session) {
+        UUID userId = session.getUser().getId();
+        if (session.getEndedAt() != null) {
+            AfterCommit.runAfterCommit(() -> live.compute(userId, (id, current) -> {
+                if (current != null && (!current.sessionId().equals(session.getId()) || !supersedes(session, current))) {
+                    return current;
+                }
+                return LiveSnapshot.ended(session, userId);
+            }));
+            return;
+        }
+
+        LiveSnapshot current = live.get(userId);
+        User user = null;
+        ActivityType activityType = null;
+        if (current == null || !current.describes(session)) {
+            // Session start holds only references; both entities are served by the second-level cache.
+            user = Hibernate.isInitialized(session.getUser())
+                    ? session.getUser()
+                    : userRepository.findById(userId).orElse(null);
+            activityType = Hibernate.isInitialized(session.getActivityType())
+                    ? session.getActivityType()
+                    : activityTypeRepository.findById(session.getActivityType().getId()).orElse(null);
+            if (user == null || activityType == null) {
+                return;
+            }
+        }
+        User resolvedUser = user;
+        ActivityType resolvedActivityType = activityType;
+        // Built after commit, when the flushed version is known and against whatever snapshot is current then.
+        AfterCommit.runAfterCommit(() -> live.compute(userId, (id, latest) -> {
+            if (latest != null && !supersedes(session, latest)) {
+                return latest;
+            }
+            if (latest != null && latest.describes(session)) {
+                // Pause, resume and heartbeat only move the clock; keep the names already held.
+                return latest.withState(session);
+            }
+            return resolvedUser == null ? latest : LiveSnapshot.of(session, resolvedUser, resolvedActivityType);
+        }));
+    }
+
+    public void remove(UUID userId, UUID sessionId) {
+        AfterCommit.runAfterCommit(() -> live.computeIfPresent(userId,
+                (id, current) -> current.sessionId().equals(sessionId) ? null : current));
+    }
+
+    public void updateProfile(UUID userId, String username, String profileImage) {
+        AfterCommit.runAfterCommit(() -> live.computeIfPresent(userId,
+                (id, current) -> current.withProfile(username, profileImage)));
+    }
+
+    /** Live sessions of the caller's friends, newest first. Private sessions are left out. */
+    public List<FriendLiveSessionDto> getLiveFriends(UUID userId) {
+        Instant staleCutoff = Instant.now().minus(sessionFreshnessProperties.getStaleAfter());
+        List<LiveSnapshot> friendsLive = new ArrayList<>();
+        for (UUID friendId : friendIdCache.friendIdsOf(userId)) {
+            LiveSnapshot snapshot = live.get(friendId);
+            if (snapshot != null && !snapshot.ended() && snapshot.visibility() != Visibility.PRIVATE) {
+                friendsLive.add(snapshot);
+            }
+        }
+        return friendsLive.stream()
+                .sorted(Comparator.comparing(LiveSnapshot::startedAt).reversed())
+                .map(snapshot -> snapshot.toDto(staleCutoff))
+                .toList();
+    }
+
+    // Same session: the higher version wins. Different sessions: the later start wins.
+    private static boolean supersedes(Session session, LiveSnapshot current) {
+        if (current.sessionId().equals(session.getId())) {
+            return versionOf(session) >= current.version();
+        }
+        return !session.getStartedAt().isBefore(current.startedAt());
+    }
+
+    private static long versionOf(Session session) {
+        return session.getVersion() == null ? 0L : session.getVersion();
+    }
+
+    private record LiveSnapshot(
+            UUID userId,
+            String username,
+            String profileImage,
+            UUID sessionId,
+            UUID activityTypeId,
+            String activityTypeName,
+            String title,
+            Visibility visibility,
+            Instant startedAt,
+            Instant pausedAt,
+            Instant lastHeartbeatAt,
+            long version,
+            boolean ended
+    ) {
+
+        static LiveSnapshot of(Session session, User user, ActivityType activityType) {
+            return new LiveSnapshot(
+                    user.getId(),
+                    user.getUsername(),
+                    user.getProfileImage(),
+                    session.getId(),
+                    activityType.getId(),
+                    activityType.getName(),
+                    session.getTitle(),
+                    session.getVisibility(),
+                    session.getStartedAt(),
+                    session.getPausedAt(),
+                    session.getLastSentHeartBeat(),
+                    versionOf(session),
+                    false);
+        }
+
+        static LiveSnapshot ended(Session session, UUID userId) {
+            return new LiveSnapshot(userId, null, null, session.getId(), session.getActivityType().getId(), null,
+                    null, session.getVisibility(), session.getStartedAt(), null, null, versionOf(session), true);
+        }
+
+        boolean describes(Session session) {
+            return !ended && sessionId.equals(session.getId()) && activityTypeId.equals(session.getActivityType().getId());
+        }
+
+        LiveSnapshot withState(Session session) {
+            return new LiveSnapshot(userId, username, profileImage, sessionId, activityTypeId, activityTypeName,
+                    session.getTitle(), session.getVisibility(), session.getStartedAt(),
+                    session.getPausedAt(), session.getLastSentHeartBeat(), versionOf(session), false);
+        }
+
+        LiveSnapshot withProfile(String newUsername, String newProfileImage) {
+            return new LiveSnapshot(userId, newUsername, newProfileImage, sessionId, activityTypeId, activityTypeName,
+                    title, visibility, startedAt, pausedAt, lastHeartbeatAt, version, ended);
+        }
+
+        // A live session that missed its heartbeats shows as paused before the sweep gets to it.
+        FriendLiveSessionDto toDto(Instant staleCutoff) {
+            Instant freshnessBase = lastHeartbeatAt != null ? lastHeartbeatAt : startedAt;
+            boolean paused = pausedAt != null || !freshnessBase.isAfter(staleCutoff);
+            return new FriendLiveSessionDto(userId, username, profileImage, sessionId, activityTypeId,
+                    activityTypeName, title, startedAt, paused);
+        }
+    }
+}
@@ -0,0 +1,106 @@
+package org.progresspalbackend.progresspalbackend.service;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Cluster-wide store: each board is a Redis sorted set of user ids. Increments run as one script
+ * so the score update and the expiry are applied together; reads fetch all requested members with
+ * a single {@code ZMSCORE}. A seeded board carries a marker key with the same expiry, so boards
+ * survive restarts and are seeded once per period.
+ */
+@Component
+@ConditionalOnProperty(name = "app.leaderboard.store", havingValue = "redis")
+public class RedisLeaderboardStore implements LeaderboardStore {
+
+    private static final String KEY_PREFIX = "leaderboard:";
+    private static final String SEEDED_SUFFIX = ":seeded";
+
+    private static final RedisScript<Long> INCREMENT = new DefaultRedisScript<>("""
+            redis.call('ZINCRBY', KEYS[1], ARGV[1], ARGV[2])
+            redis.call('PEXPIREAT', KEYS[1], ARGV[3])
+            return 1
+            """, Long.class);
+
+    private static final RedisScript<Long> SEED = new DefaultRedisScript<>("""
+            redis.call('DEL', KEYS[1])
+            for i = 2, #ARGV, 2 do
+                redis.call('ZADD', KEYS[1], ARGV[i], ARGV[i + 1])
+            end
+            redis.call('PEXPIREAT', KEYS[1], ARGV[1])
+            redis.call('SET', KEYS[2], '1')
+            redis.call('PEXPIREAT', KEYS[2], ARGV[1])
+            return 1
+            """, Long.class);
+
+    private final StringRedisTemplate redis;
+
+    public RedisLeaderboardStore(StringRedisTemplate redis) {
+        this.redis = redis;
+    }
+
+    @Override
+    public void increment(String board, UUID member, double amount, Instant expiresAt) {
+        redis.execute(
+                INCREMENT,
+                List.of(KEY_PREFIX + board),
+                Double.toString(amount),
+                member.toString(),
+                Long.toString(expiresAt.toEpochMilli())
+        );
+    }
+
+    @Override
+    public Map<UUID, Double> scores(String board, Collection<UUID> members) {
+        if (members.isEmpty()) {
+            return Map.of();
+        }
+        List<UUID> ordered = List.copyOf(members);
+        List<Double> scores = redis.opsForZSet().score(
+                KEY_PREFIX + board,
+                ordered.stream().map(UUID::toString).toArray());
+        Map<UUID, Double> result = new HashMap<>();
+        if (scores == null) {
+            return result;
+        }
+        for (int i = 0; i < ordered.size(); i++) {
+            Double score = scores.get(i);
+            if (score != null) {
+                result.put(ordered.get(i), score);
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public boolean isSeeded(String board) {
+        return Boolean.TRUE.equals(redis.hasKey(KEY_PREFIX + board + SEEDED_SUFFIX));
+    }
+
+    @Override
+    public void seed(String board, Map<UUID, Double> scores, Instant expiresAt) {
+        List<String> args = new ArrayList<>(1 + scores.size() * 2);
+        args.add(Long.toString(expiresAt.toEpochMilli()));
+        scores.forEach((member, score) -> {
+            args.add(Double.toString(score));
+            args.add(member.toString());
+        });
+        // The board and its marker are replaced together, so a reader never sees one without the other.
+        redis.execute(
+                SEED,
+                List.of(KEY_PREFIX + board, KEY_PREFIX + board + SEEDED_SUFFIX),
+                args.toArray()
+        );
+    }
+}
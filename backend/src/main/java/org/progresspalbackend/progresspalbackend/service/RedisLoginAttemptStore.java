@@ -0,0 +1,81 @@
+package org.progresspalbackend.progresspalbackend.service;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Cluster-wide store: each key is a Redis sorted set of failure timestamps plus a lock key with
+ * a TTL. The window update runs as one Lua script against the Redis clock, so concurrent nodes
+ * cannot interleave between counting and locking.
+ */
+@Component
+@ConditionalOnProperty(name = "app.security.login.store", havingValue = "redis")
+public class RedisLoginAttemptStore implements LoginAttemptStore {
+
+    private static final String KEY_PREFIX = "login-attempts:";
+
+    private static final RedisScript<Long> RECORD_FAILURE = new DefaultRedisScript<>("""
+            if redis.call('EXISTS', KEYS[2]) == 1 then
+              return 1
+            end
+            local time = redis.call('TIME')
+            local now = tonumber(time[1]) * 1000 + math.floor(tonumber(time[2]) / 1000)
+            local window = tonumber(ARGV[1])
+            redis.call('ZREMRANGEBYSCORE', KEYS[1], '-inf', now - window)
+            redis.call('ZADD', KEYS[1], now, ARGV[4])
+            if redis.call('ZCARD', KEYS[1]) >= tonumber(ARGV[2]) then
+              redis.call('DEL', KEYS[1])
+              redis.call('SET', KEYS[2], '1', 'PX', ARGV[3])
+              return 1
+            end
+            redis.call('PEXPIRE', KEYS[1], window)
+            return 0
+            """, Long.class);
+
+    private final StringRedisTemplate redis;
+
+    public RedisLoginAttemptStore(StringRedisTemplate redis) {
+        this.redis = redis;
+    }
+
+    @Override
+    public boolean isAnyLocked(Collection<String> keys) {
+        Long locked = redis.countExistingKeys(keys.stream().map(RedisLoginAttemptStore::lockKey).toList());
+        return locked != null && locked > 0;
+    }
+
+    @Override
+    public boolean recordFailure(String key, int maxFailures, Duration window, Duration lockDuration) {
+        Long locked = redis.execute(
+                RECORD_FAILURE,
+                List.of(failuresKey(key), lockKey(key)),
+                Long.toString(window.toMillis()),
+                Integer.toString(maxFailures),
+                Long.toString(lockDuration.toMillis()),
+                UUID.randomUUID().toString()
+        );
+        return locked != null && locked == 1L;
+    }
+
+    @Override
+    public void clear(String key) {
+        redis.delete(List.of(failuresKey(key), lockKey(key)));
+    }
+
+    // Hash tags keep both keys of one identity in the same cluster slot for the script.
+    private static String failuresKey(String key) {
+        return KEY_PREFIX + "{" + key + "}:failures";
+    }
+
+    private static String lockKey(String key) {
+        return KEY_PREFIX + "{" + key + "}:lock";
+    }
+}
@@ -0,0 +1,87 @@
+package org.progresspalbackend.progresspalbackend.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.progresspalbackend.progresspalbackend.config.AfterCommit;
+import org.progresspalbackend.progresspalbackend.dto.session.RoomUserDto;
+import org.progresspalbackend.progresspalbackend.repository.RoomMemberRow;
+import org.progresspalbackend.progresspalbackend.repository.SessionJoinRequestRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Host and accepted participants of live rooms, so polling a room does not touch the database while its
+ * membership is unchanged. Accepting a join request adds the participant and stopping or reassigning the
+ * session evicts the room; the TTL only bounds staleness across instances and of usernames and images.
+ */
+@Component
+public class RoomRosterCache {
+
+    private final SessionJoinRequestRepository sessionJoinRequestRepository;
+    private final Cache<UUID, Roster> rosters;
+
+    public RoomRosterCache(
+            SessionJoinRequestRepository sessionJoinRequestRepository,
+            @Value("${app.rooms.roster-cache.max-size:10000}") long maxSize,
+            @Value("${app.rooms.roster-cache.ttl:PT1M}") Duration ttl) {
+        this.sessionJoinRequestRepository = sessionJoinRequestRepository;
+        this.rosters = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .build();
+    }
+
+    /** The roster of a live session; 404 for an unknown session and 409 once it has ended. */
+    public Roster rosterOf(UUID sessionId) {
+        return rosters.get(sessionId, this::load);
+    }
+
+    public void addParticipant(UUID sessionId, RoomUserDto participant) {
+        AfterCommit.runAfterCommit(() -> rosters.asMap().computeIfPresent(sessionId, (id, roster) -> roster.with(participant)));
+    }
+
+    public void evict(UUID sessionId) {
+        AfterCommit.runAfterCommit(() -> rosters.invalidate(sessionId));
+    }
+
+    private Roster load(UUID sessionId) {
+        List<RoomMemberRow> rows = sessionJoinRequestRepository.findRoomMembers(sessionId);
+        if (rows.isEmpty()) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Session not found");
+        }
+        RoomMemberRow first = rows.get(0);
+        if (first.getEndedAt() != null) {
+            throw new ResponseStatusException(HttpStatus.CONFLICT, "Session is not live");
+        }
+        RoomUserDto host = new RoomUserDto(first.getHostId(), first.getHostUsername(), first.getHostProfileImage());
+        List<RoomUserDto> participants = rows.stream()
+                .filter(row -> row.getParticipantId() != null)
+                .map(row -> new RoomUserDto(row.getParticipantId(), row.getParticipantUsername(), row.getParticipantProfileImage()))
+                .toList();
+        return new Roster(host, participants);
+    }
+
+    public record Roster(RoomUserDto host, List<RoomUserDto> participants) {
+
+        public boolean admits(UUID userId) {
+            return host.id().equals(userId)
+                    || participants.stream().anyMatch(participant -> participant.id().equals(userId));
+        }
+
+        Roster with(RoomUserDto participant) {
+            if (admits(participant.id())) {
+                return this;
+            }
+            List<RoomUserDto> extended = new ArrayList<>(participants);
+            extended.add(participant);
+            return new Roster(host, List.copyOf(extended));
+        }
+    }
+}
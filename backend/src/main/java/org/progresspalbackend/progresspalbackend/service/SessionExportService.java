@@ -0,0 +1,192 @@
+package org.progresspalbackend.progresspalbackend.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.Nullable;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Root;
+import org.hibernate.jpa.HibernateHints;
+import org.progresspalbackend.progresspalbackend.domain.Session;
+import org.progresspalbackend.progresspalbackend.domain.Visibility;
+import org.progresspalbackend.progresspalbackend.dto.session.SessionExportRowDto;
+import org.progresspalbackend.progresspalbackend.mapper.SessionMapper;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+/**
+ * Streams a user's session history through a server-side cursor: rows are fetched
+ * {@value #FETCH_SIZE} at a time and detached once written, so memory stays flat however long
+ * the history is.
+ */
+@Service
+public class SessionExportService {
+
+    static final int FETCH_SIZE = 500;
+
+    private static final List<String> CSV_HEADER = List.of(
+            "id", "activityTypeId", "activityTypeName", "title", "description", "startedAt", "endedAt",
+            "durationSeconds", "pausedDurationSeconds", "metricValue", "goalType", "goalTarget", "goalNote",
+            "visibility");
+
+    private final SessionService sessionService;
+    private final SessionMapper mapper;
+    private final EntityManager entityManager;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate readOnlyTransaction;
+
+    public SessionExportService(SessionService sessionService,
+                                SessionMapper mapper,
+                                EntityManager entityManager,
+                                ObjectMapper objectMapper,
+                                PlatformTransactionManager transactionManager) {
+        this.sessionService = sessionService;
+        this.mapper = mapper;
+        this.entityManager = entityManager;
+        this.objectMapper = objectMapper;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+    }
+
+    /**
+     * Validates the filters up front, so bad input still gets a 400, and returns a body that runs
+     * the query in its own read-only transaction while the response is written.
+     */
+    public StreamingResponseBody exportMySessions(UUID userId,
+                                                  @Nullable LocalDate from,
+                                                  @Nullable LocalDate to,
+                                                  @Nullable UUID activityTypeId,
+                                                  @Nullable Visibility visibility,
+                                                  @Nullable String status,
+                                                  SessionFileFormat format) {
+        Specification<Session> filter = sessionService.mySessionsFilter(userId, from, to, activityTypeId, visibility, status);
+        return out -> {
+            Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+            try {
+                readOnlyTransaction.executeWithoutResult(tx -> writeRows(filter, format, writer));
+            } catch (UncheckedIOException ex) {
+                throw ex.getCause();
+            }
+            writer.flush();
+        };
+    }
+
+    private void writeRows(Specification<Session> filter, SessionFileFormat format, Writer writer) {
+        Instant now = Instant.now();
+        try (Stream<Session> sessions = streamSessions(filter)) {
+            if (format == SessionFileFormat.CSV) {
+                writeCsvLine(writer, CSV_HEADER);
+            }
+            Iterator<Session> rows = sessions.iterator();
+            while (rows.hasNext()) {
+                Session session = rows.next();
+                SessionExportRowDto row = toRow(session, now);
+                // The row holds everything needed; dropping the entity keeps the persistence context empty.
+                entityManager.detach(session);
+                if (format == SessionFileFormat.CSV) {
+                    writeCsvLine(writer, csvValues(row));
+                } else {
+                    writer.write(objectMapper.writeValueAsString(row));
+                    writer.write('\n');
+                }
+            }
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    private Stream<Session> streamSessions(Specification<Session> filter) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Session> query = cb.createQuery(Session.class);
+        Root<Session> root = query.from(Session.class);
+        root.fetch("activityType");
+        query.where(filter.toPredicate(root, query, cb));
+        query.orderBy(cb.desc(root.get("startedAt")), cb.desc(root.get("id")));
+        return entityManager.createQuery(query)
+                .setHint(HibernateHints.HINT_FETCH_SIZE, FETCH_SIZE)
+                .setHint(HibernateHints.HINT_READ_ONLY, true)
+                .getResultStream();
+    }
+
+    private SessionExportRowDto toRow(Session session, Instant now) {
+        return new SessionExportRowDto(
+                session.getId(),
+                session.getActivityType().getId(),
+                session.getActivityType().getName(),
+                session.getTitle(),
+                session.getDescription(),
+                session.getStartedAt(),
+                session.getEndedAt(),
+                mapper.computeEffectiveDurationSeconds(session, now),
+                session.getPausedDurationSeconds(),
+                session.getMetricValue(),
+                session.getGoalType(),
+                session.getGoalTarget(),
+                session.getGoalNote(),
+                session.getVisibility()
+        );
+    }
+
+    private static List<String> csvValues(SessionExportRowDto row) {
+        return Arrays.asList(
+                String.valueOf(row.id()),
+                String.valueOf(row.activityTypeId()),
+                row.activityTypeName(),
+                row.title(),
+                row.description(),
+                row.startedAt() == null ? null : row.startedAt().toString(),
+                row.endedAt() == null ? null : row.endedAt().toString(),
+                String.valueOf(row.durationSeconds()),
+                row.pausedDurationSeconds() == null ? null : row.pausedDurationSeconds().toString(),
+                plain(row.metricValue()),
+                row.goalType() == null ? null : row.goalType().name(),
+                plain(row.goalTarget()),
+                row.goalNote(),
+                row.visibility() == null ? null : row.visibility().name()
+        );
+    }
+
+    private static String plain(@Nullable BigDecimal value) {
+        return value == null ? null : value.toPlainString();
+    }
+
+    // RFC 4180: quote fields holding a delimiter, quote or line break, and double embedded quotes.
+    private static void writeCsvLine(Writer writer, List<String> values) throws IOException {
+        for (int i = 0; i < values.size(); i++) {
+            if (i > 0) {
+                writer.write(',');
+            }
+            String value = values.get(i);
+            if (value == null) {
+                continue;
+            }
+            if (value.indexOf(',') >= 0 || value.indexOf('"') >= 0
+                    || value.indexOf('\n') >= 0 || value.indexOf('\r') >= 0) {
+                writer.write('"');
+                writer.write(value.replace("\"", "\"\""));
+                writer.write('"');
+            } else {
+                writer.write(value);
+            }
+        }
+        writer.write("\r\n");
+    }
+}
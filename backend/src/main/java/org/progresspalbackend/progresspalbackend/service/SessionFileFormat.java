@@ -0,0 +1,44 @@
+package org.progresspalbackend.progresspalbackend.service;
+
+import jakarta.annotation.Nullable;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+
+/**
+ * File formats of the session history export and import. Both use the columns of
+ * {@link org.progresspalbackend.progresspalbackend.dto.session.SessionExportRowDto}, so an export
+ * can be imported as is.
+ */
+public enum SessionFileFormat {
+    CSV(new MediaType("text", "csv", StandardCharsets.UTF_8)),
+    NDJSON(new MediaType("application", "x-ndjson", StandardCharsets.UTF_8));
+
+    private final MediaType mediaType;
+
+    SessionFileFormat(MediaType mediaType) {
+        this.mediaType = mediaType;
+    }
+
+    public MediaType mediaType() {
+        return mediaType;
+    }
+
+    public String fileExtension() {
+        return name().toLowerCase(Locale.ROOT);
+    }
+
+    public static SessionFileFormat parse(@Nullable String raw) {
+        if (raw == null || raw.isBlank()) {
+            return CSV;
+        }
+        try {
+            return valueOf(raw.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException ex) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid format. Use CSV or NDJSON");
+        }
+    }
+}
@@ -0,0 +1,326 @@
+package org.progresspalbackend.progresspalbackend.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.progresspalbackend.progresspalbackend.domain.ActivityType;
+import org.progresspalbackend.progresspalbackend.domain.GoalType;
+import org.progresspalbackend.progresspalbackend.domain.Session;
+import org.progresspalbackend.progresspalbackend.domain.Visibility;
+import org.progresspalbackend.progresspalbackend.dto.session.SessionImportErrorDto;
+import org.progresspalbackend.progresspalbackend.dto.session.SessionImportResultDto;
+import org.progresspalbackend.progresspalbackend.dto.session.SessionImportRowDto;
+import org.progresspalbackend.progresspalbackend.repository.ActivityTypeRepository;
+import org.progresspalbackend.progresspalbackend.repository.UserRepository;
+import org.springframework.http.HttpStatus;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.function.Function;
+
+/**
+ * Imports completed sessions from CSV or NDJSON (the export format). Rows are validated like a
+ * stopped session and written with JDBC batch inserts of {@value #BATCH_SIZE}; invalid rows are
+ * skipped and reported by line, and the valid ones are committed together.
+ */
+@Service
+public class SessionImportService {
+
+    static final int BATCH_SIZE = 1000;
+    static final int MAX_REPORTED_ERRORS = 100;
+
+    private static final int MAX_TITLE_LENGTH = 120;
+    private static final String INSERT_SQL = """
+            INSERT INTO session (id, user_id, activity_type_id, title, description, started_at, ended_at,
+                                 paused_duration_seconds, metric_value, goal_type, goal_target, goal_note, visibility)
+            VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, CAST(? AS visibility))
+            """;
+
+    private final SessionService sessionService;
+    private final ActivityTypeRepository activityTypeRepository;
+    private final UserRepository userRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+    private final ActivityHeatmapService activityHeatmapService;
+    private final PersonalRecordService personalRecordService;
+    private final LeaderboardService leaderboardService;
+
+    public SessionImportService(SessionService sessionService,
+                                ActivityTypeRepository activityTypeRepository,
+                                UserRepository userRepository,
+                                JdbcTemplate jdbcTemplate,
+                                ObjectMapper objectMapper,
+                                ActivityHeatmapService activityHeatmapService,
+                                PersonalRecordService personalRecordService,
+                                LeaderboardService leaderboardService) {
+        this.sessionService = sessionService;
+        this.activityTypeRepository = activityTypeRepository;
+        this.userRepository = userRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.objectMapper = objectMapper;
+        this.activityHeatmapService = activityHeatmapService;
+        this.personalRecordService = personalRecordService;
+        this.leaderboardService = leaderboardService;
+    }
+
+    @Transactional
+    public SessionImportResultDto importMySessions(UUID userId, SessionFileFormat format, InputStream body) {
+        if (!userRepository.existsById(userId)) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "User not found");
+        }
+
+        Batch batch = new Batch(userId, new ActivityTypes(userId), Instant.now());
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(body, StandardCharsets.UTF_8))) {
+            if (format == SessionFileFormat.CSV) {
+                readCsv(reader, batch);
+            } else {
+                readNdjson(reader, batch);
+            }
+        } catch (IOException ex) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Could not read the import file", ex);
+        }
+        batch.flush();
+        leaderboardService.record(batch.leaderboard);
+        if (batch.imported > 0) {
+            // Imported sessions are back-dated, so streaks cannot simply be extended.
+            personalRecordService.rebuild(userId);
+            activityHeatmapService.invalidate(userId);
+        }
+        return new SessionImportResultDto(batch.imported, batch.rejected, batch.errors);
+    }
+
+    private void readNdjson(BufferedReader reader, Batch batch) throws IOException {
+        long lineNumber = 0;
+        String line;
+        while ((line = reader.readLine()) != null) {
+            lineNumber++;
+            if (line.isBlank()) {
+                continue;
+            }
+            SessionImportRowDto row;
+            try {
+                row = objectMapper.readValue(line, SessionImportRowDto.class);
+            } catch (JsonProcessingException ex) {
+                batch.reject(lineNumber, "Invalid JSON: " + ex.getOriginalMessage());
+                continue;
+            }
+            batch.add(lineNumber, row);
+        }
+    }
+
+    private void readCsv(BufferedReader reader, Batch batch) throws IOException {
+        CsvRecordReader csv = new CsvRecordReader(reader);
+        List<String> header = csv.next();
+        if (header == null) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "The CSV file has no header row");
+        }
+        Map<String, Integer> columns = new HashMap<>();
+        for (int i = 0; i < header.size(); i++) {
+            columns.putIfAbsent(header.get(i).trim(), i);
+        }
+        if (!columns.containsKey("startedAt") || !columns.containsKey("endedAt")
+                || (!columns.containsKey("activityTypeId") && !columns.containsKey("activityTypeName"))) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "The CSV header needs startedAt, endedAt and activityTypeId or activityTypeName");
+        }
+
+        List<String> record;
+        while ((record = csv.next()) != null) {
+            CsvRow values = new CsvRow(columns, record);
+            SessionImportRowDto row;
+            try {
+                row = new SessionImportRowDto(
+                        values.get("activityTypeId", UUID::fromString),
+                        values.get("activityTypeName", Function.identity()),
+                        values.get("title", Function.identity()),
+                        values.get("description", Function.identity()),
+                        values.get("startedAt", Instant::parse),
+                        values.get("endedAt", Instant::parse),
+                        values.get("pausedDurationSeconds", Long::valueOf),
+                        values.get("metricValue", BigDecimal::new),
+                        values.get("goalType", raw -> GoalType.valueOf(raw.toUpperCase(Locale.ROOT))),
+                        values.get("goalTarget", BigDecimal::new),
+                        values.get("goalNote", Function.identity()),
+                        values.get("visibility", raw -> Visibility.valueOf(raw.toUpperCase(Locale.ROOT)))
+                );
+            } catch (InvalidValueException ex) {
+                batch.reject(csv.recordLine(), ex.getMessage());
+                continue;
+            }
+            batch.add(csv.recordLine(), row);
+        }
+    }
+
+    /** Builds the entity the stop/goal validation works on, or throws with the reason for the row. */
+    private Session toSession(SessionImportRowDto row, ActivityTypes types, Instant now) {
+        ActivityType activityType = types.resolve(row.activityTypeId(), row.activityTypeName())
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.BAD_REQUEST, "Unknown activity type"));
+        if (row.startedAt() == null || row.endedAt() == null) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "startedAt and endedAt are required");
+        }
+        if (row.endedAt().isBefore(row.startedAt())) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "endedAt must not be before startedAt");
+        }
+        if (row.endedAt().isAfter(now)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Only completed sessions can be imported");
+        }
+        long pausedSeconds = row.pausedDurationSeconds() == null ? 0L : row.pausedDurationSeconds();
+        if (pausedSeconds < 0 || pausedSeconds > Duration.between(row.startedAt(), row.endedAt()).getSeconds()) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "pausedDurationSeconds must be between 0 and the session duration");
+        }
+        if (row.title() != null && row.title().length() > MAX_TITLE_LENGTH) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "title must be at most 120 characters.");
+        }
+        if (row.goalNote() != null && row.goalNote().trim().length() > 255) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "goalNote must be at most 255 characters.");
+        }
+
+        Session session = new Session();
+        session.setActivityType(activityType);
+        session.setTitle(row.title());
+        session.setDescription(row.description());
+        session.setStartedAt(row.startedAt());
+        session.setEndedAt(row.endedAt());
+        session.setPausedDurationSeconds(pausedSeconds);
+        session.setVisibility(row.visibility() == null ? Visibility.PRIVATE : row.visibility());
+        sessionService.validateStopMetric(activityType, row.metricValue());
+        session.setMetricValue(row.metricValue());
+        sessionService.validateAndApplyGoal(session, row.goalType(), row.goalTarget(), row.goalNote());
+        return session;
+    }
+
+    private final class Batch {
+
+        private final UUID userId;
+        private final ActivityTypes types;
+        private final Instant now;
+        private final List<Object[]> pending = new ArrayList<>(BATCH_SIZE);
+        private final List<SessionImportErrorDto> errors = new ArrayList<>();
+        private final LeaderboardService.Tally leaderboard = leaderboardService.tally();
+        private long imported;
+        private long rejected;
+
+        private Batch(UUID userId, ActivityTypes types, Instant now) {
+            this.userId = userId;
+            this.types = types;
+            this.now = now;
+        }
+
+        void add(long line, SessionImportRowDto row) {
+            Session session;
+            try {
+                session = toSession(row, types, now);
+            } catch (ResponseStatusException ex) {
+                reject(line, ex.getReason());
+                return;
+            }
+            pending.add(new Object[]{
+                    UUID.randomUUID(),
+                    userId,
+                    session.getActivityType().getId(),
+                    session.getTitle(),
+                    session.getDescription(),
+                    session.getStartedAt().atOffset(ZoneOffset.UTC),
+                    session.getEndedAt().atOffset(ZoneOffset.UTC),
+                    session.getPausedDurationSeconds(),
+                    session.getMetricValue(),
+                    session.getGoalType().name(),
+                    session.getGoalTarget(),
+                    session.getGoalNote(),
+                    session.getVisibility().name()
+            });
+            leaderboard.add(leaderboardService.contributionOf(userId, session));
+            if (pending.size() == BATCH_SIZE) {
+                flush();
+            }
+        }
+
+        void reject(long line, String message) {
+            rejected++;
+            if (errors.size() < MAX_REPORTED_ERRORS) {
+                errors.add(new SessionImportErrorDto(line, message));
+            }
+        }
+
+        void flush() {
+            if (pending.isEmpty()) {
+                return;
+            }
+            jdbcTemplate.batchUpdate(INSERT_SQL, pending);
+            imported += pending.size();
+            pending.clear();
+        }
+    }
+
+    /** The importer's activity types by id and by name, the user's own custom types winning on a name clash. */
+    private final class ActivityTypes {
+
+        private final Map<UUID, ActivityType> byId = new HashMap<>();
+        private final Map<String, ActivityType> byName = new HashMap<>();
+
+        private ActivityTypes(UUID userId) {
+            for (ActivityType type : activityTypeRepository.findByCustomFalseOrderByNameAsc()) {
+                byId.put(type.getId(), type);
+                byName.put(type.getName().toLowerCase(Locale.ROOT), type);
+            }
+            for (ActivityType type : activityTypeRepository.findByCreatedById(userId)) {
+                byId.put(type.getId(), type);
+                byName.put(type.getName().toLowerCase(Locale.ROOT), type);
+            }
+        }
+
+        Optional<ActivityType> resolve(UUID id, String name) {
+            if (id != null) {
+                // Session creation accepts any existing type, so ids outside the user's list are looked up once.
+                if (!byId.containsKey(id)) {
+                    byId.put(id, activityTypeRepository.findById(id).orElse(null));
+                }
+                return Optional.ofNullable(byId.get(id));
+            }
+            if (name == null || name.isBlank()) {
+                return Optional.empty();
+            }
+            return Optional.ofNullable(byName.get(name.trim().toLowerCase(Locale.ROOT)));
+        }
+    }
+
+    private record CsvRow(Map<String, Integer> columns, List<String> values) {
+
+        <T> T get(String column, Function<String, T> parser) {
+            Integer index = columns.get(column);
+            if (index == null || index >= values.size() || values.get(index).isEmpty()) {
+                return null;
+            }
+            String raw = values.get(index);
+            try {
+                return parser.apply(raw);
+            } catch (RuntimeException ex) {
+                throw new InvalidValueException("Invalid " + column + ": " + raw);
+            }
+        }
+    }
+
+    private static final class InvalidValueException extends RuntimeException {
+        private InvalidValueException(String message) {
+            super(message);
+        }
+    }
+}
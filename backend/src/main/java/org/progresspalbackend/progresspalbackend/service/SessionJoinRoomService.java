@@ -19,7 +19,9 @@ import org.progresspalbackend.progresspalbackend.repository.SessionRoomMessageRe
 import org.progresspalbackend.progresspalbackend.repository.UserRepository;
 import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -33,12 +35,16 @@ import java.util.UUID;
 @RequiredArgsConstructor
 public class SessionJoinRoomService {
 
+    public static final int DEFAULT_OUTGOING_PAGE_SIZE = 50;
+    private static final int MAX_OUTGOING_PAGE_SIZE = 100;
+
     private final SessionRepository sessionRepository;
     private final SessionAccessService sessionAccessService;
     private final SessionJoinRequestRepository sessionJoinRequestRepository;
     private final SessionRoomMessageRepository sessionRoomMessageRepository;
     private final UserRepository userRepository;
     private final NotificationService notificationService;
+    private final RoomRosterCache roomRosterCache;
 
     @Transactional
     public SessionJoinRequestDto createJoinRequest(UUID actorUserId, UUID sessionId) {
@@ -73,13 +79,15 @@ public class SessionJoinRoomService {
     @Transactional(readOnly = true)
     public List<MyJoinRequestDto> listOutgoing(UUID actorUserId,
                                                SessionJoinRequestStatus status,
-                                               boolean liveOnly) {
-        return sessionJoinRequestRepository.findAllByRequester_IdOrderByCreatedAtDesc(actorUserId)
-                .stream()
-                .filter(request -> status == null || request.getStatus() == status)
-                .filter(request -> !liveOnly || request.getSession().getEndedAt() == null)
-                .map(this::toMyJoinRequestDto)
-                .toList();
+                                               boolean liveOnly,
+                                               Pageable pageable) {
+        // The queries fix the order (newest first); only the page window comes from the caller.
+        int size = pageable.getPageSize() <= 0 ? DEFAULT_OUTGOING_PAGE_SIZE : Math.min(pageable.getPageSize(), MAX_OUTGOING_PAGE_SIZE);
+        Pageable page = PageRequest.of(Math.max(pageable.getPageNumber(), 0), size);
+        Slice<SessionJoinRequest> requests = status == null
+                ? sessionJoinRequestRepository.findOutgoing(actorUserId, liveOnly, page)
+                : sessionJoinRequestRepository.findOutgoingWithStatus(actorUserId, status, liveOnly, page);
+        return requests.map(this::toMyJoinRequestDto).getContent();
     }
 
     @Transactional(readOnly = true)
@@ -125,6 +133,7 @@ public class SessionJoinRoomService {
                 session.getId()
         );
         if (decision == JoinRequestDecision.ACCEPT) {
+            roomRosterCache.addParticipant(session.getId(), toRoomUserDto(savedRequest.getRequester()));
             notificationService.notifySessionJoinRequestAccepted(
                     savedRequest.getRequester(),
                     session.getUser(),
@@ -134,23 +143,13 @@ public class SessionJoinRoomService {
         return toSessionJoinRequestDto(savedRequest);
     }
 
-    @Transactional(readOnly = true)
+    // Not a replica read: the roster is cached, so it is loaded from the primary that decide() writes to.
     public RoomStateDto roomState(UUID actorUserId, UUID sessionId) {
-        Session session = requireRoomMemberOnLiveSession(actorUserId, sessionId);
-        List<RoomUserDto> participants = sessionJoinRequestRepository
-                .findAllBySession_IdAndStatusOrderByCreatedAtAsc(sessionId, SessionJoinRequestStatus.ACCEPTED)
-                .stream()
-                .map(SessionJoinRequest::getRequester)
-                .filter(user -> !user.getId().equals(session.getUser().getId()))
-                .map(this::toRoomUserDto)
-                .toList();
-
-        return new RoomStateDto(
-                session.getId(),
-                toRoomUserDto(session.getUser()),
-                participants,
-                true
-        );
+        RoomRosterCache.Roster roster = roomRosterCache.rosterOf(sessionId);
+        if (!roster.admits(actorUserId)) {
+            throw new ResponseStatusException(HttpStatus.FORBIDDEN, "You cannot access this room");
+        }
+        return new RoomStateDto(sessionId, roster.host(), roster.participants(), true);
     }
 
     @Transactional(readOnly = true)
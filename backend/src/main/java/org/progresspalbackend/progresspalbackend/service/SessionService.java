@@ -1,10 +1,16 @@
 package org.progresspalbackend.progresspalbackend.service;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import jakarta.annotation.Nullable;
 import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
+import org.hibernate.exception.ConstraintViolationException;
 
 
+import org.progresspalbackend.progresspalbackend.config.Coalesced;
+import org.progresspalbackend.progresspalbackend.config.ReplicaRead;
+import org.progresspalbackend.progresspalbackend.config.RetryOnConflict;
 import org.progresspalbackend.progresspalbackend.config.SessionFreshnessProperties;
 import org.progresspalbackend.progresspalbackend.domain.ActivityType;
 import org.progresspalbackend.progresspalbackend.domain.GoalType;
@@ -33,7 +39,9 @@ import org.progresspalbackend.progresspalbackend.repository.SessionAggregateCoun
 import org.progresspalbackend.progresspalbackend.repository.SessionCommentRepository;
 import org.progresspalbackend.progresspalbackend.repository.SessionReactionRepository;
 import org.progresspalbackend.progresspalbackend.repository.SessionRepository;
+import org.progresspalbackend.progresspalbackend.repository.SessionTrendBucket;
 import org.progresspalbackend.progresspalbackend.repository.UserRepository;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.domain.Specification;
@@ -43,12 +51,12 @@ import org.springframework.stereotype.Service;
 import org.springframework.web.server.ResponseStatusException;
 
 import java.math.BigDecimal;
+import java.time.DateTimeException;
 import java.time.Duration;
-import java.time.DayOfWeek;
 import java.time.Instant;
 import java.time.LocalDate;
+import java.time.ZoneId;
 import java.time.ZoneOffset;
-import java.time.temporal.TemporalAdjusters;
 import java.util.Comparator;
 import java.util.HashMap;
 import java.util.HashSet;
@@ -58,7 +66,6 @@ import java.util.Map;
 import java.util.Optional;
 import java.util.LinkedHashSet;
 import java.util.Set;
-import java.util.TreeMap;
 import java.util.UUID;
 import java.util.stream.Collectors;
 
@@ -66,6 +73,9 @@ import java.util.stream.Collectors;
 @RequiredArgsConstructor
 public class SessionService {
 
+    private static final ZoneId UTC_ZONE = ZoneId.of("UTC");
+    private static final String LIVE_SESSION_PER_USER_INDEX = "ux_session_user_live";
+
     private final SessionRepository sessionRepo;
     private final UserRepository userRepo;
     private final ActivityTypeRepository typeRepo;
@@ -76,6 +86,13 @@ public class SessionService {
     private final SessionFreshnessProperties sessionFreshnessProperties;
     private final SessionReactionRepository sessionReactionRepository;
     private final SessionCommentRepository sessionCommentRepository;
+    private final MeterRegistry meterRegistry;
+    private final ActivityHeatmapService activityHeatmapService;
+    private final PersonalRecordService personalRecordService;
+    private final LeaderboardService leaderboardService;
+    private final ExploreTimelineService exploreTimelineService;
+    private final PresenceRegistry presenceRegistry;
+    private final RoomRosterCache roomRosterCache;
 
     public SessionDto create(SessionCreateDto dto, UUID user_id) {
         if(dto.activityTypeId() == null){
@@ -83,45 +100,62 @@ public class SessionService {
         }
         Session entity = mapper.toEntity(dto);
 
-        User user = userRepo.findById(user_id).
-                orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "User not found"));
-
-        ActivityType activityType = activityTypeRepository.findById(dto.activityTypeId())
-                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "ActivityType not found"));
-
-
-        if(sessionRepo.existsByUser_IdAndEndedAtIsNull(user_id)){
-            throw new ResponseStatusException(HttpStatus.CONFLICT, "User already has a live session");
-        }
-
-        entity.setUser(user);
-        entity.setActivityType(activityType);
+        // References only: the foreign keys reject a missing user or activity type and
+        // ux_session_user_live rejects a second live session, so starting is a single insert.
+        entity.setUser(userRepo.getReferenceById(user_id));
+        entity.setActivityType(dto.goalType() == GoalType.METRIC
+                ? activityTypeRepository.findById(dto.activityTypeId())
+                        .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "ActivityType not found"))
+                : activityTypeRepository.getReferenceById(dto.activityTypeId()));
         validateAndApplyGoal(entity, dto.goalType(), dto.goalTarget(), dto.goalNote());
         Instant now = Instant.now();
         entity.setStartedAt(now);
         entity.setPausedAt(null);
         entity.setPausedDurationSeconds(0L);
         entity.setLastSentHeartBeat(now);
-        Session saved = sessionRepo.save(entity);
-        notifyFriendsAboutSessionStart(saved, user, dto.notifyFriends());
+        Session saved;
+        try {
+            saved = sessionRepo.saveAndFlush(entity);
+        } catch (DataIntegrityViolationException ex) {
+            throw startRejected(ex, user_id, dto.activityTypeId());
+        }
+        // Private fan-out is invisible to the service aspect, so it gets its own sample in the same meter family.
+        Timer.Sample fanOut = Timer.start(meterRegistry);
+        String fanOutException = "none";
+        try {
+            notifyFriendsAboutSessionStart(saved, user_id, dto.notifyFriends());
+        } catch (RuntimeException ex) {
+            fanOutException = ex.getClass().getSimpleName();
+            throw ex;
+        } finally {
+            fanOut.stop(meterRegistry.timer("progresspal.service.method",
+                    "class", "SessionService", "method", "notifyFriendsAboutSessionStart", "exception", fanOutException));
+        }
+        if (saved.getVisibility() == Visibility.PUBLIC) {
+            exploreTimelineService.invalidate();
+        }
+        presenceRegistry.record(saved);
         return mapper.toDto(saved);
     }
 
-    public List<SessionDto> findAll() {
-        return sessionRepo.findAll().stream().map(mapper::toDto).toList();
-    }
-
+    @RetryOnConflict
     public SessionDto update(UUID id, SessionCreateDto dto, UUID actor_user_id) {
         Session existing = sessionRepo.findById(id)
                 .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Session not found"));
 
+        Visibility previousVisibility = existing.getVisibility();
+        UUID previousActivityTypeId = existing.getActivityType().getId();
+        LeaderboardService.Contribution previousContribution =
+                leaderboardService.contributionOf(existing.getUser().getId(), existing);
+
         // simple field updates
         existing.setTitle(dto.title());
         existing.setDescription(dto.description());
         existing.setVisibility(dto.visibility());
 
         // relation updates (only if changed)
-        if (!existing.getUser().getId().equals(actor_user_id)) {
+        UUID previousUserId = existing.getUser().getId();
+        if (!previousUserId.equals(actor_user_id)) {
             existing.setUser(userRepo.getReferenceById(actor_user_id));
         }
         if (!existing.getActivityType().getId().equals(dto.activityTypeId())) {
@@ -129,9 +163,32 @@ public class SessionService {
         }
         validateAndApplyGoal(existing, dto.goalType(), dto.goalTarget(), dto.goalNote());
 
-        return mapper.toDto(sessionRepo.save(existing));
+        Session saved = sessionRepo.save(existing);
+        leaderboardService.replace(previousContribution, leaderboardService.contributionOf(actor_user_id, saved));
+        if (previousVisibility == Visibility.PUBLIC || saved.getVisibility() == Visibility.PUBLIC) {
+            exploreTimelineService.invalidate();
+        }
+        activityHeatmapService.invalidate(previousUserId);
+        activityHeatmapService.invalidate(actor_user_id);
+        if (!previousUserId.equals(actor_user_id)) {
+            presenceRegistry.remove(previousUserId, saved.getId());
+            roomRosterCache.evict(saved.getId());
+        }
+        presenceRegistry.record(saved);
+        boolean recordsAffected = saved.getEndedAt() != null
+                && (previousVisibility != saved.getVisibility()
+                    || !previousActivityTypeId.equals(dto.activityTypeId())
+                    || !previousUserId.equals(actor_user_id));
+        if (recordsAffected) {
+            personalRecordService.rebuild(previousUserId);
+            if (!previousUserId.equals(actor_user_id)) {
+                personalRecordService.rebuild(actor_user_id);
+            }
+        }
+        return mapper.toDto(saved);
     }
 
+    @RetryOnConflict
     @Transactional
     public SessionDto updateGoal(UUID id, UUID actorUserId, SessionGoalUpdateDto goalDto) {
         Session session = sessionRepo.findById(id)
@@ -154,90 +211,57 @@ public class SessionService {
             throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "metricCurrentValue is required");
         }
 
-        Session session = sessionRepo.findById(id)
-                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Session not found"));
-
-        if (!session.getUser().getId().equals(actorUserId)) {
-            throw new ResponseStatusException(HttpStatus.FORBIDDEN, "You cannot edit another user's live progress");
-        }
-        if (session.getEndedAt() != null) {
-            throw new ResponseStatusException(HttpStatus.CONFLICT, "Cannot update progress for a stopped session");
-        }
-        if (session.getPausedAt() != null) {
-            throw new ResponseStatusException(HttpStatus.CONFLICT, "Cannot update progress while session is paused");
-        }
+        Session session = sessionRepo.updateMetricProgress(id, actorUserId, body.metricCurrentValue())
+                .orElseThrow(() -> transitionRejected(id, actorUserId,
+                        "You cannot edit another user's live progress",
+                        "Cannot update progress for a stopped session",
+                        "Cannot update progress while session is paused"));
 
+        // A value the activity type does not accept rolls the update back.
         validateLiveMetricProgress(session.getActivityType(), body.metricCurrentValue());
-        session.setMetricCurrentValue(body.metricCurrentValue());
-        return mapper.toDto(sessionRepo.save(session));
+        return mapper.toDto(session);
     }
 
     @Transactional
     public SessionDto pause(UUID id, UUID actorUserId) {
-        Session session = sessionRepo.findById(id)
-                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Session not found"));
-
-        if (!session.getUser().getId().equals(actorUserId)) {
-            throw new ResponseStatusException(HttpStatus.FORBIDDEN, "You cannot pause another user's session");
-        }
-        if (session.getEndedAt() != null) {
-            throw new ResponseStatusException(HttpStatus.CONFLICT, "Session already stopped");
-        }
-        if (session.getPausedAt() != null) {
-            throw new ResponseStatusException(HttpStatus.CONFLICT, "Session already paused");
-        }
-
-        session.setPausedAt(Instant.now());
-        return mapper.toDto(sessionRepo.save(session));
+        Session saved = sessionRepo.pause(id, actorUserId, Instant.now())
+                .orElseThrow(() -> transitionRejected(id, actorUserId,
+                        "You cannot pause another user's session",
+                        "Session already stopped",
+                        "Session already paused"));
+        presenceRegistry.record(saved);
+        return mapper.toDto(saved);
     }
 
     @Transactional
     public SessionDto resume(UUID id, UUID actorUserId) {
-        Session session = sessionRepo.findById(id)
-                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Session not found"));
-
-        if (!session.getUser().getId().equals(actorUserId)) {
-            throw new ResponseStatusException(HttpStatus.FORBIDDEN, "You cannot resume another user's session");
-        }
-        if (session.getEndedAt() != null) {
-            throw new ResponseStatusException(HttpStatus.CONFLICT, "Session already stopped");
-        }
-        if (session.getPausedAt() == null) {
-            throw new ResponseStatusException(HttpStatus.CONFLICT, "Session is not paused");
-        }
-
-        Instant resumedAt = Instant.now();
-        accruePausedDurationSeconds(session, resumedAt);
-        session.setPausedAt(null);
-        session.setLastSentHeartBeat(resumedAt);
-        return mapper.toDto(sessionRepo.save(session));
+        Session saved = sessionRepo.resume(id, actorUserId, Instant.now())
+                .orElseThrow(() -> transitionRejected(id, actorUserId,
+                        "You cannot resume another user's session",
+                        "Session already stopped",
+                        "Session is not paused"));
+        presenceRegistry.record(saved);
+        return mapper.toDto(saved);
     }
 
     @Transactional
     public SessionDto stop(UUID id, UUID actorUserId, SessionStopDto body) {
-        Session s = sessionRepo.findById(id)
-                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Session not found"));
-
-        if(!s.getUser().getId().equals(actorUserId)){
-            throw new ResponseStatusException(HttpStatus.FORBIDDEN, "You cannot stop another user's session");
-        }
-
-        if(s.getEndedAt() != null){
-            throw new ResponseStatusException(HttpStatus.CONFLICT, "Session already stopped");
-        }
-        BigDecimal finalMetricValue = body.metricValue();
-        if (finalMetricValue == null && s.getMetricCurrentValue() != null) {
-            finalMetricValue = s.getMetricCurrentValue();
-        }
-        validateStopMetric(s.getActivityType(), finalMetricValue);
-        Instant endedAt = Instant.now();
-        if (s.getPausedAt() != null) {
-            accruePausedDurationSeconds(s, endedAt);
-            s.setPausedAt(null);
-        }
-        s.setEndedAt(endedAt);
-        s.setMetricValue(finalMetricValue);
-        return mapper.toDto(sessionRepo.save(s));
+        Session saved = sessionRepo.stop(id, actorUserId, Instant.now(), body.metricValue())
+                .orElseThrow(() -> transitionRejected(id, actorUserId,
+                        "You cannot stop another user's session",
+                        "Session already stopped",
+                        null));
+        // The stored value is the one sent or else the live progress; an invalid one rolls the stop back.
+        validateStopMetric(saved.getActivityType(), saved.getMetricValue());
+        personalRecordService.recordCompleted(saved);
+        activityHeatmapService.recordStopped(saved);
+        leaderboardService.recordCompleted(saved);
+        if (saved.getVisibility() == Visibility.PUBLIC) {
+            exploreTimelineService.invalidate();
+        }
+        presenceRegistry.record(saved);
+        roomRosterCache.evict(saved.getId());
+        return mapper.toDto(saved);
     }
 
     public Page<SessionDto> findVisibleSessions(UUID actorUserId, UUID targetUserId, @Nullable Visibility visibility, Pageable pageable){
@@ -265,6 +289,8 @@ public class SessionService {
         return sessions.map(session -> toSessionDto(session, summaries));
     }
 
+    @Coalesced
+    @ReplicaRead
     public Page<FeedSessionDto> getFeedSessions(UUID actorUserId, Pageable pageable){
         Set<UUID> friendIds = new LinkedHashSet<>();
         friendRepository.findAllByUser_Id(actorUserId)
@@ -382,9 +408,16 @@ public class SessionService {
 
     @Transactional(dontRollbackOn = ResponseStatusException.class)
     public void heartbeat(UUID id, UUID actorUserId) {
-        Session session = sessionRepo.findById(id)
-                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Session not found"));
+        Instant now = Instant.now();
+        Optional<Session> refreshed = sessionRepo.heartbeat(
+                id, actorUserId, now, now.minus(sessionFreshnessProperties.getStaleAfter()));
+        if (refreshed.isPresent()) {
+            presenceRegistry.record(refreshed.get());
+            return;
+        }
 
+        Session session = sessionRepo.findReadOnlyById(id)
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Session not found"));
         if (!session.getUser().getId().equals(actorUserId)) {
             throw new ResponseStatusException(HttpStatus.FORBIDDEN, "You cannot heartbeat another user's session");
         }
@@ -392,24 +425,19 @@ public class SessionService {
             throw new ResponseStatusException(HttpStatus.CONFLICT, "Session already stopped");
         }
 
-        Instant now = Instant.now();
+        // A heartbeat that arrives after the session went stale pauses it instead.
         autoPauseIfStale(session, now);
-
         if (session.getPausedAt() != null) {
             throw new ResponseStatusException(HttpStatus.CONFLICT, "Session already paused");
         }
-
-        session.setLastSentHeartBeat(now);
-        sessionRepo.save(session);
     }
 
     @Scheduled(fixedDelayString = "${app.sessions.freshness.sweep-interval:60s}")
     @Transactional
     public void autoPauseStaleLiveSessions() {
-        Instant now = Instant.now();
-        for (Session session : sessionRepo.findAllByEndedAtIsNullAndPausedAtIsNull()) {
-            autoPauseIfStale(session, now);
-        }
+        Duration staleAfter = sessionFreshnessProperties.getStaleAfter();
+        sessionRepo.pauseStale(Instant.now().minus(staleAfter), staleAfter.toMillis())
+                .forEach(presenceRegistry::record);
     }
 
     public Page<SessionDto> getMySessions(UUID userId,
@@ -419,14 +447,14 @@ public class SessionService {
                                           @Nullable Visibility visibility,
                                           @Nullable String status,
                                           Pageable pageable) {
-        validateDateRange(from, to);
-        SessionStatusFilter statusFilter = parseStatus(status);
-        Specification<Session> spec = buildMySessionsSpec(userId, from, to, activityTypeId, visibility, statusFilter);
+        Specification<Session> spec = mySessionsFilter(userId, from, to, activityTypeId, visibility, status);
         Page<Session> sessions = sessionRepo.findAll(spec, pageable);
         SessionSocialSummaries summaries = loadSocialSummaries(sessions.getContent(), userId);
         return sessions.map(session -> toSessionDto(session, summaries));
     }
 
+    @Coalesced
+    @ReplicaRead
     @Transactional
     public MeDashboardSummaryDto getMyDashboardSummary(UUID userId,
                                                        @Nullable LocalDate from,
@@ -481,10 +509,14 @@ public class SessionService {
                 sessions.size(),
                 totalDurationSeconds,
                 activeDays.size(),
-                top
+                top,
+                personalRecordService.getStreak(userId, Visibility.PRIVATE),
+                personalRecordService.getPersonalRecords(userId, Visibility.PRIVATE)
         );
     }
 
+    @Coalesced
+    @ReplicaRead
     @Transactional
     public List<MeDashboardByActivityTypeDto> getMyDashboardByActivityType(UUID userId,
                                                                            @Nullable LocalDate from,
@@ -536,66 +568,53 @@ public class SessionService {
                 .toList();
     }
 
+    @Coalesced
+    @ReplicaRead
     @Transactional
     public MeDashboardTrendsDto getMyDashboardTrends(UUID userId,
                                                      @Nullable LocalDate from,
                                                      @Nullable LocalDate to,
                                                      String bucketRaw,
-                                                     @Nullable UUID metricActivityTypeId) {
+                                                     @Nullable UUID metricActivityTypeId,
+                                                     @Nullable String timeZoneRaw) {
         validateDateRange(from, to);
         TrendBucket bucket = parseTrendBucket(bucketRaw);
-
-        Specification<Session> spec = buildMySessionsSpec(
-                userId,
-                from,
-                to,
-                null,
-                null,
-                SessionStatusFilter.ALL
-        );
-
-        List<Session> sessions = sessionRepo.findAll(spec);
-        Instant now = Instant.now();
-
-        Map<LocalDate, Long> durationByBucket = new TreeMap<>();
-        for (Session session : sessions) {
-            LocalDate bucketStart = bucketStartOf(session.getStartedAt(), bucket);
-            durationByBucket.merge(bucketStart, computeSessionDurationSeconds(session, now), Long::sum);
-        }
-
-        List<DurationTrendPointDto> durationSeries = durationByBucket.entrySet().stream()
-                .map(entry -> new DurationTrendPointDto(entry.getKey(), entry.getValue()))
-                .toList();
+        ZoneId zone = parseTimeZone(timeZoneRaw);
 
         String metricLabel = null;
-        List<MetricTrendPointDto> metricSeries = null;
-
+        UUID metricTypeFilter = null;
         if (metricActivityTypeId != null) {
             ActivityType metricActivityType = typeRepo.findById(metricActivityTypeId)
                     .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "ActivityType not found"));
             MetricKind metricKind = metricActivityType.getMetricKind() == null ? MetricKind.NONE : metricActivityType.getMetricKind();
-
             if (metricKind != MetricKind.NONE) {
                 metricLabel = metricActivityType.getMetricLabel();
-                Map<LocalDate, BigDecimal> metricByBucket = new TreeMap<>();
-                for (Session session : sessions) {
-                    if (!session.getActivityType().getId().equals(metricActivityTypeId)) {
-                        continue;
-                    }
-                    if (session.getMetricValue() == null) {
-                        continue;
-                    }
-                    LocalDate bucketStart = bucketStartOf(session.getStartedAt(), bucket);
-                    metricByBucket.merge(bucketStart, session.getMetricValue(), BigDecimal::add);
-                }
-                metricSeries = metricByBucket.entrySet().stream()
-                        .map(entry -> new MetricTrendPointDto(entry.getKey(), entry.getValue()))
-                        .toList();
+                metricTypeFilter = metricActivityTypeId;
             }
         }
 
+        // Bucketing and the pause-adjusted durations run in SQL, so only one row per bucket comes back.
+        List<SessionTrendBucket> buckets = sessionRepo.sumDurationByBucket(
+                userId,
+                bucket.name().toLowerCase(Locale.ROOT),
+                zone.getId(),
+                from == null ? null : from.atStartOfDay(zone).toInstant(),
+                to == null ? null : to.plusDays(1).atStartOfDay(zone).toInstant(),
+                Instant.now(),
+                metricTypeFilter
+        );
+
+        List<DurationTrendPointDto> durationSeries = buckets.stream()
+                .map(point -> new DurationTrendPointDto(point.getBucketStart(), point.getDurationSeconds()))
+                .toList();
+        List<MetricTrendPointDto> metricSeries = metricTypeFilter == null ? null : buckets.stream()
+                .filter(point -> point.getMetricTotal() != null)
+                .map(point -> new MetricTrendPointDto(point.getBucketStart(), point.getMetricTotal()))
+                .toList();
+
         return new MeDashboardTrendsDto(
                 bucket.name(),
+                zone.getId(),
                 durationSeries,
                 metricActivityTypeId,
                 metricLabel,
@@ -603,7 +622,7 @@ public class SessionService {
         );
     }
 
-    private void validateStopMetric(ActivityType activityType, BigDecimal metricValue) {
+    void validateStopMetric(ActivityType activityType, BigDecimal metricValue) {
         MetricKind metricKind = activityType.getMetricKind() == null ? MetricKind.NONE : activityType.getMetricKind();
 
         if (metricKind == MetricKind.NONE && metricValue != null) {
@@ -618,7 +637,46 @@ public class SessionService {
         }
     }
 
-    private void notifyFriendsAboutSessionStart(Session session, User actor, Boolean notifyFriends) {
+    private RuntimeException startRejected(DataIntegrityViolationException ex, UUID userId, UUID activityTypeId) {
+        for (Throwable cause = ex; cause != null; cause = cause.getCause()) {
+            if (cause instanceof ConstraintViolationException violation
+                    && LIVE_SESSION_PER_USER_INDEX.equals(violation.getConstraintName())) {
+                return new ResponseStatusException(HttpStatus.CONFLICT, "User already has a live session");
+            }
+        }
+        // A foreign key failed; only this rare path pays for finding out which one.
+        if (!userRepo.existsById(userId)) {
+            return new ResponseStatusException(HttpStatus.NOT_FOUND, "User not found");
+        }
+        if (!activityTypeRepository.existsById(activityTypeId)) {
+            return new ResponseStatusException(HttpStatus.NOT_FOUND, "ActivityType not found");
+        }
+        return ex;
+    }
+
+    /**
+     * Explains a transition that matched no row. Only this failure path reads the session, and it
+     * reports the same 404/403/409 that checking before the update would have.
+     */
+    private ResponseStatusException transitionRejected(UUID id,
+                                                       UUID actorUserId,
+                                                       String forbiddenMessage,
+                                                       String stoppedMessage,
+                                                       @Nullable String pauseStateMessage) {
+        Session session = sessionRepo.findReadOnlyById(id).orElse(null);
+        if (session == null) {
+            return new ResponseStatusException(HttpStatus.NOT_FOUND, "Session not found");
+        }
+        if (!session.getUser().getId().equals(actorUserId)) {
+            return new ResponseStatusException(HttpStatus.FORBIDDEN, forbiddenMessage);
+        }
+        if (session.getEndedAt() != null || pauseStateMessage == null) {
+            return new ResponseStatusException(HttpStatus.CONFLICT, stoppedMessage);
+        }
+        return new ResponseStatusException(HttpStatus.CONFLICT, pauseStateMessage);
+    }
+
+    private void notifyFriendsAboutSessionStart(Session session, UUID actorId, Boolean notifyFriends) {
         if (!Boolean.TRUE.equals(notifyFriends)) {
             return;
         }
@@ -628,7 +686,8 @@ public class SessionService {
             return;
         }
 
-        UUID actorId = actor.getId();
+        User actor = userRepo.findById(actorId)
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "User not found"));
         Set<UUID> recipientIds = new LinkedHashSet<>();
 
         friendRepository.findAllByUser_Id(actorId).forEach(friendship -> {
@@ -659,10 +718,10 @@ public class SessionService {
         }
     }
 
-    private void validateAndApplyGoal(Session session,
-                                      @Nullable GoalType rawGoalType,
-                                      @Nullable BigDecimal rawGoalTarget,
-                                      @Nullable String rawGoalNote) {
+    void validateAndApplyGoal(Session session,
+                              @Nullable GoalType rawGoalType,
+                              @Nullable BigDecimal rawGoalTarget,
+                              @Nullable String rawGoalNote) {
         GoalType goalType = rawGoalType == null ? GoalType.NONE : rawGoalType;
         BigDecimal goalTarget = rawGoalTarget;
 
@@ -709,15 +768,10 @@ public class SessionService {
         return Math.max(0, rawDurationSeconds - pausedSeconds);
     }
 
-    private void accruePausedDurationSeconds(Session session, Instant now) {
-        if (session.getPausedAt() == null) {
-            return;
-        }
-        long current = session.getPausedDurationSeconds() == null ? 0L : session.getPausedDurationSeconds();
-        long delta = Math.max(0, Duration.between(session.getPausedAt(), now).getSeconds());
-        session.setPausedDurationSeconds(current + delta);
-    }
-
+    /**
+     * Expects {@code session} to be loaded read-only: the pause is written by a conditional update, so a
+     * resume or heartbeat that landed after the read is not overwritten.
+     */
     private void autoPauseIfStale(Session session, Instant now) {
         if (session.getEndedAt() != null || session.getPausedAt() != null) {
             return;
@@ -728,8 +782,13 @@ public class SessionService {
             return;
         }
 
-        session.setPausedAt(staleCutoff);
-        sessionRepo.save(session);
+        Duration staleAfter = sessionFreshnessProperties.getStaleAfter();
+        if (sessionRepo.pauseIfStale(session.getId(), now.minus(staleAfter), staleAfter.toMillis()) == 1) {
+            session.setPausedAt(staleCutoff);
+            // Mirror the conditional update so presence orders this pause against later transitions.
+            session.setVersion(session.getVersion() + 1);
+            presenceRegistry.record(session);
+        }
     }
 
     private Instant computeStaleCutoff(Session session) {
@@ -739,20 +798,25 @@ public class SessionService {
         return freshnessBase.plus(sessionFreshnessProperties.getStaleAfter());
     }
 
-    private LocalDate bucketStartOf(Instant instant, TrendBucket bucket) {
-        LocalDate day = instant.atOffset(ZoneOffset.UTC).toLocalDate();
-        if (bucket == TrendBucket.DAY) {
-            return day;
-        }
-        return day.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
-    }
-
     private void validateDateRange(@Nullable LocalDate from, @Nullable LocalDate to) {
         if (from != null && to != null && from.isAfter(to)) {
             throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "'from' must be before or equal to 'to'");
         }
     }
 
+    /**
+     * The validated filters of {@code GET /api/me/sessions}, shared with {@link SessionExportService}.
+     */
+    Specification<Session> mySessionsFilter(UUID userId,
+                                            @Nullable LocalDate from,
+                                            @Nullable LocalDate to,
+                                            @Nullable UUID activityTypeId,
+                                            @Nullable Visibility visibility,
+                                            @Nullable String status) {
+        validateDateRange(from, to);
+        return buildMySessionsSpec(userId, from, to, activityTypeId, visibility, parseStatus(status));
+    }
+
     private Specification<Session> buildMySessionsSpec(UUID userId,
                                                        @Nullable LocalDate from,
                                                        @Nullable LocalDate to,
@@ -803,18 +867,42 @@ public class SessionService {
 
     private TrendBucket parseTrendBucket(@Nullable String raw) {
         if (raw == null || raw.isBlank()) {
-            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "bucket is required (DAY or WEEK)");
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "bucket is required (DAY, WEEK, MONTH or YEAR)");
         }
         try {
             return TrendBucket.valueOf(raw.trim().toUpperCase(Locale.ROOT));
         } catch (IllegalArgumentException ex) {
-            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid bucket. Use DAY or WEEK");
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid bucket. Use DAY, WEEK, MONTH or YEAR");
         }
     }
 
+    // Names double as date_trunc units; WEEK starts on Monday like ISO weeks.
     private enum TrendBucket {
         DAY,
-        WEEK
+        WEEK,
+        MONTH,
+        YEAR
+    }
+
+    private ZoneId parseTimeZone(@Nullable String raw) {
+        if (raw == null || raw.isBlank()) {
+            return UTC_ZONE;
+        }
+        ZoneId zone;
+        try {
+            zone = ZoneId.of(raw.trim());
+        } catch (DateTimeException ex) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid timeZone. Use an IANA name such as Europe/Berlin");
+        }
+        // Postgres reads bare and prefixed offsets such as UTC+05:00 with the POSIX sign convention (inverted),
+        // so only zones with rules and UTC pass through; the Java and SQL sides then agree on the tz database.
+        if (zone.normalized() instanceof ZoneOffset offset) {
+            if (offset.getTotalSeconds() != 0) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid timeZone. Use an IANA name such as Europe/Berlin");
+            }
+            return UTC_ZONE;
+        }
+        return zone;
     }
 
     private static final class ActivityTypeAggregate {
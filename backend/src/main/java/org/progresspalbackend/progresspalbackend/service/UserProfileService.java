@@ -2,6 +2,8 @@ package org.progresspalbackend.progresspalbackend.service;
 
 import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
+import org.progresspalbackend.progresspalbackend.config.Coalesced;
+import org.progresspalbackend.progresspalbackend.config.ReplicaRead;
 import org.progresspalbackend.progresspalbackend.domain.Session;
 import org.progresspalbackend.progresspalbackend.domain.User;
 import org.progresspalbackend.progresspalbackend.domain.Visibility;
@@ -33,7 +35,10 @@ public class UserProfileService {
     private final UserRepository userRepository;
     private final SessionRepository sessionRepository;
     private final FriendRepository friendRepository;
+    private final PersonalRecordService personalRecordService;
 
+    @Coalesced
+    @ReplicaRead
     @Transactional
     public UserProfileDto getProfile(UUID actorUserId, UUID targetUserId) {
         User targetUser = userRepository.findById(targetUserId)
@@ -96,7 +101,9 @@ public class UserProfileService {
                 visibleSessions.size(),
                 totalVisibleDurationSeconds,
                 topActivityTypesByVisibleDuration,
-                recentSessionDtos
+                recentSessionDtos,
+                personalRecordService.getStreak(targetUserId, PersonalRecordService.audienceFor(scope)),
+                personalRecordService.getPersonalRecords(targetUserId, PersonalRecordService.audienceFor(scope))
         );
 
         return new UserProfileDto(
@@ -109,7 +116,7 @@ public class UserProfileService {
         );
     }
 
-    private ProfileScope resolveScope(UUID actorUserId, UUID targetUserId) {
+    ProfileScope resolveScope(UUID actorUserId, UUID targetUserId) {
         if (actorUserId.equals(targetUserId)) {
             return ProfileScope.OWNER;
         }
@@ -119,7 +126,7 @@ public class UserProfileService {
         return areFriends ? ProfileScope.FRIEND : ProfileScope.PUBLIC;
     }
 
-    private List<Visibility> visibleVisibilities(ProfileScope scope) {
+    List<Visibility> visibleVisibilities(ProfileScope scope) {
         if (scope == ProfileScope.FRIEND) {
             return List.of(Visibility.PUBLIC, Visibility.FRIENDS);
         }
@@ -141,7 +148,7 @@ public class UserProfileService {
         return Math.max(0, rawSeconds - pausedSeconds);
     }
 
-    private enum ProfileScope {
+    enum ProfileScope {
         OWNER,
         FRIEND,
         PUBLIC
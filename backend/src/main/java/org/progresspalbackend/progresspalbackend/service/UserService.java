@@ -8,12 +8,12 @@ import org.progresspalbackend.progresspalbackend.dto.user.UserDto;
 import org.progresspalbackend.progresspalbackend.mapper.UserMapper;
 import org.progresspalbackend.progresspalbackend.repository.UserRepository;
 import org.springframework.http.HttpStatus;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.web.server.ResponseStatusException;
 
 import java.time.Instant;
 import java.util.List;
+import java.util.Locale;
 import java.util.Objects;
 import java.util.UUID;
 
@@ -21,15 +21,22 @@ import java.util.UUID;
 @RequiredArgsConstructor
 public class UserService {
 
+    private static final int SEARCH_LIMIT = 10;
+    private static final int MIN_INFIX_QUERY_LENGTH = 3;
+
     private final UserRepository repo;
     private final UserMapper mapper;
-    private final PasswordEncoder passwordEncoder;
+    private final PasswordHashingService passwordHashingService;
+    private final UsernameSearchCache usernameSearchCache;
+    private final PresenceRegistry presenceRegistry;
 
     public UserDto create(UserCreateDto dto) {
         User entity = mapper.toEntity(dto);
         entity.setPassword(encodeRequiredPassword(dto.password()));
         entity.setCreatedAt(Instant.now());
-        return mapper.toDto(repo.save(entity));
+        UserDto created = mapper.toDto(repo.save(entity));
+        usernameSearchCache.invalidateAll();
+        return created;
     }
 
     public List<UserDto> list() {
@@ -39,14 +46,12 @@ public class UserService {
     }
 
     public List<UserDto> searchByUsername(String query) {
-        String normalized = query == null ? "" : query.trim();
+        String normalized = query == null ? "" : query.trim().toLowerCase(Locale.ROOT);
         if (normalized.isBlank()) {
             return List.of();
         }
 
-        return repo.findTop10ByUsernameContainingIgnoreCaseOrderByUsernameAsc(normalized).stream()
-                .map(mapper::toDto)
-                .toList();
+        return usernameSearchCache.get(normalized, this::loadUsernameMatches);
     }
 
     public UserDto find(UUID id) {
@@ -66,11 +71,14 @@ public class UserService {
         if (dto.password() == null || dto.password().isBlank()) {
             existing.setPassword(previousPassword);
         } else {
-            existing.setPassword(passwordEncoder.encode(dto.password()));
+            existing.setPassword(passwordHashingService.encode(dto.password()));
         }
         existing.setUpdatedAt(Instant.now());
 
-        return mapper.toDto(repo.save(existing));
+        UserDto updated = mapper.toDto(repo.save(existing));
+        usernameSearchCache.invalidateAll();
+        presenceRegistry.updateProfile(updated.id(), updated.username(), updated.profileImage());
+        return updated;
     }
 
     public UserDto getAccount(UUID userId) {
@@ -87,6 +95,7 @@ public class UserService {
         User existing = repo.findById(userId)
                 .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "User not found"));
 
+        boolean usernameChanged = false;
         if (dto.username() != null) {
             String username = dto.username().trim();
             if (username.isBlank()) {
@@ -95,6 +104,7 @@ public class UserService {
             if (repo.existsByUsernameIgnoreCaseAndIdNot(username, userId)) {
                 throw new ResponseStatusException(HttpStatus.CONFLICT, "username already exists");
             }
+            usernameChanged = !username.equals(existing.getUsername());
             existing.setUsername(username);
         }
 
@@ -129,23 +139,28 @@ public class UserService {
             if (!passwordMatches(dto.currentPassword(), existing.getPassword())) {
                 throw new ResponseStatusException(HttpStatus.FORBIDDEN, "currentPassword is invalid");
             }
-            existing.setPassword(passwordEncoder.encode(dto.newPassword()));
+            existing.setPassword(passwordHashingService.encode(dto.newPassword()));
         }
 
         existing.setUpdatedAt(Instant.now());
-        return mapper.toDto(repo.save(existing));
+        UserDto updated = mapper.toDto(repo.save(existing));
+        if (usernameChanged) {
+            usernameSearchCache.invalidateAll();
+        }
+        presenceRegistry.updateProfile(updated.id(), updated.username(), updated.profileImage());
+        return updated;
     }
 
     private String encodeRequiredPassword(String rawPassword) {
         if (rawPassword == null || rawPassword.isBlank()) {
             throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "password is required");
         }
-        return passwordEncoder.encode(rawPassword);
+        return passwordHashingService.encode(rawPassword);
     }
 
     private boolean passwordMatches(String rawPassword, String storedPassword) {
         if (isBcryptHash(storedPassword)) {
-            return passwordEncoder.matches(rawPassword, storedPassword);
+            return passwordHashingService.matches(rawPassword, storedPassword);
         }
         return Objects.equals(rawPassword, storedPassword);
     }
@@ -159,4 +174,21 @@ public class UserService {
         return user.getAuthIssuer() != null && !user.getAuthIssuer().isBlank()
                 && user.getAuthSubject() != null && !user.getAuthSubject().isBlank();
     }
+
+    private List<UserDto> loadUsernameMatches(String normalized) {
+        String escaped = escapeLikePattern(normalized);
+        // Trigrams need at least three characters; shorter queries are served by the prefix index.
+        List<User> matches = normalized.length() < MIN_INFIX_QUERY_LENGTH
+                ? repo.searchByUsernamePrefix(escaped, normalized, SEARCH_LIMIT)
+                : repo.searchByUsernameRanked(escaped, normalized, SEARCH_LIMIT);
+        return matches.stream()
+                .map(mapper::toDto)
+                .toList();
+    }
+
+    private static String escapeLikePattern(String value) {
+        return value.replace("\\", "\\\\")
+                .replace("%", "\\%")
+                .replace("_", "\\_");
+    }
 }
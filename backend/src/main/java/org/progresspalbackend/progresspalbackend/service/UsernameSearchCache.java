@@ -0,0 +1,41 @@
+package org.progresspalbackend.progresspalbackend.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.progresspalbackend.progresspalbackend.config.AfterCommit;
+import org.progresspalbackend.progresspalbackend.dto.user.UserDto;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Short-lived cache of username typeahead results keyed by the normalized query. Entries are
+ * dropped wholesale whenever a username is created or changed, so the TTL only bounds staleness
+ * of other profile fields.
+ */
+@Component
+public class UsernameSearchCache {
+
+    private final Cache<String, List<UserDto>> results;
+
+    public UsernameSearchCache(
+            @Value("${app.users.search-cache.max-size:10000}") long maxSize,
+            @Value("${app.users.search-cache.ttl:PT10S}") Duration ttl) {
+        this.results = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .build();
+    }
+
+    public List<UserDto> get(String normalizedQuery, Function<String, List<UserDto>> loader) {
+        return results.get(normalizedQuery, loader);
+    }
+
+    /** Drops every entry once the surrounding transaction commits. */
+    public void invalidateAll() {
+        AfterCommit.runAfterCommit(results::invalidateAll);
+    }
+}
@@ -5,8 +5,11 @@ import lombok.RequiredArgsConstructor;
 import org.progresspalbackend.progresspalbackend.config.CurrentUser;
 import org.progresspalbackend.progresspalbackend.dto.activitytype.ActivityTypeCreateDto;
 import org.progresspalbackend.progresspalbackend.dto.activitytype.ActivityTypeDto;
+import org.progresspalbackend.progresspalbackend.dto.activitytype.ActivityTypeListDto;
 import org.progresspalbackend.progresspalbackend.service.ActivityTypeService;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
 
@@ -23,10 +26,15 @@ public class ActivityTypeController {
 
     /* ── LIST ─────────────────────────────── */
     @GetMapping
-    public List<ActivityTypeDto> list(Authentication authentication,
-                                      @RequestParam(defaultValue = "ALL") String scope) {
+    public ResponseEntity<List<ActivityTypeDto>> list(Authentication authentication,
+                                                      @RequestParam(defaultValue = "ALL") String scope) {
         UUID userId = currentUser.id(authentication);
-        return service.list(scope, userId);
+        ActivityTypeListDto result = service.list(scope, userId);
+        // A matching If-None-Match turns this into a 304 without a body.
+        return ResponseEntity.ok()
+                .eTag(result.etag())
+                .cacheControl(CacheControl.noCache().cachePrivate())
+                .body(result.types());
     }
 
     /* ── GET ONE ──────────────────────────── */
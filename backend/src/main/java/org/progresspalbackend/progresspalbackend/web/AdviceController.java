@@ -3,6 +3,7 @@ package org.progresspalbackend.progresspalbackend.web;
 import jakarta.servlet.http.HttpServletRequest;
 import org.progresspalbackend.progresspalbackend.dto.error.ErrorResponse;
 import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.http.converter.HttpMessageNotReadableException;
@@ -58,6 +59,11 @@ public class AdviceController{
         return build(HttpStatus.CONFLICT, "Data conflict", request.getRequestURI());
     }
 
+    @ExceptionHandler(OptimisticLockingFailureException.class)
+    public ResponseEntity<ErrorResponse> handleOptimisticLocking(OptimisticLockingFailureException ex, HttpServletRequest request) {
+        return build(HttpStatus.CONFLICT, "The resource was changed concurrently, please retry", request.getRequestURI());
+    }
+
     @ExceptionHandler(Exception.class)
     public ResponseEntity<ErrorResponse> handleOther(HttpServletRequest request){
         return build(HttpStatus.INTERNAL_SERVER_ERROR, "Unexpected Error", request.getRequestURI());
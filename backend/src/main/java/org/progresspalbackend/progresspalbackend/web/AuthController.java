@@ -1,5 +1,6 @@
 package org.progresspalbackend.progresspalbackend.web;
 
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.progresspalbackend.progresspalbackend.dto.auth.AuthLoginRequestDto;
@@ -18,7 +19,9 @@ public class AuthController {
     private final AuthService authService;
 
     @PostMapping("/login")
-    public AuthLoginResponseDto login(@Valid @RequestBody AuthLoginRequestDto request) {
-        return authService.login(request);
+    public AuthLoginResponseDto login(@Valid @RequestBody AuthLoginRequestDto request,
+                                      HttpServletRequest httpRequest) {
+        // The client address once Tomcat's RemoteIpValve has applied X-Forwarded-For from a trusted proxy.
+        return authService.login(request, httpRequest.getRemoteAddr());
     }
 }
@@ -1,6 +1,7 @@
 package org.progresspalbackend.progresspalbackend.web;
 
 import org.progresspalbackend.progresspalbackend.config.CurrentUser;
+import org.progresspalbackend.progresspalbackend.config.QueryBudget;
 import org.progresspalbackend.progresspalbackend.dto.feed.FeedSessionDto;
 import org.progresspalbackend.progresspalbackend.service.SessionService;
 import org.springframework.data.domain.Page;
@@ -25,6 +26,7 @@ public class FeedController {
     }
 
     @GetMapping
+    @QueryBudget(7)
     public Page<FeedSessionDto> feed(
             Authentication authentication,
             @PageableDefault(size = 20, sort = "startedAt", direction = Sort.Direction.DESC)
@@ -2,10 +2,14 @@ package org.progresspalbackend.progresspalbackend.web;
 
 
 import org.progresspalbackend.progresspalbackend.config.CurrentUser;
+import org.progresspalbackend.progresspalbackend.dto.Friendship.FriendLiveSessionDto;
 import org.progresspalbackend.progresspalbackend.dto.Friendship.FriendRequestDto;
 import org.progresspalbackend.progresspalbackend.dto.Friendship.FriendShipDto;
 import org.progresspalbackend.progresspalbackend.dto.Friendship.FriendSuggestionDto;
+import org.progresspalbackend.progresspalbackend.dto.Friendship.LeaderboardDto;
 import org.progresspalbackend.progresspalbackend.service.FriendShipService;
+import org.progresspalbackend.progresspalbackend.service.LeaderboardService;
+import org.progresspalbackend.progresspalbackend.service.PresenceRegistry;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
 import org.springframework.security.core.Authentication;
@@ -20,10 +24,17 @@ public class FriendController {
 
     @Autowired
     private final FriendShipService friendShipService;
+    private final LeaderboardService leaderboardService;
+    private final PresenceRegistry presenceRegistry;
     private final CurrentUser currentUser;
 
-    public FriendController(FriendShipService friendShipService, CurrentUser currentUser) {
+    public FriendController(FriendShipService friendShipService,
+                            LeaderboardService leaderboardService,
+                            PresenceRegistry presenceRegistry,
+                            CurrentUser currentUser) {
         this.friendShipService = friendShipService;
+        this.leaderboardService = leaderboardService;
+        this.presenceRegistry = presenceRegistry;
         this.currentUser = currentUser;
     }
 
@@ -46,6 +57,22 @@ public class FriendController {
         return friendShipService.getSuggestions(userId, limit);
     }
 
+    @GetMapping("/leaderboard")
+    LeaderboardDto leaderboard(Authentication authentication,
+                               @RequestParam UUID activityTypeId,
+                               @RequestParam(required = false) String period,
+                               @RequestParam(required = false) String rankBy,
+                               @RequestParam(required = false) Integer limit) {
+        UUID userId = currentUser.id(authentication);
+        return leaderboardService.getFriendsLeaderboard(userId, activityTypeId, period, rankBy, limit);
+    }
+
+    @GetMapping("/live")
+    List<FriendLiveSessionDto> live(Authentication authentication) {
+        UUID userId = currentUser.id(authentication);
+        return presenceRegistry.getLiveFriends(userId);
+    }
+
     @ResponseStatus(HttpStatus.CREATED)
     @PostMapping("/send")
     void sendRequest(Authentication authentication,
@@ -3,12 +3,19 @@ package org.progresspalbackend.progresspalbackend.web;
 
 import org.progresspalbackend.progresspalbackend.domain.Visibility;
 import org.progresspalbackend.progresspalbackend.config.CurrentUser;
+import org.progresspalbackend.progresspalbackend.config.QueryBudget;
+import org.progresspalbackend.progresspalbackend.dto.dashboard.ActivityHeatmapDto;
 import org.progresspalbackend.progresspalbackend.dto.dashboard.MeDashboardByActivityTypeDto;
 import org.progresspalbackend.progresspalbackend.dto.dashboard.MeDashboardSummaryDto;
 import org.progresspalbackend.progresspalbackend.dto.dashboard.MeDashboardTrendsDto;
 import org.progresspalbackend.progresspalbackend.dto.session.SessionDto;
+import org.progresspalbackend.progresspalbackend.dto.session.SessionImportResultDto;
 import org.progresspalbackend.progresspalbackend.dto.user.UserAccountUpdateDto;
 import org.progresspalbackend.progresspalbackend.dto.user.UserDto;
+import org.progresspalbackend.progresspalbackend.service.ActivityHeatmapService;
+import org.progresspalbackend.progresspalbackend.service.SessionExportService;
+import org.progresspalbackend.progresspalbackend.service.SessionFileFormat;
+import org.progresspalbackend.progresspalbackend.service.SessionImportService;
 import org.progresspalbackend.progresspalbackend.service.SessionService;
 import org.progresspalbackend.progresspalbackend.service.UserService;
 import org.springframework.data.domain.Page;
@@ -17,14 +24,20 @@ import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.data.web.PageableDefault;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.PatchMapping;
+import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.InputStream;
 import java.time.LocalDate;
 import java.util.List;
 import java.util.UUID;
@@ -37,11 +50,22 @@ public class MeController {
     private static final int MAX_PAGE_SIZE = 100;
 
     private final SessionService sessionService;
+    private final SessionExportService sessionExportService;
+    private final SessionImportService sessionImportService;
+    private final ActivityHeatmapService activityHeatmapService;
     private final UserService userService;
     private final CurrentUser currentUser;
 
-    public MeController(SessionService sessionService, UserService userService, CurrentUser currentUser) {
+    public MeController(SessionService sessionService,
+                        SessionExportService sessionExportService,
+                        SessionImportService sessionImportService,
+                        ActivityHeatmapService activityHeatmapService,
+                        UserService userService,
+                        CurrentUser currentUser) {
         this.sessionService = sessionService;
+        this.sessionExportService = sessionExportService;
+        this.sessionImportService = sessionImportService;
+        this.activityHeatmapService = activityHeatmapService;
         this.userService = userService;
         this.currentUser = currentUser;
     }
@@ -60,6 +84,7 @@ public class MeController {
     }
 
     @GetMapping("/sessions")
+    @QueryBudget(5)
     Page<SessionDto> getSessions(Authentication authentication,
                                  @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
                                  @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
@@ -79,6 +104,42 @@ public class MeController {
         );
     }
 
+    @GetMapping("/sessions/export")
+    ResponseEntity<StreamingResponseBody> exportSessions(Authentication authentication,
+                                                         @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+                                                         @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+                                                         @RequestParam(required = false) UUID activityTypeId,
+                                                         @RequestParam(required = false) Visibility visibility,
+                                                         @RequestParam(required = false) String status,
+                                                         @RequestParam(required = false) String format) {
+        UUID userId = currentUser.id(authentication);
+        SessionFileFormat exportFormat = SessionFileFormat.parse(format);
+        StreamingResponseBody body = sessionExportService.exportMySessions(
+                userId,
+                from,
+                to,
+                activityTypeId,
+                visibility,
+                status,
+                exportFormat
+        );
+        return ResponseEntity.ok()
+                .contentType(exportFormat.mediaType())
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                        .filename("sessions." + exportFormat.fileExtension())
+                        .build()
+                        .toString())
+                .body(body);
+    }
+
+    @PostMapping("/sessions/import")
+    SessionImportResultDto importSessions(Authentication authentication,
+                                          @RequestParam(required = false) String format,
+                                          InputStream body) {
+        UUID userId = currentUser.id(authentication);
+        return sessionImportService.importMySessions(userId, SessionFileFormat.parse(format), body);
+    }
+
     @GetMapping("/dashboard/summary")
     MeDashboardSummaryDto getDashboardSummary(Authentication authentication,
                                               @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
@@ -100,9 +161,16 @@ public class MeController {
                                             @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
                                             @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
                                             @RequestParam String bucket,
-                                            @RequestParam(required = false) UUID activityTypeId) {
+                                            @RequestParam(required = false) UUID activityTypeId,
+                                            @RequestParam(required = false) String timeZone) {
+        UUID userId = currentUser.id(authentication);
+        return sessionService.getMyDashboardTrends(userId, from, to, bucket, activityTypeId, timeZone);
+    }
+
+    @GetMapping("/dashboard/heatmap")
+    ActivityHeatmapDto getDashboardHeatmap(Authentication authentication) {
         UUID userId = currentUser.id(authentication);
-        return sessionService.getMyDashboardTrends(userId, from, to, bucket, activityTypeId);
+        return activityHeatmapService.getHeatmap(userId, userId);
     }
 
     private Pageable clampPageable(Pageable pageable) {
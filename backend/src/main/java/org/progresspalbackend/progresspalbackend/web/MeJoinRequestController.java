@@ -2,9 +2,12 @@ package org.progresspalbackend.progresspalbackend.web;
 
 import lombok.RequiredArgsConstructor;
 import org.progresspalbackend.progresspalbackend.config.CurrentUser;
+import org.progresspalbackend.progresspalbackend.config.QueryBudget;
 import org.progresspalbackend.progresspalbackend.domain.SessionJoinRequestStatus;
 import org.progresspalbackend.progresspalbackend.dto.session.MyJoinRequestDto;
 import org.progresspalbackend.progresspalbackend.service.SessionJoinRoomService;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.web.PageableDefault;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
@@ -23,10 +26,12 @@ public class MeJoinRequestController {
     private final CurrentUser currentUser;
 
     @GetMapping("/outgoing")
+    @QueryBudget(1)
     public List<MyJoinRequestDto> outgoing(Authentication authentication,
                                            @RequestParam(required = false) SessionJoinRequestStatus status,
-                                           @RequestParam(defaultValue = "true") boolean liveOnly) {
+                                           @RequestParam(defaultValue = "true") boolean liveOnly,
+                                           @PageableDefault(size = SessionJoinRoomService.DEFAULT_OUTGOING_PAGE_SIZE) Pageable pageable) {
         UUID actorUserId = currentUser.id(authentication);
-        return sessionJoinRoomService.listOutgoing(actorUserId, status, liveOnly);
+        return sessionJoinRoomService.listOutgoing(actorUserId, status, liveOnly, pageable);
     }
 }
@@ -2,6 +2,7 @@ package org.progresspalbackend.progresspalbackend.web;
 
 import lombok.RequiredArgsConstructor;
 import org.progresspalbackend.progresspalbackend.config.CurrentUser;
+import org.progresspalbackend.progresspalbackend.config.QueryBudget;
 import org.progresspalbackend.progresspalbackend.dto.comment.SessionCommentCreateDto;
 import org.progresspalbackend.progresspalbackend.dto.comment.SessionCommentDto;
 import org.progresspalbackend.progresspalbackend.service.SessionCommentService;
@@ -28,6 +29,7 @@ public class SessionCommentController {
     private final CurrentUser currentUser;
 
     @GetMapping
+    @QueryBudget(3)
     public List<SessionCommentDto> list(Authentication authentication,
                                         @PathVariable UUID sessionId) {
         UUID actorUserId = currentUser.id(authentication);
@@ -3,19 +3,20 @@ package org.progresspalbackend.progresspalbackend.web;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 
+import org.progresspalbackend.progresspalbackend.dto.session.ExploreTimelineDto;
 import org.progresspalbackend.progresspalbackend.dto.session.SessionCreateDto;
 import org.progresspalbackend.progresspalbackend.dto.session.SessionDto;
 import org.progresspalbackend.progresspalbackend.dto.session.SessionGoalUpdateDto;
 import org.progresspalbackend.progresspalbackend.dto.session.SessionProgressDto;
 import org.progresspalbackend.progresspalbackend.dto.session.SessionStopDto;
 import org.progresspalbackend.progresspalbackend.config.CurrentUser;
+import org.progresspalbackend.progresspalbackend.service.ExploreTimelineService;
 import org.progresspalbackend.progresspalbackend.service.SessionService;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
 
-import java.util.List;
 import java.util.UUID;
 
 @RestController
@@ -24,10 +25,14 @@ import java.util.UUID;
 public class SessionController {
 
     private final SessionService service;
+    private final ExploreTimelineService exploreTimelineService;
     private final CurrentUser currentUser;
 
     @GetMapping
-    public List<SessionDto> list() { return service.findAll(); }
+    public ExploreTimelineDto explore(@RequestParam(required = false) String cursor,
+                                      @RequestParam(required = false) Integer size) {
+        return exploreTimelineService.getPage(cursor, size);
+    }
 
     @PostMapping
     @ResponseStatus(HttpStatus.CREATED)
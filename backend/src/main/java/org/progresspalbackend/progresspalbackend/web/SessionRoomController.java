@@ -2,6 +2,7 @@ package org.progresspalbackend.progresspalbackend.web;
 
 import lombok.RequiredArgsConstructor;
 import org.progresspalbackend.progresspalbackend.config.CurrentUser;
+import org.progresspalbackend.progresspalbackend.config.QueryBudget;
 import org.progresspalbackend.progresspalbackend.dto.session.RoomMessageCreateDto;
 import org.progresspalbackend.progresspalbackend.dto.session.RoomMessageDto;
 import org.progresspalbackend.progresspalbackend.dto.session.RoomStateDto;
@@ -31,6 +32,7 @@ public class SessionRoomController {
     private final CurrentUser currentUser;
 
     @GetMapping
+    @QueryBudget(1)
     public RoomStateDto state(Authentication authentication,
                               @PathVariable UUID sessionId) {
         UUID actorUserId = currentUser.id(authentication);
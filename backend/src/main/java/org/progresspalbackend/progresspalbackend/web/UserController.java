@@ -3,9 +3,11 @@ package org.progresspalbackend.progresspalbackend.web;
 import lombok.RequiredArgsConstructor;
 
 import org.progresspalbackend.progresspalbackend.config.CurrentUser;
+import org.progresspalbackend.progresspalbackend.dto.dashboard.ActivityHeatmapDto;
 import org.progresspalbackend.progresspalbackend.dto.user.UserCreateDto;
 import org.progresspalbackend.progresspalbackend.dto.user.UserDto;
 import org.progresspalbackend.progresspalbackend.dto.user.UserProfileDto;
+import org.progresspalbackend.progresspalbackend.service.ActivityHeatmapService;
 import org.progresspalbackend.progresspalbackend.service.UserProfileService;
 import org.progresspalbackend.progresspalbackend.service.UserService;
 import org.springframework.http.HttpStatus;
@@ -22,6 +24,7 @@ public class UserController {
 
     private final UserService service;
     private final UserProfileService userProfileService;
+    private final ActivityHeatmapService activityHeatmapService;
     private final CurrentUser currentUser;
 
     @GetMapping
@@ -45,6 +48,12 @@ public class UserController {
         return userProfileService.getProfile(actorUserId, id);
     }
 
+    @GetMapping("/{id}/heatmap")
+    public ActivityHeatmapDto getHeatmap(@PathVariable UUID id, Authentication authentication) {
+        UUID actorUserId = currentUser.id(authentication);
+        return activityHeatmapService.getHeatmap(actorUserId, id);
+    }
+
     @PostMapping
     @ResponseStatus(HttpStatus.CREATED)
     public UserDto create(@RequestBody UserCreateDto dto) {
@@ -2,6 +2,7 @@ package org.progresspalbackend.progresspalbackend.web;
 
 import org.progresspalbackend.progresspalbackend.domain.Visibility;
 import org.progresspalbackend.progresspalbackend.config.CurrentUser;
+import org.progresspalbackend.progresspalbackend.config.QueryBudget;
 import org.progresspalbackend.progresspalbackend.dto.session.SessionDto;
 import org.progresspalbackend.progresspalbackend.service.SessionService;
 import org.springframework.data.domain.Page;
@@ -26,6 +27,7 @@ public class UserSessionsController {
     }
 
     @GetMapping("/{userId}/sessions")
+    @QueryBudget(6)
     public Page<SessionDto> getUserSessions(Authentication authentication,
                                             @PathVariable UUID userId,
                                             @RequestParam(required = false) Visibility visibility,
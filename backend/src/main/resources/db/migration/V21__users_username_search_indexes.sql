@@ -0,0 +1,9 @@
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+-- Infix lookups (lower(username) LIKE '%q%') for queries of three or more characters.
+CREATE INDEX IF NOT EXISTS ix_users_username_trgm
+    ON users USING gin (lower(username) gin_trgm_ops);
+
+-- Prefix lookups for short queries, where trigrams cannot narrow the scan.
+CREATE INDEX IF NOT EXISTS ix_users_username_lower_prefix
+    ON users (lower(username) text_pattern_ops);
@@ -0,0 +1,18 @@
+-- Indexes found missing by the query-plan regression suite (mvn test -Pquery-plans).
+
+-- Live-session sweep and the live/paused gauges only look at sessions that have not ended.
+CREATE INDEX IF NOT EXISTS ix_session_live_paused
+    ON session (paused_at)
+    WHERE ended_at IS NULL;
+
+-- Public timeline: newest sessions of one visibility without sorting the whole table.
+CREATE INDEX IF NOT EXISTS ix_session_visibility_started
+    ON session (visibility, started_at DESC);
+
+-- Unread counts (per recipient and the global gauge) only touch unread rows. Hibernate counts
+-- count(id), so id is included to keep those counts index-only.
+CREATE INDEX IF NOT EXISTS ix_notification_recipient_unread_only
+    ON notification (recipient_id) INCLUDE (id)
+    WHERE read_at IS NULL;
+
+DROP INDEX IF EXISTS ix_notification_recipient_unread;
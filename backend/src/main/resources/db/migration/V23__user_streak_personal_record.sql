@@ -0,0 +1,65 @@
+-- Streaks and personal records, maintained incrementally as sessions are stopped.
+-- Each row is kept per audience: PUBLIC rows count public sessions, FRIENDS rows public and
+-- friends-only sessions, PRIVATE rows every session, so a profile viewer reads exactly one row.
+
+CREATE TABLE user_streak (
+    id UUID PRIMARY KEY,
+    user_id UUID NOT NULL REFERENCES users(id) ON DELETE CASCADE,
+    audience visibility NOT NULL,
+    current_streak_days INT NOT NULL,
+    longest_streak_days INT NOT NULL,
+    last_active_day DATE NOT NULL,
+    CONSTRAINT ux_user_streak_user_audience UNIQUE (user_id, audience)
+);
+
+CREATE TABLE personal_record (
+    id UUID PRIMARY KEY,
+    user_id UUID NOT NULL REFERENCES users(id) ON DELETE CASCADE,
+    activity_type_id UUID NOT NULL REFERENCES activity_type(id) ON DELETE CASCADE,
+    audience visibility NOT NULL,
+    longest_duration_seconds BIGINT NOT NULL,
+    best_metric_value NUMERIC,
+    CONSTRAINT ux_personal_record_user_type_audience UNIQUE (user_id, activity_type_id, audience)
+);
+
+-- Backfill from existing history. Streak days are UTC days on which a session was completed.
+WITH audience(audience) AS (
+    VALUES (CAST('PUBLIC' AS visibility)), (CAST('FRIENDS' AS visibility)), (CAST('PRIVATE' AS visibility))
+),
+days AS (
+    SELECT DISTINCT s.user_id, a.audience, CAST(s.ended_at AT TIME ZONE 'UTC' AS date) AS day
+    FROM session s
+    JOIN audience a ON a.audience = 'PRIVATE' OR s.visibility = 'PUBLIC' OR s.visibility = a.audience
+    WHERE s.ended_at IS NOT NULL
+),
+runs AS (
+    SELECT user_id, audience, max(day) AS last_day, count(*) AS length
+    FROM (
+        SELECT user_id, audience, day,
+               day - CAST(row_number() OVER (PARTITION BY user_id, audience ORDER BY day) AS int) AS grp
+        FROM days
+    ) d
+    GROUP BY user_id, audience, grp
+)
+INSERT INTO user_streak (id, user_id, audience, current_streak_days, longest_streak_days, last_active_day)
+SELECT gen_random_uuid(), user_id, audience,
+       (array_agg(length ORDER BY last_day DESC))[1], max(length), max(last_day)
+FROM runs
+GROUP BY user_id, audience;
+
+WITH audience(audience) AS (
+    VALUES (CAST('PUBLIC' AS visibility)), (CAST('FRIENDS' AS visibility)), (CAST('PRIVATE' AS visibility))
+)
+INSERT INTO personal_record (id, user_id, activity_type_id, audience, longest_duration_seconds, best_metric_value)
+SELECT gen_random_uuid(), s.user_id, s.activity_type_id, a.audience,
+       max(greatest(0,
+               greatest(0, floor(extract(epoch FROM s.ended_at - s.started_at)))
+               - s.paused_duration_seconds
+               - CASE WHEN s.paused_at IS NULL THEN 0
+                      ELSE greatest(0, floor(extract(epoch FROM s.ended_at - s.paused_at)))
+                 END)),
+       max(s.metric_value)
+FROM session s
+JOIN audience a ON a.audience = 'PRIVATE' OR s.visibility = 'PUBLIC' OR s.visibility = a.audience
+WHERE s.ended_at IS NOT NULL
+GROUP BY s.user_id, s.activity_type_id, a.audience;
@@ -0,0 +1,21 @@
+-- At most one live session per user, enforced by the database instead of a check-then-insert in
+-- SessionService.create (two concurrent starts could both pass the check).
+
+-- Close duplicates left by that race: keep each user's newest live session and end the others where
+-- they were last seen alive (paused, last heartbeat, or start).
+WITH ranked AS (
+    SELECT id,
+           row_number() OVER (PARTITION BY user_id ORDER BY started_at DESC, id DESC) AS rn
+    FROM session
+    WHERE ended_at IS NULL
+)
+UPDATE session s
+SET ended_at = GREATEST(s.started_at, COALESCE(s.paused_at, s.last_sent_heartbeat, s.started_at)),
+    paused_at = NULL
+FROM ranked r
+WHERE s.id = r.id
+  AND r.rn > 1;
+
+CREATE UNIQUE INDEX IF NOT EXISTS ux_session_user_live
+    ON session (user_id)
+    WHERE ended_at IS NULL;
@@ -0,0 +1,5 @@
+-- Optimistic version for Session: entity writes (session edit, goal update) fail instead of silently
+-- overwriting a pause, resume, heartbeat or stop that committed after the entity was read. The
+-- conditional lifecycle updates in SessionRepository bump it too.
+ALTER TABLE session
+    ADD COLUMN IF NOT EXISTS version BIGINT NOT NULL DEFAULT 0;
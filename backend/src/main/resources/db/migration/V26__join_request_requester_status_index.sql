@@ -0,0 +1,4 @@
+-- Outgoing join requests filtered by status (GET /api/me/join-requests/outgoing?status=...), newest
+-- first. Unfiltered pages keep using ix_session_join_request_requester_created.
+CREATE INDEX IF NOT EXISTS ix_session_join_request_requester_status_created
+    ON session_join_request (requester_id, status, created_at DESC);
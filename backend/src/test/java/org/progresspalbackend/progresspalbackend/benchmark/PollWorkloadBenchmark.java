@@ -0,0 +1,214 @@
+package org.progresspalbackend.progresspalbackend.benchmark;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.progresspalbackend.progresspalbackend.domain.ActivityType;
+import org.progresspalbackend.progresspalbackend.domain.Friendship;
+import org.progresspalbackend.progresspalbackend.domain.Session;
+import org.progresspalbackend.progresspalbackend.domain.User;
+import org.progresspalbackend.progresspalbackend.domain.Visibility;
+import org.progresspalbackend.progresspalbackend.repository.ActivityTypeRepository;
+import org.progresspalbackend.progresspalbackend.repository.FriendRepository;
+import org.progresspalbackend.progresspalbackend.repository.SessionRepository;
+import org.progresspalbackend.progresspalbackend.repository.UserRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Replays the frontend's 5 second polling loop (feed, live session, unread notifications,
+ * outgoing join requests) from many simulated clients and reports throughput and latency
+ * percentiles. Subclasses pick the request execution mode so the two runs can be compared.
+ *
+ * <p>Run with {@code mvn test -Pbenchmark}; add {@code -Pjava21} for the virtual-thread variant.
+ * Tune with {@code -Dbenchmark.clients}, {@code -Dbenchmark.duration} and {@code -Dbenchmark.poll-interval}.
+ */
+@Tag("benchmark")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+abstract class PollWorkloadBenchmark {
+
+    private static final int CLIENTS = Integer.getInteger("benchmark.clients", 400);
+    private static final Duration RUN_FOR = Duration.parse(System.getProperty("benchmark.duration", "PT30S"));
+    private static final Duration POLL_INTERVAL = Duration.parse(System.getProperty("benchmark.poll-interval", "PT5S"));
+    private static final List<String> POLL_PATHS = List.of(
+            "/api/feed?page=0&size=10",
+            "/api/sessions/live",
+            "/api/me/notifications/unread-count",
+            "/api/me/join-requests/outgoing?liveOnly=true"
+    );
+
+    @LocalServerPort int port;
+
+    @Autowired SessionRepository sessionRepo;
+    @Autowired ActivityTypeRepository activityTypeRepo;
+    @Autowired UserRepository userRepo;
+    @Autowired FriendRepository friendRepo;
+
+    private final List<User> users = new ArrayList<>();
+
+    protected abstract String mode();
+
+    @BeforeEach
+    void seed() {
+        sessionRepo.deleteAll();
+        friendRepo.deleteAll();
+        activityTypeRepo.deleteAll();
+        userRepo.deleteAll();
+        users.clear();
+
+        ActivityType type = new ActivityType();
+        type.setName("Benchmark_" + UUID.randomUUID());
+        type.setCustom(false);
+        type = activityTypeRepo.save(type);
+
+        for (int i = 0; i < CLIENTS; i++) {
+            User user = new User();
+            String suffix = UUID.randomUUID().toString().replace("-", "").substring(0, 10);
+            user.setUsername("bench_" + suffix);
+            user.setEmail("bench_" + suffix + "@test.com");
+            user.setPassword("password_" + suffix);
+            user.setCreatedAt(Instant.now());
+            users.add(userRepo.save(user));
+        }
+
+        for (int i = 0; i < users.size(); i++) {
+            User user = users.get(i);
+            User friend = users.get((i + 1) % users.size());
+            Friendship friendship = new Friendship();
+            friendship.setUser(user);
+            friendship.setFriend(friend);
+            friendship.setCreatedAt(Instant.now());
+            friendRepo.save(friendship);
+
+            for (int s = 0; s < 5; s++) {
+                Session session = new Session();
+                session.setUser(user);
+                session.setActivityType(type);
+                session.setVisibility(Visibility.PUBLIC);
+                session.setTitle("bench session " + s);
+                session.setStartedAt(Instant.now().minus(Duration.ofHours(s + 1L)));
+                session.setEndedAt(Instant.now().minus(Duration.ofHours(s)));
+                sessionRepo.save(session);
+            }
+        }
+    }
+
+    @Test
+    void pollHeavyWorkload() throws Exception {
+        HttpClient http = HttpClient.newBuilder()
+                .connectTimeout(Duration.ofSeconds(5))
+                .executor(Executors.newFixedThreadPool(32))
+                .build();
+        List<long[]> perClientLatencies = new ArrayList<>();
+        AtomicLong errors = new AtomicLong();
+        CountDownLatch done = new CountDownLatch(users.size());
+        Instant deadline = Instant.now().plus(RUN_FOR);
+
+        ExecutorService clients = Executors.newFixedThreadPool(users.size());
+        try {
+            for (User user : users) {
+                long[] latencies = new long[(int) (RUN_FOR.toMillis() / Math.max(1, POLL_INTERVAL.toMillis()) + 2) * POLL_PATHS.size()];
+                perClientLatencies.add(latencies);
+                clients.submit(() -> {
+                    try {
+                        runClient(http, user.getId(), deadline, latencies, errors);
+                    } finally {
+                        done.countDown();
+                    }
+                });
+            }
+            done.await();
+        } finally {
+            clients.shutdownNow();
+        }
+
+        long[] all = perClientLatencies.stream()
+                .flatMapToLong(Arrays::stream)
+                .filter(nanos -> nanos > 0)
+                .sorted()
+                .toArray();
+        double seconds = RUN_FOR.toMillis() / 1000.0;
+        String report = String.format(
+                "mode=%s java=%s clients=%d requests=%d errors=%d throughput=%.1f req/s p50=%.1fms p99=%.1fms max=%.1fms%n",
+                mode(), Runtime.version().feature(), users.size(), all.length, errors.get(), all.length / seconds,
+                percentileMillis(all, 0.50), percentileMillis(all, 0.99), percentileMillis(all, 1.0));
+        System.out.print(report);
+        writeReport(report);
+
+        assertThat(all.length).isPositive();
+        assertThat(errors.get()).isLessThanOrEqualTo(all.length / 100);
+    }
+
+    private void runClient(HttpClient http, UUID userId, Instant deadline, long[] latencies, AtomicLong errors) {
+        int index = 0;
+        // Stagger start so clients do not all poll in the same millisecond.
+        sleep(Duration.ofMillis((long) (Math.random() * POLL_INTERVAL.toMillis())));
+        while (Instant.now().isBefore(deadline) && index + POLL_PATHS.size() <= latencies.length) {
+            for (String path : POLL_PATHS) {
+                HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + path))
+                        .header("X-User-Id", userId.toString())
+                        .timeout(Duration.ofSeconds(30))
+                        .GET()
+                        .build();
+                long start = System.nanoTime();
+                try {
+                    HttpResponse<Void> response = http.send(request, HttpResponse.BodyHandlers.discarding());
+                    if (response.statusCode() >= 500) {
+                        errors.incrementAndGet();
+                    }
+                } catch (IOException ex) {
+                    errors.incrementAndGet();
+                } catch (InterruptedException ex) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+                latencies[index++] = System.nanoTime() - start;
+            }
+            sleep(POLL_INTERVAL);
+        }
+    }
+
+    private static double percentileMillis(long[] sorted, double percentile) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        int index = (int) Math.min(sorted.length - 1, Math.ceil(percentile * sorted.length) - 1);
+        return sorted[Math.max(0, index)] / 1_000_000.0;
+    }
+
+    private static void writeReport(String line) throws IOException {
+        Path file = Path.of("target", "benchmarks", "poll-workload.txt");
+        Files.createDirectories(file.getParent());
+        Files.writeString(file, line, StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+    }
+
+    private static void sleep(Duration duration) {
+        try {
+            Thread.sleep(duration.toMillis());
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
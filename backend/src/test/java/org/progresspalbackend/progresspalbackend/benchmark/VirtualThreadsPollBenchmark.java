@@ -0,0 +1,36 @@
+package org.progresspalbackend.progresspalbackend.benchmark;
+
+import org.junit.jupiter.api.condition.EnabledForJreRange;
+import org.junit.jupiter.api.condition.JRE;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+@Testcontainers
+@EnabledForJreRange(min = JRE.JAVA_21)
+class VirtualThreadsPollBenchmark extends PollWorkloadBenchmark {
+
+    @Container
+    static PostgreSQLContainer<?> db = new PostgreSQLContainer<>("postgres:13-alpine")
+            .withDatabaseName("progresspal")
+            .withUsername("progress")
+            .withPassword("progress");
+
+    @DynamicPropertySource
+    static void props(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", db::getJdbcUrl);
+        registry.add("spring.datasource.username", db::getUsername);
+        registry.add("spring.datasource.password", db::getPassword);
+        registry.add("spring.flyway.enabled", () -> "true");
+        registry.add("spring.jpa.hibernate.ddl-auto", () -> "validate");
+        registry.add("spring.threads.virtual.enabled", () -> "true");
+        registry.add("app.threads.pinning-monitor.enabled", () -> "true");
+    }
+
+    @Override
+    protected String mode() {
+        return "virtual-threads";
+    }
+}
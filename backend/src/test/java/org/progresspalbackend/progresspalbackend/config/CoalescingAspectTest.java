@@ -0,0 +1,122 @@
+package org.progresspalbackend.progresspalbackend.config;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class CoalescingAspectTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final ExecutorService executor = Executors.newFixedThreadPool(4);
+
+    @AfterEach
+    void shutdown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void concurrentIdenticalCalls_shareOneComputation() throws Exception {
+        SlowReads target = new SlowReads();
+        SlowReads reads = proxy(target, Duration.ZERO);
+
+        Future<String> first = executor.submit(() -> reads.summary("alice", 7));
+        assertThat(target.started.await(5, TimeUnit.SECONDS)).isTrue();
+        Future<String> second = executor.submit(() -> reads.summary("alice", 7));
+        Future<String> otherUser = executor.submit(() -> reads.summary("bob", 7));
+        awaitCount("coalesced", 1);
+        target.release.countDown();
+
+        assertThat(first.get(5, TimeUnit.SECONDS)).isEqualTo("alice:7#1");
+        assertThat(second.get(5, TimeUnit.SECONDS)).isSameAs(first.get());
+        assertThat(otherUser.get(5, TimeUnit.SECONDS)).startsWith("bob:7#");
+        assertThat(target.computations.get()).isEqualTo(2);
+        assertThat(count("computed")).isEqualTo(2);
+
+        // Nothing is kept once the call has finished unless a reuse window is configured.
+        assertThat(reads.summary("alice", 7)).isEqualTo("alice:7#3");
+    }
+
+    @Test
+    void waitingCalls_seeTheSameFailure() throws Exception {
+        SlowReads target = new SlowReads();
+        SlowReads reads = proxy(target, Duration.ZERO);
+
+        Future<String> first = executor.submit(() -> reads.summary("fail", 1));
+        assertThat(target.started.await(5, TimeUnit.SECONDS)).isTrue();
+        Future<String> second = executor.submit(() -> reads.summary("fail", 1));
+        awaitCount("coalesced", 1);
+        target.release.countDown();
+
+        assertThatThrownBy(() -> first.get(5, TimeUnit.SECONDS)).hasCauseInstanceOf(IllegalStateException.class);
+        assertThatThrownBy(() -> second.get(5, TimeUnit.SECONDS)).hasCauseInstanceOf(IllegalStateException.class);
+        assertThat(target.computations.get()).isEqualTo(1);
+    }
+
+    @Test
+    void reuseWindow_servesRecentResults() {
+        SlowReads target = new SlowReads();
+        target.release.countDown();
+        SlowReads reads = proxy(target, Duration.ofMinutes(1));
+
+        assertThat(reads.summary("alice", 7)).isEqualTo("alice:7#1");
+        assertThat(reads.summary("alice", 7)).isEqualTo("alice:7#1");
+        assertThat(reads.summary("alice", 8)).isEqualTo("alice:8#2");
+        assertThat(count("reused")).isEqualTo(1);
+    }
+
+    private SlowReads proxy(SlowReads target, Duration reuseWindow) {
+        AspectJProxyFactory factory = new AspectJProxyFactory(target);
+        factory.setProxyTargetClass(true);
+        factory.addAspect(new CoalescingAspect(meterRegistry, reuseWindow, 100));
+        return factory.getProxy();
+    }
+
+    private double count(String outcome) {
+        return meterRegistry.get(CoalescingAspect.CALLS_COUNTER).tag("outcome", outcome).counter().count();
+    }
+
+    private void awaitCount(String outcome, double expected) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (meterRegistry.find(CoalescingAspect.CALLS_COUNTER).tag("outcome", outcome).counter() == null
+                || count(outcome) < expected) {
+            assertThat(System.nanoTime()).isLessThan(deadline);
+            Thread.sleep(5);
+        }
+    }
+
+    static class SlowReads {
+
+        final CountDownLatch started = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+        final AtomicInteger computations = new AtomicInteger();
+
+        @Coalesced
+        public String summary(String user, int days) {
+            int computation = computations.incrementAndGet();
+            started.countDown();
+            try {
+                if (!"bob".equals(user)) {
+                    release.await(5, TimeUnit.SECONDS);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            if ("fail".equals(user)) {
+                throw new IllegalStateException("boom");
+            }
+            return user + ":" + days + "#" + computation;
+        }
+    }
+}
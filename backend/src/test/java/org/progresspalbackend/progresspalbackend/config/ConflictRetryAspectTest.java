@@ -0,0 +1,81 @@
+package org.progresspalbackend.progresspalbackend.config;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ConflictRetryAspectTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    void conflict_isRetriedUntilAnAttemptSucceeds() {
+        ConflictingWrites target = new ConflictingWrites(2);
+        ConflictingWrites writes = proxy(target);
+
+        assertThat(writes.save("goal")).isEqualTo("goal#3");
+        assertThat(target.attempts.get()).isEqualTo(3);
+        assertThat(count("retried")).isEqualTo(2);
+    }
+
+    @Test
+    void lastConflict_isRethrownOnceAttemptsRunOut() {
+        ConflictingWrites target = new ConflictingWrites(Integer.MAX_VALUE);
+        ConflictingWrites writes = proxy(target);
+
+        assertThatThrownBy(() -> writes.save("goal")).isInstanceOf(ObjectOptimisticLockingFailureException.class);
+        assertThat(target.attempts.get()).isEqualTo(3);
+        assertThat(count("retried")).isEqualTo(2);
+        assertThat(count("exhausted")).isEqualTo(1);
+    }
+
+    @Test
+    void otherFailures_areNotRetried() {
+        ConflictingWrites target = new ConflictingWrites(0);
+        ConflictingWrites writes = proxy(target);
+
+        assertThatThrownBy(() -> writes.save(null)).isInstanceOf(IllegalArgumentException.class);
+        assertThat(target.attempts.get()).isEqualTo(1);
+        assertThat(meterRegistry.find(ConflictRetryAspect.CONFLICTS_COUNTER).counter()).isNull();
+    }
+
+    private ConflictingWrites proxy(ConflictingWrites target) {
+        AspectJProxyFactory factory = new AspectJProxyFactory(target);
+        factory.setProxyTargetClass(true);
+        factory.addAspect(new ConflictRetryAspect(meterRegistry, Duration.ofMillis(1)));
+        return factory.getProxy();
+    }
+
+    private double count(String outcome) {
+        return meterRegistry.get(ConflictRetryAspect.CONFLICTS_COUNTER).tag("outcome", outcome).counter().count();
+    }
+
+    static class ConflictingWrites {
+
+        final AtomicInteger attempts = new AtomicInteger();
+        private final int conflicts;
+
+        ConflictingWrites(int conflicts) {
+            this.conflicts = conflicts;
+        }
+
+        @RetryOnConflict
+        public String save(String value) {
+            int attempt = attempts.incrementAndGet();
+            if (value == null) {
+                throw new IllegalArgumentException("value");
+            }
+            if (attempt <= conflicts) {
+                throw new ObjectOptimisticLockingFailureException("Session", attempt);
+            }
+            return value + "#" + attempt;
+        }
+    }
+}
@@ -0,0 +1,125 @@
+package org.progresspalbackend.progresspalbackend.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.TestingAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class ReadReplicaRoutingDataSourceTest {
+
+    @AfterEach
+    void clear() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void lookupKey_usesPrimaryOutsideReplicaReads() throws SQLException {
+        ReadReplicaRoutingDataSource router = router(Map.of("replica-0", replicaWithLag(0)));
+
+        assertThat(router.determineCurrentLookupKey()).isEqualTo(ReadReplicaRoutingDataSource.PRIMARY);
+        assertThat(inReplicaRead(router)).isEqualTo("replica-0");
+    }
+
+    @Test
+    void lookupKey_skipsReplicasThatLagOrAreDown() throws SQLException {
+        HikariDataSource down = mock(HikariDataSource.class);
+        when(down.getConnection()).thenThrow(new SQLException("connection refused"));
+        Map<String, HikariDataSource> replicas = new LinkedHashMap<>();
+        replicas.put("replica-0", replicaWithLag(30));
+        replicas.put("replica-1", down);
+        replicas.put("replica-2", replicaWithLag(1.5));
+        ReadReplicaRoutingDataSource router = router(replicas);
+
+        for (int i = 0; i < 3; i++) {
+            assertThat(inReplicaRead(router)).isEqualTo("replica-2");
+        }
+        assertThat(router.lagSeconds("replica-0")).isEqualTo(30.0);
+        assertThat(router.lagSeconds("replica-1")).isNaN();
+    }
+
+    @Test
+    void lookupKey_fallsBackToPrimaryWhenNoReplicaQualifies() throws SQLException {
+        ReadReplicaRoutingDataSource router = router(Map.of("replica-0", replicaWithLag(30)));
+
+        assertThat(inReplicaRead(router)).isEqualTo(ReadReplicaRoutingDataSource.PRIMARY);
+    }
+
+    @Test
+    void lookupKey_primaryReadWinsOverAnEnclosingReplicaRead() throws SQLException {
+        ReadReplicaRoutingDataSource router = router(Map.of("replica-0", replicaWithLag(0)));
+
+        ReadReplicaRoutingDataSource.enterReplicaRead();
+        try {
+            ReadReplicaRoutingDataSource.enterPrimaryRead();
+            try {
+                assertThat(router.determineCurrentLookupKey()).isEqualTo(ReadReplicaRoutingDataSource.PRIMARY);
+            } finally {
+                ReadReplicaRoutingDataSource.exitPrimaryRead();
+            }
+            assertThat(router.determineCurrentLookupKey()).isEqualTo("replica-0");
+        } finally {
+            ReadReplicaRoutingDataSource.exitReplicaRead();
+        }
+    }
+
+    @Test
+    void lookupKey_keepsAWriterOnThePrimary() throws SQLException {
+        ReadReplicaRoutingDataSource router = router(Map.of("replica-0", replicaWithLag(0)));
+        SecurityContextHolder.getContext().setAuthentication(new TestingAuthenticationToken("writer", null, List.of()));
+
+        assertThat(inReplicaRead(router)).isEqualTo("replica-0");
+
+        router.recordWrite();
+        assertThat(inReplicaRead(router)).isEqualTo(ReadReplicaRoutingDataSource.PRIMARY);
+
+        SecurityContextHolder.getContext().setAuthentication(new TestingAuthenticationToken("reader", null, List.of()));
+        assertThat(inReplicaRead(router)).isEqualTo("replica-0");
+    }
+
+    private static Object inReplicaRead(ReadReplicaRoutingDataSource router) {
+        ReadReplicaRoutingDataSource.enterReplicaRead();
+        try {
+            return router.determineCurrentLookupKey();
+        } finally {
+            ReadReplicaRoutingDataSource.exitReplicaRead();
+        }
+    }
+
+    private static ReadReplicaRoutingDataSource router(Map<String, HikariDataSource> replicas) {
+        ReadReplicaProperties properties = new ReadReplicaProperties();
+        properties.setMaxLag(Duration.ofSeconds(5));
+        properties.setStickyWindow(Duration.ofMinutes(1));
+        ReadReplicaRoutingDataSource router = new ReadReplicaRoutingDataSource(mock(DataSource.class), replicas, properties);
+        router.afterPropertiesSet();
+        return router;
+    }
+
+    private static HikariDataSource replicaWithLag(double lagSeconds) throws SQLException {
+        ResultSet rs = mock(ResultSet.class);
+        when(rs.next()).thenReturn(true);
+        when(rs.getDouble(1)).thenReturn(lagSeconds);
+        Statement statement = mock(Statement.class);
+        when(statement.executeQuery(anyString())).thenReturn(rs);
+        Connection connection = mock(Connection.class);
+        when(connection.createStatement()).thenReturn(statement);
+        HikariDataSource replica = mock(HikariDataSource.class);
+        when(replica.getConnection()).thenReturn(connection);
+        return replica;
+    }
+}
@@ -0,0 +1,231 @@
+package org.progresspalbackend.progresspalbackend.integration;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.progresspalbackend.progresspalbackend.domain.ActivityType;
+import org.progresspalbackend.progresspalbackend.domain.Friendship;
+import org.progresspalbackend.progresspalbackend.domain.MetricKind;
+import org.progresspalbackend.progresspalbackend.domain.Session;
+import org.progresspalbackend.progresspalbackend.domain.User;
+import org.progresspalbackend.progresspalbackend.domain.Visibility;
+import org.progresspalbackend.progresspalbackend.repository.ActivityTypeRepository;
+import org.progresspalbackend.progresspalbackend.repository.FriendRepository;
+import org.progresspalbackend.progresspalbackend.repository.SessionRepository;
+import org.progresspalbackend.progresspalbackend.repository.UserRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.UUID;
+
+import static org.hamcrest.Matchers.greaterThanOrEqualTo;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@Testcontainers
+class ActivityHeatmapApiTest {
+
+    @Container
+    static PostgreSQLContainer<?> db = new PostgreSQLContainer<>("postgres:13-alpine")
+            .withDatabaseName("progresspal")
+            .withUsername("progress")
+            .withPassword("progress");
+
+    @DynamicPropertySource
+    static void props(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", db::getJdbcUrl);
+        registry.add("spring.datasource.username", db::getUsername);
+        registry.add("spring.datasource.password", db::getPassword);
+        registry.add("spring.flyway.enabled", () -> "true");
+        registry.add("spring.jpa.hibernate.ddl-auto", () -> "validate");
+    }
+
+    @Autowired MockMvc mvc;
+    @Autowired SessionRepository sessionRepo;
+    @Autowired ActivityTypeRepository activityTypeRepo;
+    @Autowired UserRepository userRepo;
+    @Autowired FriendRepository friendRepo;
+
+    LocalDate today;
+
+    @BeforeEach
+    void cleanDb() {
+        sessionRepo.deleteAll();
+        friendRepo.deleteAll();
+        activityTypeRepo.deleteAll();
+        userRepo.deleteAll();
+        today = LocalDate.now(ZoneOffset.UTC);
+    }
+
+    @Test
+    void ownHeatmap_sumsCompletedSessionsPerUtcDay_overTheLastYear() throws Exception {
+        User me = persistUser();
+        ActivityType coding = persistActivityType();
+
+        sessionRepo.save(session(me, coding, Visibility.PUBLIC, at(today.minusDays(10), 9), 1800));
+        sessionRepo.save(session(me, coding, Visibility.PRIVATE, at(today.minusDays(10), 20), 600));
+        sessionRepo.save(session(me, coding, Visibility.FRIENDS, at(today.minusDays(3), 8), 1200));
+        sessionRepo.save(session(me, coding, Visibility.PUBLIC, at(today.minusDays(400), 8), 5000));
+        Session live = session(me, coding, Visibility.PUBLIC, Instant.now().minusSeconds(300), 0);
+        live.setEndedAt(null);
+        sessionRepo.save(live);
+
+        mvc.perform(get("/api/me/dashboard/heatmap")
+                        .header("X-User-Id", me.getId().toString())
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.userId").value(me.getId().toString()))
+                .andExpect(jsonPath("$.scope").value("OWNER"))
+                .andExpect(jsonPath("$.from").value(today.minusDays(364).toString()))
+                .andExpect(jsonPath("$.to").value(today.toString()))
+                .andExpect(jsonPath("$.days.length()").value(2))
+                .andExpect(jsonPath("$.days[0].date").value(today.minusDays(10).toString()))
+                .andExpect(jsonPath("$.days[0].totalDurationSeconds").value(2400))
+                .andExpect(jsonPath("$.days[1].date").value(today.minusDays(3).toString()))
+                .andExpect(jsonPath("$.days[1].totalDurationSeconds").value(1200));
+    }
+
+    @Test
+    void userHeatmap_filtersByViewerScope() throws Exception {
+        User target = persistUser();
+        User friend = persistUser();
+        User stranger = persistUser();
+        friendRepo.save(friendship(friend, target));
+        ActivityType coding = persistActivityType();
+
+        sessionRepo.save(session(target, coding, Visibility.PUBLIC, at(today.minusDays(5), 9), 100));
+        sessionRepo.save(session(target, coding, Visibility.FRIENDS, at(today.minusDays(5), 10), 200));
+        sessionRepo.save(session(target, coding, Visibility.PRIVATE, at(today.minusDays(4), 10), 400));
+
+        mvc.perform(get("/api/users/{id}/heatmap", target.getId())
+                        .header("X-User-Id", friend.getId().toString())
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.scope").value("FRIEND"))
+                .andExpect(jsonPath("$.days.length()").value(1))
+                .andExpect(jsonPath("$.days[0].date").value(today.minusDays(5).toString()))
+                .andExpect(jsonPath("$.days[0].totalDurationSeconds").value(300));
+
+        mvc.perform(get("/api/users/{id}/heatmap", target.getId())
+                        .header("X-User-Id", stranger.getId().toString())
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.scope").value("PUBLIC"))
+                .andExpect(jsonPath("$.days.length()").value(1))
+                .andExpect(jsonPath("$.days[0].totalDurationSeconds").value(100));
+
+        mvc.perform(get("/api/users/{id}/heatmap", target.getId())
+                        .header("X-User-Id", target.getId().toString())
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.scope").value("OWNER"))
+                .andExpect(jsonPath("$.days.length()").value(2))
+                .andExpect(jsonPath("$.days[1].totalDurationSeconds").value(400));
+    }
+
+    @Test
+    void stoppingASession_patchesTheCachedHeatmap() throws Exception {
+        User me = persistUser();
+        ActivityType coding = persistActivityType();
+        sessionRepo.save(session(me, coding, Visibility.PUBLIC, at(today.minusDays(2), 9), 600));
+
+        mvc.perform(get("/api/me/dashboard/heatmap")
+                        .header("X-User-Id", me.getId().toString()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.days.length()").value(1));
+
+        // Written behind the service's back, so it only shows up if the heatmap is reloaded.
+        sessionRepo.save(session(me, coding, Visibility.PUBLIC, at(today.minusDays(1), 9), 60));
+
+        Session live = session(me, coding, Visibility.PUBLIC, Instant.now().minusSeconds(900), 0);
+        live.setEndedAt(null);
+        live = sessionRepo.save(live);
+        LocalDate liveDay = live.getStartedAt().atOffset(ZoneOffset.UTC).toLocalDate();
+
+        mvc.perform(patch("/api/sessions/{id}/stop", live.getId())
+                        .header("X-User-Id", me.getId().toString())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{}"))
+                .andExpect(status().isOk());
+
+        mvc.perform(get("/api/me/dashboard/heatmap")
+                        .header("X-User-Id", me.getId().toString()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.days.length()").value(2))
+                .andExpect(jsonPath("$.days[0].date").value(today.minusDays(2).toString()))
+                .andExpect(jsonPath("$.days[1].date").value(liveDay.toString()))
+                .andExpect(jsonPath("$.days[1].totalDurationSeconds").value(greaterThanOrEqualTo(900)));
+    }
+
+    @Test
+    void userHeatmap_unknownUser_returns404() throws Exception {
+        User me = persistUser();
+
+        mvc.perform(get("/api/users/{id}/heatmap", UUID.randomUUID())
+                        .header("X-User-Id", me.getId().toString()))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void heatmap_missingAuth_returns401() throws Exception {
+        User target = persistUser();
+
+        mvc.perform(get("/api/users/{id}/heatmap", target.getId()))
+                .andExpect(status().isUnauthorized());
+        mvc.perform(get("/api/me/dashboard/heatmap"))
+                .andExpect(status().isUnauthorized());
+    }
+
+    private static Instant at(LocalDate day, int hour) {
+        return day.atTime(hour, 0).toInstant(ZoneOffset.UTC);
+    }
+
+    private User persistUser() {
+        User u = new User();
+        String suffix = UUID.randomUUID().toString().replace("-", "").substring(0, 10);
+        u.setUsername("user_" + suffix);
+        u.setEmail("user_" + suffix + "@test.com");
+        u.setPassword("password_" + suffix);
+        return userRepo.save(u);
+    }
+
+    private ActivityType persistActivityType() {
+        ActivityType t = new ActivityType();
+        t.setName("Coding_" + UUID.randomUUID());
+        t.setMetricKind(MetricKind.NONE);
+        return activityTypeRepo.save(t);
+    }
+
+    private Friendship friendship(User user, User friend) {
+        Friendship friendship = new Friendship();
+        friendship.setUser(user);
+        friendship.setFriend(friend);
+        friendship.setCreatedAt(Instant.parse("2026-01-01T00:00:00Z"));
+        return friendship;
+    }
+
+    private Session session(User user, ActivityType type, Visibility visibility, Instant startedAt, long durationSeconds) {
+        Session s = new Session();
+        s.setUser(user);
+        s.setActivityType(type);
+        s.setVisibility(visibility);
+        s.setStartedAt(startedAt);
+        s.setEndedAt(startedAt.plusSeconds(durationSeconds));
+        s.setTitle("t");
+        return s;
+    }
+}
@@ -10,9 +10,11 @@ import org.progresspalbackend.progresspalbackend.domain.Visibility;
 import org.progresspalbackend.progresspalbackend.repository.ActivityTypeRepository;
 import org.progresspalbackend.progresspalbackend.repository.SessionRepository;
 import org.progresspalbackend.progresspalbackend.repository.UserRepository;
+import org.progresspalbackend.progresspalbackend.service.ActivityTypeCatalog;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.context.DynamicPropertyRegistry;
 import org.springframework.test.context.DynamicPropertySource;
@@ -24,8 +26,10 @@ import org.testcontainers.junit.jupiter.Testcontainers;
 import java.time.Instant;
 import java.util.UUID;
 
+import static org.hamcrest.Matchers.not;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
 @SpringBootTest
@@ -51,6 +55,7 @@ public class ActivityTypeScopeApiTest {
     @Autowired ActivityTypeRepository activityTypeRepo;
     @Autowired SessionRepository sessionRepo;
     @Autowired UserRepository userRepo;
+    @Autowired ActivityTypeCatalog activityTypeCatalog;
 
     @Autowired MockMvc mockMvc;
     @Autowired ObjectMapper objectMapper;
@@ -60,6 +65,7 @@ public class ActivityTypeScopeApiTest {
         sessionRepo.deleteAll();
         activityTypeRepo.deleteAll();
         userRepo.deleteAll();
+        activityTypeCatalog.invalidateDefaults();
     }
 
     // ---------------- LIST TESTS ----------------
@@ -128,6 +134,46 @@ public class ActivityTypeScopeApiTest {
                 .andExpect(jsonPath("$[?(@.id=='" + mine.getId() + "')].id").exists());
     }
 
+    @Test
+    void list_withMatchingIfNoneMatch_returns304_untilMyTypesChange() throws Exception {
+        User u1 = persistUser();
+        persistDefaultType("Study");
+
+        String etag = mockMvc.perform(get("/api/activity-types")
+                        .header("X-User-Id", u1.getId().toString())
+                        .queryParam("scope", "ALL")
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(header().exists(HttpHeaders.ETAG))
+                .andExpect(jsonPath("$.length()").value(1))
+                .andReturn()
+                .getResponse()
+                .getHeader(HttpHeaders.ETAG);
+
+        mockMvc.perform(get("/api/activity-types")
+                        .header("X-User-Id", u1.getId().toString())
+                        .header(HttpHeaders.IF_NONE_MATCH, etag)
+                        .queryParam("scope", "ALL")
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+
+        mockMvc.perform(post("/api/activity-types")
+                        .header("X-User-Id", u1.getId().toString())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"name\":\"Chess\"}"))
+                .andExpect(status().isCreated());
+
+        mockMvc.perform(get("/api/activity-types")
+                        .header("X-User-Id", u1.getId().toString())
+                        .header(HttpHeaders.IF_NONE_MATCH, etag)
+                        .queryParam("scope", "ALL")
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, not(etag)))
+                .andExpect(jsonPath("$.length()").value(2));
+    }
+
     @Test
     void list_invalid_scope_returns400() throws Exception {
         User u1 = persistUser();
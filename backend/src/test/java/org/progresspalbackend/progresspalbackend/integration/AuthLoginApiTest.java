@@ -50,6 +50,7 @@ class AuthLoginApiTest {
         registry.add("spring.flyway.enabled", () -> "true");
         registry.add("spring.jpa.hibernate.ddl-auto", () -> "validate");
         registry.add("app.security.login.max-failed-attempts", () -> "3");
+        registry.add("app.security.login.max-failed-attempts-per-ip", () -> "20");
         registry.add("app.security.login.lock-duration", () -> "PT30M");
     }
 
@@ -146,6 +147,46 @@ class AuthLoginApiTest {
                 .andExpect(jsonPath("$.message").value(containsString("Too many failed login attempts")));
     }
 
+    @Test
+    void login_manyFailuresFromSameAddress_locksAddressAcrossAccounts() throws Exception {
+        String clientIp = "203.0.113.10";
+
+        for (int attempt = 0; attempt < 19; attempt++) {
+            mvc.perform(post("/api/auth/login")
+                            .with(request -> {
+                                request.setRemoteAddr(clientIp);
+                                return request;
+                            })
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(loginRequest("stuffing" + attempt + "@test.com", "pw123")))
+                    .andExpect(status().isUnauthorized());
+        }
+
+        mvc.perform(post("/api/auth/login")
+                        .with(request -> {
+                            request.setRemoteAddr(clientIp);
+                            return request;
+                        })
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(loginRequest("stuffing-last@test.com", "pw123")))
+                .andExpect(status().isTooManyRequests());
+
+        mvc.perform(post("/api/auth/login")
+                        .with(request -> {
+                            request.setRemoteAddr(clientIp);
+                            return request;
+                        })
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(loginRequest(persistedUser.getEmail(), "pw123")))
+                .andExpect(status().isTooManyRequests())
+                .andExpect(jsonPath("$.message").value(containsString("Too many failed login attempts")));
+
+        mvc.perform(post("/api/auth/login")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(loginRequest(persistedUser.getEmail(), "pw123")))
+                .andExpect(status().isOk());
+    }
+
     @Test
     void login_successfulAttempt_clearsFailedAttemptsCounter() throws Exception {
         String wrongPasswordBody = loginRequest(persistedUser.getEmail(), "wrong");
@@ -0,0 +1,100 @@
+package org.progresspalbackend.progresspalbackend.integration;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.progresspalbackend.progresspalbackend.domain.User;
+import org.progresspalbackend.progresspalbackend.repository.UserRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.MediaType;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.time.Instant;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Goes through the embedded Tomcat rather than MockMvc, because the client address is resolved by its
+ * RemoteIpValve. The test client connects from loopback, which is a trusted proxy by default.
+ */
+@SpringBootTest(
+        webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = "server.forward-headers-strategy=native")
+@Testcontainers
+class AuthLoginForwardedIpApiTest {
+
+    @Container
+    static PostgreSQLContainer<?> db = new PostgreSQLContainer<>("postgres:13-alpine")
+            .withDatabaseName("progresspal")
+            .withUsername("progress")
+            .withPassword("progress");
+
+    @DynamicPropertySource
+    static void props(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", db::getJdbcUrl);
+        registry.add("spring.datasource.username", db::getUsername);
+        registry.add("spring.datasource.password", db::getPassword);
+        registry.add("spring.flyway.enabled", () -> "true");
+        registry.add("spring.jpa.hibernate.ddl-auto", () -> "validate");
+        registry.add("app.security.login.max-failed-attempts", () -> "10");
+        registry.add("app.security.login.max-failed-attempts-per-ip", () -> "3");
+        registry.add("app.security.login.lock-duration", () -> "PT30M");
+    }
+
+    @Autowired TestRestTemplate rest;
+    @Autowired UserRepository userRepo;
+    @Autowired PasswordEncoder passwordEncoder;
+
+    User persistedUser;
+
+    @BeforeEach
+    void setup() {
+        userRepo.deleteAll();
+
+        User user = new User();
+        String suffix = UUID.randomUUID().toString().replace("-", "").substring(0, 8);
+        user.setUsername("auth_" + suffix);
+        user.setEmail("auth_" + suffix + "@test.com");
+        user.setPassword(passwordEncoder.encode("pw123"));
+        user.setCreatedAt(Instant.now());
+        persistedUser = userRepo.save(user);
+    }
+
+    @Test
+    void login_lockoutFollowsTheForwardedClientAddress() {
+        String attacker = "203.0.113.10";
+        String bystander = "198.51.100.20";
+
+        for (int attempt = 0; attempt < 2; attempt++) {
+            assertThat(login(attacker, "stuffing" + attempt + "@test.com", "pw123"))
+                    .isEqualTo(HttpStatus.UNAUTHORIZED);
+        }
+        assertThat(login(attacker, "stuffing-last@test.com", "pw123")).isEqualTo(HttpStatus.TOO_MANY_REQUESTS);
+        assertThat(login(attacker, persistedUser.getEmail(), "pw123")).isEqualTo(HttpStatus.TOO_MANY_REQUESTS);
+
+        // Same proxy, different client: not locked.
+        assertThat(login(bystander, persistedUser.getEmail(), "pw123")).isEqualTo(HttpStatus.OK);
+    }
+
+    private HttpStatusCode login(String forwardedFor, String email, String password) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        headers.set("X-Forwarded-For", forwardedFor);
+        return rest.postForEntity("/api/auth/login",
+                        new HttpEntity<>(Map.of("email", email, "password", password), headers),
+                        String.class)
+                .getStatusCode();
+    }
+}
@@ -0,0 +1,189 @@
+package org.progresspalbackend.progresspalbackend.integration;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.progresspalbackend.progresspalbackend.domain.ActivityType;
+import org.progresspalbackend.progresspalbackend.domain.Session;
+import org.progresspalbackend.progresspalbackend.domain.User;
+import org.progresspalbackend.progresspalbackend.domain.Visibility;
+import org.progresspalbackend.progresspalbackend.repository.ActivityTypeRepository;
+import org.progresspalbackend.progresspalbackend.repository.SessionRepository;
+import org.progresspalbackend.progresspalbackend.repository.UserRepository;
+import org.progresspalbackend.progresspalbackend.service.ExploreTimelineService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@Testcontainers
+class ExploreTimelineApiTest {
+
+    @Container
+    static PostgreSQLContainer<?> db = new PostgreSQLContainer<>("postgres:13-alpine")
+            .withDatabaseName("progresspal")
+            .withUsername("progress")
+            .withPassword("progress");
+
+    @DynamicPropertySource
+    static void props(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", db::getJdbcUrl);
+        registry.add("spring.datasource.username", db::getUsername);
+        registry.add("spring.datasource.password", db::getPassword);
+        registry.add("spring.flyway.enabled", () -> "true");
+        registry.add("spring.jpa.hibernate.ddl-auto", () -> "validate");
+        // Small enough that paging runs past the in-memory window.
+        registry.add("app.sessions.explore.window-size", () -> "5");
+    }
+
+    @Autowired MockMvc mvc;
+    @Autowired ObjectMapper json;
+    @Autowired JdbcTemplate jdbc;
+    @Autowired SessionRepository sessionRepo;
+    @Autowired ActivityTypeRepository activityTypeRepo;
+    @Autowired UserRepository userRepo;
+    @Autowired ExploreTimelineService exploreTimelineService;
+
+    User alice;
+    User bob;
+    ActivityType coding;
+
+    @BeforeEach
+    void setup() {
+        sessionRepo.deleteAll();
+        activityTypeRepo.deleteAll();
+        userRepo.deleteAll();
+        // Sessions below are written straight to the repository, which does not reload the window.
+        exploreTimelineService.invalidate();
+
+        alice = persistUser();
+        bob = persistUser();
+        coding = new ActivityType();
+        coding.setName("Coding_" + UUID.randomUUID());
+        coding = activityTypeRepo.save(coding);
+    }
+
+    @Test
+    void explore_pagesThroughPublicSessionsOnly_acrossTheWindowBoundary() throws Exception {
+        Instant base = Instant.parse("2026-03-01T10:00:00Z");
+        for (int i = 0; i < 12; i++) {
+            // Pairs share a start time, so the id tie-break decides their order.
+            sessionRepo.save(completed(i % 2 == 0 ? alice : bob, Visibility.PUBLIC, base.plusSeconds(60L * (i / 2))));
+        }
+        sessionRepo.save(completed(alice, Visibility.PRIVATE, base.plusSeconds(3600)));
+        sessionRepo.save(completed(bob, Visibility.FRIENDS, base.plusSeconds(3600)));
+
+        List<String> expected = jdbc.queryForList(
+                "select cast(id as text) from session where visibility = 'PUBLIC' order by started_at desc, id desc",
+                String.class);
+
+        List<String> seen = new ArrayList<>();
+        String cursor = null;
+        int pages = 0;
+        do {
+            MockHttpServletRequestBuilder request = get("/api/sessions").queryParam("size", "4");
+            if (cursor != null) {
+                request.queryParam("cursor", cursor);
+            }
+            String body = mvc.perform(request.accept(MediaType.APPLICATION_JSON))
+                    .andExpect(status().isOk())
+                    .andReturn().getResponse().getContentAsString();
+            JsonNode page = json.readTree(body);
+            page.get("items").forEach(item -> {
+                assertThat(item.get("visibility").asText()).isEqualTo("PUBLIC");
+                seen.add(item.get("id").asText());
+            });
+            cursor = page.get("nextCursor").isNull() ? null : page.get("nextCursor").asText();
+            pages++;
+        } while (cursor != null && pages < 10);
+
+        assertThat(pages).isEqualTo(3);
+        assertThat(seen).containsExactlyElementsOf(expected);
+    }
+
+    @Test
+    void explore_reflectsCreateAndStopImmediately() throws Exception {
+        sessionRepo.save(completed(bob, Visibility.PUBLIC, Instant.parse("2026-03-01T10:00:00Z")));
+        mvc.perform(get("/api/sessions"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items.length()").value(1));
+
+        String created = mvc.perform(post("/api/sessions")
+                        .header("X-User-Id", alice.getId().toString())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                {"activityTypeId":"%s","title":"Live now","visibility":"PUBLIC"}
+                                """.formatted(coding.getId())))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString();
+        String sessionId = json.readTree(created).get("id").asText();
+
+        mvc.perform(get("/api/sessions"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items.length()").value(2))
+                .andExpect(jsonPath("$.items[0].id").value(sessionId))
+                .andExpect(jsonPath("$.items[0].endedAt").doesNotExist());
+
+        mvc.perform(patch("/api/sessions/{id}/stop", sessionId)
+                        .header("X-User-Id", alice.getId().toString()))
+                .andExpect(status().isOk());
+
+        mvc.perform(get("/api/sessions"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items[0].id").value(sessionId))
+                .andExpect(jsonPath("$.items[0].endedAt").exists());
+    }
+
+    @Test
+    void explore_rejectsBadCursorAndSize() throws Exception {
+        mvc.perform(get("/api/sessions").queryParam("cursor", "not-a-cursor"))
+                .andExpect(status().isBadRequest());
+        mvc.perform(get("/api/sessions").queryParam("size", "0"))
+                .andExpect(status().isBadRequest());
+        mvc.perform(get("/api/sessions").queryParam("size", "51"))
+                .andExpect(status().isBadRequest());
+    }
+
+    private Session completed(User user, Visibility visibility, Instant startedAt) {
+        Session s = new Session();
+        s.setUser(user);
+        s.setActivityType(coding);
+        s.setVisibility(visibility);
+        s.setStartedAt(startedAt);
+        s.setEndedAt(startedAt.plusSeconds(600));
+        s.setTitle("t");
+        return s;
+    }
+
+    private User persistUser() {
+        User u = new User();
+        String suffix = UUID.randomUUID().toString().replace("-", "").substring(0, 10);
+        u.setUsername("user_" + suffix);
+        u.setEmail("user_" + suffix + "@test.com");
+        u.setPassword("password_" + suffix);
+        return userRepo.save(u);
+    }
+}
@@ -33,6 +33,8 @@ import java.math.BigDecimal;
 import java.time.Instant;
 import java.util.UUID;
 
+import static org.progresspalbackend.progresspalbackend.integration.SqlStatementMatchers.maxQueries;
+import static org.progresspalbackend.progresspalbackend.integration.SqlStatementMatchers.noRepeatedQueries;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
@@ -114,8 +116,11 @@ public class FeedApiTest {
         sessionRepo.save(session(friendA, t2, Visibility.PRIVATE, Instant.parse("2026-01-03T10:00:00Z")));
 
         // friend public (newest)
-        Session pub2 = sessionRepo.save(session(friendB, t2, Visibility.PUBLIC, Instant.parse("2026-01-04T10:00:00Z")));
+        Session pub2 = session(friendB, t2, Visibility.PUBLIC, Instant.parse("2026-01-04T10:00:00Z"));
+        pub2.setEndedAt(null);
+        pub2 = sessionRepo.save(pub2);
         Session paused = session(friendA, t1, Visibility.PUBLIC, Instant.parse("2026-01-06T10:00:00Z"));
+        paused.setEndedAt(null);
         paused.setPausedAt(Instant.parse("2026-01-06T11:00:00Z"));
         paused.setPausedDurationSeconds(300L);
         paused = sessionRepo.save(paused);
@@ -208,6 +213,26 @@ public class FeedApiTest {
                 .andExpect(jsonPath("$.content[1].commentCount").value(1));
     }
 
+    @Test
+    void feed_queryCountDoesNotGrowWithAuthorsOrActivityTypes() throws Exception {
+        User viewer = persistUser();
+        for (int i = 0; i < 6; i++) {
+            User friend = persistUser();
+            friendRepo.save(friendship(viewer, friend));
+            ActivityType type = persistActivityType("Type" + i);
+            Session s = sessionRepo.save(session(friend, type, Visibility.PUBLIC, Instant.parse("2026-01-01T10:00:00Z").plusSeconds(i)));
+            persistLike(s, viewer);
+            persistComment(s, friend, "comment " + i);
+        }
+
+        mockMvc.perform(get("/api/feed")
+                        .header("X-User-Id", viewer.getId().toString()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content.length()").value(6))
+                .andExpect(maxQueries(7))
+                .andExpect(noRepeatedQueries());
+    }
+
     private User persistUser(){
         User u = new User();
         String suffix = UUID.randomUUID().toString().replace("-", "").substring(0, 10);
@@ -229,7 +254,7 @@ public class FeedApiTest {
         s.setActivityType(type);
         s.setVisibility(visibility);
         s.setStartedAt(startedAt);
-        s.setEndedAt(null);
+        s.setEndedAt(startedAt.plusSeconds(3600));
         s.setTitle("t");
         return s;
     }
@@ -141,7 +141,7 @@ class FeedPaginationApiTest {
         s.setActivityType(type);
         s.setVisibility(visibility);
         s.setStartedAt(startedAt);
-        s.setEndedAt(null);
+        s.setEndedAt(startedAt.plusSeconds(3600));
         s.setTitle("t");
         return s;
     }
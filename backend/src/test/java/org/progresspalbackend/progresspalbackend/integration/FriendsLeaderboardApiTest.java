@@ -0,0 +1,268 @@
+package org.progresspalbackend.progresspalbackend.integration;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.progresspalbackend.progresspalbackend.domain.ActivityType;
+import org.progresspalbackend.progresspalbackend.domain.Friendship;
+import org.progresspalbackend.progresspalbackend.domain.MetricKind;
+import org.progresspalbackend.progresspalbackend.domain.Session;
+import org.progresspalbackend.progresspalbackend.domain.User;
+import org.progresspalbackend.progresspalbackend.domain.Visibility;
+import org.progresspalbackend.progresspalbackend.repository.ActivityTypeRepository;
+import org.progresspalbackend.progresspalbackend.repository.FriendRepository;
+import org.progresspalbackend.progresspalbackend.repository.SessionRepository;
+import org.progresspalbackend.progresspalbackend.repository.UserRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.UUID;
+
+import static org.hamcrest.Matchers.greaterThanOrEqualTo;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@Testcontainers
+class FriendsLeaderboardApiTest {
+
+    @Container
+    static PostgreSQLContainer<?> db = new PostgreSQLContainer<>("postgres:13-alpine")
+            .withDatabaseName("progresspal")
+            .withUsername("progress")
+            .withPassword("progress");
+
+    @DynamicPropertySource
+    static void props(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", db::getJdbcUrl);
+        registry.add("spring.datasource.username", db::getUsername);
+        registry.add("spring.datasource.password", db::getPassword);
+        registry.add("spring.flyway.enabled", () -> "true");
+        registry.add("spring.jpa.hibernate.ddl-auto", () -> "validate");
+    }
+
+    @Autowired MockMvc mvc;
+    @Autowired SessionRepository sessionRepo;
+    @Autowired ActivityTypeRepository activityTypeRepo;
+    @Autowired UserRepository userRepo;
+    @Autowired FriendRepository friendRepo;
+
+    User me;
+    User friendA;
+    User friendB;
+    User stranger;
+
+    @BeforeEach
+    void setup() {
+        sessionRepo.deleteAll();
+        friendRepo.deleteAll();
+        activityTypeRepo.deleteAll();
+        userRepo.deleteAll();
+
+        me = persistUser();
+        friendA = persistUser();
+        friendB = persistUser();
+        stranger = persistUser();
+        friendRepo.save(friendship(me, friendA));
+        friendRepo.save(friendship(friendB, me));
+    }
+
+    @Test
+    void leaderboard_ranksMeAndFriends_byDurationOrMetric() throws Exception {
+        ActivityType pushups = persistActivityType("Pushups", MetricKind.INTEGER, "reps");
+
+        stop(me, liveSession(me, pushups, Visibility.PUBLIC, 600), "{\"metricValue\":50}");
+        stop(friendA, liveSession(friendA, pushups, Visibility.FRIENDS, 1800), "{\"metricValue\":20}");
+        stop(friendA, liveSession(friendA, pushups, Visibility.PRIVATE, 9000), "{\"metricValue\":500}");
+        stop(friendB, liveSession(friendB, pushups, Visibility.PUBLIC, 1200), "{\"metricValue\":10}");
+        stop(friendB, liveSession(friendB, pushups, Visibility.PUBLIC, 60), "{\"metricValue\":45}");
+        stop(stranger, liveSession(stranger, pushups, Visibility.PUBLIC, 7200), "{\"metricValue\":900}");
+
+        mvc.perform(get("/api/friends/leaderboard")
+                        .header("X-User-Id", me.getId().toString())
+                        .queryParam("activityTypeId", pushups.getId().toString())
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.period").value("WEEK"))
+                .andExpect(jsonPath("$.rankBy").value("DURATION"))
+                .andExpect(jsonPath("$.metricLabel").doesNotExist())
+                .andExpect(jsonPath("$.entries.length()").value(3))
+                .andExpect(jsonPath("$.entries[0].rank").value(1))
+                .andExpect(jsonPath("$.entries[0].userId").value(friendA.getId().toString()))
+                .andExpect(jsonPath("$.entries[0].score").value(greaterThanOrEqualTo(1800.0)))
+                .andExpect(jsonPath("$.entries[1].userId").value(friendB.getId().toString()))
+                .andExpect(jsonPath("$.entries[2].userId").value(me.getId().toString()))
+                .andExpect(jsonPath("$.entries[2].username").value(me.getUsername()));
+
+        mvc.perform(get("/api/friends/leaderboard")
+                        .header("X-User-Id", me.getId().toString())
+                        .queryParam("activityTypeId", pushups.getId().toString())
+                        .queryParam("period", "month")
+                        .queryParam("rankBy", "METRIC")
+                        .queryParam("limit", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.period").value("MONTH"))
+                .andExpect(jsonPath("$.metricLabel").value("reps"))
+                .andExpect(jsonPath("$.entries.length()").value(2))
+                .andExpect(jsonPath("$.entries[0].userId").value(friendB.getId().toString()))
+                .andExpect(jsonPath("$.entries[0].score").value(55.0))
+                .andExpect(jsonPath("$.entries[1].userId").value(me.getId().toString()))
+                .andExpect(jsonPath("$.entries[1].score").value(50.0));
+    }
+
+    @Test
+    void importedSessionsInTheCurrentPeriod_count() throws Exception {
+        ActivityType reading = persistActivityType("Reading", MetricKind.NONE, null);
+        Instant startedAt = Instant.now().minusSeconds(400);
+        String csv = "activityTypeId,startedAt,endedAt,visibility\n"
+                + reading.getId() + "," + startedAt + "," + startedAt.plusSeconds(300) + ",FRIENDS\n"
+                + reading.getId() + ",2020-01-01T10:00:00Z,2020-01-01T11:00:00Z,PUBLIC\n";
+
+        mvc.perform(post("/api/me/sessions/import")
+                        .header("X-User-Id", friendA.getId().toString())
+                        .queryParam("format", "csv")
+                        .contentType("text/csv")
+                        .content(csv.getBytes(StandardCharsets.UTF_8)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.imported").value(2));
+
+        mvc.perform(get("/api/friends/leaderboard")
+                        .header("X-User-Id", me.getId().toString())
+                        .queryParam("activityTypeId", reading.getId().toString()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.entries.length()").value(1))
+                .andExpect(jsonPath("$.entries[0].userId").value(friendA.getId().toString()))
+                .andExpect(jsonPath("$.entries[0].score").value(300.0));
+    }
+
+    @Test
+    void sessionsCompletedBeforeTheBoardExisted_areSeededOnFirstRead() throws Exception {
+        ActivityType pushups = persistActivityType("Pushups", MetricKind.INTEGER, "reps");
+        // Saved directly, as if stopped before a restart: nothing was recorded in the store.
+        completedSession(friendA, pushups, Visibility.FRIENDS, 900, BigDecimal.valueOf(30));
+        completedSession(friendA, pushups, Visibility.PRIVATE, 5000, BigDecimal.valueOf(300));
+        completedSession(friendB, pushups, Visibility.PUBLIC, 300, BigDecimal.valueOf(70));
+
+        mvc.perform(get("/api/friends/leaderboard")
+                        .header("X-User-Id", me.getId().toString())
+                        .queryParam("activityTypeId", pushups.getId().toString()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.entries.length()").value(2))
+                .andExpect(jsonPath("$.entries[0].userId").value(friendA.getId().toString()))
+                .andExpect(jsonPath("$.entries[0].score").value(900.0))
+                .andExpect(jsonPath("$.entries[1].userId").value(friendB.getId().toString()))
+                .andExpect(jsonPath("$.entries[1].score").value(300.0));
+
+        // Later stops add to the seeded board rather than replacing it.
+        stop(friendB, liveSession(friendB, pushups, Visibility.PUBLIC, 60), "{\"metricValue\":5}");
+
+        mvc.perform(get("/api/friends/leaderboard")
+                        .header("X-User-Id", me.getId().toString())
+                        .queryParam("activityTypeId", pushups.getId().toString())
+                        .queryParam("rankBy", "METRIC"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.entries.length()").value(2))
+                .andExpect(jsonPath("$.entries[0].userId").value(friendB.getId().toString()))
+                .andExpect(jsonPath("$.entries[0].score").value(75.0))
+                .andExpect(jsonPath("$.entries[1].userId").value(friendA.getId().toString()))
+                .andExpect(jsonPath("$.entries[1].score").value(30.0));
+    }
+
+    @Test
+    void leaderboard_rejectsBadParameters() throws Exception {
+        ActivityType reading = persistActivityType("Reading", MetricKind.NONE, null);
+
+        mvc.perform(get("/api/friends/leaderboard")
+                        .header("X-User-Id", me.getId().toString())
+                        .queryParam("activityTypeId", reading.getId().toString())
+                        .queryParam("rankBy", "METRIC"))
+                .andExpect(status().isBadRequest());
+        mvc.perform(get("/api/friends/leaderboard")
+                        .header("X-User-Id", me.getId().toString())
+                        .queryParam("activityTypeId", reading.getId().toString())
+                        .queryParam("period", "DECADE"))
+                .andExpect(status().isBadRequest());
+        mvc.perform(get("/api/friends/leaderboard")
+                        .header("X-User-Id", me.getId().toString())
+                        .queryParam("activityTypeId", reading.getId().toString())
+                        .queryParam("limit", "500"))
+                .andExpect(status().isBadRequest());
+        mvc.perform(get("/api/friends/leaderboard")
+                        .header("X-User-Id", me.getId().toString())
+                        .queryParam("activityTypeId", UUID.randomUUID().toString()))
+                .andExpect(status().isNotFound());
+        mvc.perform(get("/api/friends/leaderboard")
+                        .queryParam("activityTypeId", reading.getId().toString()))
+                .andExpect(status().isUnauthorized());
+    }
+
+    private void stop(User user, Session session, String body) throws Exception {
+        mvc.perform(patch("/api/sessions/{id}/stop", session.getId())
+                        .header("X-User-Id", user.getId().toString())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(body))
+                .andExpect(status().isOk());
+    }
+
+    private Session liveSession(User user, ActivityType type, Visibility visibility, long elapsedSeconds) {
+        Session s = new Session();
+        s.setUser(user);
+        s.setActivityType(type);
+        s.setVisibility(visibility);
+        s.setStartedAt(Instant.now().minusSeconds(elapsedSeconds));
+        s.setTitle("t");
+        return sessionRepo.save(s);
+    }
+
+    private void completedSession(User user, ActivityType type, Visibility visibility, long seconds, BigDecimal metricValue) {
+        Instant endedAt = Instant.now().minusSeconds(5);
+        Session s = new Session();
+        s.setUser(user);
+        s.setActivityType(type);
+        s.setVisibility(visibility);
+        s.setStartedAt(endedAt.minusSeconds(seconds));
+        s.setEndedAt(endedAt);
+        s.setMetricValue(metricValue);
+        s.setTitle("t");
+        sessionRepo.save(s);
+    }
+
+    private User persistUser() {
+        User u = new User();
+        String suffix = UUID.randomUUID().toString().replace("-", "").substring(0, 10);
+        u.setUsername("user_" + suffix);
+        u.setEmail("user_" + suffix + "@test.com");
+        u.setPassword("password_" + suffix);
+        return userRepo.save(u);
+    }
+
+    private ActivityType persistActivityType(String base, MetricKind metricKind, String metricLabel) {
+        ActivityType t = new ActivityType();
+        t.setName(base + "_" + UUID.randomUUID());
+        t.setMetricKind(metricKind);
+        t.setMetricLabel(metricLabel);
+        return activityTypeRepo.save(t);
+    }
+
+    private Friendship friendship(User user, User friend) {
+        Friendship friendship = new Friendship();
+        friendship.setUser(user);
+        friendship.setFriend(friend);
+        friendship.setCreatedAt(Instant.parse("2026-01-01T00:00:00Z"));
+        return friendship;
+    }
+}
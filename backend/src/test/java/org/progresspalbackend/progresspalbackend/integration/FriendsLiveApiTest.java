@@ -0,0 +1,256 @@
+package org.progresspalbackend.progresspalbackend.integration;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.progresspalbackend.progresspalbackend.domain.ActivityType;
+import org.progresspalbackend.progresspalbackend.domain.Friendship;
+import org.progresspalbackend.progresspalbackend.domain.MetricKind;
+import org.progresspalbackend.progresspalbackend.domain.Session;
+import org.progresspalbackend.progresspalbackend.domain.User;
+import org.progresspalbackend.progresspalbackend.domain.Visibility;
+import org.progresspalbackend.progresspalbackend.repository.ActivityTypeRepository;
+import org.progresspalbackend.progresspalbackend.repository.FriendRepository;
+import org.progresspalbackend.progresspalbackend.repository.FriendRequestRepository;
+import org.progresspalbackend.progresspalbackend.repository.NotificationRepository;
+import org.progresspalbackend.progresspalbackend.repository.SessionRepository;
+import org.progresspalbackend.progresspalbackend.repository.UserRepository;
+import org.progresspalbackend.progresspalbackend.service.PresenceRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.time.Instant;
+import java.util.UUID;
+
+import static org.progresspalbackend.progresspalbackend.integration.SqlStatementMatchers.maxQueries;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@Testcontainers
+class FriendsLiveApiTest {
+
+    @Container
+    static PostgreSQLContainer<?> db = new PostgreSQLContainer<>("postgres:13-alpine")
+            .withDatabaseName("progresspal")
+            .withUsername("progress")
+            .withPassword("progress");
+
+    @DynamicPropertySource
+    static void props(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", db::getJdbcUrl);
+        registry.add("spring.datasource.username", db::getUsername);
+        registry.add("spring.datasource.password", db::getPassword);
+        registry.add("spring.flyway.enabled", () -> "true");
+        registry.add("spring.jpa.hibernate.ddl-auto", () -> "validate");
+    }
+
+    @Autowired MockMvc mvc;
+    @Autowired ObjectMapper json;
+    @Autowired SessionRepository sessionRepo;
+    @Autowired ActivityTypeRepository activityTypeRepo;
+    @Autowired UserRepository userRepo;
+    @Autowired FriendRepository friendRepo;
+    @Autowired FriendRequestRepository friendRequestRepo;
+    @Autowired NotificationRepository notificationRepo;
+    @Autowired PresenceRegistry presenceRegistry;
+
+    User me;
+    User friendA;
+    User friendB;
+    User stranger;
+    ActivityType running;
+
+    @BeforeEach
+    void setup() {
+        notificationRepo.deleteAll();
+        sessionRepo.deleteAll();
+        friendRequestRepo.deleteAll();
+        friendRepo.deleteAll();
+        activityTypeRepo.deleteAll();
+        userRepo.deleteAll();
+
+        me = persistUser();
+        friendA = persistUser();
+        friendB = persistUser();
+        stranger = persistUser();
+        friendRepo.save(friendship(me, friendA));
+        friendRepo.save(friendship(friendB, me));
+        running = persistActivityType("Running");
+    }
+
+    @Test
+    void live_listsFriendsWithVisibleLiveSessions_withoutQueryingOnceWarm() throws Exception {
+        UUID friendASession = start(friendA, "FRIENDS");
+        start(friendB, "PRIVATE");
+        start(stranger, "PUBLIC");
+
+        mvc.perform(get("/api/friends/live")
+                        .header("X-User-Id", me.getId().toString())
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(1))
+                .andExpect(jsonPath("$[0].userId").value(friendA.getId().toString()))
+                .andExpect(jsonPath("$[0].username").value(friendA.getUsername()))
+                .andExpect(jsonPath("$[0].sessionId").value(friendASession.toString()))
+                .andExpect(jsonPath("$[0].activityTypeName").value(running.getName()))
+                .andExpect(jsonPath("$[0].title").value("Morning run"))
+                .andExpect(jsonPath("$[0].paused").value(false));
+
+        mvc.perform(get("/api/friends/live")
+                        .header("X-User-Id", me.getId().toString()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(1))
+                .andExpect(maxQueries(0));
+
+        mvc.perform(get("/api/friends/live"))
+                .andExpect(status().isUnauthorized());
+    }
+
+    @Test
+    void live_followsPauseResumeAndStop() throws Exception {
+        UUID session = start(friendA, "PUBLIC");
+
+        transition(friendA, session, "pause");
+        mvc.perform(get("/api/friends/live")
+                        .header("X-User-Id", me.getId().toString()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].paused").value(true));
+
+        transition(friendA, session, "resume");
+        mvc.perform(get("/api/friends/live")
+                        .header("X-User-Id", me.getId().toString()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].paused").value(false));
+
+        mvc.perform(patch("/api/sessions/{id}/stop", session)
+                        .header("X-User-Id", friendA.getId().toString())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{}"))
+                .andExpect(status().isOk());
+        mvc.perform(get("/api/friends/live")
+                        .header("X-User-Id", me.getId().toString()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(0));
+    }
+
+    @Test
+    void live_followsFriendshipsAcceptedAndRemoved() throws Exception {
+        start(stranger, "PUBLIC");
+
+        mvc.perform(get("/api/friends/live")
+                        .header("X-User-Id", me.getId().toString()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(0));
+
+        mvc.perform(post("/api/friends/send")
+                        .header("X-User-Id", me.getId().toString())
+                        .queryParam("receiverId", stranger.getId().toString()))
+                .andExpect(status().isCreated());
+        mvc.perform(patch("/api/friends/accept")
+                        .header("X-User-Id", stranger.getId().toString())
+                        .queryParam("requesterId", me.getId().toString()))
+                .andExpect(status().isOk());
+
+        mvc.perform(get("/api/friends/live")
+                        .header("X-User-Id", me.getId().toString()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(1))
+                .andExpect(jsonPath("$[0].userId").value(stranger.getId().toString()));
+
+        mvc.perform(delete("/api/friends/{friendId}", stranger.getId())
+                        .header("X-User-Id", me.getId().toString()))
+                .andExpect(status().isNoContent());
+
+        mvc.perform(get("/api/friends/live")
+                        .header("X-User-Id", me.getId().toString()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(0));
+    }
+
+    @Test
+    void live_reconcilesSessionsChangedOnAnotherInstance() throws Exception {
+        // Written straight to the database, as another node would.
+        Session session = new Session();
+        session.setUser(friendA);
+        session.setActivityType(running);
+        session.setVisibility(Visibility.PUBLIC);
+        session.setTitle("Elsewhere");
+        session.setStartedAt(Instant.now().minusSeconds(30));
+        session = sessionRepo.save(session);
+
+        presenceRegistry.reconcile();
+        mvc.perform(get("/api/friends/live")
+                        .header("X-User-Id", me.getId().toString()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(1))
+                .andExpect(jsonPath("$[0].sessionId").value(session.getId().toString()));
+
+        session.setEndedAt(Instant.now());
+        sessionRepo.save(session);
+
+        presenceRegistry.reconcile();
+        mvc.perform(get("/api/friends/live")
+                        .header("X-User-Id", me.getId().toString()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(0));
+    }
+
+    private UUID start(User user, String visibility) throws Exception {
+        String body = """
+                {"activityTypeId":"%s","title":"Morning run","visibility":"%s","notifyFriends":false}
+                """.formatted(running.getId(), visibility);
+        String response = mvc.perform(post("/api/sessions")
+                        .header("X-User-Id", user.getId().toString())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(body))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString();
+        JsonNode created = json.readTree(response);
+        return UUID.fromString(created.get("id").asText());
+    }
+
+    private void transition(User user, UUID session, String action) throws Exception {
+        mvc.perform(patch("/api/sessions/{id}/" + action, session)
+                        .header("X-User-Id", user.getId().toString()))
+                .andExpect(status().isOk());
+    }
+
+    private User persistUser() {
+        User u = new User();
+        String suffix = UUID.randomUUID().toString().replace("-", "").substring(0, 10);
+        u.setUsername("user_" + suffix);
+        u.setEmail("user_" + suffix + "@test.com");
+        u.setPassword("password_" + suffix);
+        return userRepo.save(u);
+    }
+
+    private ActivityType persistActivityType(String base) {
+        ActivityType t = new ActivityType();
+        t.setName(base + "_" + UUID.randomUUID());
+        t.setMetricKind(MetricKind.NONE);
+        return activityTypeRepo.save(t);
+    }
+
+    private Friendship friendship(User user, User friend) {
+        Friendship friendship = new Friendship();
+        friendship.setUser(user);
+        friendship.setFriend(friend);
+        friendship.setCreatedAt(Instant.parse("2026-01-01T00:00:00Z"));
+        return friendship;
+    }
+}
@@ -35,6 +35,12 @@ import org.testcontainers.junit.jupiter.Testcontainers;
 import java.io.IOException;
 import java.time.Instant;
 import java.util.Date;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.IntStream;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
@@ -136,6 +142,43 @@ class KeycloakAccountBootstrapApiTest {
         assertThat(created.getPassword()).isNull();
     }
 
+    @Test
+    void meAccount_keycloakToken_concurrentFirstRequests_createSingleLocalUser() throws Exception {
+        String token = keycloakToken(
+                "kc-subject-burst",
+                "burst@test.com",
+                true,
+                "burst_user",
+                null
+        );
+
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Callable<String>> calls = IntStream.range(0, 8)
+                    .<Callable<String>>mapToObj(ignored -> () -> mvc.perform(get("/api/me/account")
+                                    .header("Authorization", "Bearer " + token))
+                            .andExpect(status().isOk())
+                            .andReturn()
+                            .getResponse()
+                            .getContentAsString())
+                    .toList();
+
+            for (Future<String> response : executor.invokeAll(calls)) {
+                assertThat(json.readTree(response.get()).get("email").asText()).isEqualTo("burst@test.com");
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertThat(userRepository.count()).isEqualTo(1);
+        User created = userRepository.findByAuthIssuerAndAuthSubject(issuerUri(), "kc-subject-burst").orElseThrow();
+
+        mvc.perform(get("/api/me/account")
+                        .header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.id").value(created.getId().toString()));
+    }
+
     @Test
     void meAccount_keycloakToken_usernameCollision_appendsSuffix() throws Exception {
         User existing = new User();
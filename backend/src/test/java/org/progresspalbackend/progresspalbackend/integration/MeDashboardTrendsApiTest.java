@@ -23,6 +23,7 @@ import org.testcontainers.junit.jupiter.Testcontainers;
 
 import java.math.BigDecimal;
 import java.time.Instant;
+import java.util.List;
 import java.util.UUID;
 
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
@@ -133,6 +134,135 @@ class MeDashboardTrendsApiTest {
                 .andExpect(jsonPath("$.metricSeries").isEmpty());
     }
 
+    @Test
+    void trends_bucketsInTheRequestedTimeZone() throws Exception {
+        User me = persistUser();
+        ActivityType reading = persistActivityType("Reading", MetricKind.NONE, null);
+
+        // 23:30 UTC on Jan 3 is 08:30 on Jan 4 in Tokyo.
+        sessionRepo.save(session(me, reading, Instant.parse("2026-01-03T23:30:00Z"), 600, null));
+        sessionRepo.save(session(me, reading, Instant.parse("2026-01-03T12:00:00Z"), 300, null));
+
+        mvc.perform(get("/api/me/dashboard/trends")
+                        .header("X-User-Id", me.getId().toString())
+                        .queryParam("bucket", "DAY")
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.timeZone").value("UTC"))
+                .andExpect(jsonPath("$.durationSeries.length()").value(1))
+                .andExpect(jsonPath("$.durationSeries[0].bucketStart").value("2026-01-03"))
+                .andExpect(jsonPath("$.durationSeries[0].totalDurationSeconds").value(900));
+
+        mvc.perform(get("/api/me/dashboard/trends")
+                        .header("X-User-Id", me.getId().toString())
+                        .queryParam("bucket", "DAY")
+                        .queryParam("timeZone", "Asia/Tokyo")
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.timeZone").value("Asia/Tokyo"))
+                .andExpect(jsonPath("$.durationSeries.length()").value(2))
+                .andExpect(jsonPath("$.durationSeries[0].bucketStart").value("2026-01-03"))
+                .andExpect(jsonPath("$.durationSeries[0].totalDurationSeconds").value(300))
+                .andExpect(jsonPath("$.durationSeries[1].bucketStart").value("2026-01-04"))
+                .andExpect(jsonPath("$.durationSeries[1].totalDurationSeconds").value(600));
+
+        // The date range is read in the same zone: Jan 4 in Tokyo starts at 15:00 UTC on Jan 3.
+        mvc.perform(get("/api/me/dashboard/trends")
+                        .header("X-User-Id", me.getId().toString())
+                        .queryParam("bucket", "DAY")
+                        .queryParam("timeZone", "Asia/Tokyo")
+                        .queryParam("from", "2026-01-04")
+                        .queryParam("to", "2026-01-04")
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.durationSeries.length()").value(1))
+                .andExpect(jsonPath("$.durationSeries[0].bucketStart").value("2026-01-04"));
+    }
+
+    @Test
+    void trends_monthAndYearBuckets_usePauseAdjustedDurations() throws Exception {
+        User me = persistUser();
+        ActivityType running = persistActivityType("Running", MetricKind.DECIMAL, "km");
+
+        Session paused = session(me, running, Instant.parse("2025-11-10T09:00:00Z"), 1800, new BigDecimal("5"));
+        paused.setPausedDurationSeconds(600L);
+        sessionRepo.save(paused);
+        sessionRepo.save(session(me, running, Instant.parse("2025-11-20T09:00:00Z"), 1200, new BigDecimal("3.5")));
+        sessionRepo.save(session(me, running, Instant.parse("2026-02-01T09:00:00Z"), 900, null));
+
+        // Still live but paused 600s after starting, with 100s of earlier pauses: 500s whatever "now" is.
+        Session live = session(me, running, Instant.parse("2026-02-02T09:00:00Z"), 0, null);
+        live.setEndedAt(null);
+        live.setPausedAt(Instant.parse("2026-02-02T09:10:00Z"));
+        live.setPausedDurationSeconds(100L);
+        sessionRepo.save(live);
+
+        mvc.perform(get("/api/me/dashboard/trends")
+                        .header("X-User-Id", me.getId().toString())
+                        .queryParam("bucket", "MONTH")
+                        .queryParam("activityTypeId", running.getId().toString())
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.bucket").value("MONTH"))
+                .andExpect(jsonPath("$.durationSeries.length()").value(2))
+                .andExpect(jsonPath("$.durationSeries[0].bucketStart").value("2025-11-01"))
+                .andExpect(jsonPath("$.durationSeries[0].totalDurationSeconds").value(2400))
+                .andExpect(jsonPath("$.durationSeries[1].bucketStart").value("2026-02-01"))
+                .andExpect(jsonPath("$.durationSeries[1].totalDurationSeconds").value(1400))
+                .andExpect(jsonPath("$.metricSeries.length()").value(1))
+                .andExpect(jsonPath("$.metricSeries[0].bucketStart").value("2025-11-01"))
+                .andExpect(jsonPath("$.metricSeries[0].totalMetricValue").value(8.5));
+
+        mvc.perform(get("/api/me/dashboard/trends")
+                        .header("X-User-Id", me.getId().toString())
+                        .queryParam("bucket", "year")
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.bucket").value("YEAR"))
+                .andExpect(jsonPath("$.durationSeries.length()").value(2))
+                .andExpect(jsonPath("$.durationSeries[0].bucketStart").value("2025-01-01"))
+                .andExpect(jsonPath("$.durationSeries[1].bucketStart").value("2026-01-01"))
+                .andExpect(jsonPath("$.metricSeries").isEmpty());
+    }
+
+    @Test
+    void trends_rejectsUnknownBucketsAndTimeZones() throws Exception {
+        User me = persistUser();
+
+        mvc.perform(get("/api/me/dashboard/trends")
+                        .header("X-User-Id", me.getId().toString())
+                        .queryParam("bucket", "QUARTER"))
+                .andExpect(status().isBadRequest());
+
+        mvc.perform(get("/api/me/dashboard/trends")
+                        .header("X-User-Id", me.getId().toString())
+                        .queryParam("bucket", "DAY")
+                        .queryParam("timeZone", "Mars/Olympus"))
+                .andExpect(status().isBadRequest());
+
+        mvc.perform(get("/api/me/dashboard/trends")
+                        .header("X-User-Id", me.getId().toString())
+                        .queryParam("bucket", "DAY")
+                        .queryParam("timeZone", "+02:00"))
+                .andExpect(status().isBadRequest());
+
+        // Prefixed offsets are regions to Java but POSIX-inverted to Postgres.
+        for (String prefixedOffset : List.of("UTC+05:00", "GMT+5", "UT-3")) {
+            mvc.perform(get("/api/me/dashboard/trends")
+                            .header("X-User-Id", me.getId().toString())
+                            .queryParam("bucket", "DAY")
+                            .queryParam("timeZone", prefixedOffset))
+                    .andExpect(status().isBadRequest());
+        }
+
+        mvc.perform(get("/api/me/dashboard/trends")
+                        .header("X-User-Id", me.getId().toString())
+                        .queryParam("bucket", "DAY")
+                        .queryParam("timeZone", "GMT"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.timeZone").value("UTC"));
+    }
+
     private User persistUser() {
         User u = new User();
         String suffix = UUID.randomUUID().toString().replace("-", "").substring(0, 10);
@@ -0,0 +1,209 @@
+package org.progresspalbackend.progresspalbackend.integration;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.progresspalbackend.progresspalbackend.domain.ActivityType;
+import org.progresspalbackend.progresspalbackend.domain.Session;
+import org.progresspalbackend.progresspalbackend.domain.User;
+import org.progresspalbackend.progresspalbackend.domain.Visibility;
+import org.progresspalbackend.progresspalbackend.repository.ActivityTypeRepository;
+import org.progresspalbackend.progresspalbackend.repository.SessionRepository;
+import org.progresspalbackend.progresspalbackend.repository.UserRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@Testcontainers
+class MeSessionsExportApiTest {
+
+    @Container
+    static PostgreSQLContainer<?> db = new PostgreSQLContainer<>("postgres:13-alpine")
+            .withDatabaseName("progresspal")
+            .withUsername("progress")
+            .withPassword("progress");
+
+    @DynamicPropertySource
+    static void props(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", db::getJdbcUrl);
+        registry.add("spring.datasource.username", db::getUsername);
+        registry.add("spring.datasource.password", db::getPassword);
+        registry.add("spring.flyway.enabled", () -> "true");
+        registry.add("spring.jpa.hibernate.ddl-auto", () -> "validate");
+    }
+
+    @Autowired MockMvc mvc;
+    @Autowired ObjectMapper objectMapper;
+    @Autowired SessionRepository sessionRepo;
+    @Autowired ActivityTypeRepository activityTypeRepo;
+    @Autowired UserRepository userRepo;
+
+    @BeforeEach
+    void cleanDb() {
+        sessionRepo.deleteAll();
+        activityTypeRepo.deleteAll();
+        userRepo.deleteAll();
+    }
+
+    @Test
+    void export_csv_streamsOnlyMySessions_newestFirst_withQuotedFields() throws Exception {
+        User me = persistUser();
+        User other = persistUser();
+        ActivityType type = persistActivityType("Study");
+
+        Session older = session(me, type, Visibility.PUBLIC, Instant.parse("2026-01-01T10:00:00Z"), true);
+        older.setTitle("Chapter 1, \"intro\"");
+        sessionRepo.save(older);
+        Session newer = sessionRepo.save(session(me, type, Visibility.PRIVATE, Instant.parse("2026-01-03T10:00:00Z"), true));
+        sessionRepo.save(session(other, type, Visibility.PUBLIC, Instant.parse("2026-01-04T10:00:00Z"), true));
+
+        MvcResult started = mvc.perform(get("/api/me/sessions/export")
+                        .header("X-User-Id", me.getId().toString())
+                        .queryParam("format", "csv"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        String body = mvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CONTENT_TYPE, "text/csv;charset=UTF-8"))
+                .andExpect(header().string(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"sessions.csv\""))
+                .andReturn().getResponse().getContentAsString(StandardCharsets.UTF_8);
+
+        String[] lines = body.split("\r\n");
+        assertThat(lines).hasSize(3);
+        assertThat(lines[0]).startsWith("id,activityTypeId,activityTypeName,title,");
+        assertThat(lines[1]).startsWith(newer.getId() + "," + type.getId() + "," + type.getName() + ",t,");
+        assertThat(lines[1]).contains(",600,0,").endsWith(",PRIVATE");
+        assertThat(lines[2]).startsWith(older.getId() + ",")
+                .contains(",\"Chapter 1, \"\"intro\"\"\",");
+    }
+
+    @Test
+    void export_ndjson_appliesTheSameFiltersAsMeSessions() throws Exception {
+        User me = persistUser();
+        ActivityType chess = persistActivityType("Chess");
+        ActivityType reading = persistActivityType("Reading");
+
+        Session match = sessionRepo.save(session(me, chess, Visibility.PRIVATE, Instant.parse("2026-01-03T09:00:00Z"), true));
+        sessionRepo.save(session(me, reading, Visibility.PRIVATE, Instant.parse("2026-01-03T09:00:00Z"), true)); // other type
+        sessionRepo.save(session(me, chess, Visibility.PUBLIC, Instant.parse("2026-01-03T09:00:00Z"), true)); // other visibility
+        sessionRepo.save(session(me, chess, Visibility.PRIVATE, Instant.parse("2026-01-03T09:00:00Z"), false)); // live
+        sessionRepo.save(session(me, chess, Visibility.PRIVATE, Instant.parse("2026-01-05T09:00:00Z"), true)); // out of range
+
+        MvcResult started = mvc.perform(get("/api/me/sessions/export")
+                        .header("X-User-Id", me.getId().toString())
+                        .queryParam("format", "ndjson")
+                        .queryParam("from", "2026-01-02")
+                        .queryParam("to", "2026-01-03")
+                        .queryParam("activityTypeId", chess.getId().toString())
+                        .queryParam("visibility", "PRIVATE")
+                        .queryParam("status", "ENDED"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        String body = mvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CONTENT_TYPE, "application/x-ndjson;charset=UTF-8"))
+                .andReturn().getResponse().getContentAsString(StandardCharsets.UTF_8);
+
+        String[] lines = body.split("\n");
+        assertThat(lines).hasSize(1);
+        JsonNode row = objectMapper.readTree(lines[0]);
+        assertThat(row.get("id").asText()).isEqualTo(match.getId().toString());
+        assertThat(row.get("activityTypeName").asText()).isEqualTo(chess.getName());
+        assertThat(row.get("startedAt").asText()).isEqualTo("2026-01-03T09:00:00Z");
+        assertThat(row.get("durationSeconds").asLong()).isEqualTo(600);
+        assertThat(row.get("visibility").asText()).isEqualTo("PRIVATE");
+    }
+
+    @Test
+    void export_withNoSessions_writesOnlyTheCsvHeader() throws Exception {
+        User me = persistUser();
+
+        MvcResult started = mvc.perform(get("/api/me/sessions/export")
+                        .header("X-User-Id", me.getId().toString()))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        String body = mvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString(StandardCharsets.UTF_8);
+
+        assertThat(body.split("\r\n")).hasSize(1);
+    }
+
+    @Test
+    void export_rejectsInvalidParameters_beforeStreaming() throws Exception {
+        User me = persistUser();
+
+        mvc.perform(get("/api/me/sessions/export")
+                        .header("X-User-Id", me.getId().toString())
+                        .queryParam("format", "xml"))
+                .andExpect(status().isBadRequest());
+
+        mvc.perform(get("/api/me/sessions/export")
+                        .header("X-User-Id", me.getId().toString())
+                        .queryParam("from", "2026-01-05")
+                        .queryParam("to", "2026-01-01"))
+                .andExpect(status().isBadRequest());
+
+        mvc.perform(get("/api/me/sessions/export")
+                        .header("X-User-Id", me.getId().toString())
+                        .queryParam("status", "paused"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void export_requiresAuthentication() throws Exception {
+        mvc.perform(get("/api/me/sessions/export"))
+                .andExpect(status().isUnauthorized());
+    }
+
+    private User persistUser() {
+        User u = new User();
+        String suffix = UUID.randomUUID().toString().replace("-", "").substring(0, 10);
+        u.setUsername("user_" + suffix);
+        u.setEmail("user_" + suffix + "@test.com");
+        u.setPassword("password_" + suffix);
+        return userRepo.save(u);
+    }
+
+    private ActivityType persistActivityType(String base) {
+        ActivityType t = new ActivityType();
+        t.setName(base + "_" + UUID.randomUUID());
+        return activityTypeRepo.save(t);
+    }
+
+    private Session session(User user, ActivityType type, Visibility visibility, Instant startedAt, boolean ended) {
+        Session s = new Session();
+        s.setUser(user);
+        s.setActivityType(type);
+        s.setVisibility(visibility);
+        s.setStartedAt(startedAt);
+        s.setEndedAt(ended ? startedAt.plusSeconds(600) : null);
+        s.setTitle("t");
+        return s;
+    }
+}
@@ -0,0 +1,256 @@
+package org.progresspalbackend.progresspalbackend.integration;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.progresspalbackend.progresspalbackend.domain.ActivityType;
+import org.progresspalbackend.progresspalbackend.domain.GoalType;
+import org.progresspalbackend.progresspalbackend.domain.MetricKind;
+import org.progresspalbackend.progresspalbackend.domain.Session;
+import org.progresspalbackend.progresspalbackend.domain.User;
+import org.progresspalbackend.progresspalbackend.domain.Visibility;
+import org.progresspalbackend.progresspalbackend.repository.ActivityTypeRepository;
+import org.progresspalbackend.progresspalbackend.repository.SessionRepository;
+import org.progresspalbackend.progresspalbackend.repository.UserRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Comparator;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@Testcontainers
+class MeSessionsImportApiTest {
+
+    @Container
+    static PostgreSQLContainer<?> db = new PostgreSQLContainer<>("postgres:13-alpine")
+            .withDatabaseName("progresspal")
+            .withUsername("progress")
+            .withPassword("progress");
+
+    @DynamicPropertySource
+    static void props(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", db::getJdbcUrl);
+        registry.add("spring.datasource.username", db::getUsername);
+        registry.add("spring.datasource.password", db::getPassword);
+        registry.add("spring.flyway.enabled", () -> "true");
+        registry.add("spring.jpa.hibernate.ddl-auto", () -> "validate");
+    }
+
+    @Autowired MockMvc mvc;
+    @Autowired SessionRepository sessionRepo;
+    @Autowired ActivityTypeRepository activityTypeRepo;
+    @Autowired UserRepository userRepo;
+
+    @BeforeEach
+    void cleanDb() {
+        sessionRepo.deleteAll();
+        activityTypeRepo.deleteAll();
+        userRepo.deleteAll();
+    }
+
+    @Test
+    void importCsv_insertsValidRows_andReportsInvalidOnesByLine() throws Exception {
+        User me = persistUser();
+        ActivityType reading = persistActivityType("Reading", MetricKind.INTEGER);
+        ActivityType gym = persistActivityType("Gym", MetricKind.NONE);
+
+        String csv = String.join("\r\n",
+                "activityTypeId,activityTypeName,title,startedAt,endedAt,pausedDurationSeconds,metricValue,goalType,goalTarget,visibility",
+                reading.getId() + ",,\"Novel, part \"\"one\"\"\",2024-03-01T10:00:00Z,2024-03-01T11:00:00Z,300,42,METRIC,40,PUBLIC",
+                "," + gym.getName() + ",\"Leg day\nheavy\",2024-03-02T10:00:00Z,2024-03-02T10:30:00Z,,,,,",
+                reading.getId() + ",,Half page,2024-03-03T10:00:00Z,2024-03-03T11:00:00Z,0,1.5,,,PRIVATE",
+                gym.getId() + ",,With metric,2024-03-04T10:00:00Z,2024-03-04T11:00:00Z,0,3,,,PRIVATE",
+                "," + "Unknown" + ",Nope,2024-03-05T10:00:00Z,2024-03-05T11:00:00Z,,,,,",
+                gym.getId() + ",,Backwards,2024-03-06T10:00:00Z,2024-03-06T09:00:00Z,,,,,",
+                gym.getId() + ",,Not a date,yesterday,2024-03-07T09:00:00Z,,,,,",
+                gym.getId() + ",,Still live,2024-03-08T10:00:00Z,2999-01-01T00:00:00Z,,,,,",
+                "");
+
+        mvc.perform(post("/api/me/sessions/import")
+                        .header("X-User-Id", me.getId().toString())
+                        .queryParam("format", "csv")
+                        .contentType("text/csv")
+                        .content(csv.getBytes(StandardCharsets.UTF_8)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.imported").value(2))
+                .andExpect(jsonPath("$.rejected").value(6))
+                .andExpect(jsonPath("$.errors.length()").value(6))
+                .andExpect(jsonPath("$.errors[0].line").value(5))
+                .andExpect(jsonPath("$.errors[0].message").value("metricValue must be a whole number for INTEGER metrics"))
+                .andExpect(jsonPath("$.errors[1].line").value(6))
+                .andExpect(jsonPath("$.errors[1].message").value("This activity type does not accept a metric value"))
+                .andExpect(jsonPath("$.errors[2].message").value("Unknown activity type"))
+                .andExpect(jsonPath("$.errors[3].message").value("endedAt must not be before startedAt"))
+                .andExpect(jsonPath("$.errors[4].message").value("Invalid startedAt: yesterday"))
+                .andExpect(jsonPath("$.errors[5].message").value("Only completed sessions can be imported"));
+
+        List<Session> sessions = sessionRepo.findByUserId(me.getId()).stream()
+                .sorted(Comparator.comparing(Session::getStartedAt))
+                .toList();
+        assertThat(sessions).hasSize(2);
+
+        Session novel = sessions.get(0);
+        assertThat(novel.getTitle()).isEqualTo("Novel, part \"one\"");
+        assertThat(novel.getPausedDurationSeconds()).isEqualTo(300L);
+        assertThat(novel.getMetricValue()).isEqualByComparingTo("42");
+        assertThat(novel.getGoalType()).isEqualTo(GoalType.METRIC);
+        assertThat(novel.getGoalTarget()).isEqualByComparingTo("40");
+        assertThat(novel.getVisibility()).isEqualTo(Visibility.PUBLIC);
+
+        Session legDay = sessions.get(1);
+        assertThat(legDay.getTitle()).isEqualTo("Leg day\nheavy");
+        assertThat(legDay.getActivityType().getId()).isEqualTo(gym.getId());
+        assertThat(legDay.getVisibility()).isEqualTo(Visibility.PRIVATE);
+        assertThat(legDay.getEndedAt()).isEqualTo(Instant.parse("2024-03-02T10:30:00Z"));
+    }
+
+    @Test
+    void importNdjson_roundTripsAnExport() throws Exception {
+        User source = persistUser();
+        User target = persistUser();
+        ActivityType type = persistActivityType("Chess", MetricKind.DECIMAL);
+
+        Session original = new Session();
+        original.setUser(source);
+        original.setActivityType(type);
+        original.setVisibility(Visibility.FRIENDS);
+        original.setTitle("Blitz");
+        original.setStartedAt(Instant.parse("2025-05-01T18:00:00Z"));
+        original.setEndedAt(Instant.parse("2025-05-01T19:00:00Z"));
+        original.setMetricValue(new BigDecimal("12.5"));
+        sessionRepo.save(original);
+
+        MvcResult started = mvc.perform(get("/api/me/sessions/export")
+                        .header("X-User-Id", source.getId().toString())
+                        .queryParam("format", "ndjson"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        byte[] export = mvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsByteArray();
+
+        mvc.perform(post("/api/me/sessions/import")
+                        .header("X-User-Id", target.getId().toString())
+                        .queryParam("format", "ndjson")
+                        .contentType("application/x-ndjson")
+                        .content(export))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.imported").value(1))
+                .andExpect(jsonPath("$.rejected").value(0));
+
+        List<Session> imported = sessionRepo.findByUserId(target.getId());
+        assertThat(imported).hasSize(1);
+        Session copy = imported.get(0);
+        assertThat(copy.getId()).isNotEqualTo(original.getId());
+        assertThat(copy.getTitle()).isEqualTo("Blitz");
+        assertThat(copy.getVisibility()).isEqualTo(Visibility.FRIENDS);
+        assertThat(copy.getStartedAt()).isEqualTo(original.getStartedAt());
+        assertThat(copy.getEndedAt()).isEqualTo(original.getEndedAt());
+        assertThat(copy.getMetricValue()).isEqualByComparingTo("12.5");
+    }
+
+    @Test
+    void importNdjson_reportsMalformedLines() throws Exception {
+        User me = persistUser();
+        ActivityType type = persistActivityType("Run", MetricKind.NONE);
+
+        String ndjson = String.join("\n",
+                "{\"activityTypeId\":\"" + type.getId() + "\",\"startedAt\":\"2024-01-01T10:00:00Z\",\"endedAt\":\"2024-01-01T10:20:00Z\"}",
+                "",
+                "{not json",
+                "{\"activityTypeId\":\"" + type.getId() + "\",\"startedAt\":\"2024-01-02T10:00:00Z\"}");
+
+        mvc.perform(post("/api/me/sessions/import")
+                        .header("X-User-Id", me.getId().toString())
+                        .queryParam("format", "ndjson")
+                        .content(ndjson.getBytes(StandardCharsets.UTF_8)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.imported").value(1))
+                .andExpect(jsonPath("$.rejected").value(2))
+                .andExpect(jsonPath("$.errors[0].line").value(3))
+                .andExpect(jsonPath("$.errors[1].line").value(4))
+                .andExpect(jsonPath("$.errors[1].message").value("startedAt and endedAt are required"));
+    }
+
+    @Test
+    void importCsv_writesLargeFilesInBatches() throws Exception {
+        User me = persistUser();
+        ActivityType type = persistActivityType("Walk", MetricKind.NONE);
+
+        int rows = 5_000;
+        StringBuilder csv = new StringBuilder("activityTypeId,startedAt,endedAt\n");
+        Instant start = Instant.parse("2020-01-01T08:00:00Z");
+        for (int i = 0; i < rows; i++) {
+            Instant startedAt = start.plusSeconds(3600L * i);
+            csv.append(type.getId()).append(',').append(startedAt).append(',').append(startedAt.plusSeconds(900)).append('\n');
+        }
+
+        mvc.perform(post("/api/me/sessions/import")
+                        .header("X-User-Id", me.getId().toString())
+                        .content(csv.toString().getBytes(StandardCharsets.UTF_8)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.imported").value(rows))
+                .andExpect(jsonPath("$.rejected").value(0));
+
+        assertThat(sessionRepo.findByUserId(me.getId())).hasSize(rows);
+    }
+
+    @Test
+    void importCsv_withoutRequiredColumns_isRejected() throws Exception {
+        User me = persistUser();
+
+        mvc.perform(post("/api/me/sessions/import")
+                        .header("X-User-Id", me.getId().toString())
+                        .content("title,startedAt\nx,2024-01-01T00:00:00Z\n".getBytes(StandardCharsets.UTF_8)))
+                .andExpect(status().isBadRequest());
+
+        mvc.perform(post("/api/me/sessions/import")
+                        .header("X-User-Id", me.getId().toString())
+                        .content(new byte[0]))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void import_requiresAuthentication() throws Exception {
+        mvc.perform(post("/api/me/sessions/import")
+                        .content("activityTypeId,startedAt,endedAt\n".getBytes(StandardCharsets.UTF_8)))
+                .andExpect(status().isUnauthorized());
+    }
+
+    private User persistUser() {
+        User u = new User();
+        String suffix = UUID.randomUUID().toString().replace("-", "").substring(0, 10);
+        u.setUsername("user_" + suffix);
+        u.setEmail("user_" + suffix + "@test.com");
+        u.setPassword("password_" + suffix);
+        return userRepo.save(u);
+    }
+
+    private ActivityType persistActivityType(String base, MetricKind metricKind) {
+        ActivityType t = new ActivityType();
+        t.setName(base + "_" + UUID.randomUUID());
+        t.setMetricKind(metricKind);
+        return activityTypeRepo.save(t);
+    }
+}
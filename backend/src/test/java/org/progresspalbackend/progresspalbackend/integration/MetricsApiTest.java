@@ -0,0 +1,155 @@
+package org.progresspalbackend.progresspalbackend.integration;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.progresspalbackend.progresspalbackend.domain.ActivityType;
+import org.progresspalbackend.progresspalbackend.domain.Session;
+import org.progresspalbackend.progresspalbackend.domain.User;
+import org.progresspalbackend.progresspalbackend.domain.Visibility;
+import org.progresspalbackend.progresspalbackend.repository.ActivityTypeRepository;
+import org.progresspalbackend.progresspalbackend.repository.FriendRepository;
+import org.progresspalbackend.progresspalbackend.repository.SessionRepository;
+import org.progresspalbackend.progresspalbackend.repository.UserRepository;
+import org.progresspalbackend.progresspalbackend.service.DomainMetricsPublisher;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.time.Instant;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.httpBasic;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = {
+        "management.endpoints.web.exposure.include=prometheus",
+        "app.metrics.scrape.password=test-scrape-secret",
+        "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+@AutoConfigureMockMvc
+@AutoConfigureObservability
+@Testcontainers
+class MetricsApiTest {
+
+    @Container
+    static PostgreSQLContainer<?> db = new PostgreSQLContainer<>("postgres:13-alpine")
+            .withDatabaseName("progresspal")
+            .withUsername("progress")
+            .withPassword("progress");
+
+    @DynamicPropertySource
+    static void props(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", db::getJdbcUrl);
+        registry.add("spring.datasource.username", db::getUsername);
+        registry.add("spring.datasource.password", db::getPassword);
+        registry.add("spring.flyway.enabled", () -> "true");
+        registry.add("spring.jpa.hibernate.ddl-auto", () -> "validate");
+    }
+
+    @Autowired MockMvc mvc;
+    @Autowired SessionRepository sessionRepo;
+    @Autowired ActivityTypeRepository activityTypeRepo;
+    @Autowired UserRepository userRepo;
+    @Autowired FriendRepository friendRepo;
+    @Autowired DomainMetricsPublisher domainMetricsPublisher;
+    @Autowired PasswordEncoder passwordEncoder;
+    @Autowired ObjectMapper json;
+
+    @BeforeEach
+    void cleanDb() {
+        sessionRepo.deleteAll();
+        friendRepo.deleteAll();
+        activityTypeRepo.deleteAll();
+        userRepo.deleteAll();
+    }
+
+    @Test
+    void prometheus_exposesServiceTimersSqlCountsAndDomainGauges() throws Exception {
+        User viewer = persistUser();
+        ActivityType type = new ActivityType();
+        type.setName("Study_" + UUID.randomUUID());
+        type = activityTypeRepo.save(type);
+
+        Session live = new Session();
+        live.setUser(viewer);
+        live.setActivityType(type);
+        live.setVisibility(Visibility.PUBLIC);
+        live.setTitle("live");
+        live.setStartedAt(Instant.now());
+        sessionRepo.save(live);
+
+        mvc.perform(get("/api/feed")
+                        .header("X-User-Id", viewer.getId().toString()))
+                .andExpect(status().isOk());
+        domainMetricsPublisher.refresh();
+
+        mvc.perform(get("/actuator/prometheus")
+                        .with(httpBasic("prometheus", "test-scrape-secret")))
+                .andExpect(status().isOk())
+                .andExpect(content().string(containsString(
+                        "progresspal_service_method_seconds_count{class=\"SessionService\",exception=\"none\",method=\"getFeedSessions\"}")))
+                .andExpect(content().string(containsString(
+                        "progresspal_service_sql_statements_count{class=\"SessionService\",method=\"getFeedSessions\"}")))
+                .andExpect(content().string(containsString(
+                        "progresspal_http_sql_statements_count{method=\"GET\",uri=\"/api/feed\"}")))
+                .andExpect(content().string(containsString("progresspal_sessions_live 1.0")))
+                .andExpect(content().string(containsString("progresspal_sessions_paused 0.0")))
+                .andExpect(content().string(containsString("progresspal_rooms_open 0.0")))
+                .andExpect(content().string(containsString("progresspal_rooms_pending 0.0")))
+                .andExpect(content().string(containsString("hibernate_statements_total")));
+    }
+
+    @Test
+    void prometheus_rejectsAnonymousScrapes() throws Exception {
+        mvc.perform(get("/actuator/prometheus"))
+                .andExpect(status().isUnauthorized());
+        mvc.perform(get("/actuator/prometheus")
+                        .with(httpBasic("prometheus", "wrong-secret")))
+                .andExpect(status().isUnauthorized());
+    }
+
+    @Test
+    void prometheus_forbidsOrdinaryUsers() throws Exception {
+        User user = persistUser();
+        user.setPassword(passwordEncoder.encode("pw123"));
+        userRepo.save(user);
+        MvcResult login = mvc.perform(post("/api/auth/login")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(json.writeValueAsString(Map.of("email", user.getEmail(), "password", "pw123"))))
+                .andExpect(status().isOk())
+                .andReturn();
+        String token = json.readTree(login.getResponse().getContentAsString()).get("token").asText();
+
+        mvc.perform(get("/actuator/prometheus")
+                        .header("Authorization", "Bearer " + token))
+                .andExpect(status().isForbidden());
+        mvc.perform(get("/actuator/prometheus")
+                        .header("X-User-Id", user.getId().toString()))
+                .andExpect(status().isForbidden());
+    }
+
+    private User persistUser() {
+        User u = new User();
+        String suffix = UUID.randomUUID().toString().replace("-", "").substring(0, 10);
+        u.setUsername("user_" + suffix);
+        u.setEmail("user_" + suffix + "@test.com");
+        u.setPassword("password_" + suffix);
+        return userRepo.save(u);
+    }
+}
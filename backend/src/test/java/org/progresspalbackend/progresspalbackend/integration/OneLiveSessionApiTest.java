@@ -22,11 +22,20 @@ import org.testcontainers.junit.jupiter.Container;
 import org.testcontainers.junit.jupiter.Testcontainers;
 
 import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.hamcrest.Matchers.containsString;
 import static org.hamcrest.Matchers.notNullValue;
+import static org.progresspalbackend.progresspalbackend.integration.SqlStatementMatchers.maxQueries;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
@@ -134,6 +143,67 @@ class OneLiveSessionApiTest {
                 .andExpect(jsonPath("$.endedAt").isEmpty()); // live => null
     }
 
+    @Test
+    void create_concurrentStarts_exactlyOneWins() throws Exception {
+        User user = persistUser();
+        ActivityType type = persistActivityType("Study");
+        String body = objectMapper.writeValueAsString(Map.of(
+                "activityTypeId", type.getId().toString(),
+                "visibility", "PUBLIC",
+                "title", "race"
+        ));
+
+        int attempts = 6;
+        ExecutorService executor = Executors.newFixedThreadPool(attempts);
+        CountDownLatch go = new CountDownLatch(1);
+        try {
+            List<Future<Integer>> statuses = new ArrayList<>();
+            for (int i = 0; i < attempts; i++) {
+                statuses.add(executor.submit(() -> {
+                    go.await();
+                    return mvc.perform(post("/api/sessions")
+                                    .header("X-User-Id", user.getId().toString())
+                                    .contentType(MediaType.APPLICATION_JSON)
+                                    .content(body))
+                            .andReturn().getResponse().getStatus();
+                }));
+            }
+            go.countDown();
+
+            List<Integer> results = new ArrayList<>();
+            for (Future<Integer> status : statuses) {
+                results.add(status.get(30, TimeUnit.SECONDS));
+            }
+            assertThat(results).containsOnly(201, 409);
+            assertThat(results).filteredOn(status -> status == 201).hasSize(1);
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertThat(sessionRepo.findAll())
+                .filteredOn(session -> session.getEndedAt() == null)
+                .hasSize(1);
+    }
+
+    @Test
+    void create_isASingleInsert() throws Exception {
+        User user = persistUser();
+        ActivityType type = persistActivityType("Study");
+
+        String body = objectMapper.writeValueAsString(Map.of(
+                "activityTypeId", type.getId().toString(),
+                "visibility", "PRIVATE",
+                "title", "one round trip"
+        ));
+
+        mvc.perform(post("/api/sessions")
+                        .header("X-User-Id", user.getId().toString())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(body))
+                .andExpect(status().isCreated())
+                .andExpect(maxQueries(1));
+    }
+
     // -------------------------
     // Helpers
     // -------------------------
@@ -0,0 +1,176 @@
+package org.progresspalbackend.progresspalbackend.integration;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.progresspalbackend.progresspalbackend.domain.User;
+import org.progresspalbackend.progresspalbackend.repository.NotificationRepository;
+import org.progresspalbackend.progresspalbackend.repository.SessionRepository;
+import org.progresspalbackend.progresspalbackend.repository.UserRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Runs against two independent databases: rows written only to {@code replica} show which database a
+ * request read from.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@Testcontainers
+class ReadReplicaRoutingApiTest {
+
+    @Container
+    static PostgreSQLContainer<?> db = new PostgreSQLContainer<>("postgres:13-alpine")
+            .withDatabaseName("progresspal")
+            .withUsername("progress")
+            .withPassword("progress");
+
+    @Container
+    static PostgreSQLContainer<?> replica = new PostgreSQLContainer<>("postgres:13-alpine")
+            .withDatabaseName("progresspal")
+            .withUsername("progress")
+            .withPassword("progress");
+
+    @DynamicPropertySource
+    static void props(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", db::getJdbcUrl);
+        registry.add("spring.datasource.username", db::getUsername);
+        registry.add("spring.datasource.password", db::getPassword);
+        registry.add("spring.flyway.enabled", () -> "true");
+        registry.add("spring.jpa.hibernate.ddl-auto", () -> "validate");
+        registry.add("app.datasource.read-replica.enabled", () -> "true");
+        registry.add("app.datasource.read-replica.urls", replica::getJdbcUrl);
+        registry.add("app.datasource.read-replica.sticky-window", () -> "PT1S");
+    }
+
+    static JdbcTemplate replicaJdbc;
+
+    @BeforeAll
+    static void migrateReplica() {
+        Flyway.configure()
+                .dataSource(replica.getJdbcUrl(), replica.getUsername(), replica.getPassword())
+                .load()
+                .migrate();
+        replicaJdbc = new JdbcTemplate(
+                new DriverManagerDataSource(replica.getJdbcUrl(), replica.getUsername(), replica.getPassword()));
+    }
+
+    @Autowired MockMvc mvc;
+    @Autowired MeterRegistry meterRegistry;
+    @Autowired SessionRepository sessionRepo;
+    @Autowired UserRepository userRepo;
+    @Autowired NotificationRepository notificationRepo;
+
+    User me;
+
+    @BeforeEach
+    void setup() {
+        notificationRepo.deleteAll();
+        sessionRepo.deleteAll();
+        userRepo.deleteAll();
+        replicaJdbc.update("delete from session");
+        replicaJdbc.update("delete from users");
+
+        me = persistUser();
+        UUID typeId = UUID.randomUUID();
+        replicaJdbc.update("insert into users (id, username, email, password) values (?, ?, ?, ?)",
+                me.getId(), me.getUsername(), me.getEmail(), me.getPassword());
+        replicaJdbc.update("insert into activity_type (id, name, is_custom) values (?, ?, false)",
+                typeId, "Replica_" + typeId);
+        for (int i = 0; i < 2; i++) {
+            Instant startedAt = Instant.parse("2026-01-0" + (i + 1) + "T08:00:00Z");
+            replicaJdbc.update("""
+                            insert into session (id, user_id, activity_type_id, title, visibility, started_at, ended_at)
+                            values (?, ?, ?, 'replica only', 'PRIVATE', ?, ?)""",
+                    UUID.randomUUID(), me.getId(), typeId,
+                    Timestamp.from(startedAt), Timestamp.from(startedAt.plusSeconds(1800)));
+        }
+    }
+
+    @Test
+    void dashboard_readsFromTheReplica() throws Exception {
+        mvc.perform(get("/api/me/dashboard/summary")
+                        .header("X-User-Id", me.getId().toString())
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.totalSessions").value(2))
+                .andExpect(jsonPath("$.totalDurationSeconds").value(3600));
+
+        assertThat(meterRegistry.get("progresspal.datasource.replica.lag").tag("replica", "replica-0").gauge().value())
+                .isZero();
+    }
+
+    @Test
+    void heatmap_isLoadedFromThePrimary_becauseItIsCached() throws Exception {
+        mvc.perform(get("/api/users/{id}/heatmap", me.getId())
+                        .header("X-User-Id", me.getId().toString()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.days.length()").value(0));
+    }
+
+    @Test
+    void writerReadsFromThePrimary_untilTheStickyWindowPasses() throws Exception {
+        mvc.perform(patch("/api/me/account")
+                        .header("X-User-Id", me.getId().toString())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"username\":\"renamed_" + UUID.randomUUID().toString().substring(0, 8) + "\"}"))
+                .andExpect(status().isOk());
+
+        mvc.perform(get("/api/me/dashboard/summary")
+                        .header("X-User-Id", me.getId().toString()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.totalSessions").value(0));
+
+        Thread.sleep(1500);
+
+        mvc.perform(get("/api/me/dashboard/summary")
+                        .header("X-User-Id", me.getId().toString()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.totalSessions").value(2));
+    }
+
+    @Test
+    void writesOutsideReplicaReads_stayOnThePrimary() throws Exception {
+        mvc.perform(patch("/api/me/account")
+                        .header("X-User-Id", me.getId().toString())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"username\":\"primary_" + UUID.randomUUID().toString().substring(0, 8) + "\"}"))
+                .andExpect(status().isOk());
+
+        String primaryName = userRepo.findById(me.getId()).orElseThrow().getUsername();
+        String replicaName = replicaJdbc.queryForObject("select username from users where id = ?", String.class, me.getId());
+        assertThat(primaryName).startsWith("primary_");
+        assertThat(replicaName).isEqualTo(me.getUsername());
+    }
+
+    private User persistUser() {
+        User u = new User();
+        String suffix = UUID.randomUUID().toString().replace("-", "").substring(0, 10);
+        u.setUsername("user_" + suffix);
+        u.setEmail("user_" + suffix + "@test.com");
+        u.setPassword("password_" + suffix);
+        return userRepo.save(u);
+    }
+}
@@ -0,0 +1,154 @@
+package org.progresspalbackend.progresspalbackend.integration;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.progresspalbackend.progresspalbackend.domain.ActivityType;
+import org.progresspalbackend.progresspalbackend.domain.MetricKind;
+import org.progresspalbackend.progresspalbackend.domain.Session;
+import org.progresspalbackend.progresspalbackend.domain.User;
+import org.progresspalbackend.progresspalbackend.domain.Visibility;
+import org.progresspalbackend.progresspalbackend.repository.ActivityTypeRepository;
+import org.progresspalbackend.progresspalbackend.repository.NotificationRepository;
+import org.progresspalbackend.progresspalbackend.repository.SessionRepository;
+import org.progresspalbackend.progresspalbackend.repository.UserRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.time.Instant;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.progresspalbackend.progresspalbackend.integration.SqlStatementMatchers.maxQueries;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@Testcontainers
+class RequestCoalescingApiTest {
+
+    @Container
+    static PostgreSQLContainer<?> db = new PostgreSQLContainer<>("postgres:13-alpine")
+            .withDatabaseName("progresspal")
+            .withUsername("progress")
+            .withPassword("progress");
+
+    @DynamicPropertySource
+    static void props(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", db::getJdbcUrl);
+        registry.add("spring.datasource.username", db::getUsername);
+        registry.add("spring.datasource.password", db::getPassword);
+        registry.add("spring.flyway.enabled", () -> "true");
+        registry.add("spring.jpa.hibernate.ddl-auto", () -> "validate");
+        registry.add("app.coalescing.result-reuse-window", () -> "PT1S");
+    }
+
+    @Autowired MockMvc mvc;
+    @Autowired MeterRegistry meterRegistry;
+    @Autowired SessionRepository sessionRepo;
+    @Autowired ActivityTypeRepository activityTypeRepo;
+    @Autowired UserRepository userRepo;
+    @Autowired NotificationRepository notificationRepo;
+
+    User me;
+    User other;
+
+    @BeforeEach
+    void setup() {
+        notificationRepo.deleteAll();
+        sessionRepo.deleteAll();
+        activityTypeRepo.deleteAll();
+        userRepo.deleteAll();
+
+        me = persistUser();
+        other = persistUser();
+        ActivityType reading = persistActivityType("Reading");
+        sessionRepo.save(session(me, reading, Instant.parse("2026-01-03T10:00:00Z"), 3600));
+    }
+
+    @Test
+    void identicalDashboardReads_withinTheWindow_reuseTheResult() throws Exception {
+        double reusedBefore = reused("getMyDashboardSummary");
+
+        mvc.perform(get("/api/me/dashboard/summary")
+                        .header("X-User-Id", me.getId().toString()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.totalSessions").value(1));
+        mvc.perform(get("/api/me/dashboard/summary")
+                        .header("X-User-Id", me.getId().toString()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.totalSessions").value(1))
+                .andExpect(maxQueries(0));
+
+        // Different caller or different parameters: computed separately.
+        mvc.perform(get("/api/me/dashboard/summary")
+                        .header("X-User-Id", other.getId().toString()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.totalSessions").value(0));
+        mvc.perform(get("/api/me/dashboard/summary")
+                        .header("X-User-Id", me.getId().toString())
+                        .queryParam("from", "2026-01-04"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.totalSessions").value(0));
+
+        assertThat(reused("getMyDashboardSummary") - reusedBefore).isEqualTo(1.0);
+    }
+
+    @Test
+    void reusedResults_expireAfterTheWindow() throws Exception {
+        mvc.perform(get("/api/users/{id}/profile", me.getId())
+                        .header("X-User-Id", me.getId().toString()))
+                .andExpect(status().isOk());
+
+        Thread.sleep(1200);
+
+        mvc.perform(get("/api/users/{id}/profile", me.getId())
+                        .header("X-User-Id", me.getId().toString()))
+                .andExpect(status().isOk());
+        assertThat(reused("getProfile")).isZero();
+    }
+
+    private double reused(String method) {
+        var counter = meterRegistry.find("progresspal.coalescing.calls")
+                .tag("method", method)
+                .tag("outcome", "reused")
+                .counter();
+        return counter == null ? 0.0 : counter.count();
+    }
+
+    private User persistUser() {
+        User u = new User();
+        String suffix = UUID.randomUUID().toString().replace("-", "").substring(0, 10);
+        u.setUsername("user_" + suffix);
+        u.setEmail("user_" + suffix + "@test.com");
+        u.setPassword("password_" + suffix);
+        return userRepo.save(u);
+    }
+
+    private ActivityType persistActivityType(String base) {
+        ActivityType t = new ActivityType();
+        t.setName(base + "_" + UUID.randomUUID());
+        t.setMetricKind(MetricKind.NONE);
+        return activityTypeRepo.save(t);
+    }
+
+    private Session session(User user, ActivityType type, Instant startedAt, long durationSeconds) {
+        Session s = new Session();
+        s.setUser(user);
+        s.setActivityType(type);
+        s.setVisibility(Visibility.PRIVATE);
+        s.setTitle("t");
+        s.setStartedAt(startedAt);
+        s.setEndedAt(startedAt.plusSeconds(durationSeconds));
+        return s;
+    }
+}
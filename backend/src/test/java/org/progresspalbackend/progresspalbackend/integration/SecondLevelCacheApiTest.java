@@ -0,0 +1,168 @@
+package org.progresspalbackend.progresspalbackend.integration;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.progresspalbackend.progresspalbackend.domain.ActivityType;
+import org.progresspalbackend.progresspalbackend.domain.MetricKind;
+import org.progresspalbackend.progresspalbackend.domain.Session;
+import org.progresspalbackend.progresspalbackend.domain.User;
+import org.progresspalbackend.progresspalbackend.domain.Visibility;
+import org.progresspalbackend.progresspalbackend.repository.ActivityTypeRepository;
+import org.progresspalbackend.progresspalbackend.repository.NotificationRepository;
+import org.progresspalbackend.progresspalbackend.repository.SessionRepository;
+import org.progresspalbackend.progresspalbackend.repository.UserRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.time.Instant;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.progresspalbackend.progresspalbackend.integration.SqlStatementMatchers.maxQueries;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@AutoConfigureMockMvc
+@Testcontainers
+class SecondLevelCacheApiTest {
+
+    @Container
+    static PostgreSQLContainer<?> db = new PostgreSQLContainer<>("postgres:13-alpine")
+            .withDatabaseName("progresspal")
+            .withUsername("progress")
+            .withPassword("progress");
+
+    @DynamicPropertySource
+    static void props(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", db::getJdbcUrl);
+        registry.add("spring.datasource.username", db::getUsername);
+        registry.add("spring.datasource.password", db::getPassword);
+        registry.add("spring.flyway.enabled", () -> "true");
+        registry.add("spring.jpa.hibernate.ddl-auto", () -> "validate");
+    }
+
+    @Autowired MockMvc mvc;
+    @Autowired EntityManagerFactory entityManagerFactory;
+    @Autowired MeterRegistry meterRegistry;
+    @Autowired ActivityTypeRepository activityTypeRepo;
+    @Autowired SessionRepository sessionRepo;
+    @Autowired UserRepository userRepo;
+    @Autowired NotificationRepository notificationRepo;
+
+    User user;
+    ActivityType reading;
+
+    @BeforeEach
+    void setup() {
+        notificationRepo.deleteAll();
+        sessionRepo.deleteAll();
+        activityTypeRepo.deleteAll();
+        userRepo.deleteAll();
+
+        user = persistUser();
+        reading = persistActivityType("Reading");
+    }
+
+    @Test
+    void activityType_isServedFromCache_andUpdatesAreVisible() throws Exception {
+        mvc.perform(get("/api/activity-types/{id}", reading.getId()))
+                .andExpect(status().isOk());
+        mvc.perform(get("/api/activity-types/{id}", reading.getId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.name").value(reading.getName()))
+                .andExpect(maxQueries(0));
+        assertThat(cache().containsEntity(ActivityType.class, reading.getId())).isTrue();
+
+        String renamed = "Reading_" + UUID.randomUUID();
+        mvc.perform(put("/api/activity-types/{id}", reading.getId())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"name\":\"" + renamed + "\",\"metricKind\":\"NONE\"}"))
+                .andExpect(status().isOk());
+
+        mvc.perform(get("/api/activity-types/{id}", reading.getId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.name").value(renamed))
+                .andExpect(maxQueries(0));
+
+        assertThat(meterRegistry.get("progresspal.hibernate.cache.hit.ratio").tag("region", "activity-type").gauge().value())
+                .isGreaterThan(0.0);
+    }
+
+    @Test
+    void accountUpdate_replacesTheCachedUser() throws Exception {
+        mvc.perform(get("/api/users/{id}", user.getId())
+                        .header("X-User-Id", user.getId().toString()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.username").value(user.getUsername()));
+
+        String renamed = "renamed_" + UUID.randomUUID().toString().substring(0, 8);
+        mvc.perform(patch("/api/me/account")
+                        .header("X-User-Id", user.getId().toString())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"username\":\"" + renamed + "\"}"))
+                .andExpect(status().isOk());
+
+        mvc.perform(get("/api/users/{id}", user.getId())
+                        .header("X-User-Id", user.getId().toString()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.username").value(renamed));
+        assertThat(cache().containsEntity(User.class, user.getId())).isTrue();
+    }
+
+    @Test
+    void nativeUpsertsOnStop_leaveReferenceDataCached() throws Exception {
+        Session live = new Session();
+        live.setUser(user);
+        live.setActivityType(reading);
+        live.setVisibility(Visibility.PUBLIC);
+        live.setStartedAt(Instant.now().minusSeconds(600));
+        live.setTitle("t");
+        live = sessionRepo.save(live);
+        assertThat(cache().containsEntity(User.class, user.getId())).isTrue();
+        assertThat(cache().containsEntity(ActivityType.class, reading.getId())).isTrue();
+
+        mvc.perform(patch("/api/sessions/{id}/stop", live.getId())
+                        .header("X-User-Id", user.getId().toString())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{}"))
+                .andExpect(status().isOk());
+
+        assertThat(cache().containsEntity(User.class, user.getId())).isTrue();
+        assertThat(cache().containsEntity(ActivityType.class, reading.getId())).isTrue();
+    }
+
+    private org.hibernate.Cache cache() {
+        return entityManagerFactory.unwrap(SessionFactory.class).getCache();
+    }
+
+    private User persistUser() {
+        User u = new User();
+        String suffix = UUID.randomUUID().toString().replace("-", "").substring(0, 10);
+        u.setUsername("user_" + suffix);
+        u.setEmail("user_" + suffix + "@test.com");
+        u.setPassword("password_" + suffix);
+        return userRepo.save(u);
+    }
+
+    private ActivityType persistActivityType(String base) {
+        ActivityType t = new ActivityType();
+        t.setName(base + "_" + UUID.randomUUID());
+        t.setMetricKind(MetricKind.NONE);
+        return activityTypeRepo.save(t);
+    }
+}
@@ -109,10 +109,11 @@ class SessionApiTest {
                 .andExpect(jsonPath("$.userId").value(userId.toString()))
                 .andExpect(jsonPath("$.endedAt").doesNotExist());
 
-        // GET list (adjust if you return a paged envelope)
-        mvc.perform(get("/api/sessions").param("userId", userId.toString()))
+        // GET explore timeline (public sessions, cursor-paged envelope)
+        mvc.perform(get("/api/sessions"))
                 .andExpect(status().isOk())
-                .andExpect(jsonPath("$[0].title").value("JUnit post"));
+                .andExpect(jsonPath("$.items[0].title").value("JUnit post"))
+                .andExpect(jsonPath("$.nextCursor").doesNotExist());
 
         // repo sanity
         assertThat(sessionRepo.count()).isEqualTo(1);
@@ -30,6 +30,8 @@ import java.time.Instant;
 import java.util.UUID;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.progresspalbackend.progresspalbackend.integration.SqlStatementMatchers.maxQueries;
+import static org.progresspalbackend.progresspalbackend.integration.SqlStatementMatchers.noRepeatedQueries;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
@@ -153,6 +155,26 @@ class SessionCommentApiTest {
                         .value(org.hamcrest.Matchers.contains(parentId)));
     }
 
+    @Test
+    void listComments_loadsAuthorsAndReplyTargetsWithoutPerCommentQueries() throws Exception {
+        User owner = persistUser();
+        ActivityType type = persistActivityType("Study");
+        Session session = persistSession(owner, type, Visibility.PUBLIC);
+        for (int i = 0; i < 4; i++) {
+            User author = persistUser();
+            User replier = persistUser();
+            String parentId = JsonPath.read(createComment(session, author, "Thread " + i), "$.id");
+            createReply(session, replier, "Reply " + i, parentId);
+        }
+
+        mvc.perform(get("/api/sessions/{sessionId}/comments", session.getId())
+                        .header("X-User-Id", owner.getId().toString()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(8))
+                .andExpect(maxQueries(2))
+                .andExpect(noRepeatedQueries());
+    }
+
     @Test
     void createReply_toAnotherReply_targetsReplyAndKeepsTopLevelParent() throws Exception {
         User owner = persistUser();
@@ -200,7 +222,7 @@ class SessionCommentApiTest {
         User owner = persistUser();
         User actor = persistUser();
         ActivityType type = persistActivityType("Study");
-        Session firstSession = persistSession(owner, type, Visibility.PUBLIC);
+        Session firstSession = persistSession(persistUser(), type, Visibility.PUBLIC);
         Session secondSession = persistSession(owner, type, Visibility.PUBLIC);
         String parentId = JsonPath.read(createComment(secondSession, owner, "Local thread"), "$.id");
         String replyToId = JsonPath.read(createComment(firstSession, owner, "Wrong session target"), "$.id");
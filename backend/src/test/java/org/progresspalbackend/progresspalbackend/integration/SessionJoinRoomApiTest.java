@@ -41,6 +41,7 @@ import java.util.concurrent.TimeUnit;
 import java.util.UUID;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.progresspalbackend.progresspalbackend.integration.SqlStatementMatchers.maxQueries;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
@@ -253,6 +254,46 @@ class SessionJoinRoomApiTest {
                 .andExpect(jsonPath("$[0].status").value("ACCEPTED"));
     }
 
+    @Test
+    void outgoingJoinRequests_filterAndPageInOneQuery() throws Exception {
+        User requester = persistUser("requester");
+        ActivityType type = persistActivityType("Study");
+        for (int i = 0; i < 5; i++) {
+            Session ended = persistSession(persistUser("past_host"), type, Visibility.PUBLIC, true);
+            persistJoinRequest(ended, requester, SessionJoinRequestStatus.ACCEPTED);
+        }
+        Session livePending = persistSession(persistUser("live_host"), type, Visibility.PUBLIC, false);
+        SessionJoinRequest pending = persistJoinRequest(livePending, requester, SessionJoinRequestStatus.PENDING);
+        Session liveRejected = persistSession(persistUser("live_host"), type, Visibility.PUBLIC, false);
+        SessionJoinRequest rejected = persistJoinRequest(liveRejected, requester, SessionJoinRequestStatus.REJECTED);
+
+        mvc.perform(get("/api/me/join-requests/outgoing")
+                        .header("X-User-Id", requester.getId().toString()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(2))
+                .andExpect(jsonPath("$[0].requestId").value(rejected.getId().toString()))
+                .andExpect(jsonPath("$[0].hostUserId").value(liveRejected.getUser().getId().toString()))
+                .andExpect(jsonPath("$[1].requestId").value(pending.getId().toString()))
+                .andExpect(maxQueries(1));
+
+        mvc.perform(get("/api/me/join-requests/outgoing")
+                        .header("X-User-Id", requester.getId().toString())
+                        .param("status", "PENDING"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(1))
+                .andExpect(jsonPath("$[0].requestId").value(pending.getId().toString()))
+                .andExpect(maxQueries(1));
+
+        mvc.perform(get("/api/me/join-requests/outgoing")
+                        .header("X-User-Id", requester.getId().toString())
+                        .param("liveOnly", "false")
+                        .param("size", "3")
+                        .param("page", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(1))
+                .andExpect(maxQueries(1));
+    }
+
     @Test
     void acceptJoinRequest_createsRequesterNotification_andMarksHostJoinRequestNotificationRead() throws Exception {
         User host = persistUser("host");
@@ -372,6 +413,59 @@ class SessionJoinRoomApiTest {
         assertThat(notification.getReadAt()).isNull();
     }
 
+    @Test
+    void roomState_isServedFromTheRosterUntilMembershipChanges() throws Exception {
+        User host = persistUser("host");
+        User first = persistUser("first");
+        User second = persistUser("second");
+        ActivityType type = persistActivityType("Study");
+        Session session = persistSession(host, type, Visibility.PUBLIC, false);
+        persistJoinRequest(session, first, SessionJoinRequestStatus.ACCEPTED);
+        SessionJoinRequest pending = persistJoinRequest(session, second, SessionJoinRequestStatus.PENDING);
+
+        mvc.perform(get("/api/sessions/{sessionId}/room", session.getId())
+                        .header("X-User-Id", host.getId().toString()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.host.username").value(host.getUsername()))
+                .andExpect(jsonPath("$.participants.length()").value(1))
+                .andExpect(jsonPath("$.participants[0].username").value(first.getUsername()))
+                .andExpect(maxQueries(1));
+
+        mvc.perform(get("/api/sessions/{sessionId}/room", session.getId())
+                        .header("X-User-Id", first.getId().toString()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.participants.length()").value(1))
+                .andExpect(maxQueries(0));
+        mvc.perform(get("/api/sessions/{sessionId}/room", session.getId())
+                        .header("X-User-Id", second.getId().toString()))
+                .andExpect(status().isForbidden())
+                .andExpect(maxQueries(0));
+
+        mvc.perform(patch("/api/sessions/{sessionId}/join-requests/{requestId}", session.getId(), pending.getId())
+                        .header("X-User-Id", host.getId().toString())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"decision\":\"ACCEPT\"}"))
+                .andExpect(status().isOk());
+
+        mvc.perform(get("/api/sessions/{sessionId}/room", session.getId())
+                        .header("X-User-Id", second.getId().toString()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.participants.length()").value(2))
+                .andExpect(jsonPath("$.participants[0].id").value(first.getId().toString()))
+                .andExpect(jsonPath("$.participants[1].id").value(second.getId().toString()))
+                .andExpect(maxQueries(0));
+
+        mvc.perform(patch("/api/sessions/{id}/stop", session.getId())
+                        .header("X-User-Id", host.getId().toString())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{}"))
+                .andExpect(status().isOk());
+
+        mvc.perform(get("/api/sessions/{sessionId}/room", session.getId())
+                        .header("X-User-Id", first.getId().toString()))
+                .andExpect(status().isConflict());
+    }
+
     @Test
     void secondUnreadParticipantRoomMessage_sameSession_updatesExistingUnreadNotification() throws Exception {
         User host = persistUser("host");
@@ -9,10 +9,12 @@ import org.progresspalbackend.progresspalbackend.domain.Visibility;
 import org.progresspalbackend.progresspalbackend.repository.ActivityTypeRepository;
 import org.progresspalbackend.progresspalbackend.repository.SessionRepository;
 import org.progresspalbackend.progresspalbackend.repository.UserRepository;
+import org.progresspalbackend.progresspalbackend.service.SessionService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.http.MediaType;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.test.context.DynamicPropertyRegistry;
 import org.springframework.test.context.DynamicPropertySource;
 import org.springframework.test.web.servlet.MockMvc;
@@ -20,11 +22,15 @@ import org.testcontainers.containers.PostgreSQLContainer;
 import org.testcontainers.junit.jupiter.Container;
 import org.testcontainers.junit.jupiter.Testcontainers;
 
+import java.time.Duration;
 import java.time.Instant;
+import java.time.temporal.ChronoUnit;
 import java.util.UUID;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.hamcrest.Matchers.nullValue;
+import static org.progresspalbackend.progresspalbackend.integration.SqlStatementMatchers.maxQueries;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
@@ -53,6 +59,7 @@ class SessionPauseApiTest {
     @Autowired UserRepository userRepo;
     @Autowired ActivityTypeRepository typeRepo;
     @Autowired SessionRepository sessionRepo;
+    @Autowired SessionService sessionService;
 
     UUID ownerId;
     UUID sessionId;
@@ -141,4 +148,80 @@ class SessionPauseApiTest {
                         .contentType(MediaType.APPLICATION_JSON))
                 .andExpect(status().isForbidden());
     }
+
+    @Test
+    void pause_and_resume_are_single_statements() throws Exception {
+        mvc.perform(patch("/api/sessions/{id}/pause", sessionId)
+                        .header("X-User-Id", ownerId.toString())
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(maxQueries(1));
+
+        mvc.perform(patch("/api/sessions/{id}/resume", sessionId)
+                        .header("X-User-Id", ownerId.toString())
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.paused").value(false))
+                .andExpect(maxQueries(1));
+    }
+
+    @Test
+    void resume_stopped_session_returns409_and_missing_session_returns404() throws Exception {
+        Session session = sessionRepo.findById(sessionId).orElseThrow();
+        session.setEndedAt(Instant.now());
+        sessionRepo.save(session);
+
+        mvc.perform(patch("/api/sessions/{id}/resume", sessionId)
+                        .header("X-User-Id", ownerId.toString())
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isConflict())
+                .andExpect(jsonPath("$.message").value("Session already stopped"));
+
+        mvc.perform(patch("/api/sessions/{id}/resume", UUID.randomUUID())
+                        .header("X-User-Id", ownerId.toString())
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void staleSweep_pauses_session_at_the_moment_it_went_stale() throws Exception {
+        Instant lastHeartbeat = Instant.now().minus(Duration.ofMinutes(20)).truncatedTo(ChronoUnit.MILLIS);
+        Session session = sessionRepo.findById(sessionId).orElseThrow();
+        session.setLastSentHeartBeat(lastHeartbeat);
+        sessionRepo.save(session);
+
+        sessionService.autoPauseStaleLiveSessions();
+
+        Session paused = sessionRepo.findById(sessionId).orElseThrow();
+        assertThat(paused.getPausedAt()).isEqualTo(lastHeartbeat.plus(Duration.ofMinutes(15)));
+
+        // Resuming refreshes the heartbeat, so the next sweep leaves the session running.
+        mvc.perform(patch("/api/sessions/{id}/resume", sessionId)
+                        .header("X-User-Id", ownerId.toString())
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk());
+        sessionService.autoPauseStaleLiveSessions();
+
+        Session resumed = sessionRepo.findById(sessionId).orElseThrow();
+        assertThat(resumed.getPausedAt()).isNull();
+        assertThat(resumed.getPausedDurationSeconds()).isGreaterThanOrEqualTo(Duration.ofMinutes(5).toSeconds());
+    }
+
+    @Test
+    void entity_read_before_a_pause_cannot_overwrite_it() throws Exception {
+        Session readBeforePause = sessionRepo.findById(sessionId).orElseThrow();
+
+        mvc.perform(patch("/api/sessions/{id}/pause", sessionId)
+                        .header("X-User-Id", ownerId.toString())
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk());
+
+        readBeforePause.setTitle("edited");
+        assertThatThrownBy(() -> sessionRepo.save(readBeforePause))
+                .isInstanceOf(ObjectOptimisticLockingFailureException.class);
+
+        Session stored = sessionRepo.findById(sessionId).orElseThrow();
+        assertThat(stored.getPausedAt()).isNotNull();
+        assertThat(stored.getVersion()).isEqualTo(readBeforePause.getVersion() + 1);
+    }
 }
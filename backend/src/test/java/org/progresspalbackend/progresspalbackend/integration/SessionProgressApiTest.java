@@ -58,6 +58,7 @@ class SessionProgressApiTest {
     @Autowired SessionRepository sessionRepo;
 
     UUID ownerId;
+    UUID secondOwnerId;
     UUID metricSessionId;
     UUID nonMetricSessionId;
 
@@ -74,6 +75,14 @@ class SessionProgressApiTest {
         owner.setCreatedAt(Instant.now());
         ownerId = userRepo.save(owner).getId();
 
+        // A user has at most one live session, so the non-metric one belongs to someone else.
+        User secondOwner = new User();
+        secondOwner.setUsername("progress_owner_2");
+        secondOwner.setEmail("progress2@owner.com");
+        secondOwner.setPassword("pw");
+        secondOwner.setCreatedAt(Instant.now());
+        secondOwnerId = userRepo.save(secondOwner).getId();
+
         ActivityType metricType = new ActivityType();
         metricType.setName("Chess");
         metricType.setCustom(false);
@@ -94,7 +103,7 @@ class SessionProgressApiTest {
         metricSessionId = sessionRepo.save(metricSession).getId();
 
         Session nonMetricSession = new Session();
-        nonMetricSession.setUser(owner);
+        nonMetricSession.setUser(secondOwner);
         nonMetricSession.setActivityType(noMetricType);
         nonMetricSession.setStartedAt(Instant.now().minusSeconds(900));
         nonMetricSession.setVisibility(Visibility.PUBLIC);
@@ -119,7 +128,7 @@ class SessionProgressApiTest {
         String body = json.writeValueAsString(Map.of("metricCurrentValue", 2));
 
         mvc.perform(patch("/api/sessions/{id}/progress", nonMetricSessionId)
-                        .header("X-User-Id", ownerId.toString())
+                        .header("X-User-Id", secondOwnerId.toString())
                         .contentType(MediaType.APPLICATION_JSON)
                         .content(body))
                 .andExpect(status().isBadRequest());
@@ -0,0 +1,44 @@
+package org.progresspalbackend.progresspalbackend.integration;
+
+import org.progresspalbackend.progresspalbackend.config.SqlStatementCounter;
+import org.progresspalbackend.progresspalbackend.config.SqlStatementMetricsFilter;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.ResultMatcher;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * MockMvc matchers over the SQL statement counts recorded by {@link SqlStatementMetricsFilter}.
+ * Seed more rows than the page holds elsewhere in the test so a per-row lazy load exceeds the limit.
+ */
+final class SqlStatementMatchers {
+
+    private SqlStatementMatchers() {
+    }
+
+    static ResultMatcher maxQueries(long max) {
+        return result -> assertThat(statements(result))
+                .as("SQL statements issued by %s %s", result.getRequest().getMethod(), result.getRequest().getRequestURI())
+                .isLessThanOrEqualTo(max);
+    }
+
+    static ResultMatcher noRepeatedQueries() {
+        return result -> {
+            statements(result);
+            Object repeated = result.getRequest().getAttribute(SqlStatementMetricsFilter.MOST_REPEATED_ATTRIBUTE);
+            if (repeated instanceof SqlStatementCounter.RepeatedStatement statement) {
+                assertThat(statement.executions())
+                        .as("executions of %s", statement.sql())
+                        .isEqualTo(1);
+            }
+        };
+    }
+
+    private static long statements(MvcResult result) {
+        Object statements = result.getRequest().getAttribute(SqlStatementMetricsFilter.STATEMENTS_ATTRIBUTE);
+        assertThat(statements)
+                .as("SqlStatementMetricsFilter did not run for this request")
+                .isInstanceOf(Long.class);
+        return (Long) statements;
+    }
+}
@@ -0,0 +1,222 @@
+package org.progresspalbackend.progresspalbackend.integration;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.progresspalbackend.progresspalbackend.domain.ActivityType;
+import org.progresspalbackend.progresspalbackend.domain.Friendship;
+import org.progresspalbackend.progresspalbackend.domain.MetricKind;
+import org.progresspalbackend.progresspalbackend.domain.Session;
+import org.progresspalbackend.progresspalbackend.domain.User;
+import org.progresspalbackend.progresspalbackend.domain.UserStreak;
+import org.progresspalbackend.progresspalbackend.domain.Visibility;
+import org.progresspalbackend.progresspalbackend.repository.ActivityTypeRepository;
+import org.progresspalbackend.progresspalbackend.repository.FriendRepository;
+import org.progresspalbackend.progresspalbackend.repository.SessionRepository;
+import org.progresspalbackend.progresspalbackend.repository.UserRepository;
+import org.progresspalbackend.progresspalbackend.repository.UserStreakRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.UUID;
+
+import static org.hamcrest.Matchers.greaterThanOrEqualTo;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@Testcontainers
+class StreaksAndRecordsApiTest {
+
+    @Container
+    static PostgreSQLContainer<?> db = new PostgreSQLContainer<>("postgres:13-alpine")
+            .withDatabaseName("progresspal")
+            .withUsername("progress")
+            .withPassword("progress");
+
+    @DynamicPropertySource
+    static void props(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", db::getJdbcUrl);
+        registry.add("spring.datasource.username", db::getUsername);
+        registry.add("spring.datasource.password", db::getPassword);
+        registry.add("spring.flyway.enabled", () -> "true");
+        registry.add("spring.jpa.hibernate.ddl-auto", () -> "validate");
+    }
+
+    @Autowired MockMvc mvc;
+    @Autowired SessionRepository sessionRepo;
+    @Autowired ActivityTypeRepository activityTypeRepo;
+    @Autowired UserRepository userRepo;
+    @Autowired FriendRepository friendRepo;
+    @Autowired UserStreakRepository userStreakRepo;
+
+    LocalDate today;
+
+    @BeforeEach
+    void cleanDb() {
+        sessionRepo.deleteAll();
+        friendRepo.deleteAll();
+        userStreakRepo.deleteAll();
+        activityTypeRepo.deleteAll();
+        userRepo.deleteAll();
+        today = LocalDate.now(ZoneOffset.UTC);
+    }
+
+    @Test
+    void stoppingSessions_extendsStreak_andKeepsBestRecords() throws Exception {
+        User me = persistUser();
+        ActivityType pushups = persistActivityType("Pushups", MetricKind.INTEGER, "reps");
+
+        UserStreak streak = new UserStreak();
+        streak.setUser(me);
+        streak.setAudience(Visibility.PRIVATE);
+        streak.setCurrentStreakDays(3);
+        streak.setLongestStreakDays(3);
+        streak.setLastActiveDay(today.minusDays(1));
+        userStreakRepo.save(streak);
+
+        stop(me, liveSession(me, pushups, Visibility.PRIVATE, 1200), "{\"metricValue\":8}");
+        stop(me, liveSession(me, pushups, Visibility.PRIVATE, 300), "{\"metricValue\":5}");
+
+        mvc.perform(get("/api/me/dashboard/summary")
+                        .header("X-User-Id", me.getId().toString())
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.streak.currentStreakDays").value(4))
+                .andExpect(jsonPath("$.streak.longestStreakDays").value(4))
+                .andExpect(jsonPath("$.streak.lastActiveDay").value(today.toString()))
+                .andExpect(jsonPath("$.personalRecords.length()").value(1))
+                .andExpect(jsonPath("$.personalRecords[0].activityTypeId").value(pushups.getId().toString()))
+                .andExpect(jsonPath("$.personalRecords[0].metricLabel").value("reps"))
+                .andExpect(jsonPath("$.personalRecords[0].bestMetricValue").value(8))
+                .andExpect(jsonPath("$.personalRecords[0].longestDurationSeconds").value(greaterThanOrEqualTo(1200)));
+    }
+
+    @Test
+    void profile_onlyShowsStreaksAndRecordsTheViewerCanSee() throws Exception {
+        User target = persistUser();
+        User friend = persistUser();
+        User stranger = persistUser();
+        friendRepo.save(friendship(friend, target));
+        ActivityType reading = persistActivityType("Reading", MetricKind.NONE, null);
+
+        stop(target, liveSession(target, reading, Visibility.FRIENDS, 600), "{}");
+
+        mvc.perform(get("/api/users/{id}/profile", target.getId())
+                        .header("X-User-Id", friend.getId().toString()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.stats.streak.currentStreakDays").value(1))
+                .andExpect(jsonPath("$.stats.personalRecords.length()").value(1))
+                .andExpect(jsonPath("$.stats.personalRecords[0].activityTypeName").value(reading.getName()));
+
+        mvc.perform(get("/api/users/{id}/profile", target.getId())
+                        .header("X-User-Id", stranger.getId().toString()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.stats.streak.currentStreakDays").value(0))
+                .andExpect(jsonPath("$.stats.streak.lastActiveDay").doesNotExist())
+                .andExpect(jsonPath("$.stats.personalRecords.length()").value(0));
+    }
+
+    @Test
+    void import_rebuildsStreaksAndRecordsFromHistory() throws Exception {
+        User me = persistUser();
+        ActivityType running = persistActivityType("Running", MetricKind.DECIMAL, "km");
+
+        String csv = String.join("\n",
+                "activityTypeId,startedAt,endedAt,metricValue,visibility",
+                running.getId() + "," + at(today.minusDays(6), 8) + "," + at(today.minusDays(6), 9) + ",12.5,PUBLIC",
+                running.getId() + "," + at(today.minusDays(5), 8) + "," + at(today.minusDays(5), 8).plusSeconds(600) + ",3,PUBLIC",
+                running.getId() + "," + at(today.minusDays(4), 8) + "," + at(today.minusDays(4), 8).plusSeconds(600) + ",3,PUBLIC",
+                running.getId() + "," + at(today.minusDays(2), 8) + "," + at(today.minusDays(2), 8).plusSeconds(600) + ",4,PUBLIC",
+                running.getId() + "," + at(today.minusDays(1), 8) + "," + at(today.minusDays(1), 8).plusSeconds(600) + ",5,PRIVATE",
+                "");
+
+        mvc.perform(post("/api/me/sessions/import")
+                        .header("X-User-Id", me.getId().toString())
+                        .queryParam("format", "csv")
+                        .contentType("text/csv")
+                        .content(csv.getBytes(StandardCharsets.UTF_8)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.imported").value(5));
+
+        mvc.perform(get("/api/me/dashboard/summary")
+                        .header("X-User-Id", me.getId().toString()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.streak.currentStreakDays").value(2))
+                .andExpect(jsonPath("$.streak.longestStreakDays").value(3))
+                .andExpect(jsonPath("$.streak.lastActiveDay").value(today.minusDays(1).toString()))
+                .andExpect(jsonPath("$.personalRecords[0].longestDurationSeconds").value(3600))
+                .andExpect(jsonPath("$.personalRecords[0].bestMetricValue").value(12.5));
+
+        // The private session yesterday does not count for other viewers.
+        User stranger = persistUser();
+        mvc.perform(get("/api/users/{id}/profile", me.getId())
+                        .header("X-User-Id", stranger.getId().toString()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.stats.streak.currentStreakDays").value(0))
+                .andExpect(jsonPath("$.stats.streak.longestStreakDays").value(3))
+                .andExpect(jsonPath("$.stats.streak.lastActiveDay").value(today.minusDays(2).toString()));
+    }
+
+    private void stop(User user, Session session, String body) throws Exception {
+        mvc.perform(patch("/api/sessions/{id}/stop", session.getId())
+                        .header("X-User-Id", user.getId().toString())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(body))
+                .andExpect(status().isOk());
+    }
+
+    private Session liveSession(User user, ActivityType type, Visibility visibility, long elapsedSeconds) {
+        Session s = new Session();
+        s.setUser(user);
+        s.setActivityType(type);
+        s.setVisibility(visibility);
+        s.setStartedAt(Instant.now().minusSeconds(elapsedSeconds));
+        s.setTitle("t");
+        return sessionRepo.save(s);
+    }
+
+    private static Instant at(LocalDate day, int hour) {
+        return day.atTime(hour, 0).toInstant(ZoneOffset.UTC);
+    }
+
+    private User persistUser() {
+        User u = new User();
+        String suffix = UUID.randomUUID().toString().replace("-", "").substring(0, 10);
+        u.setUsername("user_" + suffix);
+        u.setEmail("user_" + suffix + "@test.com");
+        u.setPassword("password_" + suffix);
+        return userRepo.save(u);
+    }
+
+    private ActivityType persistActivityType(String base, MetricKind metricKind, String metricLabel) {
+        ActivityType t = new ActivityType();
+        t.setName(base + "_" + UUID.randomUUID());
+        t.setMetricKind(metricKind);
+        t.setMetricLabel(metricLabel);
+        return activityTypeRepo.save(t);
+    }
+
+    private Friendship friendship(User user, User friend) {
+        Friendship friendship = new Friendship();
+        friendship.setUser(user);
+        friendship.setFriend(friend);
+        friendship.setCreatedAt(Instant.parse("2026-01-01T00:00:00Z"));
+        return friendship;
+    }
+}
@@ -4,6 +4,7 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.progresspalbackend.progresspalbackend.domain.User;
 import org.progresspalbackend.progresspalbackend.repository.UserRepository;
+import org.progresspalbackend.progresspalbackend.service.UsernameSearchCache;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
@@ -46,10 +47,12 @@ class UserSearchApiTest {
 
     @Autowired MockMvc mvc;
     @Autowired UserRepository userRepo;
+    @Autowired UsernameSearchCache usernameSearchCache;
 
     @BeforeEach
     void cleanDb() {
         userRepo.deleteAll();
+        usernameSearchCache.invalidateAll();
     }
 
     @Test
@@ -67,6 +70,33 @@ class UserSearchApiTest {
                 .andExpect(jsonPath("$[*].username", contains("alice", "alina")));
     }
 
+    @Test
+    void searchByUsername_ranksExactThenPrefixThenInfixMatches() throws Exception {
+        persistUser("kalina");
+        persistUser("linus");
+        persistUser("lin");
+        persistUser("linda");
+
+        mvc.perform(get("/api/users/search")
+                        .queryParam("q", "Lin")
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[*].username", contains("lin", "linda", "linus", "kalina")));
+    }
+
+    @Test
+    void searchByUsername_shortQuery_matchesPrefixOnly_andTreatsWildcardsLiterally() throws Exception {
+        persistUser("a_b");
+        persistUser("axb");
+        persistUser("ba_c");
+
+        mvc.perform(get("/api/users/search")
+                        .queryParam("q", "a_")
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[*].username", contains("a_b")));
+    }
+
     @Test
     void searchByUsername_blankQuery_returnsEmptyList() throws Exception {
         persistUser("alice");
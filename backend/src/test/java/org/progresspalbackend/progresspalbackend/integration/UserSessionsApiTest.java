@@ -227,7 +227,7 @@ public class UserSessionsApiTest {
         s.setUser(user);
         s.setVisibility(visibility);
         s.setStartedAt(startedAt);
-        s.setEndedAt(null);
+        s.setEndedAt(startedAt.plusSeconds(3600));
 
         // Choose ONE of these depending on your model:
 
@@ -211,7 +211,7 @@ public class UserSessionsPaginationApiTest {
         s.setActivityType(type);
         s.setVisibility(visibility);
         s.setStartedAt(startedAt);
-        s.setEndedAt(null);
+        s.setEndedAt(startedAt.plusSeconds(3600));
         s.setTitle("t");
         return s;
     }
@@ -0,0 +1,115 @@
+package org.progresspalbackend.progresspalbackend.queryplan;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Savepoint;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Wraps the application data source so that, while {@link #capture(Runnable)} runs, every prepared
+ * statement is first executed as {@code EXPLAIN (ANALYZE, BUFFERS, FORMAT JSON)} with the same bound
+ * parameters. The explain runs inside a savepoint that is rolled back, so DML is not applied twice.
+ */
+final class PlanCapturingDataSource extends DelegatingDataSource {
+
+    private static final Set<String> EXECUTE_METHODS = Set.of("execute", "executeQuery", "executeUpdate", "executeLargeUpdate");
+
+    private final ThreadLocal<List<QueryPlan>> captured = new ThreadLocal<>();
+
+    PlanCapturingDataSource(DataSource target) {
+        super(target);
+    }
+
+    List<QueryPlan> capture(Runnable work) {
+        List<QueryPlan> plans = new ArrayList<>();
+        captured.set(plans);
+        try {
+            work.run();
+        } finally {
+            captured.remove();
+        }
+        return plans;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return wrap(super.getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return wrap(super.getConnection(username, password));
+    }
+
+    private Connection wrap(Connection connection) {
+        return (Connection) Proxy.newProxyInstance(
+                getClass().getClassLoader(),
+                new Class<?>[]{Connection.class},
+                (proxy, method, args) -> {
+                    Object result = invoke(connection, method, args);
+                    if (method.getName().equals("prepareStatement")
+                            && result instanceof PreparedStatement statement
+                            && captured.get() != null) {
+                        return wrap(connection, statement, (String) args[0]);
+                    }
+                    return result;
+                });
+    }
+
+    private PreparedStatement wrap(Connection connection, PreparedStatement statement, String sql) {
+        List<BoundParameter> parameters = new ArrayList<>();
+        return (PreparedStatement) Proxy.newProxyInstance(
+                getClass().getClassLoader(),
+                new Class<?>[]{PreparedStatement.class},
+                (proxy, method, args) -> {
+                    String name = method.getName();
+                    if (name.startsWith("set") && args != null && args.length >= 2 && args[0] instanceof Integer) {
+                        parameters.add(new BoundParameter(method, args));
+                    } else if (name.equals("clearParameters")) {
+                        parameters.clear();
+                    } else if (EXECUTE_METHODS.contains(name) && (args == null || args.length == 0)) {
+                        List<QueryPlan> plans = captured.get();
+                        if (plans != null) {
+                            plans.add(explain(connection, sql, parameters));
+                        }
+                    }
+                    return invoke(statement, method, args);
+                });
+    }
+
+    private static QueryPlan explain(Connection connection, String sql, List<BoundParameter> parameters) throws Exception {
+        Savepoint savepoint = connection.setSavepoint();
+        try (PreparedStatement explain = connection.prepareStatement("EXPLAIN (ANALYZE, BUFFERS, FORMAT JSON) " + sql)) {
+            for (BoundParameter parameter : parameters) {
+                parameter.method().invoke(explain, parameter.args());
+            }
+            try (ResultSet resultSet = explain.executeQuery()) {
+                resultSet.next();
+                return QueryPlan.parse(sql, resultSet.getString(1));
+            }
+        } finally {
+            connection.rollback(savepoint);
+        }
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException ex) {
+            throw ex.getCause();
+        }
+    }
+
+    private record BoundParameter(Method method, Object[] args) {
+    }
+}
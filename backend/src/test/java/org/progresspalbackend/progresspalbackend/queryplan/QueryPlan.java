@@ -0,0 +1,113 @@
+package org.progresspalbackend.progresspalbackend.queryplan;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * One {@code EXPLAIN (ANALYZE, BUFFERS, FORMAT JSON)} result: the sequential scans it contains, with
+ * the rows each one actually read, and the shared buffers the statement touched, plus a best-effort
+ * index hint for each scan.
+ */
+record QueryPlan(String sql, JsonNode plan) {
+
+    private static final ObjectMapper JSON = new ObjectMapper();
+    private static final Pattern PREDICATE = Pattern.compile(
+            "\\(*(?:\\w+\\.)?([a-z_][a-z0-9_]*)\\)?(?:::\\w+)? (IS NOT NULL|IS NULL|= ANY|<>|<=|>=|=|<|>)");
+    private static final Pattern SORT_COLUMN = Pattern.compile("^(?:\\w+\\.)?([a-z_][a-z0-9_]*)(.*)$");
+
+    static QueryPlan parse(String sql, String json) {
+        try {
+            return new QueryPlan(sql, JSON.readTree(json).get(0).get("Plan"));
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    long sharedBuffers() {
+        return plan.path("Shared Hit Blocks").asLong() + plan.path("Shared Read Blocks").asLong();
+    }
+
+    List<SeqScan> seqScans() {
+        List<SeqScan> scans = new ArrayList<>();
+        collectSeqScans(plan, List.of(), scans);
+        return scans;
+    }
+
+    private static void collectSeqScans(JsonNode node, List<String> sortKeys, List<SeqScan> scans) {
+        List<String> keys = sortKeys;
+        if (node.has("Sort Key")) {
+            keys = new ArrayList<>();
+            for (JsonNode key : node.get("Sort Key")) {
+                keys.add(key.asText());
+            }
+        }
+        if ("Seq Scan".equals(node.path("Node Type").asText())) {
+            long rowsRead = node.path("Actual Rows").asLong() * Math.max(1, node.path("Actual Loops").asLong())
+                    + node.path("Rows Removed by Filter").asLong();
+            scans.add(new SeqScan(
+                    node.path("Relation Name").asText(),
+                    node.has("Filter") ? node.get("Filter").asText() : null,
+                    rowsRead,
+                    keys));
+        }
+        for (JsonNode child : node.path("Plans")) {
+            collectSeqScans(child, keys, scans);
+        }
+    }
+
+    record SeqScan(String relation, String filter, long rowsRead, List<String> sortKeys) {
+
+        /**
+         * Equality columns first, then the sort or range column; {@code IS [NOT] NULL} conditions
+         * become the predicate of a partial index. Only a hint: check it against the real query.
+         */
+        String suggestedIndex() {
+            Set<String> equality = new LinkedHashSet<>();
+            Set<String> range = new LinkedHashSet<>();
+            List<String> partial = new ArrayList<>();
+            if (filter != null) {
+                Matcher matcher = PREDICATE.matcher(filter);
+                while (matcher.find()) {
+                    String column = matcher.group(1);
+                    switch (matcher.group(2)) {
+                        case "=", "= ANY" -> equality.add(column);
+                        case "<", ">", "<=", ">=" -> range.add(column);
+                        case "IS NULL", "IS NOT NULL" -> partial.add(column + " " + matcher.group(2));
+                        default -> {
+                        }
+                    }
+                }
+            }
+
+            Set<String> columns = new LinkedHashSet<>(equality);
+            for (String sortKey : sortKeys) {
+                Matcher matcher = SORT_COLUMN.matcher(sortKey.trim());
+                if (matcher.matches()) {
+                    columns.add(matcher.group(1) + matcher.group(2));
+                }
+            }
+            range.forEach(column -> {
+                if (columns.stream().noneMatch(existing -> existing.startsWith(column))) {
+                    columns.add(column);
+                }
+            });
+
+            if (columns.isEmpty() && partial.isEmpty()) {
+                return "no usable predicate: the statement reads all of " + relation
+                        + "; bound it (LIMIT / keyset) or maintain the value elsewhere";
+            }
+            String indexColumns = columns.isEmpty() ? "id" : String.join(", ", columns);
+            String where = partial.isEmpty() ? "" : " WHERE " + String.join(" AND ", partial);
+            return "CREATE INDEX ON " + relation + " (" + indexColumns + ")" + where;
+        }
+    }
+}
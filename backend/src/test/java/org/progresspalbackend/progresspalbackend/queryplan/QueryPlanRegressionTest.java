@@ -0,0 +1,464 @@
+package org.progresspalbackend.progresspalbackend.queryplan;
+
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DynamicTest;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestFactory;
+import org.junit.jupiter.api.TestInstance;
+import org.progresspalbackend.progresspalbackend.domain.NotificationResourceType;
+import org.progresspalbackend.progresspalbackend.domain.NotificationType;
+import org.progresspalbackend.progresspalbackend.domain.ReactionType;
+import org.progresspalbackend.progresspalbackend.domain.Visibility;
+import org.progresspalbackend.progresspalbackend.repository.FriendRepository;
+import org.progresspalbackend.progresspalbackend.repository.NotificationRepository;
+import org.progresspalbackend.progresspalbackend.repository.SessionCommentRepository;
+import org.progresspalbackend.progresspalbackend.repository.SessionReactionRepository;
+import org.progresspalbackend.progresspalbackend.repository.SessionRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import javax.sql.DataSource;
+import java.lang.reflect.Method;
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.UUID;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.fail;
+
+/**
+ * Seeds a production-sized dataset and runs {@code EXPLAIN (ANALYZE, BUFFERS)} for every query
+ * declared on the session, notification, friendship, comment and reaction repositories. A case
+ * fails when its plan sequentially scans a large table or touches more shared buffers than its
+ * budget; the failure names the scan and a candidate index.
+ *
+ * <p>Run with {@code mvn test -Pquery-plans}. The default volume is 100k users and 10M sessions;
+ * scale it with {@code -Dquery-plan.scale=0.1} for a quicker local run. A sequential scan fails the
+ * case once it reads {@code -Dquery-plan.seq-scan-min-rows} rows (default 10000), so small lookup
+ * tables and scans cut short by a {@code LIMIT} are allowed.
+ */
+@Tag("query-plan")
+@SpringBootTest
+@Testcontainers
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@Import(QueryPlanRegressionTest.PlanCaptureConfig.class)
+class QueryPlanRegressionTest {
+
+    private static final double SCALE = Double.parseDouble(System.getProperty("query-plan.scale", "1"));
+    private static final long SEQ_SCAN_MIN_ROWS = Long.getLong("query-plan.seq-scan-min-rows", 10_000L);
+    private static final long DEFAULT_MAX_BUFFERS = Long.getLong("query-plan.max-buffers", 1_000L);
+
+    private static final int USERS = Math.max(1_000, (int) (100_000 * SCALE));
+    private static final int SESSIONS = USERS * 100;
+    private static final int LIVE_SESSIONS = USERS / 20;
+    private static final int FRIENDS_PER_USER = 10;
+    private static final int NOTIFICATIONS = USERS * 20;
+    private static final int COMMENTS = SESSIONS / 10;
+    private static final int REACTIONS = SESSIONS / 5;
+
+    private static final List<Class<?>> COVERED_REPOSITORIES = List.of(
+            SessionRepository.class,
+            NotificationRepository.class,
+            FriendRepository.class,
+            SessionCommentRepository.class,
+            SessionReactionRepository.class
+    );
+
+    @Container
+    static PostgreSQLContainer<?> db = new PostgreSQLContainer<>("postgres:13-alpine")
+            .withDatabaseName("progresspal")
+            .withUsername("progress")
+            .withPassword("progress");
+
+    @DynamicPropertySource
+    static void props(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", db::getJdbcUrl);
+        registry.add("spring.datasource.username", db::getUsername);
+        registry.add("spring.datasource.password", db::getPassword);
+        registry.add("spring.flyway.enabled", () -> "true");
+        registry.add("spring.jpa.hibernate.ddl-auto", () -> "validate");
+    }
+
+    @Autowired DataSource dataSource;
+    @Autowired JdbcTemplate jdbc;
+    @Autowired TransactionTemplate transactionTemplate;
+    @Autowired EntityManager entityManager;
+    @Autowired SessionRepository sessionRepo;
+    @Autowired NotificationRepository notificationRepo;
+    @Autowired FriendRepository friendRepo;
+    @Autowired SessionCommentRepository commentRepo;
+    @Autowired SessionReactionRepository reactionRepo;
+
+    private final Map<String, Long> tableRows = new HashMap<>();
+
+    @BeforeAll
+    void seed() {
+        jdbc.execute("""
+                insert into users (id, username, email, password, created_at)
+                select md5('user-' || i)::uuid, 'user_' || i, 'user_' || i || '@seed.test', 'x', now() - i * interval '1 minute'
+                from generate_series(1, %d) i
+                """.formatted(USERS));
+        jdbc.execute("""
+                insert into session (id, user_id, activity_type_id, title, started_at, ended_at, visibility,
+                                     paused_at, paused_duration_seconds, goal_type)
+                select md5('session-' || i)::uuid,
+                       md5('user-' || (i %% %1$d + 1))::uuid,
+                       (array['11111111-1111-1111-1111-111111111111', '22222222-2222-2222-2222-222222222222',
+                              '33333333-3333-3333-3333-333333333333', '44444444-4444-4444-4444-444444444444',
+                              '55555555-5555-5555-5555-555555555555'])[i %% 5 + 1]::uuid,
+                       'Session ' || i,
+                       started_at,
+                       case when i <= %3$d then null else started_at + interval '45 minutes' end,
+                       (array['PUBLIC', 'FRIENDS', 'PRIVATE'])[i %% 3 + 1]::visibility,
+                       case when i <= %3$d and i %% 4 = 0 then now() else null end,
+                       0,
+                       'NONE'
+                from (
+                    select i,
+                           case when i <= %3$d then now() - i * interval '1 second'
+                                else now() - ((i::bigint * 7919) %% 1051200) * interval '1 minute' end as started_at
+                    from generate_series(1, %2$d) i
+                ) seeded
+                """.formatted(USERS, SESSIONS, LIVE_SESSIONS));
+        jdbc.execute("""
+                insert into friendship (id, user_id, friend_id, created_at)
+                select md5('friendship-' || i || '-' || k)::uuid,
+                       md5('user-' || i)::uuid,
+                       md5('user-' || ((i + k * 37 - 1) %% %1$d + 1))::uuid,
+                       now()
+                from generate_series(1, %1$d) i, generate_series(1, %2$d) k
+                """.formatted(USERS, FRIENDS_PER_USER));
+        jdbc.execute("""
+                insert into notification (id, recipient_id, actor_id, type, resource_type, resource_id, message, created_at, read_at)
+                select md5('notification-' || i)::uuid,
+                       md5('user-' || (i %% %1$d + 1))::uuid,
+                       md5('user-' || ((i * 13) %% %1$d + 1))::uuid,
+                       (array['SESSION_LIKE', 'SESSION_COMMENT', 'SESSION_STARTED', 'FRIEND_REQUEST_RECEIVED'])[i %% 4 + 1],
+                       'SESSION',
+                       md5('session-' || (i %% %2$d + 1))::uuid,
+                       'seeded',
+                       now() - i * interval '1 second',
+                       case when i %% 10 = 0 then null else now() end
+                from generate_series(1, %3$d) i
+                """.formatted(USERS, SESSIONS, NOTIFICATIONS));
+        jdbc.execute("""
+                insert into session_comment (id, session_id, author_id, content, created_at)
+                select md5('comment-' || i)::uuid,
+                       md5('session-' || ((i::bigint * 7) %% %2$d + 1))::uuid,
+                       md5('user-' || ((i * 17) %% %1$d + 1))::uuid,
+                       'seeded comment',
+                       now() - i * interval '1 second'
+                from generate_series(1, %3$d) i
+                """.formatted(USERS, SESSIONS, COMMENTS));
+        jdbc.execute("""
+                insert into session_reaction (id, session_id, user_id, type, created_at)
+                select md5('reaction-' || i)::uuid,
+                       md5('session-' || ((i::bigint * 3) %% %2$d + 1))::uuid,
+                       md5('user-' || (i %% %1$d + 1))::uuid,
+                       'LIKE',
+                       now() - i * interval '1 second'
+                from generate_series(1, %3$d) i
+                on conflict do nothing
+                """.formatted(USERS, SESSIONS, REACTIONS));
+        jdbc.execute("vacuum analyze");
+
+        jdbc.query("select relname, reltuples::bigint from pg_class where relkind = 'r' and relnamespace = 'public'::regnamespace",
+                resultSet -> {
+                    tableRows.put(resultSet.getString(1), resultSet.getLong(2));
+                });
+    }
+
+    @TestFactory
+    Stream<DynamicTest> repositoryQueryPlans() {
+        return cases().stream().map(planCase -> DynamicTest.dynamicTest(planCase.name(), () -> check(planCase)));
+    }
+
+    @Test
+    void everyRepositoryQueryHasAPlanCase() {
+        Set<String> covered = new TreeSet<>();
+        cases().forEach(planCase -> covered.add(planCase.name()));
+
+        Set<String> declared = new TreeSet<>();
+        for (Class<?> repository : COVERED_REPOSITORIES) {
+            Arrays.stream(repository.getDeclaredMethods())
+                    .filter(method -> !method.isSynthetic() && !method.isDefault())
+                    .map(Method::getName)
+                    .forEach(name -> declared.add(repository.getSimpleName() + "." + name));
+        }
+
+        assertThat(covered)
+                .as("add a case to QueryPlanRegressionTest#cases for every new repository query")
+                .containsAll(declared);
+    }
+
+    private List<PlanCase> cases() {
+        UUID user = user(2);
+        UUID friend = user(2 + 37);
+        UUID liveSession = session(1);
+        UUID commentedSession = session(8);
+        UUID reactedSession = session(4);
+        UUID recentComment = comment(1);
+        List<UUID> friendIds = IntStream.rangeClosed(1, FRIENDS_PER_USER)
+                .mapToObj(k -> user((2 + k * 37 - 1) % USERS + 1))
+                .toList();
+        List<UUID> feedPageSessionIds = IntStream.rangeClosed(1, 20).mapToObj(this::session).toList();
+        List<Visibility> visible = List.of(Visibility.PUBLIC, Visibility.FRIENDS);
+        List<NotificationType> joinTypes = List.of(NotificationType.SESSION_JOIN_REQUEST_RECEIVED, NotificationType.SESSION_JOIN_REQUEST_ACCEPTED);
+        Pageable page = PageRequest.of(0, 20);
+        Instant monthAgo = Instant.now().minus(30, ChronoUnit.DAYS);
+        UUID studyType = UUID.fromString("11111111-1111-1111-1111-111111111111");
+
+        List<PlanCase> cases = new ArrayList<>();
+
+        cases.add(PlanCase.of("SessionRepository.findByUserIdOrderByStartedAtDesc",
+                () -> sessionRepo.findByUserIdOrderByStartedAtDesc(user, page)));
+        cases.add(PlanCase.of("SessionRepository.findByUserIdAndVisibilityOrderByStartedAtDesc",
+                () -> sessionRepo.findByUserIdAndVisibilityOrderByStartedAtDesc(user, Visibility.PUBLIC, page)));
+        cases.add(PlanCase.of("SessionRepository.findByUserIdAndVisibilityInOrderByStartedAtDesc",
+                () -> sessionRepo.findByUserIdAndVisibilityInOrderByStartedAtDesc(user, visible, page)));
+        cases.add(PlanCase.of("SessionRepository.findByUserId",
+                () -> sessionRepo.findByUserId(user)));
+        cases.add(PlanCase.of("SessionRepository.findByUserIdAndVisibilityIn",
+                () -> sessionRepo.findByUserIdAndVisibilityIn(user, visible)));
+        cases.add(PlanCase.of("SessionRepository.findByStartedAtAfter",
+                        () -> sessionRepo.findByStartedAtAfter(Instant.now().minus(1, ChronoUnit.DAYS)))
+                .unbounded("FriendShipService#getSuggestions reads every recent session; replace with an aggregate query"));
+        cases.add(PlanCase.of("SessionRepository.existsByActivityType_Id",
+                () -> sessionRepo.existsByActivityType_Id(studyType)));
+        cases.add(PlanCase.of("SessionRepository.findByVisibilityOrderByStartedAtDesc",
+                () -> sessionRepo.findByVisibilityOrderByStartedAtDesc(Visibility.PUBLIC, page)));
+        cases.add(PlanCase.of("SessionRepository.findByUser_IdInAndVisibilityOrderByStartedAtDesc",
+                () -> sessionRepo.findByUser_IdInAndVisibilityOrderByStartedAtDesc(friendIds, Visibility.PUBLIC, page))
+                .maxBuffers(friendIds.size() * 100L * 2 + DEFAULT_MAX_BUFFERS));
+        cases.add(PlanCase.of("SessionRepository.findByUser_IdInAndVisibilityInOrderByStartedAtDesc",
+                () -> sessionRepo.findByUser_IdInAndVisibilityInOrderByStartedAtDesc(friendIds, visible, page))
+                .maxBuffers(friendIds.size() * 100L * 2 + DEFAULT_MAX_BUFFERS));
+        cases.add(PlanCase.of("SessionRepository.findFirstByUser_IdAndEndedAtIsNullOrderByStartedAtDesc",
+                () -> sessionRepo.findFirstByUser_IdAndEndedAtIsNullOrderByStartedAtDesc(user)));
+        cases.add(PlanCase.of("SessionRepository.findReadOnlyById",
+                () -> sessionRepo.findReadOnlyById(liveSession)));
+        cases.add(PlanCase.of("SessionRepository.pause",
+                () -> sessionRepo.pause(liveSession, user, Instant.now())));
+        cases.add(PlanCase.of("SessionRepository.resume",
+                () -> sessionRepo.resume(liveSession, user, Instant.now())));
+        cases.add(PlanCase.of("SessionRepository.stop",
+                () -> sessionRepo.stop(liveSession, user, Instant.now(), null)));
+        cases.add(PlanCase.of("SessionRepository.updateMetricProgress",
+                () -> sessionRepo.updateMetricProgress(liveSession, user, BigDecimal.ONE)));
+        cases.add(PlanCase.of("SessionRepository.heartbeat",
+                () -> sessionRepo.heartbeat(liveSession, user, Instant.now(), monthAgo)));
+        cases.add(PlanCase.of("SessionRepository.pauseStale",
+                        () -> sessionRepo.pauseStale(Instant.now().minus(15, ChronoUnit.MINUTES), 900_000L))
+                .maxBuffers(LIVE_SESSIONS * 2L + DEFAULT_MAX_BUFFERS));
+        cases.add(PlanCase.of("SessionRepository.pauseIfStale",
+                () -> sessionRepo.pauseIfStale(liveSession, Instant.now().minus(15, ChronoUnit.MINUTES), 900_000L)));
+        cases.add(PlanCase.of("SessionRepository.findAllByEndedAtIsNull",
+                        () -> sessionRepo.findAllByEndedAtIsNull())
+                .maxBuffers(LIVE_SESSIONS * 6L + DEFAULT_MAX_BUFFERS));
+        cases.add(PlanCase.of("SessionRepository.countByEndedAtIsNullAndPausedAtIsNull",
+                () -> sessionRepo.countByEndedAtIsNullAndPausedAtIsNull()));
+        cases.add(PlanCase.of("SessionRepository.countByEndedAtIsNullAndPausedAtIsNotNull",
+                () -> sessionRepo.countByEndedAtIsNullAndPausedAtIsNotNull()));
+        cases.add(PlanCase.of("SessionRepository.sumDurationByBucket",
+                () -> sessionRepo.sumDurationByBucket(user, "week", "Europe/Berlin", monthAgo, null, Instant.now(), studyType)));
+        cases.add(PlanCase.of("SessionRepository.findByVisibilityBefore",
+                () -> sessionRepo.findByVisibilityBefore(Visibility.PUBLIC, monthAgo, new UUID(0, 0), PageRequest.of(0, 21))));
+        cases.add(PlanCase.of("SessionRepository.sumCompletedDurationByDay",
+                () -> sessionRepo.sumCompletedDurationByDay(user, Instant.now().minus(365, ChronoUnit.DAYS))));
+        cases.add(PlanCase.of("SessionRepository.sumCompletedByUser",
+                () -> sessionRepo.sumCompletedByUser(studyType, monthAgo, Instant.now()))
+                .unbounded("LeaderboardService seeds a board from every session of its period, once per period and node"));
+
+        cases.add(PlanCase.of("NotificationRepository.findAllByRecipient_IdOrderByCreatedAtDesc",
+                () -> notificationRepo.findAllByRecipient_IdOrderByCreatedAtDesc(user, page)));
+        cases.add(PlanCase.of("NotificationRepository.findAllByRecipient_IdAndTypeInOrderByCreatedAtDesc",
+                () -> notificationRepo.findAllByRecipient_IdAndTypeInOrderByCreatedAtDesc(user, joinTypes, page)));
+        cases.add(PlanCase.of("NotificationRepository.findAllByRecipient_IdAndTypeNotInOrderByCreatedAtDesc",
+                () -> notificationRepo.findAllByRecipient_IdAndTypeNotInOrderByCreatedAtDesc(user, joinTypes, page)));
+        cases.add(PlanCase.of("NotificationRepository.countByRecipient_IdAndReadAtIsNull",
+                () -> notificationRepo.countByRecipient_IdAndReadAtIsNull(user)));
+        cases.add(PlanCase.of("NotificationRepository.countByReadAtIsNull",
+                        () -> notificationRepo.countByReadAtIsNull())
+                .maxBuffers(NOTIFICATIONS / 10 / 100 + DEFAULT_MAX_BUFFERS));
+        cases.add(PlanCase.of("NotificationRepository.countByRecipient_IdAndReadAtIsNullAndTypeIn",
+                () -> notificationRepo.countByRecipient_IdAndReadAtIsNullAndTypeIn(user, joinTypes)));
+        cases.add(PlanCase.of("NotificationRepository.countByRecipient_IdAndReadAtIsNullAndTypeNotIn",
+                () -> notificationRepo.countByRecipient_IdAndReadAtIsNullAndTypeNotIn(user, joinTypes)));
+        cases.add(PlanCase.of("NotificationRepository.findByIdAndRecipient_Id",
+                () -> notificationRepo.findByIdAndRecipient_Id(notification(1), user)));
+        cases.add(PlanCase.of("NotificationRepository.findAllByRecipient_IdAndActor_IdAndTypeAndResourceTypeAndResourceIdAndReadAtIsNull",
+                () -> notificationRepo.findAllByRecipient_IdAndActor_IdAndTypeAndResourceTypeAndResourceIdAndReadAtIsNull(
+                        user, friend, NotificationType.SESSION_LIKE, NotificationResourceType.SESSION, liveSession)));
+        cases.add(PlanCase.of("NotificationRepository.findAllByRecipient_IdAndReadAtIsNull",
+                () -> notificationRepo.findAllByRecipient_IdAndReadAtIsNull(user)));
+        cases.add(PlanCase.of("NotificationRepository.findAllByRecipient_IdAndReadAtIsNullAndResourceId",
+                () -> notificationRepo.findAllByRecipient_IdAndReadAtIsNullAndResourceId(user, liveSession)));
+        cases.add(PlanCase.of("NotificationRepository.upsertUnreadRoomMessageNotification",
+                () -> notificationRepo.upsertUnreadRoomMessageNotification(UUID.randomUUID(), user, friend,
+                        NotificationType.SESSION_ROOM_MESSAGE_RECEIVED.name(), NotificationResourceType.SESSION.name(),
+                        liveSession, "message", Instant.now())));
+        cases.add(PlanCase.of("NotificationRepository.deleteByRecipient_Id", () -> {
+            notificationRepo.deleteByRecipient_Id(user);
+            entityManager.flush();
+        }));
+        cases.add(PlanCase.of("NotificationRepository.markAllUnreadAsRead",
+                () -> notificationRepo.markAllUnreadAsRead(user, Instant.now())));
+
+        cases.add(PlanCase.of("FriendRepository.findAllByUser_Id",
+                () -> friendRepo.findAllByUser_Id(user)));
+        cases.add(PlanCase.of("FriendRepository.findAllByFriend_Id",
+                () -> friendRepo.findAllByFriend_Id(user)));
+        cases.add(PlanCase.of("FriendRepository.existsByUser_IdAndFriend_Id",
+                () -> friendRepo.existsByUser_IdAndFriend_Id(user, friend)));
+        cases.add(PlanCase.of("FriendRepository.findByUser_IdAndFriend_Id",
+                () -> friendRepo.findByUser_IdAndFriend_Id(user, friend)));
+        cases.add(PlanCase.of("FriendRepository.findFriendIdsOfUser",
+                () -> friendRepo.findFriendIdsOfUser(user)));
+        cases.add(PlanCase.of("FriendRepository.findUserIdsOfFriend",
+                () -> friendRepo.findUserIdsOfFriend(user)));
+
+        cases.add(PlanCase.of("SessionCommentRepository.findAllBySession_IdOrderByCreatedAtDesc",
+                () -> commentRepo.findAllBySession_IdOrderByCreatedAtDesc(commentedSession)));
+        cases.add(PlanCase.of("SessionCommentRepository.findByIdAndSession_Id",
+                () -> commentRepo.findByIdAndSession_Id(recentComment, commentedSession)));
+        cases.add(PlanCase.of("SessionCommentRepository.countBySessionIds",
+                () -> commentRepo.countBySessionIds(feedPageSessionIds)));
+        cases.add(PlanCase.of("SessionCommentRepository.countByAuthor_IdAndSession_User_IdAndCreatedAtAfter",
+                () -> commentRepo.countByAuthor_IdAndSession_User_IdAndCreatedAtAfter(user, friend, monthAgo)));
+
+        cases.add(PlanCase.of("SessionReactionRepository.countBySession_IdAndType",
+                () -> reactionRepo.countBySession_IdAndType(reactedSession, ReactionType.LIKE)));
+        cases.add(PlanCase.of("SessionReactionRepository.existsBySession_IdAndUser_IdAndType",
+                () -> reactionRepo.existsBySession_IdAndUser_IdAndType(reactedSession, user, ReactionType.LIKE)));
+        cases.add(PlanCase.of("SessionReactionRepository.findBySession_IdAndUser_IdAndType",
+                () -> reactionRepo.findBySession_IdAndUser_IdAndType(reactedSession, user, ReactionType.LIKE)));
+        cases.add(PlanCase.of("SessionReactionRepository.countBySessionIdsAndType",
+                () -> reactionRepo.countBySessionIdsAndType(feedPageSessionIds, ReactionType.LIKE)));
+        cases.add(PlanCase.of("SessionReactionRepository.findSessionIdsReactedByUser",
+                () -> reactionRepo.findSessionIdsReactedByUser(feedPageSessionIds, user, ReactionType.LIKE)));
+        cases.add(PlanCase.of("SessionReactionRepository.countByUser_IdAndSession_User_IdAndTypeAndCreatedAtAfter",
+                () -> reactionRepo.countByUser_IdAndSession_User_IdAndTypeAndCreatedAtAfter(user, friend, ReactionType.LIKE, monthAgo)));
+
+        return cases;
+    }
+
+    private void check(PlanCase planCase) {
+        PlanCapturingDataSource capturing = (PlanCapturingDataSource) dataSource;
+        List<QueryPlan> plans = new ArrayList<>();
+        transactionTemplate.executeWithoutResult(status -> {
+            plans.addAll(capturing.capture(planCase.invocation()));
+            status.setRollbackOnly();
+        });
+        assertThat(plans).as("statements captured for %s", planCase.name()).isNotEmpty();
+
+        List<String> problems = new ArrayList<>();
+        for (QueryPlan plan : plans) {
+            for (QueryPlan.SeqScan scan : plan.seqScans()) {
+                if (scan.rowsRead() >= SEQ_SCAN_MIN_ROWS && planCase.unboundedReason() == null) {
+                    problems.add("Seq Scan on %s read %d of %d rows%s%n    suggestion: %s%n    sql: %s".formatted(
+                            scan.relation(),
+                            scan.rowsRead(),
+                            tableRows.getOrDefault(scan.relation(), 0L),
+                            scan.filter() == null ? "" : " filter " + scan.filter(),
+                            scan.suggestedIndex(),
+                            plan.sql()));
+                }
+            }
+            if (planCase.unboundedReason() == null && plan.sharedBuffers() > planCase.maxBuffers()) {
+                problems.add("%d shared buffers, budget %d%n    sql: %s".formatted(
+                        plan.sharedBuffers(), planCase.maxBuffers(), plan.sql()));
+            }
+        }
+        if (!problems.isEmpty()) {
+            fail(planCase.name() + " regressed:\n  " + String.join("\n  ", problems));
+        }
+    }
+
+    private UUID user(int i) {
+        return md5Uuid("user-" + i);
+    }
+
+    private UUID session(int i) {
+        return md5Uuid("session-" + i);
+    }
+
+    private UUID comment(int i) {
+        return md5Uuid("comment-" + i);
+    }
+
+    private UUID notification(int i) {
+        return md5Uuid("notification-" + i);
+    }
+
+    /** Same value as Postgres {@code md5(text)::uuid}, used by the seed statements. */
+    private static UUID md5Uuid(String value) {
+        try {
+            ByteBuffer digest = ByteBuffer.wrap(MessageDigest.getInstance("MD5").digest(value.getBytes(StandardCharsets.UTF_8)));
+            return new UUID(digest.getLong(), digest.getLong());
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+
+    private record PlanCase(String name, Runnable invocation, long maxBuffers, String unboundedReason) {
+
+        static PlanCase of(String name, Runnable invocation) {
+            return new PlanCase(name, invocation, DEFAULT_MAX_BUFFERS, null);
+        }
+
+        PlanCase maxBuffers(long budget) {
+            return new PlanCase(name, invocation, budget, unboundedReason);
+        }
+
+        /** Records a known full read; the case still has to execute, but scans and buffers are not enforced. */
+        PlanCase unbounded(String reason) {
+            return new PlanCase(name, invocation, maxBuffers, reason);
+        }
+    }
+
+    @TestConfiguration
+    static class PlanCaptureConfig {
+
+        @Bean
+        static BeanPostProcessor planCapturingDataSourcePostProcessor() {
+            return new BeanPostProcessor() {
+                @Override
+                public Object postProcessAfterInitialization(Object bean, String beanName) {
+                    if (bean instanceof DataSource dataSource && !(bean instanceof PlanCapturingDataSource)) {
+                        return new PlanCapturingDataSource(dataSource);
+                    }
+                    return bean;
+                }
+            };
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package org.progresspalbackend.progresspalbackend.queryplan;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class QueryPlanTest {
+
+    @Test
+    void parse_collectsSeqScansWithRowsReadAndBuffers() {
+        QueryPlan plan = QueryPlan.parse("select 1", """
+                [{"Plan": {"Node Type": "Limit", "Shared Hit Blocks": 120, "Shared Read Blocks": 30,
+                  "Plans": [{"Node Type": "Sort", "Sort Key": ["s1_0.started_at DESC"],
+                    "Plans": [{"Node Type": "Seq Scan", "Relation Name": "session",
+                      "Filter": "((user_id = 'a'::uuid) AND (ended_at IS NULL))",
+                      "Actual Rows": 4, "Actual Loops": 1, "Rows Removed by Filter": 99996}]}]}}]
+                """);
+
+        assertThat(plan.sharedBuffers()).isEqualTo(150);
+        assertThat(plan.seqScans()).singleElement().satisfies(scan -> {
+            assertThat(scan.relation()).isEqualTo("session");
+            assertThat(scan.rowsRead()).isEqualTo(100_000);
+            assertThat(scan.suggestedIndex())
+                    .isEqualTo("CREATE INDEX ON session (user_id, started_at DESC) WHERE ended_at IS NULL");
+        });
+    }
+
+    @Test
+    void suggestedIndex_putsEqualityBeforeRangeAndIgnoresCasts() {
+        QueryPlan.SeqScan scan = new QueryPlan.SeqScan(
+                "session_reaction",
+                "(((type)::text = 'LIKE'::text) AND (created_at > '2026-01-01'::timestamp with time zone) AND (user_id = 'b'::uuid))",
+                50_000,
+                List.of());
+
+        assertThat(scan.suggestedIndex()).isEqualTo("CREATE INDEX ON session_reaction (type, user_id, created_at)");
+    }
+
+    @Test
+    void suggestedIndex_withoutPredicate_saysTheWholeTableIsRead() {
+        QueryPlan.SeqScan scan = new QueryPlan.SeqScan("notification", null, 50_000, List.of());
+
+        assertThat(scan.suggestedIndex()).startsWith("no usable predicate: the statement reads all of notification");
+    }
+}
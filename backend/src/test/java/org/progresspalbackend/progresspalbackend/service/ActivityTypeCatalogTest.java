@@ -0,0 +1,87 @@
+package org.progresspalbackend.progresspalbackend.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.progresspalbackend.progresspalbackend.domain.ActivityType;
+import org.progresspalbackend.progresspalbackend.domain.MetricKind;
+import org.progresspalbackend.progresspalbackend.dto.activitytype.ActivityTypeDto;
+import org.progresspalbackend.progresspalbackend.mapper.ActivityTypeMapper;
+import org.progresspalbackend.progresspalbackend.repository.ActivityTypeRepository;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class ActivityTypeCatalogTest {
+
+    private final ActivityTypeRepository repo = mock(ActivityTypeRepository.class);
+    private final ActivityTypeMapper mapper = mock(ActivityTypeMapper.class);
+    private final ActivityTypeCatalog catalog = new ActivityTypeCatalog(repo, mapper, 100, Duration.ofMinutes(30), Duration.ofMinutes(5));
+    private final ExecutorService executor = Executors.newSingleThreadExecutor();
+
+    @AfterEach
+    void shutdown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void defaults_areReloadedAfterAnInvalidationThatRacedTheLoad() throws Exception {
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(mapper.toDto(any())).thenAnswer(invocation -> {
+            ActivityType type = invocation.getArgument(0);
+            return new ActivityTypeDto(null, type.getName(), false, null, MetricKind.NONE, null);
+        });
+        when(repo.findByCustomFalseOrderByNameAsc())
+                .thenAnswer(invocation -> {
+                    loading.countDown();
+                    release.await(5, TimeUnit.SECONDS);
+                    return List.of(type("Reading"));
+                })
+                .thenReturn(List.of(type("Running")));
+
+        Future<ActivityTypeCatalog.Entries> stale = executor.submit(catalog::defaults);
+        assertThat(loading.await(5, TimeUnit.SECONDS)).isTrue();
+        // The update commits while the first load still holds the old rows.
+        catalog.invalidateDefaults();
+        release.countDown();
+
+        assertThat(stale.get(5, TimeUnit.SECONDS).types()).extracting(ActivityTypeDto::name).containsExactly("Reading");
+        assertThat(catalog.defaults().types()).extracting(ActivityTypeDto::name).containsExactly("Running");
+        assertThat(catalog.defaults().types()).extracting(ActivityTypeDto::name).containsExactly("Running");
+        verify(repo, times(2)).findByCustomFalseOrderByNameAsc();
+    }
+
+    @Test
+    void defaults_areReloadedOnceTheirTtlRunsOut() {
+        ActivityTypeCatalog expiring = new ActivityTypeCatalog(repo, mapper, 100, Duration.ofMinutes(30), Duration.ZERO);
+        when(mapper.toDto(any())).thenAnswer(invocation -> {
+            ActivityType type = invocation.getArgument(0);
+            return new ActivityTypeDto(null, type.getName(), false, null, MetricKind.NONE, null);
+        });
+        // Another instance renamed the type; no local invalidation arrives.
+        when(repo.findByCustomFalseOrderByNameAsc())
+                .thenReturn(List.of(type("Reading")))
+                .thenReturn(List.of(type("Running")));
+
+        assertThat(expiring.defaults().types()).extracting(ActivityTypeDto::name).containsExactly("Reading");
+        assertThat(expiring.defaults().types()).extracting(ActivityTypeDto::name).containsExactly("Running");
+    }
+
+    private static ActivityType type(String name) {
+        ActivityType type = new ActivityType();
+        type.setName(name);
+        return type;
+    }
+}
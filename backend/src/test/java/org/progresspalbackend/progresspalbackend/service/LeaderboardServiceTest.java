@@ -0,0 +1,64 @@
+package org.progresspalbackend.progresspalbackend.service;
+
+import org.junit.jupiter.api.Test;
+import org.progresspalbackend.progresspalbackend.mapper.SessionMapper;
+import org.progresspalbackend.progresspalbackend.repository.ActivityTypeRepository;
+import org.progresspalbackend.progresspalbackend.repository.FriendRepository;
+import org.progresspalbackend.progresspalbackend.repository.SessionRepository;
+import org.progresspalbackend.progresspalbackend.repository.UserRepository;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.UUID;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyDouble;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.endsWith;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+class LeaderboardServiceTest {
+
+    private final LeaderboardStore store = mock(LeaderboardStore.class);
+    private final LeaderboardService service = new LeaderboardService(
+            store,
+            mock(FriendRepository.class),
+            mock(UserRepository.class),
+            mock(ActivityTypeRepository.class),
+            mock(SessionRepository.class),
+            mock(SessionMapper.class));
+
+    @Test
+    void tally_recordsOneIncrementPerUserAndBoard() {
+        UUID userId = UUID.randomUUID();
+        UUID activityTypeId = UUID.randomUUID();
+        LocalDate today = LocalDate.now(ZoneOffset.UTC);
+
+        LeaderboardService.Tally tally = service.tally();
+        tally.add(new LeaderboardService.Contribution(userId, activityTypeId, today, 600, BigDecimal.valueOf(10)));
+        tally.add(new LeaderboardService.Contribution(userId, activityTypeId, today, 300, null));
+        tally.add(new LeaderboardService.Contribution(userId, activityTypeId, today, 100, BigDecimal.valueOf(5)));
+        tally.add(new LeaderboardService.Contribution(userId, activityTypeId, today.minusYears(1), 9000, BigDecimal.ONE));
+        tally.add(null);
+        service.record(tally);
+
+        verify(store, times(4)).increment(anyString(), any(UUID.class), anyDouble(), any(Instant.class));
+        verify(store).increment(endsWith(":WEEK:" + weekStart(today) + ":DURATION"),
+                eq(userId), eq(1000.0), any(Instant.class));
+        verify(store).increment(endsWith(":WEEK:" + weekStart(today) + ":METRIC"),
+                eq(userId), eq(15.0), any(Instant.class));
+        verify(store).increment(endsWith(":MONTH:" + today.withDayOfMonth(1) + ":DURATION"),
+                eq(userId), eq(1000.0), any(Instant.class));
+        verify(store).increment(endsWith(":MONTH:" + today.withDayOfMonth(1) + ":METRIC"),
+                eq(userId), eq(15.0), any(Instant.class));
+    }
+
+    private static LocalDate weekStart(LocalDate day) {
+        return day.minusDays(day.getDayOfWeek().getValue() - 1L);
+    }
+}
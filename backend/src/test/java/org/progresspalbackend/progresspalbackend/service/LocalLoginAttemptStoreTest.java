@@ -0,0 +1,101 @@
+package org.progresspalbackend.progresspalbackend.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LocalLoginAttemptStoreTest {
+
+    private static final Duration WINDOW = Duration.ofMinutes(10);
+    private static final Duration LOCK = Duration.ofMinutes(30);
+
+    private final MutableClock clock = new MutableClock(Instant.parse("2026-01-01T10:00:00Z"));
+    private final LocalLoginAttemptStore store = new LocalLoginAttemptStore(clock, 1_000, Duration.ofHours(2));
+
+    @Test
+    void recordFailure_locksOnceLimitIsReachedWithinWindow() {
+        assertThat(store.recordFailure("user:a", 3, WINDOW, LOCK)).isFalse();
+        assertThat(store.recordFailure("user:a", 3, WINDOW, LOCK)).isFalse();
+        assertThat(store.recordFailure("user:a", 3, WINDOW, LOCK)).isTrue();
+
+        assertThat(store.isAnyLocked(List.of("user:a", "ip:127.0.0.1"))).isTrue();
+        assertThat(store.isAnyLocked(List.of("user:b", "ip:127.0.0.1"))).isFalse();
+    }
+
+    @Test
+    void recordFailure_dropsFailuresThatSlideOutOfWindow() {
+        store.recordFailure("ip:10.0.0.1", 3, WINDOW, LOCK);
+        store.recordFailure("ip:10.0.0.1", 3, WINDOW, LOCK);
+
+        clock.advance(WINDOW.plusSeconds(1));
+
+        assertThat(store.recordFailure("ip:10.0.0.1", 3, WINDOW, LOCK)).isFalse();
+        assertThat(store.isAnyLocked(List.of("ip:10.0.0.1"))).isFalse();
+    }
+
+    @Test
+    void lock_expiresAfterLockDuration_andCountingStartsOver() {
+        store.recordFailure("user:a", 1, WINDOW, LOCK);
+        assertThat(store.isAnyLocked(List.of("user:a"))).isTrue();
+
+        clock.advance(LOCK);
+
+        assertThat(store.isAnyLocked(List.of("user:a"))).isFalse();
+        assertThat(store.recordFailure("user:a", 2, WINDOW, LOCK)).isFalse();
+    }
+
+    @Test
+    void retentionShorterThanLockAndWindow_doesNotDropEntriesEarly() {
+        LocalLoginAttemptStore shortLived = new LocalLoginAttemptStore(clock, 1_000, Duration.ZERO);
+
+        shortLived.recordFailure("user:a", 2, WINDOW, LOCK);
+        assertThat(shortLived.recordFailure("user:a", 2, WINDOW, LOCK)).isTrue();
+        assertThat(shortLived.isAnyLocked(List.of("user:a"))).isTrue();
+    }
+
+    @Test
+    void clear_removesLockForKeyOnly() {
+        store.recordFailure("user:a", 1, WINDOW, LOCK);
+        store.recordFailure("ip:10.0.0.1", 1, WINDOW, LOCK);
+
+        store.clear("user:a");
+
+        assertThat(store.isAnyLocked(List.of("user:a"))).isFalse();
+        assertThat(store.isAnyLocked(List.of("ip:10.0.0.1"))).isTrue();
+    }
+
+    private static final class MutableClock extends Clock {
+
+        private Instant now;
+
+        MutableClock(Instant now) {
+            this.now = now;
+        }
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
@@ -0,0 +1,87 @@
+package org.progresspalbackend.progresspalbackend.service;
+
+import org.junit.jupiter.api.Test;
+import org.progresspalbackend.progresspalbackend.config.SessionFreshnessProperties;
+import org.progresspalbackend.progresspalbackend.domain.ActivityType;
+import org.progresspalbackend.progresspalbackend.domain.Session;
+import org.progresspalbackend.progresspalbackend.domain.User;
+import org.progresspalbackend.progresspalbackend.domain.Visibility;
+import org.progresspalbackend.progresspalbackend.dto.Friendship.FriendLiveSessionDto;
+import org.progresspalbackend.progresspalbackend.repository.ActivityTypeRepository;
+import org.progresspalbackend.progresspalbackend.repository.SessionRepository;
+import org.progresspalbackend.progresspalbackend.repository.UserRepository;
+
+import java.time.Instant;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class PresenceRegistryTest {
+
+    private final FriendIdCache friendIdCache = mock(FriendIdCache.class);
+    private final PresenceRegistry registry = new PresenceRegistry(
+            mock(SessionRepository.class),
+            mock(UserRepository.class),
+            mock(ActivityTypeRepository.class),
+            friendIdCache,
+            new SessionFreshnessProperties());
+
+    private final UUID viewerId = UUID.randomUUID();
+    private final User friend = user();
+    private final ActivityType running = activityType();
+    private final UUID sessionId = UUID.randomUUID();
+
+    @Test
+    void record_keepsTheNewerVersion_whenTransitionsPublishOutOfOrder() {
+        when(friendIdCache.friendIdsOf(viewerId)).thenReturn(Set.of(friend.getId()));
+
+        registry.record(session(2L, Instant.now(), null));
+        registry.record(session(1L, null, null));
+
+        assertThat(registry.getLiveFriends(viewerId)).singleElement()
+                .extracting(FriendLiveSessionDto::paused).isEqualTo(true);
+    }
+
+    @Test
+    void record_doesNotReviveAStoppedSession_onALateHeartbeat() {
+        when(friendIdCache.friendIdsOf(viewerId)).thenReturn(Set.of(friend.getId()));
+
+        registry.record(session(1L, null, null));
+        registry.record(session(3L, null, Instant.now()));
+        registry.record(session(2L, null, null));
+
+        assertThat(registry.getLiveFriends(viewerId)).isEmpty();
+    }
+
+    private Session session(long version, Instant pausedAt, Instant endedAt) {
+        Session session = new Session();
+        session.setId(sessionId);
+        session.setUser(friend);
+        session.setActivityType(running);
+        session.setTitle("t");
+        session.setVisibility(Visibility.PUBLIC);
+        session.setStartedAt(Instant.now().minusSeconds(60));
+        session.setLastSentHeartBeat(Instant.now());
+        session.setPausedAt(pausedAt);
+        session.setEndedAt(endedAt);
+        session.setVersion(version);
+        return session;
+    }
+
+    private static User user() {
+        User user = new User();
+        user.setId(UUID.randomUUID());
+        user.setUsername("friend");
+        return user;
+    }
+
+    private static ActivityType activityType() {
+        ActivityType type = new ActivityType();
+        type.setId(UUID.randomUUID());
+        type.setName("Running");
+        return type;
+    }
+}
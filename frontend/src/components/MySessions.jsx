@@ -131,6 +131,7 @@ const MySessions = () => {
           to: filters.to,
           bucket: trendsFilters.bucket,
           activityTypeId: trendsFilters.activityTypeId,
+          timeZone: Intl.DateTimeFormat().resolvedOptions().timeZone,
         });
         setTrendsData(data || {
           bucket: trendsFilters.bucket,
@@ -348,6 +349,11 @@ const MySessions = () => {
                 <span className="my-sessions-progress-fill amber" style={{ width: `${Math.max(4, activeDaysProgress)}%` }} />
               </div>
             </article>
+            <article className="my-sessions-stat-card">
+              <p className="my-sessions-stat-label">Current streak</p>
+              <p className="my-sessions-stat-value">{summary.streak?.currentStreakDays ?? 0}</p>
+              <p className="my-sessions-stat-sub muted">Longest {summary.streak?.longestStreakDays ?? 0} days</p>
+            </article>
             <article className="my-sessions-stat-card">
               <p className="my-sessions-stat-label">Top activity</p>
               <p className="my-sessions-stat-value my-sessions-stat-value--activity">
@@ -565,6 +571,8 @@ const MySessions = () => {
                   >
                     <option value="DAY">DAY</option>
                     <option value="WEEK">WEEK</option>
+                    <option value="MONTH">MONTH</option>
+                    <option value="YEAR">YEAR</option>
                   </select>
                 </div>
                 <div>
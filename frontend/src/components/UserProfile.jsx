@@ -41,36 +41,6 @@ const formatRelativeFromNow = (value) => {
   return `${diffDays}d ago`;
 };
 
-const calculateRecentStreak = (sessions) => {
-  if (!Array.isArray(sessions) || sessions.length === 0) return 0;
-
-  const dayKeys = new Set();
-  sessions.forEach((session) => {
-    if (!session?.startedAt) return;
-    const started = new Date(session.startedAt);
-    if (Number.isNaN(started.getTime())) return;
-    started.setHours(0, 0, 0, 0);
-    dayKeys.add(started.getTime());
-  });
-
-  if (dayKeys.size === 0) return 0;
-
-  const cursor = new Date();
-  cursor.setHours(0, 0, 0, 0);
-  if (!dayKeys.has(cursor.getTime())) {
-    cursor.setDate(cursor.getDate() - 1);
-  }
-
-  let streak = 0;
-  for (let i = 0; i < 31; i += 1) {
-    if (!dayKeys.has(cursor.getTime())) break;
-    streak += 1;
-    cursor.setDate(cursor.getDate() - 1);
-  }
-
-  return streak;
-};
-
 const getInitial = (text) => (text || '?').trim().charAt(0).toUpperCase() || '?';
 const truncateLabel = (text, max = 22) => (text && text.length > max ? `${text.slice(0, max - 1)}...` : text);
 
@@ -120,7 +90,7 @@ const UserProfile = () => {
   const profileImage = profile?.profileImage || '';
   const totalSessions = Number(stats.totalSessions) || 0;
   const totalVisibleDurationSeconds = Number(stats.totalVisibleDurationSeconds) || 0;
-  const recentStreak = calculateRecentStreak(recentSessions);
+  const recentStreak = Number(stats.streak?.currentStreakDays) || 0;
   const isOwner = profile?.viewerScope === 'OWNER';
   const isFriendViewer = profile?.viewerScope === 'FRIEND';
   const topActivityDurationTotal = topActivities
@@ -734,7 +734,7 @@ export async function getMyDashboardByActivityType(userId, filters = {}) {
 export async function getMyDashboardTrends(userId, filters = {}) {
   try {
     const params = {};
-    const allowedKeys = ['from', 'to', 'bucket', 'activityTypeId'];
+    const allowedKeys = ['from', 'to', 'bucket', 'activityTypeId', 'timeZone'];
     allowedKeys.forEach((key) => {
       const value = filters[key];
       if (value === undefined || value === null || value === '') return;